@@ -0,0 +1,43 @@
+#!/usr/bin/env sh
+#
+# Builds an AppCDS archive for the JVM build of the Weather API Service.
+#
+# Usage: scripts/build-cds-archive.sh
+#
+# Unpacks target/weather-api-service-1.0.0.jar (mvn package) into plain jars under
+# target/cds, since CDS does not archive classes from nested jars or directories, and
+# performs a training run that refreshes the Spring context and exits, dumping
+# every class loaded on the way into target/cds/application.jsa.
+# Run with:
+#
+#   cd target/cds && java -XX:SharedArchiveFile=application.jsa @classpath.args com.weather.api.WeatherApiApplication
+#
+# The archive is only valid for the JDK that created it and the exact classpath
+# in classpath.args; rebuild it after upgrading either.
+
+set -eu
+
+JAR="target/weather-api-service-1.0.0.jar"
+OUT="target/cds"
+MAIN="com.weather.api.WeatherApiApplication"
+
+rm -rf "$OUT"
+mkdir -p "$OUT/lib"
+cd "$OUT"
+
+jar xf "../../$JAR" BOOT-INF
+jar cf application.jar -C BOOT-INF/classes .
+mv BOOT-INF/lib/*.jar lib/
+rm -rf BOOT-INF
+echo "-cp application.jar:$(ls lib/*.jar | sort | paste -sd: -)" > classpath.args
+
+java -XX:ArchiveClassesAtExit=application.jsa -Xlog:cds=error -Dspring.context.exit=onRefresh \
+    @classpath.args "$MAIN" --logging.file.name= --cache.refresh.enabled=false
+
+# Fails if the archive is missing or cannot be mapped with this JDK and classpath
+java -Xshare:on -XX:SharedArchiveFile=application.jsa @classpath.args -version >/dev/null 2>&1 || {
+    echo "CDS archive $OUT/application.jsa is missing or unusable" >&2
+    exit 1
+}
+
+echo "CDS archive written to $OUT/application.jsa"
@@ -0,0 +1,30 @@
+#!/usr/bin/env sh
+#
+# Creates a CRaC checkpoint of the warmed-up Weather API Service.
+#
+# Usage: scripts/crac-checkpoint.sh
+#
+# Requires a CRaC-enabled JDK 17 (e.g. Azul Zulu with CRaC) on the PATH and the jar
+# from mvn package. The application starts with startup.checkpoint.enabled=true,
+# warms up its serialization paths once ready and checkpoints itself into
+# target/crac. Restore with:
+#
+#   java -XX:CRaCRestoreFrom=target/crac
+#
+# Restored instances keep the configuration of the checkpointed process.
+
+set -eu
+
+JAR="target/weather-api-service-1.0.0.jar"
+OUT="target/crac"
+PORT="${PORT:-18080}"
+
+rm -rf "$OUT"
+
+# The JVM exits with a non-zero status once the checkpoint has been taken
+java -XX:CRaCCheckpointTo="$OUT" -jar "$JAR" \
+    --server.port="${PORT}" --logging.file.name= --cache.refresh.enabled=false \
+    --startup.checkpoint.enabled=true || true
+
+test -d "$OUT" || { echo "No checkpoint created; is this a CRaC-enabled JDK?" >&2; exit 1; }
+echo "CRaC checkpoint written to $OUT"
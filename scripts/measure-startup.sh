@@ -0,0 +1,73 @@
+#!/usr/bin/env sh
+#
+# Measures startup time and resident memory of the Weather API Service.
+#
+# Usage: scripts/measure-startup.sh <jvm|cds|crac|native> [runs]
+#
+#   jvm     runs target/weather-api-service-1.0.0.jar    (mvn package)
+#   cds     runs the exploded jar with the AppCDS archive (scripts/build-cds-archive.sh)
+#   crac    restores the CRaC checkpoint in target/crac   (scripts/crac-checkpoint.sh)
+#   native  runs target/weather-api-service              (mvn -Pnative native:compile)
+#
+# For every run it reports the time until the readiness probe reports UP, the
+# time until the first forecast request is served, and the RSS at that point.
+# Set OPENMETEO_URL to point the service at a local upstream instead of Open-Meteo.
+# A restored checkpoint keeps the port and upstream URL it was created with.
+
+set -eu
+
+MODE="${1:-jvm}"
+RUNS="${2:-5}"
+PORT="${PORT:-18080}"
+JAR="target/weather-api-service-1.0.0.jar"
+NATIVE="target/weather-api-service"
+JAVA_OPTS="${JAVA_OPTS:--Xms256m -Xmx512m}"
+FORECAST="http://localhost:${PORT}/api/v1/weather/forecast?latitude=40.7128&longitude=-74.0060"
+
+ARGS="--server.port=${PORT} --logging.file.name= --cache.refresh.enabled=false"
+if [ -n "${OPENMETEO_URL:-}" ]; then
+    ARGS="${ARGS} --openmeteo.api.base-url=${OPENMETEO_URL} --openmeteo.api.geocoding-url=${OPENMETEO_URL}"
+fi
+
+now_ms() {
+    date +%s%3N
+}
+
+start_app() {
+    case "$MODE" in
+        jvm)    java ${JAVA_OPTS} -jar "$JAR" ${ARGS} >/dev/null 2>&1 & ;;
+        cds)    (cd target/cds && exec java ${JAVA_OPTS} -XX:SharedArchiveFile=application.jsa \
+                    @classpath.args com.weather.api.WeatherApiApplication ${ARGS}) >/dev/null 2>&1 & ;;
+        crac)   java -XX:CRaCRestoreFrom=target/crac >/dev/null 2>&1 & ;;
+        native) "$NATIVE" ${ARGS} >/dev/null 2>&1 & ;;
+        *)      echo "Unknown mode: $MODE" >&2; exit 1 ;;
+    esac
+    echo $!
+}
+
+wait_for() {
+    until curl -sf -o /dev/null "$1"; do
+        sleep 0.02
+    done
+}
+
+printf '%-8s %-4s %12s %14s %10s\n' "mode" "run" "ready(ms)" "forecast(ms)" "rss(MB)"
+
+i=1
+while [ "$i" -le "$RUNS" ]; do
+    start=$(now_ms)
+    pid=$(start_app)
+
+    wait_for "http://localhost:${PORT}/actuator/health/readiness"
+    ready=$(( $(now_ms) - start ))
+
+    wait_for "$FORECAST"
+    served=$(( $(now_ms) - start ))
+
+    rss_kb=$(ps -o rss= -p "$pid" | tr -d ' ')
+    printf '%-8s %-4s %12s %14s %10s\n' "$MODE" "$i" "$ready" "$served" "$(( rss_kb / 1024 ))"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    i=$(( i + 1 ))
+done
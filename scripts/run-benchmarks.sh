@@ -0,0 +1,25 @@
+#!/usr/bin/env sh
+#
+# Runs the JMH microbenchmarks under src/test/java/com/weather/api/benchmark.
+#
+# Usage: scripts/run-benchmarks.sh [benchmark regex] [JMH options]
+#
+#   scripts/run-benchmarks.sh                              all benchmarks
+#   scripts/run-benchmarks.sh ResponseEncodingBenchmark    one benchmark class
+#   scripts/run-benchmarks.sh ResponseEncoding -prof gc    with allocation profiling
+#
+# Benchmarks are compiled with the test sources; JMH's annotation processor
+# generates the harness during test-compile.
+
+set -eu
+
+CLASSPATH_FILE="target/benchmark.classpath"
+
+mvn -B -q test-compile dependency:build-classpath \
+    -Dmdep.includeScope=test -Dmdep.outputFile="${CLASSPATH_FILE}"
+
+if [ $# -eq 0 ]; then
+    set -- com.weather.api.benchmark
+fi
+
+exec java -cp "target/test-classes:target/classes:$(cat "${CLASSPATH_FILE}")" org.openjdk.jmh.Main "$@"
@@ -0,0 +1,44 @@
+#!/usr/bin/env sh
+#
+# Replays a request trace against the production cache policy (CacheConfig) for every
+# combination of cache size, TTL and grid cell size, to choose cache.maximum-size and
+# cache.ttl from traffic. Runs offline: no application, no upstream calls.
+#
+# Usage: scripts/run-cache-simulator.sh [options]
+#
+#   Trace (default: synthetic)
+#     --trace=requests.csv           recorded trace, one request per line:
+#                                      timestampMillis,forecast,latitude,longitude
+#                                      timestampMillis,search,name,count,language
+#     --rate=5                       synthetic: requests per second (Poisson arrivals)
+#     --minutes=60                   synthetic: trace length
+#     --hot-spots=1000               synthetic: distinct places requested
+#     --zipf=1.1                     synthetic: popularity skew of places and cities
+#     --jitter=0.002                 synthetic: std deviation of coordinates around a place, degrees
+#     --search-share=0.2             synthetic: share of city searches
+#     --seed=42                      synthetic: random seed
+#
+#   Settings to compare
+#     --sizes=500,1000,2000,5000,10000   entries per cache
+#     --ttls=1m,5m,10m,15m               expire after write (s, m, h; plain numbers are ms)
+#     --cell-sizes=none,0.001,0.01,0.1   grid cell coordinates are snapped to, degrees
+#     --warmup=5                         minutes that fill the caches without being measured
+#     --upstream-limit=60                Open-Meteo calls allowed per minute
+#     --forecast-entry-bytes=1500        estimated heap of one cached forecast
+#     --search-entry-bytes=3000          estimated heap of one cached search result
+#
+#   scripts/run-cache-simulator.sh --rate=50 --hot-spots=10000 --ttls=5m,10m
+#
+# Hit ratio, upstream calls per minute (mean, p99, max, share of minutes over the limit)
+# and the estimated footprint are printed per combination and written as CSV to
+# target/cache-sim/cache-sim-<timestamp>.csv.
+
+set -eu
+
+CLASSPATH_FILE="target/load-test.classpath"
+
+mvn -B -q test-compile dependency:build-classpath \
+    -Dmdep.includeScope=test -Dmdep.outputFile="${CLASSPATH_FILE}"
+
+exec java -cp "target/test-classes:target/classes:$(cat "${CLASSPATH_FILE}")" \
+    com.weather.api.loadtest.CacheSimulator "$@"
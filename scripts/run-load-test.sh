@@ -0,0 +1,39 @@
+#!/usr/bin/env sh
+#
+# Runs the load test scenarios under src/test/java/com/weather/api/loadtest against
+# the application wired to a local Open-Meteo simulator. Never touches the real API.
+#
+# Usage: scripts/run-load-test.sh [SCENARIO,...] [options]
+#
+#   Scenarios (default: all)
+#     HOT_KEY       forecasts for 1000 locations with Zipf-skewed popularity
+#     TYPE_AHEAD    city searches for growing prefixes, one per keystroke
+#     OUTAGE        hot-key traffic while the upstream fails the middle third of the run
+#
+#   Options
+#     --rate=200                     requests per second, sent at a constant arrival rate
+#     --warmup=10                    seconds, not recorded
+#     --duration=60                  seconds, recorded
+#     --max-in-flight=1000           requests beyond this are counted as dropped
+#     --seed=42                      request sequence seed
+#     --upstream-median=30           simulated upstream latency, ms
+#     --upstream-p99=250             simulated upstream p99 latency, ms (log-normal tail)
+#     --upstream-error-rate=0.01     share of upstream requests answered with 500
+#     --upstream-throttle-rate=0.005 share of upstream requests answered with 429
+#     --app.<property>=<value>       application property, e.g.
+#                                    --app.resilience4j.ratelimiter.instances.openMeteoService.limitForPeriod=600
+#
+#   scripts/run-load-test.sh HOT_KEY --rate=500 --duration=120
+#
+# Throughput, status counts and p50/p99/p999 latencies are printed per phase and
+# written as JSON to target/load-test/<scenario>-<timestamp>.json.
+
+set -eu
+
+CLASSPATH_FILE="target/load-test.classpath"
+
+mvn -B -q test-compile dependency:build-classpath \
+    -Dmdep.includeScope=test -Dmdep.outputFile="${CLASSPATH_FILE}"
+
+exec java -cp "target/test-classes:target/classes:$(cat "${CLASSPATH_FILE}")" \
+    com.weather.api.loadtest.LoadTestRunner "$@"
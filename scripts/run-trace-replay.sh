@@ -0,0 +1,34 @@
+#!/usr/bin/env sh
+#
+# Replays a request trace recorded in production (trace.enabled=true, see application.yml)
+# against this build, wired to a local Open-Meteo simulator. Never touches the real API.
+#
+# Usage: scripts/run-trace-replay.sh TRACE_FILE [options]
+#
+#   Options
+#     --speed=1                      replay pace; 10 sends the trace ten times faster
+#     --max-in-flight=1000           requests beyond this are counted as dropped
+#     --compare=report.json          report of a previous replay to compare with
+#     --upstream-median=30           simulated upstream latency, ms
+#     --upstream-p99=250             simulated upstream p99 latency, ms (log-normal tail)
+#     --upstream-error-rate=0.01     share of upstream requests answered with 500
+#     --upstream-throttle-rate=0.005 share of upstream requests answered with 429
+#     --app.<property>=<value>       application property, e.g. --app.cache.ttl=600000
+#
+#   scripts/run-trace-replay.sh logs/request-trace.tsv --speed=5
+#   git checkout other-branch
+#   scripts/run-trace-replay.sh logs/request-trace.tsv --speed=5 --compare=target/load-test/replay-<timestamp>.json
+#
+# Throughput, status counts and p50/p99/p999 latencies per endpoint, the latencies and
+# cache hit ratio recorded in production and the upstream calls are printed and written
+# as JSON to target/load-test/replay-<timestamp>.json.
+
+set -eu
+
+CLASSPATH_FILE="target/load-test.classpath"
+
+mvn -B -q test-compile dependency:build-classpath \
+    -Dmdep.includeScope=test -Dmdep.outputFile="${CLASSPATH_FILE}"
+
+exec java -cp "target/test-classes:target/classes:$(cat "${CLASSPATH_FILE}")" \
+    com.weather.api.loadtest.TraceReplayer "$@"
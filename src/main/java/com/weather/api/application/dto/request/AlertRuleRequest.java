@@ -0,0 +1,56 @@
+package com.weather.api.application.dto.request;
+
+import com.weather.api.domain.model.AlertCondition;
+import com.weather.api.domain.model.AlertMetric;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request DTO for creating a weather alert rule.
+ *
+ * @author Weather API Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Weather alert rule to create")
+public class AlertRuleRequest {
+
+    @NotBlank(message = "Subscriber is required")
+    @Size(max = 100, message = "Subscriber must not exceed 100 characters")
+    @Schema(description = "Identifier of the user the alerts are for", example = "user-42", required = true)
+    private String subscriber;
+
+    @NotNull(message = "Latitude is required")
+    @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+    @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+    @Schema(description = "Latitude coordinate", example = "40.4165", required = true)
+    private Double latitude;
+
+    @NotNull(message = "Longitude is required")
+    @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+    @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+    @Schema(description = "Longitude coordinate", example = "-3.70256", required = true)
+    private Double longitude;
+
+    @NotNull(message = "Metric is required")
+    @Schema(description = "Forecast value to watch", example = "WIND_SPEED", required = true)
+    private AlertMetric metric;
+
+    @NotNull(message = "Condition is required")
+    @Schema(description = "Comparison with the threshold", example = "ABOVE", required = true)
+    private AlertCondition condition;
+
+    @NotNull(message = "Threshold is required")
+    @Schema(description = "Threshold in the metric's unit (°C, km/h or WMO code)", example = "50", required = true)
+    private Double threshold;
+}
@@ -36,4 +36,8 @@ public class WeatherForecastRequest {
     @Schema(description = "Timezone (auto-detected if not provided)", example = "auto", defaultValue = "auto")
     @Builder.Default
     private String timezone = "auto";
+
+    @Schema(description = "Comma-separated current weather fields to return (default: temperature, humidity, weatherCode, windSpeed)",
+            example = "temperature,apparentTemperature,precipitation")
+    private String fields;
 }
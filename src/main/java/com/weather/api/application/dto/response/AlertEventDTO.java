@@ -0,0 +1,38 @@
+package com.weather.api.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a triggered weather alert.
+ *
+ * @author Weather API Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Weather alert triggered by a forecast")
+public class AlertEventDTO {
+
+    @Schema(description = "Event identifier, increasing; pass the last one seen as 'after' to poll for new events",
+            example = "1234")
+    private Long id;
+
+    @Schema(description = "Rule that triggered")
+    private AlertRuleDTO rule;
+
+    @Schema(description = "Forecast value that met the rule", example = "54.2")
+    private Double value;
+
+    @Schema(description = "Timestamp of the forecast", example = "2025-11-15T10:30:00")
+    private LocalDateTime forecastTime;
+
+    @Schema(description = "When the alert was triggered", example = "2025-11-15T10:31:02")
+    private LocalDateTime triggeredAt;
+}
@@ -0,0 +1,43 @@
+package com.weather.api.application.dto.response;
+
+import com.weather.api.domain.model.AlertCondition;
+import com.weather.api.domain.model.AlertMetric;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a weather alert rule.
+ *
+ * @author Weather API Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Weather alert rule")
+public class AlertRuleDTO {
+
+    @Schema(description = "Rule identifier", example = "7")
+    private Long id;
+
+    @Schema(description = "Identifier of the user the alerts are for", example = "user-42")
+    private String subscriber;
+
+    @Schema(description = "Latitude coordinate", example = "40.4165")
+    private Double latitude;
+
+    @Schema(description = "Longitude coordinate", example = "-3.70256")
+    private Double longitude;
+
+    @Schema(description = "Forecast value watched", example = "WIND_SPEED")
+    private AlertMetric metric;
+
+    @Schema(description = "Comparison with the threshold", example = "ABOVE")
+    private AlertCondition condition;
+
+    @Schema(description = "Threshold in the metric's unit", example = "50")
+    private Double threshold;
+}
@@ -0,0 +1,34 @@
+package com.weather.api.application.dto.response;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One line of a bulk city search response.
+ *
+ * @author Weather API Team
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of one city name of a bulk search")
+public class BulkCitySearchResultDTO {
+
+    @Schema(description = "Line of the request body the name was read from, starting at 1", example = "3")
+    private Long line;
+
+    @Schema(description = "City name as requested", example = "Springfield")
+    private String name;
+
+    @Schema(description = "Matching cities, absent when the search failed")
+    private List<GeocodingResultDTO> results;
+
+    @Schema(description = "Reason the search failed, absent on success", example = "No results found for city: Atlantis")
+    private String error;
+}
@@ -37,4 +37,16 @@ public class CurrentWeatherDTO {
 
     @Schema(description = "Relative humidity percentage", example = "65")
     private Integer humidity;
+
+    @Schema(description = "Apparent (feels-like) temperature in Celsius, only when requested", example = "14.2")
+    private Double apparentTemperature;
+
+    @Schema(description = "Precipitation of the preceding hour in mm, only when requested", example = "0.4")
+    private Double precipitation;
+
+    @Schema(description = "Total cloud cover percentage, only when requested", example = "75")
+    private Integer cloudCover;
+
+    @Schema(description = "Wind direction in degrees, only when requested", example = "240")
+    private Integer windDirection;
 }
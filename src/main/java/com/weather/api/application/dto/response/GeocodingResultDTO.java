@@ -18,7 +18,7 @@ import lombok.NoArgsConstructor;
 @Schema(description = "Geocoding search result")
 public class GeocodingResultDTO {
 
-    @Schema(description = "Unique identifier for this result", example = "550e8400-e29b-41d4-a716-446655440000")
+    @Schema(description = "Stable identifier of this location, identical across searches", example = "58561ce0776efb99")
     private String id;
 
     @Schema(description = "City name", example = "New York")
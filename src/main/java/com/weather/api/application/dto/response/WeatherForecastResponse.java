@@ -29,4 +29,12 @@ public class WeatherForecastResponse {
 
     @Schema(description = "Current weather conditions")
     private CurrentWeatherDTO current;
+
+    @Schema(description = "Present and true when the forecast is that of a nearby location, "
+            + "served while the weather service is unavailable", example = "true")
+    private Boolean approximate;
+
+    @Schema(description = "Present and true when the forecast is the last one known for the location, "
+            + "served while the weather service is unavailable; its time tells how old it is", example = "true")
+    private Boolean stale;
 }
@@ -0,0 +1,80 @@
+package com.weather.api.application.mapper;
+
+import com.weather.api.application.dto.request.AlertRuleRequest;
+import com.weather.api.application.dto.response.AlertEventDTO;
+import com.weather.api.application.dto.response.AlertRuleDTO;
+import com.weather.api.domain.model.AlertEvent;
+import com.weather.api.domain.model.AlertRule;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mapper for transforming between weather alert domain models and DTOs.
+ *
+ * @author Weather API Team
+ */
+@Component
+public class AlertMapper {
+
+    /**
+     * Converts a rule creation request to the domain model.
+     *
+     * @param request the request DTO
+     * @return the rule, without id
+     */
+    public AlertRule toDomain(AlertRuleRequest request) {
+        if (request == null) {
+            return null;
+        }
+
+        return AlertRule.builder()
+                .subscriber(request.getSubscriber())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
+                .metric(request.getMetric())
+                .condition(request.getCondition())
+                .threshold(request.getThreshold())
+                .build();
+    }
+
+    /**
+     * Converts an AlertRule domain model to its DTO.
+     *
+     * @param rule the domain model
+     * @return the DTO
+     */
+    public AlertRuleDTO toDTO(AlertRule rule) {
+        if (rule == null) {
+            return null;
+        }
+
+        return AlertRuleDTO.builder()
+                .id(rule.getId())
+                .subscriber(rule.getSubscriber())
+                .latitude(rule.getLatitude())
+                .longitude(rule.getLongitude())
+                .metric(rule.getMetric())
+                .condition(rule.getCondition())
+                .threshold(rule.getThreshold())
+                .build();
+    }
+
+    /**
+     * Converts an AlertEvent domain model to its DTO.
+     *
+     * @param event the domain model
+     * @return the DTO
+     */
+    public AlertEventDTO toDTO(AlertEvent event) {
+        if (event == null) {
+            return null;
+        }
+
+        return AlertEventDTO.builder()
+                .id(event.getId())
+                .rule(toDTO(event.getRule()))
+                .value(event.getValue())
+                .forecastTime(event.getForecastTime())
+                .triggeredAt(event.getTriggeredAt())
+                .build();
+    }
+}
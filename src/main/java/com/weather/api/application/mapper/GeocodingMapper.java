@@ -1,7 +1,9 @@
 package com.weather.api.application.mapper;
 
+import com.weather.api.application.dto.response.BulkCitySearchResultDTO;
 import com.weather.api.application.dto.response.CitySearchResponse;
 import com.weather.api.application.dto.response.GeocodingResultDTO;
+import com.weather.api.domain.model.CitySearchOutcome;
 import com.weather.api.domain.model.GeocodingResult;
 import org.springframework.stereotype.Component;
 
@@ -38,6 +40,27 @@ public class GeocodingMapper {
                 .build();
     }
 
+    /**
+     * Converts the outcome of one bulk search name to its response line.
+     *
+     * @param outcome the domain model
+     * @return the response line DTO
+     */
+    public BulkCitySearchResultDTO toBulkResult(CitySearchOutcome outcome) {
+        if (outcome == null) {
+            return null;
+        }
+
+        return BulkCitySearchResultDTO.builder()
+                .line(outcome.getLine())
+                .name(outcome.getName())
+                .results(outcome.getResults() == null ? null : outcome.getResults().stream()
+                        .map(this::toDTO)
+                        .collect(Collectors.toList()))
+                .error(outcome.getError())
+                .build();
+    }
+
     /**
      * Converts GeocodingResult domain model to GeocodingResultDTO.
      *
@@ -29,6 +29,8 @@ public class WeatherMapper {
                 .longitude(weather.getLongitude())
                 .timezone(weather.getTimezone())
                 .current(toCurrentWeatherDTO(weather))
+                .approximate(weather.getApproximate())
+                .stale(weather.getStale())
                 .build();
     }
 
@@ -49,6 +51,10 @@ public class WeatherMapper {
                 .weatherCode(weather.getWeatherCode())
                 .windSpeed(weather.getWindSpeed())
                 .humidity(weather.getHumidity())
+                .apparentTemperature(weather.getApparentTemperature())
+                .precipitation(weather.getPrecipitation())
+                .cloudCover(weather.getCloudCover())
+                .windDirection(weather.getWindDirection())
                 .build();
     }
 }
@@ -0,0 +1,270 @@
+package com.weather.api.application.service;
+
+import com.weather.api.domain.exception.WeatherApiException;
+import com.weather.api.domain.model.CitySearchOutcome;
+import com.weather.api.domain.model.Deadline;
+import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.port.input.BulkCitySearchUseCase;
+import com.weather.api.domain.port.output.WeatherRepositoryPort;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Geocodes a stream of city names. Names already in the city search cache are
+ * answered immediately; the others are searched upstream by a small worker pool,
+ * never more than {@code bulk-search.parallelism} at a time per batch, each once the
+ * Open-Meteo rate limiter has a permit for it.
+ * Repeated names are searched once: the outcomes of the most recent distinct names
+ * (up to {@code bulk-search.dedupe-window}) are shared by their repeats. Repeats still
+ * waiting for their search hold one of {@code bulk-search.max-pending-repeats} slots, and
+ * reading stops while none is free. Memory use is bounded by these limits, whatever the
+ * batch size.
+ * A search waits for a permit at most {@code bulk-search.max-wait}, and no search starts
+ * once the batch has run for {@code bulk-search.timeout}: such names are answered with an
+ * error. Once the sink fails, e.g. because the client went away, nothing more is searched.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Service
+public class BulkCitySearchService implements BulkCitySearchUseCase, DisposableBean {
+
+    private static final String CACHE_NAME = "citySearch";
+    private static final String RATE_LIMITER_NAME = "openMeteoService";
+    private static final int DEFAULT_COUNT = 1;
+    private static final int MAX_COUNT = 20;
+    // Longest sleep between permit checks, so a timed-out or abandoned search stops promptly
+    private static final long MAX_POLL_MILLIS = 1000;
+
+    private final WeatherRepositoryPort weatherRepositoryPort;
+    private final CacheManager cacheManager;
+    private final RateLimiter rateLimiter;
+    private final ExecutorService executor;
+    private final int parallelism;
+    private final int dedupeWindow;
+    private final int maxPendingRepeats;
+    private final Duration maxWait;
+    private final Duration timeout;
+
+    public BulkCitySearchService(WeatherRepositoryPort weatherRepositoryPort,
+                                 CacheManager cacheManager,
+                                 RateLimiterRegistry rateLimiterRegistry,
+                                 @Value("${bulk-search.parallelism:4}") int parallelism,
+                                 @Value("${bulk-search.dedupe-window:10000}") int dedupeWindow,
+                                 @Value("${bulk-search.max-pending-repeats:1000}") int maxPendingRepeats,
+                                 @Value("${bulk-search.max-wait:30000}") long maxWaitMillis,
+                                 @Value("${bulk-search.timeout:300000}") long timeoutMillis) {
+        this.weatherRepositoryPort = weatherRepositoryPort;
+        this.cacheManager = cacheManager;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(RATE_LIMITER_NAME);
+        this.parallelism = parallelism;
+        this.dedupeWindow = dedupeWindow;
+        this.maxPendingRepeats = maxPendingRepeats;
+        this.maxWait = Duration.ofMillis(maxWaitMillis);
+        this.timeout = Duration.ofMillis(timeoutMillis);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-search-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void searchCities(Iterator<String> names, Integer count, String language,
+                             Consumer<CitySearchOutcome> sink) {
+        int resultCount = (count == null || count < 1) ? DEFAULT_COUNT : Math.min(count, MAX_COUNT);
+        String lang = (language == null || language.isEmpty()) ? "en" : language;
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        Deadline deadline = Deadline.after(timeout);
+        Semaphore inFlight = new Semaphore(parallelism);
+        Semaphore pendingRepeats = new Semaphore(maxPendingRepeats);
+        AtomicReference<RuntimeException> sinkFailure = new AtomicReference<>();
+        Consumer<CitySearchOutcome> emit = outcome -> {
+            synchronized (sinkFailure) {
+                if (sinkFailure.get() != null) {
+                    return;
+                }
+                try {
+                    sink.accept(outcome);
+                } catch (RuntimeException e) {
+                    sinkFailure.set(e);
+                }
+            }
+        };
+        BooleanSupplier abandoned = () -> sinkFailure.get() != null;
+        Map<String, CompletableFuture<CitySearchOutcome>> recent = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CompletableFuture<CitySearchOutcome>> eldest) {
+                return size() > dedupeWindow;
+            }
+        };
+
+        long line = 0;
+        int searched = 0;
+        try {
+            while (names.hasNext() && sinkFailure.get() == null) {
+                String name = names.next().trim();
+                long lineNumber = ++line;
+                if (name.isEmpty()) {
+                    continue;
+                }
+                if (name.length() < 2 || name.length() > 100) {
+                    emit.accept(failure(lineNumber, name, "City name must be between 2 and 100 characters"));
+                    continue;
+                }
+
+                String key = name + '_' + resultCount + '_' + lang;
+                List<GeocodingResult> cached = cachedResults(cache, key);
+                if (cached != null) {
+                    emit.accept(CitySearchOutcome.builder().line(lineNumber).name(name).results(cached).build());
+                    continue;
+                }
+
+                CompletableFuture<CitySearchOutcome> pending = recent.get(key);
+                if (pending == null) {
+                    inFlight.acquire();
+                    if (deadline.isExpired()) {
+                        inFlight.release();
+                        emit.accept(failure(lineNumber, name, "Bulk search time limit exceeded"));
+                        continue;
+                    }
+                    searched++;
+                    CompletableFuture<CitySearchOutcome> search = new CompletableFuture<>();
+                    recent.put(key, search);
+                    executor.execute(() -> {
+                        try {
+                            search.complete(search(name, resultCount, lang, cache, key, deadline, abandoned));
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                    search.thenAccept(outcome -> emit.accept(located(outcome, lineNumber, name)));
+                    continue;
+                }
+
+                // A repeat holds a slot until its outcome is emitted, so repeats of a slow search
+                // block the reader instead of piling up callbacks on it
+                pendingRepeats.acquire();
+                pending.thenAccept(outcome -> {
+                    try {
+                        emit.accept(located(outcome, lineNumber, name));
+                    } finally {
+                        pendingRepeats.release();
+                    }
+                });
+            }
+
+            // Outcomes are emitted before a search releases its permit, so this waits for all of them
+            inFlight.acquire(parallelism);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Bulk city search interrupted", e);
+        }
+
+        if (sinkFailure.get() != null) {
+            throw sinkFailure.get();
+        }
+        log.info("Bulk city search finished: {} lines, {} upstream searches", line, searched);
+    }
+
+    private CitySearchOutcome search(String name, int count, String language, Cache cache, String key,
+                                     Deadline deadline, BooleanSupplier abandoned) {
+        try {
+            long waitNanos = Math.min(maxWait.toNanos(), deadline.remaining().toNanos());
+            List<GeocodingResult> results = searchWhenPermitted(name, count, language,
+                    System.nanoTime() + waitNanos, abandoned);
+            if (cache != null) {
+                cache.put(key, results);
+            }
+            return CitySearchOutcome.builder().results(results).build();
+        } catch (WeatherApiException e) {
+            return failure(0, name, e.getMessage());
+        } catch (RequestNotPermitted e) {
+            return failure(0, name, "Rate limit exceeded. Please try again later.");
+        } catch (CancellationException e) {
+            return failure(0, name, "Search cancelled");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure(0, name, "Search interrupted");
+        } catch (RuntimeException e) {
+            log.warn("Bulk search of '{}' failed: {}", name, e.toString());
+            return failure(0, name, "City search service is currently unavailable");
+        }
+    }
+
+    /**
+     * Searches upstream once the rate limiter has a permit, polling at the rate its permits
+     * are refreshed. The client takes the permit, so a search that loses it to a concurrent
+     * call waits for the next one.
+     *
+     * @throws RequestNotPermitted   if no permit was obtained by {@code waitUntilNanos}
+     * @throws CancellationException if the batch was abandoned meanwhile
+     */
+    private List<GeocodingResult> searchWhenPermitted(String name, int count, String language,
+                                                      long waitUntilNanos, BooleanSupplier abandoned)
+            throws InterruptedException {
+        RateLimiterConfig config = rateLimiter.getRateLimiterConfig();
+        long pollMillis = Math.min(MAX_POLL_MILLIS,
+                Math.max(10, config.getLimitRefreshPeriod().toMillis() / Math.max(1, config.getLimitForPeriod())));
+        while (!abandoned.getAsBoolean()) {
+            if (rateLimiter.getMetrics().getAvailablePermissions() > 0) {
+                try {
+                    return weatherRepositoryPort.searchCity(name, count, language);
+                } catch (RequestNotPermitted e) {
+                    // Taken by a concurrent call
+                }
+            }
+            long leftNanos = waitUntilNanos - System.nanoTime();
+            if (leftNanos <= 0) {
+                throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+            }
+            Thread.sleep(Math.min(pollMillis, TimeUnit.NANOSECONDS.toMillis(leftNanos) + 1));
+        }
+        throw new CancellationException("Bulk search abandoned");
+    }
+
+    private static CitySearchOutcome located(CitySearchOutcome outcome, long line, String name) {
+        return outcome.toBuilder().line(line).name(name).build();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<GeocodingResult> cachedResults(Cache cache, String key) {
+        return cache == null ? null : cache.get(key, List.class);
+    }
+
+    private static CitySearchOutcome failure(long line, String name, String error) {
+        return CitySearchOutcome.builder().line(line).name(name).error(error).build();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
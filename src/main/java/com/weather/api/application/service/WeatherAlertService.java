@@ -0,0 +1,256 @@
+package com.weather.api.application.service;
+
+import com.weather.api.domain.exception.AlertRuleNotFoundException;
+import com.weather.api.domain.exception.InvalidCoordinatesException;
+import com.weather.api.domain.model.AlertEvent;
+import com.weather.api.domain.model.AlertRule;
+import com.weather.api.domain.model.GeoCell;
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.port.input.WeatherAlertUseCase;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Evaluates weather alert rules as forecasts are loaded.
+ * Rules are indexed by the {@link GeoCell} of their location, so a loaded forecast
+ * costs one lookup and evaluates only the rules of its cell: the work follows the
+ * locations whose forecast changed, not the number of subscribers or rules.
+ * A rule triggers when it starts to match, and again only after it stopped matching
+ * in between, so a lasting condition produces one alert rather than one per refresh.
+ * Triggered alerts are kept in memory, up to {@code alerts.max-events} per subscriber.
+ * Subscriber ids are not authenticated, so besides {@code alerts.max-rules-per-subscriber}
+ * the service holds at most {@code alerts.max-rules} rules, which also bounds the watched cells.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Service
+public class WeatherAlertService implements WeatherAlertUseCase {
+
+    private final double cellSize;
+    private final int maxRulesPerSubscriber;
+    private final int maxRules;
+    private final int maxEventsPerSubscriber;
+
+    private final AtomicLong ruleIds = new AtomicLong();
+    private final AtomicLong eventIds = new AtomicLong();
+    private final AtomicInteger ruleCount = new AtomicInteger();
+    private final Map<Long, WatchedRule> rules = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> rulesBySubscriber = new ConcurrentHashMap<>();
+    private final Map<GeoCell, WatchedCell> cells = new ConcurrentHashMap<>();
+    private final Map<String, Deque<AlertEvent>> events = new ConcurrentHashMap<>();
+
+    private final Counter triggered;
+
+    public WeatherAlertService(MeterRegistry meterRegistry,
+                               @Value("${alerts.cell-size:0.01}") double cellSize,
+                               @Value("${alerts.max-rules-per-subscriber:50}") int maxRulesPerSubscriber,
+                               @Value("${alerts.max-rules:10000}") int maxRules,
+                               @Value("${alerts.max-events:100}") int maxEventsPerSubscriber) {
+        this.cellSize = cellSize;
+        this.maxRulesPerSubscriber = maxRulesPerSubscriber;
+        this.maxRules = maxRules;
+        this.maxEventsPerSubscriber = maxEventsPerSubscriber;
+
+        this.triggered = Counter.builder("weather.alerts.triggered")
+                .description("Alert rules that started to match a loaded forecast")
+                .register(meterRegistry);
+        meterRegistry.gaugeMapSize("weather.alerts.rules", List.of(), rules);
+        meterRegistry.gaugeMapSize("weather.alerts.cells", List.of(), cells);
+    }
+
+    @Override
+    public AlertRule createRule(AlertRule rule) {
+        validateRule(rule);
+
+        AlertRule created = rule.toBuilder().id(ruleIds.incrementAndGet()).build();
+        WatchedRule watched = new WatchedRule(created, GeoCell.of(rule.getLatitude(), rule.getLongitude(), cellSize));
+
+        // Reserve a place first, so concurrent creations cannot overshoot the limit
+        if (ruleCount.incrementAndGet() > maxRules) {
+            ruleCount.decrementAndGet();
+            throw new IllegalArgumentException("The service can hold at most " + maxRules + " alert rules");
+        }
+        try {
+            rulesBySubscriber.compute(rule.getSubscriber(), (subscriber, ids) -> {
+                Set<Long> current = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+                if (current.size() >= maxRulesPerSubscriber) {
+                    throw new IllegalArgumentException(
+                            "A subscriber can have at most " + maxRulesPerSubscriber + " alert rules");
+                }
+                current.add(created.getId());
+                return current;
+            });
+        } catch (IllegalArgumentException e) {
+            ruleCount.decrementAndGet();
+            throw e;
+        }
+        rules.put(created.getId(), watched);
+        cells.compute(watched.cell, (cell, existing) -> {
+            WatchedCell current = existing == null ? new WatchedCell() : existing;
+            current.rules.add(watched);
+            return current;
+        });
+
+        log.info("Alert rule {} created for subscriber '{}' at cell {}", created.getId(), created.getSubscriber(),
+                watched.cell);
+        return created;
+    }
+
+    @Override
+    public void deleteRule(Long ruleId) {
+        WatchedRule watched = rules.remove(ruleId);
+        if (watched == null) {
+            throw new AlertRuleNotFoundException(ruleId);
+        }
+        ruleCount.decrementAndGet();
+
+        rulesBySubscriber.computeIfPresent(watched.rule.getSubscriber(), (subscriber, ids) -> {
+            ids.remove(ruleId);
+            return ids.isEmpty() ? null : ids;
+        });
+        cells.computeIfPresent(watched.cell, (cell, existing) -> {
+            existing.rules.remove(watched);
+            return existing.rules.isEmpty() ? null : existing;
+        });
+
+        log.info("Alert rule {} deleted", ruleId);
+    }
+
+    @Override
+    public List<AlertRule> getRules(String subscriber) {
+        Set<Long> ids = rulesBySubscriber.getOrDefault(subscriber, Set.of());
+        return ids.stream()
+                .map(rules::get)
+                .filter(watched -> watched != null)
+                .map(watched -> watched.rule)
+                .sorted(Comparator.comparing(AlertRule::getId))
+                .toList();
+    }
+
+    @Override
+    public List<AlertEvent> getEvents(String subscriber, long afterId) {
+        Deque<AlertEvent> subscriberEvents = events.get(subscriber);
+        if (subscriberEvents == null) {
+            return List.of();
+        }
+        synchronized (subscriberEvents) {
+            return subscriberEvents.stream()
+                    .filter(event -> event.getId() > afterId)
+                    .toList();
+        }
+    }
+
+    @Override
+    public boolean isWatched(double latitude, double longitude) {
+        return !cells.isEmpty() && cells.containsKey(GeoCell.of(latitude, longitude, cellSize));
+    }
+
+    @Override
+    public void evaluate(double latitude, double longitude, Weather weather) {
+        WatchedCell watchedCell = cells.get(GeoCell.of(latitude, longitude, cellSize));
+        if (watchedCell == null || weather == null) {
+            return;
+        }
+
+        watchedCell.evaluatedAt = System.nanoTime();
+        for (WatchedRule watched : watchedCell.rules) {
+            boolean matches = watched.rule.matches(weather);
+            if (watched.matching.getAndSet(matches) != matches && matches) {
+                trigger(watched.rule, weather);
+            }
+        }
+    }
+
+    @Override
+    public List<Location> getStaleLocations(Duration maxAge) {
+        long now = System.nanoTime();
+        List<Location> stale = new ArrayList<>();
+        cells.forEach((cell, watchedCell) -> {
+            long evaluatedAt = watchedCell.evaluatedAt;
+            if (evaluatedAt == 0 || now - evaluatedAt > maxAge.toNanos()) {
+                stale.add(cell.toLocation());
+            }
+        });
+        return stale;
+    }
+
+    private void trigger(AlertRule rule, Weather weather) {
+        AlertEvent event = AlertEvent.builder()
+                .id(eventIds.incrementAndGet())
+                .rule(rule)
+                .value(rule.getMetric().valueOf(weather))
+                .forecastTime(weather.getTime())
+                .triggeredAt(LocalDateTime.now())
+                .build();
+
+        Deque<AlertEvent> subscriberEvents = events.computeIfAbsent(rule.getSubscriber(), key -> new ArrayDeque<>());
+        synchronized (subscriberEvents) {
+            subscriberEvents.addLast(event);
+            if (subscriberEvents.size() > maxEventsPerSubscriber) {
+                subscriberEvents.removeFirst();
+            }
+        }
+        triggered.increment();
+
+        log.debug("Alert rule {} triggered: {} {} {} (value {})", rule.getId(), rule.getMetric(),
+                rule.getCondition(), rule.getThreshold(), event.getValue());
+    }
+
+    private void validateRule(AlertRule rule) {
+        if (rule.getSubscriber() == null || rule.getSubscriber().isBlank()) {
+            throw new IllegalArgumentException("Subscriber is required");
+        }
+        if (rule.getMetric() == null || rule.getCondition() == null || rule.getThreshold() == null) {
+            throw new IllegalArgumentException("Metric, condition and threshold are required");
+        }
+
+        Location location = Location.builder()
+                .latitude(rule.getLatitude())
+                .longitude(rule.getLongitude())
+                .build();
+        if (!location.isValid()) {
+            throw new InvalidCoordinatesException(rule.getLatitude(), rule.getLongitude());
+        }
+    }
+
+    /**
+     * A rule, its cell and whether it matched the last forecast it was evaluated against.
+     */
+    private static final class WatchedRule {
+        private final AlertRule rule;
+        private final GeoCell cell;
+        private final AtomicBoolean matching = new AtomicBoolean();
+
+        private WatchedRule(AlertRule rule, GeoCell cell) {
+            this.rule = rule;
+            this.cell = cell;
+        }
+    }
+
+    /**
+     * The rules of one cell and when they were last evaluated.
+     */
+    private static final class WatchedCell {
+        private final Set<WatchedRule> rules = ConcurrentHashMap.newKeySet();
+        private volatile long evaluatedAt;
+    }
+}
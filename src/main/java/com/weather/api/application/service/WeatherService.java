@@ -1,18 +1,28 @@
 package com.weather.api.application.service;
 
 import com.weather.api.domain.exception.InvalidCoordinatesException;
+import com.weather.api.domain.model.CoordinateKey;
+import com.weather.api.domain.model.Deadline;
 import com.weather.api.domain.model.GeocodingResult;
 import com.weather.api.domain.model.Location;
 import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.model.WeatherVariable;
 import com.weather.api.domain.port.input.WeatherUseCase;
 import com.weather.api.domain.port.output.WeatherRepositoryPort;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service implementation for weather operations.
@@ -25,15 +35,33 @@ import java.util.List;
 @RequiredArgsConstructor
 public class WeatherService implements WeatherUseCase {
 
+    static final String FORECAST_CACHE = "weatherForecast";
+    static final String VARIABLE_CACHE = "weatherVariable";
+
+    private static final int VARIABLE_COUNT = WeatherVariable.values().length;
+
     private final WeatherRepositoryPort weatherRepositoryPort;
+    private final CacheManager cacheManager;
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Forecasts are cached per location under its {@link CoordinateKey}, validated and
+     * encoded from the primitive coordinates rather than concatenated into a string. Approximate
+     * and stale forecasts, served while upstream is unavailable, are not cached.
+     */
     @Override
-    @Cacheable(
-            value = "weatherForecast",
-            key = "#latitude + '_' + #longitude",
-            unless = "#result == null"
-    )
     public Weather getWeatherForecast(Double latitude, Double longitude, String timezone) {
+        // Validate coordinates
+        validateCoordinates(latitude, longitude);
+
+        long key = CoordinateKey.encode(latitude, longitude);
+        Cache forecastCache = cacheManager.getCache(FORECAST_CACHE);
+        Weather cached = forecastCache == null ? null : forecastCache.get(key, Weather.class);
+        if (cached != null) {
+            return cached;
+        }
+
         log.info("Getting weather forecast for coordinates: ({}, {})", latitude, longitude);
 
         // Add to MDC for tracing
@@ -41,24 +69,92 @@ public class WeatherService implements WeatherUseCase {
         MDC.put("longitude", String.valueOf(longitude));
 
         try {
-            // Validate coordinates
-            validateCoordinates(latitude, longitude);
-
             // Set default timezone if not provided
             String tz = (timezone == null || timezone.isEmpty()) ? "auto" : timezone;
 
+            // Don't call upstream on behalf of a client that has already given up
+            Deadline.current().ifPresent(Deadline::check);
+
             // Fetch weather from repository
             Weather weather = weatherRepositoryPort.fetchWeatherForecast(latitude, longitude, tz);
 
             log.info("Weather forecast retrieved successfully: temp={}°C, code={}",
                     weather.getTemperature(), weather.getWeatherCode());
 
+            if (forecastCache != null && !weather.isDegraded()) {
+                forecastCache.put(key, weather);
+            }
             return weather;
         } finally {
             MDC.clear();
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Each variable is cached on its own per location, so a new combination of variables
+     * only fetches the ones no earlier request has loaded. Default variables are also
+     * served from the full forecast cache, which background refresh keeps warm.
+     * Merged values may come from different fetches; the reported time is the oldest one.
+     */
+    @Override
+    public Weather getWeatherForecast(Double latitude, Double longitude, String timezone,
+                                      Set<WeatherVariable> variables) {
+        log.info("Getting weather variables {} for coordinates: ({}, {})", variables, latitude, longitude);
+
+        MDC.put("latitude", String.valueOf(latitude));
+        MDC.put("longitude", String.valueOf(longitude));
+
+        try {
+            validateCoordinates(latitude, longitude);
+
+            String tz = (timezone == null || timezone.isEmpty()) ? "auto" : timezone;
+            long locationKey = CoordinateKey.encode(latitude, longitude);
+            Cache variableCache = cacheManager.getCache(VARIABLE_CACHE);
+
+            Map<WeatherVariable, Weather> sources = new EnumMap<>(WeatherVariable.class);
+            Set<WeatherVariable> missing = EnumSet.noneOf(WeatherVariable.class);
+            Set<WeatherVariable> selected = variables.isEmpty() ? WeatherVariable.DEFAULTS : variables;
+            Weather forecast = null;
+
+            for (WeatherVariable variable : selected) {
+                Weather cached = variableCache.get(variableKey(locationKey, variable), Weather.class);
+                if (cached == null && WeatherVariable.DEFAULTS.contains(variable)) {
+                    if (forecast == null) {
+                        forecast = cachedForecast(locationKey);
+                    }
+                    cached = forecast;
+                }
+                if (cached != null) {
+                    sources.put(variable, cached);
+                } else {
+                    missing.add(variable);
+                }
+            }
+
+            if (!missing.isEmpty()) {
+                Deadline.current().ifPresent(Deadline::check);
+
+                Weather fetched = weatherRepositoryPort.fetchWeatherForecast(latitude, longitude, tz, missing);
+                for (WeatherVariable variable : missing) {
+                    if (!fetched.isDegraded()) {
+                        // Nearby or old values only stand in for fresh ones while upstream is down
+                        variableCache.put(variableKey(locationKey, variable), fetched);
+                    }
+                    sources.put(variable, fetched);
+                }
+            }
+
+            log.info("Weather variables retrieved: {} cached, {} fetched",
+                    selected.size() - missing.size(), missing.size());
+
+            return merge(sources);
+        } finally {
+            MDC.clear();
+        }
+    }
+
     @Override
     @Cacheable(
             value = "citySearch",
@@ -80,6 +176,8 @@ public class WeatherService implements WeatherUseCase {
             int resultCount = (count == null || count < 1) ? 10 : Math.min(count, 20);
             String lang = (language == null || language.isEmpty()) ? "en" : language;
 
+            Deadline.current().ifPresent(Deadline::check);
+
             // Search city
             List<GeocodingResult> results = weatherRepositoryPort.searchCity(
                     cityName.trim(),
@@ -95,6 +193,40 @@ public class WeatherService implements WeatherUseCase {
         }
     }
 
+    private Weather cachedForecast(long locationKey) {
+        Cache forecastCache = cacheManager.getCache(FORECAST_CACHE);
+        return forecastCache == null ? null : forecastCache.get(locationKey, Weather.class);
+    }
+
+    /**
+     * Key of one variable of a location: the location key spread over one slot per variable.
+     * Location keys use 58 bits, which leaves room for the variables.
+     */
+    private static long variableKey(long locationKey, WeatherVariable variable) {
+        return locationKey * VARIABLE_COUNT + variable.ordinal();
+    }
+
+    /**
+     * Combines the selected variables, each taken from the observation it was cached with.
+     */
+    private static Weather merge(Map<WeatherVariable, Weather> sources) {
+        Weather oldest = sources.values().stream()
+                .min(Comparator.comparing(Weather::getTime, Comparator.nullsLast(Comparator.naturalOrder())))
+                .orElseThrow();
+
+        Weather.WeatherBuilder builder = Weather.builder()
+                .time(oldest.getTime())
+                .latitude(oldest.getLatitude())
+                .longitude(oldest.getLongitude())
+                .timezone(oldest.getTimezone());
+        if (sources.values().stream().anyMatch(source -> Boolean.TRUE.equals(source.getApproximate()))) {
+            builder.approximate(true);
+        }
+        sources.forEach((variable, source) -> variable.copy(source, builder));
+
+        return builder.build();
+    }
+
     /**
      * Validates geographical coordinates.
      *
@@ -103,12 +235,7 @@ public class WeatherService implements WeatherUseCase {
      * @throws InvalidCoordinatesException if coordinates are invalid
      */
     private void validateCoordinates(Double latitude, Double longitude) {
-        Location location = Location.builder()
-                .latitude(latitude)
-                .longitude(longitude)
-                .build();
-
-        if (!location.isValid()) {
+        if (latitude == null || longitude == null || !Location.isValid(latitude, longitude)) {
             log.error("Invalid coordinates: lat={}, lon={}", latitude, longitude);
             throw new InvalidCoordinatesException(latitude, longitude);
         }
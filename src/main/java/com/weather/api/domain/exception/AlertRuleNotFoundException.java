@@ -0,0 +1,13 @@
+package com.weather.api.domain.exception;
+
+/**
+ * Exception thrown when an alert rule does not exist.
+ *
+ * @author Weather API Team
+ */
+public class AlertRuleNotFoundException extends WeatherApiException {
+
+    public AlertRuleNotFoundException(Long ruleId) {
+        super(String.format("Alert rule not found: %d", ruleId));
+    }
+}
@@ -0,0 +1,15 @@
+package com.weather.api.domain.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when a request cannot be answered before its deadline.
+ *
+ * @author Weather API Team
+ */
+public class DeadlineExceededException extends WeatherApiException {
+
+    public DeadlineExceededException(Duration timeout) {
+        super(String.format("Request deadline of %d ms exceeded", timeout.toMillis()));
+    }
+}
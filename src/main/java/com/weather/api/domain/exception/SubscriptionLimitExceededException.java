@@ -0,0 +1,13 @@
+package com.weather.api.domain.exception;
+
+/**
+ * Exception thrown when a node already holds as many live subscriptions as it accepts.
+ *
+ * @author Weather API Team
+ */
+public class SubscriptionLimitExceededException extends WeatherApiException {
+
+    public SubscriptionLimitExceededException(int maxConnections) {
+        super(String.format("Subscription limit of %d connections reached", maxConnections));
+    }
+}
@@ -2,16 +2,31 @@ package com.weather.api.domain.exception;
 
 /**
  * Base exception for all weather API domain exceptions.
+ * These exceptions describe expected outcomes (invalid input, unknown city,
+ * upstream unavailable) and can be made stackless, which avoids the cost of
+ * filling in stack traces when they are thrown on every request, e.g. during an
+ * upstream outage. The cause, if any, keeps its own stack trace.
  *
  * @author Weather API Team
  */
 public class WeatherApiException extends RuntimeException {
 
+    private static volatile boolean stackTraceEnabled = true;
+
     public WeatherApiException(String message) {
-        super(message);
+        super(message, null, true, stackTraceEnabled);
     }
 
     public WeatherApiException(String message, Throwable cause) {
-        super(message, cause);
+        super(message, cause, true, stackTraceEnabled);
+    }
+
+    /**
+     * Sets whether domain exceptions created from now on capture a stack trace.
+     *
+     * @param enabled false to create stackless exceptions
+     */
+    public static void setStackTraceEnabled(boolean enabled) {
+        stackTraceEnabled = enabled;
     }
 }
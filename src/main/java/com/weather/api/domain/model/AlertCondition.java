@@ -0,0 +1,42 @@
+package com.weather.api.domain.model;
+
+/**
+ * Comparison between a forecast value and an alert rule threshold.
+ *
+ * @author Weather API Team
+ */
+public enum AlertCondition {
+
+    ABOVE {
+        @Override
+        public boolean test(double value, double threshold) {
+            return value > threshold;
+        }
+    },
+
+    BELOW {
+        @Override
+        public boolean test(double value, double threshold) {
+            return value < threshold;
+        }
+    },
+
+    /**
+     * Meant for weather codes, which are categories rather than measurements.
+     */
+    EQUALS {
+        @Override
+        public boolean test(double value, double threshold) {
+            return value == threshold;
+        }
+    };
+
+    /**
+     * Checks if a value meets this condition.
+     *
+     * @param value     the forecast value
+     * @param threshold the rule threshold
+     * @return true if the condition holds
+     */
+    public abstract boolean test(double value, double threshold);
+}
@@ -0,0 +1,21 @@
+package com.weather.api.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * An alert rule starting to match: the forecast value crossed the rule threshold.
+ *
+ * @author Weather API Team
+ */
+@Value
+@Builder
+public class AlertEvent {
+    long id;
+    AlertRule rule;
+    Double value;
+    LocalDateTime forecastTime;
+    LocalDateTime triggeredAt;
+}
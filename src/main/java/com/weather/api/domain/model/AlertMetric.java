@@ -0,0 +1,32 @@
+package com.weather.api.domain.model;
+
+import java.util.function.Function;
+
+/**
+ * Forecast values an alert rule can watch.
+ *
+ * @author Weather API Team
+ */
+public enum AlertMetric {
+
+    TEMPERATURE(Weather::getTemperature),
+    WIND_SPEED(Weather::getWindSpeed),
+    WEATHER_CODE(Weather::getWeatherCode);
+
+    private final Function<Weather, ? extends Number> extractor;
+
+    AlertMetric(Function<Weather, ? extends Number> extractor) {
+        this.extractor = extractor;
+    }
+
+    /**
+     * Reads this metric from a forecast.
+     *
+     * @param weather the forecast
+     * @return the value, or null if the forecast does not carry it
+     */
+    public Double valueOf(Weather weather) {
+        Number value = extractor.apply(weather);
+        return value == null ? null : value.doubleValue();
+    }
+}
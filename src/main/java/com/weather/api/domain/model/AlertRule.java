@@ -0,0 +1,33 @@
+package com.weather.api.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * A subscriber's request to be alerted when a forecast value at a location
+ * meets a condition, e.g. wind speed above 50 km/h.
+ *
+ * @author Weather API Team
+ */
+@Value
+@Builder(toBuilder = true)
+public class AlertRule {
+    Long id;
+    String subscriber;
+    Double latitude;
+    Double longitude;
+    AlertMetric metric;
+    AlertCondition condition;
+    Double threshold;
+
+    /**
+     * Checks if a forecast meets this rule.
+     *
+     * @param weather the forecast
+     * @return true if the watched value is present and meets the condition
+     */
+    public boolean matches(Weather weather) {
+        Double value = metric.valueOf(weather);
+        return value != null && condition.test(value, threshold);
+    }
+}
@@ -0,0 +1,30 @@
+package com.weather.api.domain.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Result of searching one city name of a bulk search: either the matching
+ * cities or the reason the search failed.
+ *
+ * @author Weather API Team
+ */
+@Value
+@Builder(toBuilder = true)
+public class CitySearchOutcome {
+    long line;
+    String name;
+    List<GeocodingResult> results;
+    String error;
+
+    /**
+     * Checks if the search succeeded.
+     *
+     * @return true if results were found
+     */
+    public boolean isFound() {
+        return error == null;
+    }
+}
@@ -0,0 +1,84 @@
+package com.weather.api.domain.model;
+
+/**
+ * Encodes a coordinate pair into a single {@code long}, the key of the weather forecast
+ * cache. Latitude and longitude are quantized to millionths of a degree (about 11 cm,
+ * the precision {@link GeoCell} keeps) and their bits interleaved into a Morton code,
+ * so nearby coordinates get numerically close keys.
+ * Building the key allocates no {@code "latitude_longitude"} string, though caches still
+ * box it to a {@link Long} on every lookup.
+ *
+ * @author Weather API Team
+ */
+public final class CoordinateKey {
+
+    private static final double SCALE = 1_000_000d;
+    private static final long LATITUDE_OFFSET = 90_000_000L;
+    private static final long LONGITUDE_OFFSET = 180_000_000L;
+
+    private CoordinateKey() {
+    }
+
+    /**
+     * Encodes valid coordinates.
+     *
+     * @param latitude  latitude between -90 and 90
+     * @param longitude longitude between -180 and 180
+     * @return the key
+     * @throws IllegalArgumentException if the coordinates are out of range
+     */
+    public static long encode(double latitude, double longitude) {
+        if (!Location.isValid(latitude, longitude)) {
+            throw new IllegalArgumentException("Coordinates out of range: " + latitude + ", " + longitude);
+        }
+        long y = Math.round(latitude * SCALE) + LATITUDE_OFFSET;
+        long x = Math.round(longitude * SCALE) + LONGITUDE_OFFSET;
+        return spread(x) | (spread(y) << 1);
+    }
+
+    /**
+     * Latitude of a key, to the millionth of a degree.
+     *
+     * @param key the key
+     * @return the latitude
+     */
+    public static double latitude(long key) {
+        return (compact(key >>> 1) - LATITUDE_OFFSET) / SCALE;
+    }
+
+    /**
+     * Longitude of a key, to the millionth of a degree.
+     *
+     * @param key the key
+     * @return the longitude
+     */
+    public static double longitude(long key) {
+        return (compact(key) - LONGITUDE_OFFSET) / SCALE;
+    }
+
+    /**
+     * Spreads the low 32 bits of a value over the even bits of the result.
+     */
+    private static long spread(long value) {
+        long bits = value & 0xFFFFFFFFL;
+        bits = (bits | (bits << 16)) & 0x0000FFFF0000FFFFL;
+        bits = (bits | (bits << 8)) & 0x00FF00FF00FF00FFL;
+        bits = (bits | (bits << 4)) & 0x0F0F0F0F0F0F0F0FL;
+        bits = (bits | (bits << 2)) & 0x3333333333333333L;
+        bits = (bits | (bits << 1)) & 0x5555555555555555L;
+        return bits;
+    }
+
+    /**
+     * Gathers the even bits of a value, the inverse of {@link #spread}.
+     */
+    private static long compact(long value) {
+        long bits = value & 0x5555555555555555L;
+        bits = (bits | (bits >>> 1)) & 0x3333333333333333L;
+        bits = (bits | (bits >>> 2)) & 0x0F0F0F0F0F0F0F0FL;
+        bits = (bits | (bits >>> 4)) & 0x00FF00FF00FF00FFL;
+        bits = (bits | (bits >>> 8)) & 0x0000FFFF0000FFFFL;
+        bits = (bits | (bits >>> 16)) & 0x00000000FFFFFFFFL;
+        return bits;
+    }
+}
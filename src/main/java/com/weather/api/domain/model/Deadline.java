@@ -0,0 +1,94 @@
+package com.weather.api.domain.model;
+
+import com.weather.api.domain.exception.DeadlineExceededException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Point in time by which a request must be answered, after which its client has given up.
+ * The deadline of the request being processed is bound to the current thread, like the
+ * MDC, so that every layer down to the upstream call can size its work to the time left.
+ *
+ * @author Weather API Team
+ */
+public final class Deadline {
+
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final Duration timeout;
+    private final long expiresAtNanos;
+
+    private Deadline(Duration timeout) {
+        this.timeout = timeout;
+        this.expiresAtNanos = System.nanoTime() + timeout.toNanos();
+    }
+
+    /**
+     * Creates a deadline that expires after the given timeout from now.
+     *
+     * @param timeout time the request may take
+     * @return the deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(timeout);
+    }
+
+    /**
+     * Gets the deadline of the request processed by the current thread.
+     *
+     * @return the deadline, or empty outside of a request with a deadline
+     */
+    public static Optional<Deadline> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    /**
+     * Binds a deadline to the current thread.
+     *
+     * @param deadline the deadline of the request being processed
+     */
+    public static void attach(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    /**
+     * Removes the deadline bound to the current thread.
+     */
+    public static void detach() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Gets the time left before the deadline.
+     *
+     * @return remaining time, zero once expired
+     */
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    /**
+     * Checks whether the deadline has passed.
+     *
+     * @return true if the deadline has passed
+     */
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Fails if the deadline has passed.
+     *
+     * @throws DeadlineExceededException if the deadline has passed
+     */
+    public void check() {
+        if (isExpired()) {
+            throw new DeadlineExceededException(timeout);
+        }
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+}
@@ -0,0 +1,98 @@
+package com.weather.api.domain.model;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * A cell of a regular latitude/longitude grid. Nearby coordinates fall into the same
+ * cell, so they can share a single forecast: at the default size of 0.01 degrees a
+ * cell is at most about 1.1 km across, well below the resolution of the weather models.
+ *
+ * @author Weather API Team
+ */
+@Getter
+@EqualsAndHashCode
+public final class GeoCell {
+
+    private final long latitudeIndex;
+    private final long longitudeIndex;
+    private final double size;
+
+    private GeoCell(long latitudeIndex, long longitudeIndex, double size) {
+        this.latitudeIndex = latitudeIndex;
+        this.longitudeIndex = longitudeIndex;
+        this.size = size;
+    }
+
+    /**
+     * Finds the cell containing the given coordinates.
+     *
+     * @param latitude  the latitude coordinate
+     * @param longitude the longitude coordinate
+     * @param size      cell size in degrees
+     * @return the cell whose centre is closest to the coordinates
+     */
+    public static GeoCell of(double latitude, double longitude, double size) {
+        return new GeoCell(Math.round(latitude / size), Math.round(longitude / size), size);
+    }
+
+    /**
+     * Latitude of the cell centre, the coordinate its forecast is fetched for.
+     *
+     * @return the centre latitude
+     */
+    public double getLatitude() {
+        return round(latitudeIndex * size);
+    }
+
+    /**
+     * Longitude of the cell centre, the coordinate its forecast is fetched for.
+     *
+     * @return the centre longitude
+     */
+    public double getLongitude() {
+        return round(longitudeIndex * size);
+    }
+
+    /**
+     * The cell centre as a location.
+     *
+     * @return the centre location
+     */
+    public Location toLocation() {
+        return Location.builder()
+                .latitude(getLatitude())
+                .longitude(getLongitude())
+                .build();
+    }
+
+    /**
+     * Identifier of the cell: its centre as {@code "latitude_longitude"}.
+     *
+     * @return the identifier
+     */
+    public String toKey() {
+        return getLatitude() + "_" + getLongitude();
+    }
+
+    /**
+     * Key of the cell centre in the weather forecast cache.
+     *
+     * @return the cache key
+     */
+    public long toCacheKey() {
+        return CoordinateKey.encode(getLatitude(), getLongitude());
+    }
+
+    @Override
+    public String toString() {
+        return toKey();
+    }
+
+    /**
+     * Removes the floating point noise of {@code index * size}, keeping six decimals.
+     */
+    private static double round(double value) {
+        return Math.round(value * 1_000_000d) / 1_000_000d;
+    }
+}
@@ -11,20 +11,76 @@ import lombok.Value;
 @Value
 @Builder
 public class GeocodingResult {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
     String id;
     String name;
     Double latitude;
     Double longitude;
     String country;
     String admin1; // State or province
+    String displayName;
 
     /**
-     * Generates a display name for the location.
+     * Creates a geocoding result as received from the upstream provider,
+     * with a stable identifier and a precomputed display name.
+     *
+     * @param name      city name
+     * @param latitude  latitude coordinate
+     * @param longitude longitude coordinate
+     * @param country   country name
+     * @param admin1    state or province name
+     * @return the geocoding result
+     */
+    public static GeocodingResult of(String name, Double latitude, Double longitude, String country, String admin1) {
+        return GeocodingResult.builder()
+                .id(stableId(name, latitude, longitude, admin1, country))
+                .name(name)
+                .latitude(latitude)
+                .longitude(longitude)
+                .country(country)
+                .admin1(admin1)
+                .displayName(formatDisplayName(name, admin1, country))
+                .build();
+    }
+
+    /**
+     * Gets the display name for the location, computing it if it was not set at creation.
      * Format: "Name, State, Country" or "Name, Country" if state is null.
      *
      * @return formatted display name
      */
     public String getDisplayName() {
+        return displayName != null ? displayName : formatDisplayName(name, admin1, country);
+    }
+
+    /**
+     * Derives an identifier from the upstream identity of a location, so the same
+     * place gets the same ID on every search. It is a 64-bit FNV-1a hash rendered
+     * as 16 hex digits.
+     *
+     * @return identifier that is stable across requests and restarts
+     */
+    static String stableId(String name, Double latitude, Double longitude, String admin1, String country) {
+        long hash = FNV_OFFSET_BASIS;
+        hash = hash(hash, name);
+        hash = hash(hash, latitude == null ? 0L : Double.doubleToLongBits(latitude));
+        hash = hash(hash, longitude == null ? 0L : Double.doubleToLongBits(longitude));
+        hash = hash(hash, admin1);
+        hash = hash(hash, country);
+
+        char[] hex = new char[16];
+        for (int i = hex.length - 1; i >= 0; i--) {
+            hex[i] = HEX_DIGITS[(int) (hash & 0xF)];
+            hash >>>= 4;
+        }
+        return new String(hex);
+    }
+
+    private static String formatDisplayName(String name, String admin1, String country) {
         StringBuilder displayName = new StringBuilder(name);
 
         if (admin1 != null && !admin1.isEmpty()) {
@@ -38,6 +94,26 @@ public class GeocodingResult {
         return displayName.toString();
     }
 
+    private static long hash(long hash, String value) {
+        if (value != null) {
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                hash = (hash ^ (c & 0xFF)) * FNV_PRIME;
+                hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+            }
+        }
+        // Field separator, so that ("ab", "c") and ("a", "bc") hash differently
+        return (hash ^ 0xFF) * FNV_PRIME;
+    }
+
+    private static long hash(long hash, long value) {
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash = (hash ^ (value & 0xFF)) * FNV_PRIME;
+            value >>>= 8;
+        }
+        return hash;
+    }
+
     /**
      * Gets the location coordinates.
      *
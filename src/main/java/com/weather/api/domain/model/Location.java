@@ -20,8 +20,18 @@ public class Location {
      * @return true if coordinates are valid
      */
     public boolean isValid() {
-        return latitude != null && longitude != null
-                && latitude >= -90.0 && latitude <= 90.0
+        return latitude != null && longitude != null && isValid(latitude, longitude);
+    }
+
+    /**
+     * Validates coordinates without building a location.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @return true if both are within valid geographical ranges
+     */
+    public static boolean isValid(double latitude, double longitude) {
+        return latitude >= -90.0 && latitude <= 90.0
                 && longitude >= -180.0 && longitude <= 180.0;
     }
 
@@ -12,16 +12,22 @@ import java.time.LocalDateTime;
  * @author Weather API Team
  */
 @Value
-@Builder
+@Builder(toBuilder = true)
 public class Weather {
     LocalDateTime time;
     Double temperature;
     Integer weatherCode;
     Double windSpeed;
     Integer humidity;
+    Double apparentTemperature;
+    Double precipitation;
+    Integer cloudCover;
+    Integer windDirection;
     Double latitude;
     Double longitude;
     String timezone;
+    Boolean approximate; // True for a nearby location's forecast served during an outage, otherwise null
+    Boolean stale; // True for the location's last known forecast served during an outage, otherwise null
 
     /**
      * Validates if the weather data is complete and valid.
@@ -37,6 +43,16 @@ public class Weather {
                 && isValidCoordinates();
     }
 
+    /**
+     * Checks whether this forecast only stands in for a fresh one while upstream is
+     * unavailable: such forecasts are served but never cached, shared or indexed.
+     *
+     * @return true if the forecast is approximate or stale
+     */
+    public boolean isDegraded() {
+        return Boolean.TRUE.equals(approximate) || Boolean.TRUE.equals(stale);
+    }
+
     /**
      * Validates if coordinates are within valid ranges.
      *
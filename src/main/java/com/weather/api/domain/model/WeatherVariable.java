@@ -0,0 +1,90 @@
+package com.weather.api.domain.model;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Current-conditions variables a client can request from the forecast endpoint.
+ * Each variable is identified by its field name in the API response and is fetched
+ * and cached independently, so clients only pay for the variables they ask for.
+ *
+ * @author Weather API Team
+ */
+public enum WeatherVariable {
+
+    TEMPERATURE("temperature", (from, to) -> to.temperature(from.getTemperature())),
+    HUMIDITY("humidity", (from, to) -> to.humidity(from.getHumidity())),
+    WEATHER_CODE("weatherCode", (from, to) -> to.weatherCode(from.getWeatherCode())),
+    WIND_SPEED("windSpeed", (from, to) -> to.windSpeed(from.getWindSpeed())),
+    APPARENT_TEMPERATURE("apparentTemperature", (from, to) -> to.apparentTemperature(from.getApparentTemperature())),
+    PRECIPITATION("precipitation", (from, to) -> to.precipitation(from.getPrecipitation())),
+    CLOUD_COVER("cloudCover", (from, to) -> to.cloudCover(from.getCloudCover())),
+    WIND_DIRECTION("windDirection", (from, to) -> to.windDirection(from.getWindDirection()));
+
+    /**
+     * Variables returned when the client does not select any.
+     */
+    public static final Set<WeatherVariable> DEFAULTS =
+            Collections.unmodifiableSet(EnumSet.of(TEMPERATURE, HUMIDITY, WEATHER_CODE, WIND_SPEED));
+
+    private final String fieldName;
+    private final BiConsumer<Weather, Weather.WeatherBuilder> copier;
+
+    WeatherVariable(String fieldName, BiConsumer<Weather, Weather.WeatherBuilder> copier) {
+        this.fieldName = fieldName;
+        this.copier = copier;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    /**
+     * Copies this variable's value from a weather observation into a builder.
+     *
+     * @param from the observation holding the value
+     * @param to   the builder receiving it
+     */
+    public void copy(Weather from, Weather.WeatherBuilder to) {
+        copier.accept(from, to);
+    }
+
+    /**
+     * Parses a comma-separated list of response field names.
+     *
+     * @param fields field names such as {@code "temperature,windSpeed"}, or null
+     * @return the selected variables, or {@link #DEFAULTS} when none are given
+     * @throws IllegalArgumentException if a field name is unknown
+     */
+    public static Set<WeatherVariable> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return DEFAULTS;
+        }
+
+        Set<WeatherVariable> variables = EnumSet.noneOf(WeatherVariable.class);
+        for (String field : fields.split(",")) {
+            if (!field.isBlank()) {
+                variables.add(fromFieldName(field.trim()));
+            }
+        }
+        return variables.isEmpty() ? DEFAULTS : variables;
+    }
+
+    /**
+     * Resolves a variable by its response field name.
+     *
+     * @param fieldName the field name
+     * @return the matching variable
+     * @throws IllegalArgumentException if the field name is unknown
+     */
+    public static WeatherVariable fromFieldName(String fieldName) {
+        for (WeatherVariable variable : values()) {
+            if (variable.fieldName.equals(fieldName)) {
+                return variable;
+            }
+        }
+        throw new IllegalArgumentException("Unknown weather field: " + fieldName);
+    }
+}
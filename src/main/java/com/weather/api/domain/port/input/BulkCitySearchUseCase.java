@@ -0,0 +1,26 @@
+package com.weather.api.domain.port.input;
+
+import com.weather.api.domain.model.CitySearchOutcome;
+
+import java.util.Iterator;
+import java.util.function.Consumer;
+
+/**
+ * Input port (use case interface) for geocoding many city names at once.
+ *
+ * @author Weather API Team
+ */
+public interface BulkCitySearchUseCase {
+
+    /**
+     * Searches every city name and reports each outcome as soon as it is known,
+     * which is not necessarily in input order. Names are consumed lazily, so the
+     * batch is never held in memory as a whole.
+     *
+     * @param names    the city names, one per element; blank names are skipped
+     * @param count    maximum number of results per name (default: 1, max: 20)
+     * @param language language for results (default: "en")
+     * @param sink     receives one outcome per non-blank name; calls may come from different threads but never overlap
+     */
+    void searchCities(Iterator<String> names, Integer count, String language, Consumer<CitySearchOutcome> sink);
+}
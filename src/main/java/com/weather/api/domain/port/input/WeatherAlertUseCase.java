@@ -0,0 +1,76 @@
+package com.weather.api.domain.port.input;
+
+import com.weather.api.domain.model.AlertEvent;
+import com.weather.api.domain.model.AlertRule;
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Input port (use case interface) for weather alerts.
+ * Rules are evaluated whenever a forecast for their location is loaded, not by polling.
+ *
+ * @author Weather API Team
+ */
+public interface WeatherAlertUseCase {
+
+    /**
+     * Registers an alert rule.
+     *
+     * @param rule the rule, without id
+     * @return the registered rule with its id
+     */
+    AlertRule createRule(AlertRule rule);
+
+    /**
+     * Removes an alert rule.
+     *
+     * @param ruleId the rule id
+     */
+    void deleteRule(Long ruleId);
+
+    /**
+     * Lists the rules of a subscriber.
+     *
+     * @param subscriber the subscriber
+     * @return the subscriber's rules
+     */
+    List<AlertRule> getRules(String subscriber);
+
+    /**
+     * Lists the alerts triggered for a subscriber, oldest first.
+     *
+     * @param subscriber the subscriber
+     * @param afterId    only events with a greater id are returned; 0 for all retained events
+     * @return the triggered alerts
+     */
+    List<AlertEvent> getEvents(String subscriber, long afterId);
+
+    /**
+     * Checks if any rule watches the given coordinates.
+     *
+     * @param latitude  the latitude coordinate
+     * @param longitude the longitude coordinate
+     * @return true if a forecast for these coordinates must be evaluated
+     */
+    boolean isWatched(double latitude, double longitude);
+
+    /**
+     * Evaluates the rules watching the given coordinates against a freshly loaded forecast.
+     *
+     * @param latitude  the latitude the forecast was loaded for
+     * @param longitude the longitude the forecast was loaded for
+     * @param weather   the forecast
+     */
+    void evaluate(double latitude, double longitude, Weather weather);
+
+    /**
+     * Lists the watched locations that have not been evaluated for the given time.
+     *
+     * @param maxAge the longest time a watched location may go without evaluation
+     * @return the locations whose forecast should be loaded
+     */
+    List<Location> getStaleLocations(Duration maxAge);
+}
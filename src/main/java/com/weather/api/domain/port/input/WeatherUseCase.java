@@ -2,8 +2,10 @@ package com.weather.api.domain.port.input;
 
 import com.weather.api.domain.model.GeocodingResult;
 import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.model.WeatherVariable;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Input port (use case interface) for weather operations.
@@ -26,6 +28,20 @@ public interface WeatherUseCase {
      */
     Weather getWeatherForecast(Double latitude, Double longitude, String timezone);
 
+    /**
+     * Retrieves only the selected current weather variables for given coordinates.
+     * Variables already cached for the location are reused; only the missing ones are fetched.
+     *
+     * @param latitude  the latitude coordinate (-90 to 90)
+     * @param longitude the longitude coordinate (-180 to 180)
+     * @param timezone  optional timezone (default: "auto")
+     * @param variables the variables to return
+     * @return Weather object holding only the selected variables
+     * @throws com.weather.api.domain.exception.InvalidCoordinatesException if coordinates are invalid
+     * @throws com.weather.api.domain.exception.ExternalApiException if external API fails
+     */
+    Weather getWeatherForecast(Double latitude, Double longitude, String timezone, Set<WeatherVariable> variables);
+
     /**
      * Searches for cities by name.
      *
@@ -1,9 +1,12 @@
 package com.weather.api.domain.port.output;
 
 import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.model.Location;
 import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.model.WeatherVariable;
 
 import java.util.List;
+import java.util.Set;
 
 /**
  * Output port (repository interface) for weather data operations.
@@ -24,6 +27,27 @@ public interface WeatherRepositoryPort {
      */
     Weather fetchWeatherForecast(Double latitude, Double longitude, String timezone);
 
+    /**
+     * Fetches only the given current weather variables from external API.
+     * Variables that were not requested are left null in the result.
+     *
+     * @param latitude  the latitude coordinate
+     * @param longitude the longitude coordinate
+     * @param timezone  the timezone (or "auto")
+     * @param variables the variables to fetch
+     * @return Weather object with the requested conditions
+     */
+    Weather fetchWeatherForecast(Double latitude, Double longitude, String timezone, Set<WeatherVariable> variables);
+
+    /**
+     * Fetches current weather data for several locations in a single external call.
+     *
+     * @param locations the locations to fetch
+     * @param timezone  the timezone (or "auto")
+     * @return Weather objects in the same order as the requested locations
+     */
+    List<Weather> fetchWeatherForecasts(List<Location> locations, String timezone);
+
     /**
      * Searches for cities in external geocoding API.
      *
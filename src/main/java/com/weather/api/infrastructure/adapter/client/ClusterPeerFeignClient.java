@@ -0,0 +1,60 @@
+package com.weather.api.infrastructure.adapter.client;
+
+import feign.Request;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.net.URI;
+
+/**
+ * Feign client for the internal endpoints of other instances of the service,
+ * to which lookups are forwarded in ownership mode. The instance is chosen per call
+ * through the {@link URI} argument. Values are returned Smile-encoded.
+ *
+ * @author Weather API Team
+ */
+@FeignClient(
+        name = "cluster-peer",
+        url = "http://cluster-peer"
+)
+public interface ClusterPeerFeignClient {
+
+    /**
+     * Fetches a weather forecast from the instance owning its location.
+     *
+     * @param peer      base URL of the owning instance
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @param timezone  the timezone
+     * @param options   connect and read timeouts for this call
+     * @return the forecast, Smile-encoded
+     */
+    @GetMapping(value = "/internal/v1/forecast", headers = "Accept=application/x-jackson-smile")
+    byte[] getWeatherForecast(
+            URI peer,
+            @RequestParam("latitude") Double latitude,
+            @RequestParam("longitude") Double longitude,
+            @RequestParam("timezone") String timezone,
+            Request.Options options
+    );
+
+    /**
+     * Searches a city on the instance owning the search.
+     *
+     * @param peer     base URL of the owning instance
+     * @param name     the city name
+     * @param count    maximum number of results
+     * @param language the language of the results
+     * @param options  connect and read timeouts for this call
+     * @return the results, Smile-encoded
+     */
+    @GetMapping(value = "/internal/v1/search", headers = "Accept=application/x-jackson-smile")
+    byte[] searchCity(
+            URI peer,
+            @RequestParam("name") String name,
+            @RequestParam("count") Integer count,
+            @RequestParam("language") String language,
+            Request.Options options
+    );
+}
@@ -2,23 +2,47 @@ package com.weather.api.infrastructure.adapter.client;
 
 import com.weather.api.domain.exception.CityNotFoundException;
 import com.weather.api.domain.exception.ExternalApiException;
+import com.weather.api.domain.exception.WeatherApiException;
+import com.weather.api.domain.model.Deadline;
 import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.model.Location;
 import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.model.WeatherVariable;
 import com.weather.api.domain.port.output.WeatherRepositoryPort;
+import com.weather.api.infrastructure.config.ResilienceConfig;
 import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoGeocodingResponse;
 import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoWeatherResponse;
+import com.weather.api.infrastructure.cache.NearestForecastIndex;
+import com.weather.api.infrastructure.logging.ErrorLogThrottle;
+import com.weather.api.infrastructure.monitoring.UpstreamCallMonitor;
+import com.weather.api.infrastructure.snapshot.LastKnownGoodStore;
 import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import io.github.resilience4j.retry.annotation.Retry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -32,74 +56,175 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class OpenMeteoClientImpl implements WeatherRepositoryPort {
 
-    private static final String CURRENT_PARAMS = "temperature_2m,relative_humidity_2m,weather_code,wind_speed_10m";
+    private static final Map<WeatherVariable, String> UPSTREAM_VARIABLES = upstreamVariables();
+    private static final String CURRENT_PARAMS = currentParams(WeatherVariable.DEFAULTS);
     private static final String CIRCUIT_BREAKER_NAME = "openMeteoService";
+    // Every attempt sent upstream takes a permit, whoever makes the call
+    private static final String RATE_LIMITER_NAME = "openMeteoService";
+    // One bulkhead per upstream operation, so that a slow operation cannot hold every request thread
+    private static final String FORECAST_BULKHEAD = "openMeteoForecast";
+    private static final String BATCH_BULKHEAD = "openMeteoBatch";
+    private static final String GEOCODING_BULKHEAD = "openMeteoGeocoding";
 
     private final OpenMeteoFeignClient weatherClient;
     private final OpenMeteoGeocodingFeignClient geocodingClient;
+    private final UpstreamCallMonitor upstreamCallMonitor;
+    private final ErrorLogThrottle errorLogThrottle;
+    private final UpstreamCallExecutor upstreamCallExecutor;
+    private final RetryBudget retryBudget;
+    private final LastKnownGoodStore lastKnownGood;
+    private final NearestForecastIndex nearestForecastIndex;
+    private final RateLimiterRegistry rateLimiterRegistry;
+
+    @Value("${openmeteo.api.timeout.connect:3000}")
+    private long connectTimeoutMillis;
+
+    @Value("${openmeteo.api.timeout.read:5000}")
+    private long readTimeoutMillis;
 
     @Override
-    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "fetchWeatherForecastFallback")
-    @Retry(name = CIRCUIT_BREAKER_NAME)
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME)
+    @Retry(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "fetchWeatherForecastFallback")
+    @Bulkhead(name = FORECAST_BULKHEAD)
     public Weather fetchWeatherForecast(Double latitude, Double longitude, String timezone) {
-        log.debug("Calling Open-Meteo API for weather forecast: lat={}, lon={}", latitude, longitude);
+        Weather weather = fetchCurrent(latitude, longitude, timezone, CURRENT_PARAMS);
+        lastKnownGood.recordForecast(latitude, longitude, weather);
+        return weather;
+    }
+
+    @Override
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME)
+    @Retry(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "fetchWeatherForecastFallback")
+    @Bulkhead(name = FORECAST_BULKHEAD)
+    public Weather fetchWeatherForecast(Double latitude, Double longitude, String timezone,
+                                        Set<WeatherVariable> variables) {
+        return fetchCurrent(latitude, longitude, timezone, currentParams(variables));
+    }
+
+    private Weather fetchCurrent(Double latitude, Double longitude, String timezone, String currentParams) {
+        log.debug("Calling Open-Meteo API for weather forecast: lat={}, lon={}, current={}",
+                latitude, longitude, currentParams);
 
         try {
-            OpenMeteoWeatherResponse response = weatherClient.getWeatherForecast(
+            Request.Options options = requestOptions();
+            OpenMeteoWeatherResponse response = callUpstream(() -> weatherClient.getWeatherForecast(
                     latitude,
                     longitude,
-                    CURRENT_PARAMS,
-                    timezone
-            );
+                    currentParams,
+                    timezone,
+                    options
+            ));
 
             return mapToWeather(response);
 
+        } catch (WeatherApiException | RequestNotPermitted e) {
+            // Time limit or request deadline exceeded, already translated, or no upstream permit left
+            throw e;
+
         } catch (FeignException.NotFound e) {
             log.error("Weather data not found for coordinates: ({}, {})", latitude, longitude);
             throw new ExternalApiException("Weather data not found for the specified location", 404);
 
         } catch (FeignException.ServiceUnavailable | FeignException.BadGateway e) {
-            log.error("Open-Meteo API is unavailable: {}", e.getMessage());
+            errorLogThrottle.error(log, "Open-Meteo API is unavailable", e);
             throw new ExternalApiException("Weather service is temporarily unavailable", e);
 
         } catch (FeignException e) {
-            log.error("Error calling Open-Meteo API: status={}, message={}",
-                    e.status(), e.getMessage());
+            errorLogThrottle.error(log, "Error calling Open-Meteo API", e);
             throw new ExternalApiException(
                     "Failed to fetch weather data: " + e.getMessage(),
                     e.status()
             );
 
         } catch (Exception e) {
-            log.error("Unexpected error fetching weather: {}", e.getMessage(), e);
+            errorLogThrottle.error(log, "Unexpected error fetching weather", e);
             throw new ExternalApiException("Unexpected error fetching weather data", e);
         }
     }
 
     @Override
-    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "searchCityFallback")
-    @Retry(name = CIRCUIT_BREAKER_NAME)
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "fetchWeatherForecastsFallback")
+    @Bulkhead(name = BATCH_BULKHEAD)
+    public List<Weather> fetchWeatherForecasts(List<Location> locations, String timezone) {
+        if (locations.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        log.debug("Calling Open-Meteo API for {} locations", locations.size());
+
+        try {
+            Request.Options options = requestOptions();
+            // Background batches are not latency sensitive, so they are never hedged
+            List<OpenMeteoWeatherResponse> responses;
+            if (locations.size() == 1) {
+                // Open-Meteo answers a single location with an object instead of an array
+                Location location = locations.get(0);
+                responses = List.of(upstreamCallExecutor.execute(() -> recordCall(
+                        () -> weatherClient.getWeatherForecast(
+                                location.getLatitude(),
+                                location.getLongitude(),
+                                CURRENT_PARAMS,
+                                timezone,
+                                options
+                        )), false));
+            } else {
+                responses = upstreamCallExecutor.execute(() -> recordCall(
+                        () -> weatherClient.getWeatherForecasts(
+                                joinCoordinates(locations, Location::getLatitude),
+                                joinCoordinates(locations, Location::getLongitude),
+                                CURRENT_PARAMS,
+                                timezone,
+                                options
+                        )), false);
+            }
+
+            List<Weather> forecasts = responses.stream()
+                    .map(this::mapToWeather)
+                    .collect(Collectors.toList());
+            for (int i = 0; i < forecasts.size() && i < locations.size(); i++) {
+                Location location = locations.get(i);
+                lastKnownGood.recordForecast(location.getLatitude(), location.getLongitude(), forecasts.get(i));
+            }
+            return forecasts;
+
+        } catch (FeignException e) {
+            errorLogThrottle.error(log, "Error calling Open-Meteo API for batch", e);
+            throw new ExternalApiException(
+                    "Failed to fetch weather data: " + e.getMessage(),
+                    e.status()
+            );
+        }
+    }
+
+    @Override
+    @CircuitBreaker(name = CIRCUIT_BREAKER_NAME)
+    @Retry(name = CIRCUIT_BREAKER_NAME, fallbackMethod = "searchCityFallback")
+    @Bulkhead(name = GEOCODING_BULKHEAD)
     public List<GeocodingResult> searchCity(String cityName, Integer count, String language) {
         log.debug("Calling Open-Meteo Geocoding API for city: '{}', count={}", cityName, count);
 
         try {
-            OpenMeteoGeocodingResponse response = geocodingClient.searchCity(
+            Request.Options options = requestOptions();
+            OpenMeteoGeocodingResponse response = callUpstream(() -> geocodingClient.searchCity(
                     cityName,
                     count,
                     language,
-                    "json"
-            );
+                    "json",
+                    options
+            ));
 
             if (response.getResults() == null || response.getResults().isEmpty()) {
                 log.warn("No results found for city: '{}'", cityName);
                 throw new CityNotFoundException(cityName);
             }
 
-            return response.getResults().stream()
+            List<GeocodingResult> results = response.getResults().stream()
                     .map(this::mapToGeocodingResult)
                     .collect(Collectors.toList());
+            lastKnownGood.recordSearch(cityName, language, results);
+            return results;
 
-        } catch (CityNotFoundException e) {
+        } catch (WeatherApiException | RequestNotPermitted e) {
             throw e;
 
         } catch (FeignException.NotFound e) {
@@ -107,28 +232,87 @@ public class OpenMeteoClientImpl implements WeatherRepositoryPort {
             throw new CityNotFoundException(cityName);
 
         } catch (FeignException.ServiceUnavailable | FeignException.BadGateway e) {
-            log.error("Open-Meteo Geocoding API is unavailable: {}", e.getMessage());
+            errorLogThrottle.error(log, "Open-Meteo Geocoding API is unavailable", e);
             throw new ExternalApiException("Geocoding service is temporarily unavailable", e);
 
         } catch (FeignException e) {
-            log.error("Error calling Open-Meteo Geocoding API: status={}, message={}",
-                    e.status(), e.getMessage());
+            errorLogThrottle.error(log, "Error calling Open-Meteo Geocoding API", e);
             throw new ExternalApiException(
                     "Failed to search city: " + e.getMessage(),
                     e.status()
             );
 
         } catch (Exception e) {
-            log.error("Unexpected error searching city: {}", e.getMessage(), e);
+            errorLogThrottle.error(log, "Unexpected error searching city", e);
             throw new ExternalApiException("Unexpected error searching city", e);
         }
     }
 
     /**
-     * Fallback method for weather forecast when circuit breaker is open.
+     * Fallback method for weather forecast when circuit breaker is open or retries are exhausted.
+     * It is attached to the retry, which wraps the circuit breaker, so a transient failure
+     * is retried before anything else is served.
+     * Fallbacks are not private: Resilience4j invokes them on the Spring proxy, which
+     * only hands overridable methods over to this bean and its fields.
+     * While Open-Meteo is unavailable, the last known forecast of the location is served if
+     * it is recent enough; its time tells clients how old it is. Failing that, the cached
+     * forecast of the nearest location within the configured radius is served, marked approximate.
+     */
+    Weather fetchWeatherForecastFallback(Double latitude, Double longitude, String timezone, Exception e) {
+        if (isUnavailable(e)) {
+            Optional<Weather> lastKnown = lastKnownGood.findForecast(latitude, longitude);
+            if (lastKnown.isPresent()) {
+                log.debug("Open-Meteo unavailable, serving last known forecast for ({}, {})", latitude, longitude);
+                return lastKnown.get();
+            }
+            Optional<Weather> nearest = nearestForecastIndex.findNearest(latitude, longitude);
+            if (nearest.isPresent()) {
+                log.debug("Open-Meteo unavailable, serving nearest cached forecast for ({}, {})", latitude, longitude);
+                return nearest.get();
+            }
+        }
+        throw forecastFailure(e);
+    }
+
+    /**
+     * Fallback method for projected weather forecast when circuit breaker is open or retries are exhausted.
+     * Last known forecasts hold the default variables only, so they answer for those alone.
+     */
+    Weather fetchWeatherForecastFallback(Double latitude, Double longitude, String timezone,
+                                                 Set<WeatherVariable> variables, Exception e) {
+        if (WeatherVariable.DEFAULTS.containsAll(variables)) {
+            return fetchWeatherForecastFallback(latitude, longitude, timezone, e);
+        }
+        throw forecastFailure(e);
+    }
+
+    private RuntimeException forecastFailure(Exception e) {
+        if (e instanceof WeatherApiException domainException) {
+            // Already translated by the call itself; wrapping it again only adds cost
+            return domainException;
+        }
+        if (e instanceof BulkheadFullException || e instanceof RequestNotPermitted) {
+            // Too many calls in flight or upstream permits used up, not an upstream failure
+            return (RuntimeException) e;
+        }
+        errorLogThrottle.error(log, "Fallback activated for weather forecast", e);
+        return new ExternalApiException(
+                "Weather service is currently unavailable. Please try again later.",
+                e
+        );
+    }
+
+    /**
+     * Fallback method for batch weather forecasts when circuit breaker is open.
      */
-    private Weather fetchWeatherForecastFallback(Double latitude, Double longitude, String timezone, Exception e) {
-        log.error("Fallback activated for weather forecast: {}", e.getMessage());
+    List<Weather> fetchWeatherForecastsFallback(List<Location> locations, String timezone, Exception e) {
+        if (e instanceof WeatherApiException domainException) {
+            throw domainException;
+        }
+        if (e instanceof BulkheadFullException || e instanceof RequestNotPermitted) {
+            throw (RuntimeException) e;
+        }
+        errorLogThrottle.error(log, "Fallback activated for batch weather forecast", e);
         throw new ExternalApiException(
                 "Weather service is currently unavailable. Please try again later.",
                 e
@@ -136,16 +320,39 @@ public class OpenMeteoClientImpl implements WeatherRepositoryPort {
     }
 
     /**
-     * Fallback method for city search when circuit breaker is open.
+     * Fallback method for city search when circuit breaker is open or retries are exhausted.
+     * While Open-Meteo is unavailable, the last known results of the search are served.
      */
-    private List<GeocodingResult> searchCityFallback(String cityName, Integer count, String language, Exception e) {
-        log.error("Fallback activated for city search: {}", e.getMessage());
+    List<GeocodingResult> searchCityFallback(String cityName, Integer count, String language, Exception e) {
+        if (isUnavailable(e)) {
+            Optional<List<GeocodingResult>> lastKnown = lastKnownGood.findSearch(cityName, language, count);
+            if (lastKnown.isPresent()) {
+                log.debug("Open-Meteo unavailable, serving last known results for city: '{}'", cityName);
+                return lastKnown.get();
+            }
+        }
+        if (e instanceof WeatherApiException domainException) {
+            throw domainException;
+        }
+        if (e instanceof BulkheadFullException || e instanceof RequestNotPermitted) {
+            throw (RuntimeException) e;
+        }
+        errorLogThrottle.error(log, "Fallback activated for city search", e);
         throw new ExternalApiException(
                 "City search service is currently unavailable. Please try again later.",
                 e
         );
     }
 
+    /**
+     * Whether the call failed because Open-Meteo is unavailable, rather than because of the
+     * request: the circuit breaker is open, or the failure is a transient one that outlasted
+     * the retries.
+     */
+    private static boolean isUnavailable(Exception e) {
+        return e instanceof CallNotPermittedException || ResilienceConfig.isTransient(e);
+    }
+
     /**
      * Maps Open-Meteo weather response to domain model.
      */
@@ -163,23 +370,122 @@ public class OpenMeteoClientImpl implements WeatherRepositoryPort {
                 .weatherCode(current.getWeatherCode())
                 .windSpeed(current.getWindSpeed())
                 .humidity(current.getHumidity())
+                .apparentTemperature(current.getApparentTemperature())
+                .precipitation(current.getPrecipitation())
+                .cloudCover(current.getCloudCover())
+                .windDirection(current.getWindDirection())
                 .latitude(response.getLatitude())
                 .longitude(response.getLongitude())
                 .timezone(response.getTimezone())
                 .build();
     }
 
+    /**
+     * Timeouts for the next upstream attempt: the configured ones, shrunk to the time
+     * left before the request deadline so that no attempt outlives its client.
+     * Fails without calling upstream once the deadline has passed, which also ends retries.
+     */
+    private Request.Options requestOptions() {
+        long connectMillis = connectTimeoutMillis;
+        long readMillis = readTimeoutMillis;
+
+        Deadline deadline = Deadline.current().orElse(null);
+        if (deadline != null) {
+            deadline.check();
+            long remainingMillis = Math.max(1, deadline.remaining().toMillis());
+            connectMillis = Math.min(connectMillis, remainingMillis);
+            readMillis = Math.min(readMillis, remainingMillis);
+        }
+
+        return new Request.Options(connectMillis, TimeUnit.MILLISECONDS, readMillis, TimeUnit.MILLISECONDS, true);
+    }
+
+    /**
+     * Executes an upstream call within the time limit, hedged if enabled.
+     */
+    private <T> T callUpstream(Supplier<T> call) {
+        return upstreamCallExecutor.execute(() -> recordCall(call), true);
+    }
+
+    /**
+     * Executes one upstream attempt and records its outcome and latency for health reporting.
+     * Client errors such as 404 count as successful round trips: the API answered.
+     * The attempt first takes a permit from the upstream rate limiter, which in a cluster
+     * holds this instance's share of the allowance.
+     *
+     * @throws RequestNotPermitted if no permit is left in the current period
+     */
+    private <T> T recordCall(Supplier<T> call) {
+        RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter(RATE_LIMITER_NAME);
+        if (!rateLimiter.acquirePermission()) {
+            throw RequestNotPermitted.createRequestNotPermitted(rateLimiter);
+        }
+        retryBudget.recordAttempt();
+        long startTime = System.nanoTime();
+        try {
+            T result = call.get();
+            upstreamCallMonitor.recordSuccess(Duration.ofNanos(System.nanoTime() - startTime));
+            return result;
+        } catch (FeignException e) {
+            Duration latency = Duration.ofNanos(System.nanoTime() - startTime);
+            if (e.status() >= 500 || e.status() < 0) {
+                upstreamCallMonitor.recordFailure(latency, e);
+            } else {
+                upstreamCallMonitor.recordSuccess(latency);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            upstreamCallMonitor.recordFailure(Duration.ofNanos(System.nanoTime() - startTime), e);
+            throw e;
+        }
+    }
+
+    /**
+     * Builds Open-Meteo's {@code current} parameter for the given variables.
+     */
+    private static String currentParams(Set<WeatherVariable> variables) {
+        return variables.stream()
+                .sorted()
+                .map(UPSTREAM_VARIABLES::get)
+                .collect(Collectors.joining(","));
+    }
+
+    /**
+     * Open-Meteo's name for each variable; every variable must have one.
+     */
+    private static Map<WeatherVariable, String> upstreamVariables() {
+        Map<WeatherVariable, String> names = new EnumMap<>(WeatherVariable.class);
+        names.put(WeatherVariable.TEMPERATURE, "temperature_2m");
+        names.put(WeatherVariable.HUMIDITY, "relative_humidity_2m");
+        names.put(WeatherVariable.WEATHER_CODE, "weather_code");
+        names.put(WeatherVariable.WIND_SPEED, "wind_speed_10m");
+        names.put(WeatherVariable.APPARENT_TEMPERATURE, "apparent_temperature");
+        names.put(WeatherVariable.PRECIPITATION, "precipitation");
+        names.put(WeatherVariable.CLOUD_COVER, "cloud_cover");
+        names.put(WeatherVariable.WIND_DIRECTION, "wind_direction_10m");
+        return names;
+    }
+
+    /**
+     * Joins one coordinate of each location into Open-Meteo's comma-separated list format.
+     */
+    private static String joinCoordinates(List<Location> locations, Function<Location, Double> coordinate) {
+        return locations.stream()
+                .map(coordinate)
+                .map(String::valueOf)
+                .collect(Collectors.joining(","));
+    }
+
     /**
      * Maps Open-Meteo geocoding result to domain model.
      */
     private GeocodingResult mapToGeocodingResult(OpenMeteoGeocodingResponse.GeocodingResult result) {
-        return GeocodingResult.builder()
-                .id(UUID.randomUUID().toString()) // Generate UUID for each result
-                .name(result.getName())
-                .latitude(result.getLatitude())
-                .longitude(result.getLongitude())
-                .country(result.getCountry())
-                .admin1(result.getAdmin1())
-                .build();
+        return GeocodingResult.of(
+                result.getName(),
+                result.getLatitude(),
+                result.getLongitude(),
+                result.getCountry(),
+                result.getAdmin1()
+        );
     }
 }
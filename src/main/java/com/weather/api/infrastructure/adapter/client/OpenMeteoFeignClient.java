@@ -2,10 +2,13 @@ package com.weather.api.infrastructure.adapter.client;
 
 import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoGeocodingResponse;
 import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoWeatherResponse;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import java.util.List;
+
 /**
  * Feign client for Open-Meteo API.
  * Defines the contract for communicating with external weather services.
@@ -25,6 +28,7 @@ public interface OpenMeteoFeignClient {
      * @param longitude the longitude
      * @param current   comma-separated list of weather parameters
      * @param timezone  the timezone
+     * @param options   connect and read timeouts for this call
      * @return weather response
      */
     @GetMapping("/v1/forecast")
@@ -32,6 +36,27 @@ public interface OpenMeteoFeignClient {
             @RequestParam("latitude") Double latitude,
             @RequestParam("longitude") Double longitude,
             @RequestParam("current") String current,
-            @RequestParam("timezone") String timezone
+            @RequestParam("timezone") String timezone,
+            Request.Options options
+    );
+
+    /**
+     * Fetches weather forecasts for multiple locations in one request.
+     * Open-Meteo answers with one entry per coordinate pair, in request order.
+     *
+     * @param latitudes  comma-separated list of latitudes
+     * @param longitudes comma-separated list of longitudes
+     * @param current    comma-separated list of weather parameters
+     * @param timezone   the timezone
+     * @param options    connect and read timeouts for this call
+     * @return weather responses, one per location
+     */
+    @GetMapping("/v1/forecast")
+    List<OpenMeteoWeatherResponse> getWeatherForecasts(
+            @RequestParam("latitude") String latitudes,
+            @RequestParam("longitude") String longitudes,
+            @RequestParam("current") String current,
+            @RequestParam("timezone") String timezone,
+            Request.Options options
     );
 }
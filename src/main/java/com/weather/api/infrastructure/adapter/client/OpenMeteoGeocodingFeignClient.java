@@ -1,6 +1,7 @@
 package com.weather.api.infrastructure.adapter.client;
 
 import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoGeocodingResponse;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -23,6 +24,7 @@ public interface OpenMeteoGeocodingFeignClient {
      * @param count    maximum number of results
      * @param language language for results
      * @param format   response format
+     * @param options  connect and read timeouts for this call
      * @return geocoding response
      */
     @GetMapping("/v1/search")
@@ -30,6 +32,7 @@ public interface OpenMeteoGeocodingFeignClient {
             @RequestParam("name") String name,
             @RequestParam("count") Integer count,
             @RequestParam("language") String language,
-            @RequestParam("format") String format
+            @RequestParam("format") String format,
+            Request.Options options
     );
 }
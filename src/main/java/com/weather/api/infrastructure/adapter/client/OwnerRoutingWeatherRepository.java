@@ -0,0 +1,232 @@
+package com.weather.api.infrastructure.adapter.client;
+
+import com.weather.api.domain.exception.CityNotFoundException;
+import com.weather.api.domain.exception.DeadlineExceededException;
+import com.weather.api.domain.exception.ExternalApiException;
+import com.weather.api.domain.model.CoordinateKey;
+import com.weather.api.domain.model.Deadline;
+import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.model.WeatherVariable;
+import com.weather.api.domain.port.output.WeatherRepositoryPort;
+import com.weather.api.infrastructure.cache.CacheValueCodec;
+import com.weather.api.infrastructure.cluster.ClusterMembership;
+import com.weather.api.infrastructure.cluster.ConsistentHashRing;
+import com.weather.api.infrastructure.cluster.SingleFlight;
+import feign.FeignException;
+import feign.Request;
+import feign.RetryableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Ownership mode: every forecast location and city search belongs to one instance of the
+ * service, chosen by consistent hashing over the live members, and only that instance
+ * calls Open-Meteo for it. Other instances forward their misses to the owner, which
+ * answers from its cache or with a single upstream call for all concurrent requests,
+ * so duplicate fetches are coalesced across the cluster instead of per instance.
+ *
+ * <p>Forwarded lookups are answered locally, whatever the receiving instance thinks of
+ * ownership, so a lookup is forwarded at most once. If the owner cannot be reached in
+ * time the instance calls Open-Meteo itself; error answers of the owner are passed on as
+ * the matching domain exceptions, since the owner has already tried Open-Meteo. Batches
+ * and variable lookups are not routed.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Primary
+@Component
+@ConditionalOnProperty(prefix = "cluster.ownership", name = "enabled", havingValue = "true")
+public class OwnerRoutingWeatherRepository implements WeatherRepositoryPort {
+
+    private static final ThreadLocal<Boolean> FORWARDED = new ThreadLocal<>();
+
+    private final WeatherRepositoryPort upstream;
+    private final ClusterPeerFeignClient peerClient;
+    private final MeterRegistry meterRegistry;
+    private final CacheValueCodec codec = CacheValueCodec.forResponseCaches();
+    private final SingleFlight<Weather> forecasts = new SingleFlight<>();
+    private final SingleFlight<List<GeocodingResult>> searches = new SingleFlight<>();
+    private final Map<String, Counter> lookups = new ConcurrentHashMap<>();
+    private final String nodeId;
+    private final long timeoutMillis;
+
+    private volatile ConsistentHashRing ring;
+
+    @Autowired
+    public OwnerRoutingWeatherRepository(OpenMeteoClientImpl upstream,
+                                         ClusterPeerFeignClient peerClient,
+                                         ObjectProvider<ClusterMembership> clusterMembership,
+                                         MeterRegistry meterRegistry,
+                                         @Value("${cluster.ownership.timeout:2000}") long timeoutMillis,
+                                         @Value("${cluster.ownership.virtual-nodes:100}") int virtualNodes) {
+        this(upstream, peerClient, clusterMembership.getIfAvailable(), meterRegistry, timeoutMillis, virtualNodes);
+    }
+
+    OwnerRoutingWeatherRepository(WeatherRepositoryPort upstream,
+                                  ClusterPeerFeignClient peerClient,
+                                  ClusterMembership membership,
+                                  MeterRegistry meterRegistry,
+                                  long timeoutMillis,
+                                  int virtualNodes) {
+        this.upstream = upstream;
+        this.peerClient = peerClient;
+        this.meterRegistry = meterRegistry;
+        this.timeoutMillis = timeoutMillis;
+        this.nodeId = membership == null ? null : membership.nodeId();
+        this.ring = new ConsistentHashRing(List.of(), virtualNodes);
+        if (membership == null) {
+            log.warn("Ownership mode without cluster membership: every lookup is served locally");
+        } else {
+            membership.addListener(members -> ring = new ConsistentHashRing(members, virtualNodes));
+        }
+    }
+
+    @Override
+    public Weather fetchWeatherForecast(Double latitude, Double longitude, String timezone) {
+        // The forecast cache key, so coordinates cached as one location have one owner and one flight
+        String key = Long.toString(CoordinateKey.encode(latitude, longitude));
+        return forecasts.run(key, () -> route(key,
+                owner -> decode("weatherForecast",
+                        peerClient.getWeatherForecast(owner, latitude, longitude, timezone, requestOptions())),
+                () -> upstream.fetchWeatherForecast(latitude, longitude, timezone),
+                () -> new ExternalApiException("Weather data not found for the specified location", 404)));
+    }
+
+    @Override
+    public Weather fetchWeatherForecast(Double latitude, Double longitude, String timezone,
+                                        Set<WeatherVariable> variables) {
+        return upstream.fetchWeatherForecast(latitude, longitude, timezone, variables);
+    }
+
+    @Override
+    public List<Weather> fetchWeatherForecasts(List<Location> locations, String timezone) {
+        return upstream.fetchWeatherForecasts(locations, timezone);
+    }
+
+    @Override
+    public List<GeocodingResult> searchCity(String cityName, Integer count, String language) {
+        String key = cityName + "_" + count + "_" + language;
+        return searches.run(key, () -> route(key,
+                owner -> decode("citySearch",
+                        peerClient.searchCity(owner, cityName, count, language, requestOptions())),
+                () -> upstream.searchCity(cityName, count, language),
+                () -> new CityNotFoundException(cityName)));
+    }
+
+    /**
+     * Serves a lookup forwarded by another instance: lookups made by the request
+     * are answered by this instance and never forwarded again.
+     *
+     * @param request the lookup
+     * @return its result
+     */
+    public <T> T serveForwarded(Supplier<T> request) {
+        FORWARDED.set(Boolean.TRUE);
+        try {
+            return request.get();
+        } finally {
+            FORWARDED.remove();
+        }
+    }
+
+    private <T> T route(String key, Function<URI, T> forward, Supplier<T> local,
+                        Supplier<RuntimeException> notFound) {
+        String owner = remoteOwner(key);
+        if (owner == null) {
+            count("owned");
+            return local.get();
+        }
+        try {
+            T value = forward.apply(URI.create(owner));
+            count("forwarded");
+            return value;
+        } catch (FeignException e) {
+            if (!isTransportFailure(e)) {
+                count("forwarded");
+                throw ownerError(e, notFound);
+            }
+            count("fallback");
+            log.debug("Forwarding {} to {} failed, fetching locally: {}", key, owner, e.getMessage());
+            return local.get();
+        }
+    }
+
+    /**
+     * Whether the owner could not be reached or did not answer in time: Feign reports
+     * connect and read failures as a {@link RetryableException} caused by the I/O error,
+     * unlike the retryable answers it decodes from a {@code Retry-After} header.
+     */
+    private static boolean isTransportFailure(FeignException e) {
+        return e instanceof RetryableException && e.getCause() instanceof IOException;
+    }
+
+    private static RuntimeException ownerError(FeignException e, Supplier<RuntimeException> notFound) {
+        return switch (e.status()) {
+            case 404 -> notFound.get();
+            case 503 -> new ExternalApiException("Weather service is temporarily unavailable", e);
+            case 504 -> Deadline.current()
+                    .<RuntimeException>map(deadline -> new DeadlineExceededException(deadline.getTimeout()))
+                    .orElseGet(() -> new ExternalApiException("Owner instance timed out", 504));
+            default -> new ExternalApiException("Owner instance answered " + e.status(), e.status());
+        };
+    }
+
+    private String remoteOwner(String key) {
+        if (nodeId == null || FORWARDED.get() != null) {
+            return null;
+        }
+        String owner = ring.ownerOf(key);
+        return owner == null || owner.equals(nodeId) ? null : owner;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T decode(String cacheName, byte[] bytes) {
+        try {
+            return (T) codec.decode(cacheName, bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Timeouts of a forwarded lookup, shrunk to the time left before the request deadline.
+     */
+    private Request.Options requestOptions() {
+        long millis = timeoutMillis;
+        Deadline deadline = Deadline.current().orElse(null);
+        if (deadline != null) {
+            deadline.check();
+            millis = Math.min(millis, Math.max(1, deadline.remaining().toMillis()));
+        }
+        return new Request.Options(millis, TimeUnit.MILLISECONDS, millis, TimeUnit.MILLISECONDS, true);
+    }
+
+    private void count(String outcome) {
+        lookups.computeIfAbsent(outcome, name -> Counter.builder("weather.cluster.ownership.lookups")
+                        .description("Upstream lookups by whether this instance owned, forwarded or fell back")
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+}
@@ -0,0 +1,98 @@
+package com.weather.api.infrastructure.adapter.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Caps retries and hedged requests to Open-Meteo at a share of recent upstream traffic.
+ * Attempts and retries are counted in one-second buckets over a sliding window; a retry
+ * is only allowed while retries stay below {@code ratio} times the attempts in the window
+ * (plus a small allowance for low traffic). During an upstream degradation this keeps
+ * retries from multiplying the load on a struggling service.
+ *
+ * @author Weather API Team
+ */
+@Component
+public class RetryBudget {
+
+    private final double ratio;
+    private final int minRetries;
+    private final int buckets;
+
+    private final AtomicLongArray bucketSeconds;
+    private final AtomicLongArray attempts;
+    private final AtomicLongArray retries;
+
+    private final Counter rejectedRetries;
+
+    public RetryBudget(MeterRegistry meterRegistry,
+                       @Value("${openmeteo.retry-budget.ratio:0.1}") double ratio,
+                       @Value("${openmeteo.retry-budget.min-retries:10}") int minRetries,
+                       @Value("${openmeteo.retry-budget.window:10000}") long windowMillis) {
+        this.ratio = ratio;
+        this.minRetries = minRetries;
+        this.buckets = (int) Math.max(1, windowMillis / 1000);
+        this.bucketSeconds = new AtomicLongArray(buckets);
+        this.attempts = new AtomicLongArray(buckets);
+        this.retries = new AtomicLongArray(buckets);
+
+        this.rejectedRetries = Counter.builder("weather.upstream.retry.budget.rejected")
+                .description("Retries and hedged requests skipped because the retry budget was used up")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records one upstream attempt, whether first try, retry or hedge.
+     */
+    public void recordAttempt() {
+        attempts.incrementAndGet(currentBucket());
+    }
+
+    /**
+     * Takes one retry from the budget if there is any left.
+     *
+     * @return true if the retry may be sent
+     */
+    public boolean tryAcquire() {
+        int bucket = currentBucket();
+        long windowAttempts = 0;
+        long windowRetries = 0;
+        long oldestSecond = nowSeconds() - buckets;
+
+        for (int i = 0; i < buckets; i++) {
+            if (bucketSeconds.get(i) > oldestSecond) {
+                windowAttempts += attempts.get(i);
+                windowRetries += retries.get(i);
+            }
+        }
+
+        if (windowRetries >= minRetries + ratio * (windowAttempts - windowRetries)) {
+            rejectedRetries.increment();
+            return false;
+        }
+        retries.incrementAndGet(bucket);
+        return true;
+    }
+
+    /**
+     * Returns the bucket of the current second, clearing it first if it still holds an older second.
+     */
+    private int currentBucket() {
+        long second = nowSeconds();
+        int bucket = (int) Math.floorMod(second, buckets);
+        long bucketSecond = bucketSeconds.get(bucket);
+        if (bucketSecond != second && bucketSeconds.compareAndSet(bucket, bucketSecond, second)) {
+            attempts.set(bucket, 0);
+            retries.set(bucket, 0);
+        }
+        return bucket;
+    }
+
+    private static long nowSeconds() {
+        return System.nanoTime() / 1_000_000_000L;
+    }
+}
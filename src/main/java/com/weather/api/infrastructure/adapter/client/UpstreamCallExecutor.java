@@ -0,0 +1,197 @@
+package com.weather.api.infrastructure.adapter.client;
+
+import com.weather.api.domain.exception.DeadlineExceededException;
+import com.weather.api.domain.exception.ExternalApiException;
+import com.weather.api.domain.model.Deadline;
+import com.weather.api.infrastructure.monitoring.UpstreamCallMonitor;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs Open-Meteo calls on a dedicated pool so that the {@code openMeteoService}
+ * time limiter applies to them, and optionally hedges them: when the first attempt
+ * has not answered after the recent p95 latency, a second attempt is sent and the
+ * first successful response wins. Hedges are taken from the {@link RetryBudget},
+ * so a slow upstream cannot trigger a hedge storm.
+ * Waiting also stops at the deadline of the request, when its client gives up; the
+ * attempts still in flight are then cancelled.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Component
+public class UpstreamCallExecutor implements DisposableBean {
+
+    private static final String TIME_LIMITER_NAME = "openMeteoService";
+    private static final Duration P95_REFRESH_INTERVAL = Duration.ofSeconds(1);
+
+    private final ThreadPoolExecutor executor;
+    private final UpstreamCallMonitor upstreamCallMonitor;
+    private final RetryBudget retryBudget;
+    private final Duration timeout;
+    private final boolean cancelRunningCalls;
+
+    private final boolean hedgingEnabled;
+    private final Duration minHedgeDelay;
+    private final Duration maxHedgeDelay;
+    private final Duration latencyWindow;
+
+    private final Counter hedgedCalls;
+
+    private volatile Duration hedgeDelay;
+    private volatile long hedgeDelayComputedAt;
+
+    public UpstreamCallExecutor(UpstreamCallMonitor upstreamCallMonitor,
+                                RetryBudget retryBudget,
+                                TimeLimiterRegistry timeLimiterRegistry,
+                                MeterRegistry meterRegistry,
+                                @Value("${openmeteo.executor.threads:32}") int threads,
+                                @Value("${openmeteo.executor.queue-capacity:256}") int queueCapacity,
+                                @Value("${openmeteo.hedging.enabled:false}") boolean hedgingEnabled,
+                                @Value("${openmeteo.hedging.min-delay:50}") long minHedgeDelayMillis,
+                                @Value("${openmeteo.hedging.max-delay:2000}") long maxHedgeDelayMillis,
+                                @Value("${openmeteo.health.window:5m}") Duration latencyWindow) {
+        this.upstreamCallMonitor = upstreamCallMonitor;
+        this.retryBudget = retryBudget;
+
+        TimeLimiterConfig timeLimiterConfig = timeLimiterRegistry.timeLimiter(TIME_LIMITER_NAME).getTimeLimiterConfig();
+        this.timeout = timeLimiterConfig.getTimeoutDuration();
+        this.cancelRunningCalls = timeLimiterConfig.shouldCancelRunningFuture();
+
+        this.hedgingEnabled = hedgingEnabled;
+        this.minHedgeDelay = Duration.ofMillis(minHedgeDelayMillis);
+        this.maxHedgeDelay = Duration.ofMillis(maxHedgeDelayMillis);
+        this.latencyWindow = latencyWindow;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "open-meteo-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                // A saturated pool degrades to calling on the request thread, without time limit
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+
+        this.hedgedCalls = Counter.builder("weather.upstream.hedged")
+                .description("Hedged second attempts sent to Open-Meteo")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Executes an upstream call within the time limit.
+     *
+     * @param attempt   one attempt of the call; must be idempotent when hedged
+     * @param hedgeable whether a second attempt may be sent if the first one is slow
+     * @return the first successful result
+     * @throws ExternalApiException      if no attempt answered within the time limit
+     * @throws DeadlineExceededException if no attempt answered before the request deadline
+     */
+    public <T> T execute(Supplier<T> attempt, boolean hedgeable) {
+        ExecutorCompletionService<T> completion = new ExecutorCompletionService<>(executor);
+        List<Future<T>> attempts = new ArrayList<>(2);
+        attempts.add(completion.submit(attempt::get));
+
+        // Wait no longer than the time limit, nor past the deadline of the request
+        Deadline requestDeadline = Deadline.current().orElse(null);
+        boolean limitedByRequest = requestDeadline != null && requestDeadline.remaining().compareTo(timeout) < 0;
+        long deadline = System.nanoTime() + (limitedByRequest ? requestDeadline.remaining() : timeout).toNanos();
+        Duration delay = hedgingEnabled && hedgeable ? hedgeDelay() : null;
+        RuntimeException failure = null;
+        int pending = 1;
+
+        try {
+            while (pending > 0) {
+                long remaining = deadline - System.nanoTime();
+                boolean awaitingHedge = delay != null && delay.toNanos() < remaining;
+                long wait = awaitingHedge ? delay.toNanos() : remaining;
+
+                Future<T> completed = completion.poll(Math.max(0, wait), TimeUnit.NANOSECONDS);
+                if (completed == null) {
+                    if (!awaitingHedge) {
+                        if (limitedByRequest) {
+                            throw new DeadlineExceededException(requestDeadline.getTimeout());
+                        }
+                        throw new ExternalApiException("Open-Meteo did not respond within " + timeout,
+                                new TimeoutException());
+                    }
+                    delay = null;
+                    if (retryBudget.tryAcquire()) {
+                        hedgedCalls.increment();
+                        attempts.add(completion.submit(attempt::get));
+                        pending++;
+                    }
+                    continue;
+                }
+
+                pending--;
+                try {
+                    return completed.get();
+                } catch (ExecutionException e) {
+                    failure = unwrap(e);
+                }
+            }
+            throw failure;
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalApiException("Interrupted while waiting for Open-Meteo", e);
+
+        } finally {
+            attempts.forEach(future -> future.cancel(cancelRunningCalls));
+        }
+    }
+
+    /**
+     * Delay before hedging: the p95 latency of recent successful calls, within the
+     * configured bounds. Recomputed at most once per second.
+     */
+    private Duration hedgeDelay() {
+        long now = System.nanoTime();
+        if (hedgeDelay == null || now - hedgeDelayComputedAt > P95_REFRESH_INTERVAL.toNanos()) {
+            Duration p95 = upstreamCallMonitor.snapshot(latencyWindow).p95();
+            Duration delay = p95 == null ? maxHedgeDelay : p95;
+            hedgeDelay = delay.compareTo(minHedgeDelay) < 0 ? minHedgeDelay
+                    : delay.compareTo(maxHedgeDelay) > 0 ? maxHedgeDelay : delay;
+            hedgeDelayComputedAt = now;
+        }
+        return hedgeDelay;
+    }
+
+    private static RuntimeException unwrap(ExecutionException e) {
+        Throwable cause = e.getCause();
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (cause instanceof Error error) {
+            throw error;
+        }
+        return new ExternalApiException("Unexpected error calling Open-Meteo", cause);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
@@ -45,5 +45,17 @@ public class OpenMeteoWeatherResponse {
 
         @JsonProperty("relative_humidity_2m")
         private Integer humidity;
+
+        @JsonProperty("apparent_temperature")
+        private Double apparentTemperature;
+
+        @JsonProperty("precipitation")
+        private Double precipitation;
+
+        @JsonProperty("cloud_cover")
+        private Integer cloudCover;
+
+        @JsonProperty("wind_direction_10m")
+        private Integer windDirection;
     }
 }
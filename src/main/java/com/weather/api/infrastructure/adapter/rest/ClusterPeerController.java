@@ -0,0 +1,55 @@
+package com.weather.api.infrastructure.adapter.rest;
+
+import com.weather.api.domain.port.input.WeatherUseCase;
+import com.weather.api.infrastructure.adapter.client.OwnerRoutingWeatherRepository;
+import com.weather.api.infrastructure.cache.CacheValueCodec;
+import com.weather.api.infrastructure.config.BinaryFormatConfig;
+import io.swagger.v3.oas.annotations.Hidden;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Internal endpoints through which other instances of the service forward lookups
+ * to the instance owning them (see {@link OwnerRoutingWeatherRepository}).
+ * Answers go through this instance's caches and are Smile-encoded domain values.
+ * Not part of the public API; to be reachable only from inside the cluster.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Hidden
+@RestController
+@RequestMapping("/internal/v1")
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "cluster.ownership", name = "enabled", havingValue = "true")
+public class ClusterPeerController {
+
+    private final WeatherUseCase weatherUseCase;
+    private final OwnerRoutingWeatherRepository ownerRoutingWeatherRepository;
+    private final CacheValueCodec codec = CacheValueCodec.forResponseCaches();
+
+    @GetMapping(value = "/forecast", produces = BinaryFormatConfig.APPLICATION_SMILE_VALUE)
+    public byte[] getWeatherForecast(@RequestParam Double latitude,
+                                     @RequestParam Double longitude,
+                                     @RequestParam(required = false) String timezone) throws IOException {
+        log.debug("Forwarded forecast lookup: lat={}, lon={}", latitude, longitude);
+        return codec.encode(ownerRoutingWeatherRepository.serveForwarded(
+                () -> weatherUseCase.getWeatherForecast(latitude, longitude, timezone)));
+    }
+
+    @GetMapping(value = "/search", produces = BinaryFormatConfig.APPLICATION_SMILE_VALUE)
+    public byte[] searchCity(@RequestParam String name,
+                             @RequestParam Integer count,
+                             @RequestParam String language) throws IOException {
+        log.debug("Forwarded city search: '{}'", name);
+        return codec.encode(ownerRoutingWeatherRepository.serveForwarded(
+                () -> weatherUseCase.searchCity(name, count, language)));
+    }
+}
@@ -0,0 +1,112 @@
+package com.weather.api.infrastructure.adapter.rest;
+
+import io.airlift.compress.zstd.ZstdCompressor;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Response content codings the API can produce, in order of server preference.
+ *
+ * @author Weather API Team
+ */
+enum ContentCoding {
+
+    ZSTD("zstd") {
+        private final ZstdCompressor compressor = new ZstdCompressor();
+
+        @Override
+        byte[] compress(byte[] body) {
+            byte[] output = new byte[compressor.maxCompressedLength(body.length)];
+            int length = compressor.compress(body, 0, body.length, output, 0, output.length);
+            return Arrays.copyOf(output, length);
+        }
+    },
+
+    GZIP("gzip") {
+        @Override
+        byte[] compress(byte[] body) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+                gzip.write(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        }
+    };
+
+    private final String token;
+
+    ContentCoding(String token) {
+        this.token = token;
+    }
+
+    String token() {
+        return token;
+    }
+
+    abstract byte[] compress(byte[] body);
+
+    /**
+     * Picks the coding with the highest quality value in an {@code Accept-Encoding} header.
+     * Ties go to the server's preference; codings with {@code q=0} are never chosen.
+     *
+     * @param acceptEncoding the header value, or null
+     * @return the coding to use, or null if the client accepts none of them
+     */
+    static ContentCoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isBlank()) {
+            return null;
+        }
+
+        double[] quality = new double[values().length];
+        boolean[] listed = new boolean[values().length];
+        double wildcard = 0;
+
+        for (String element : acceptEncoding.split(",")) {
+            String[] parts = element.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double q = qualityOf(parts);
+
+            if ("*".equals(name)) {
+                wildcard = q;
+            }
+            for (ContentCoding coding : values()) {
+                if (coding.token.equals(name) || (coding == GZIP && "x-gzip".equals(name))) {
+                    quality[coding.ordinal()] = q;
+                    listed[coding.ordinal()] = true;
+                }
+            }
+        }
+
+        ContentCoding best = null;
+        double bestQuality = 0;
+        for (ContentCoding coding : values()) {
+            double q = listed[coding.ordinal()] ? quality[coding.ordinal()] : wildcard;
+            if (q > bestQuality) {
+                best = coding;
+                bestQuality = q;
+            }
+        }
+        return best;
+    }
+
+    private static double qualityOf(String[] parameters) {
+        for (int i = 1; i < parameters.length; i++) {
+            String parameter = parameters[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
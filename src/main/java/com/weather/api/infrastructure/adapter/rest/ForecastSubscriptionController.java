@@ -0,0 +1,101 @@
+package com.weather.api.infrastructure.adapter.rest;
+
+import com.weather.api.domain.exception.InvalidCoordinatesException;
+import com.weather.api.domain.model.Location;
+import com.weather.api.infrastructure.subscription.ForecastSubscriptionHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * REST Controller for live forecast subscriptions over Server-Sent Events.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/weather")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Weather API", description = "Endpoints for weather forecast and city search")
+public class ForecastSubscriptionController {
+
+    private final ForecastSubscriptionHub subscriptionHub;
+
+    @Operation(
+            summary = "Subscribe to live forecasts",
+            description = "Opens a text/event-stream with one 'forecast' event per location as soon as its "
+                    + "forecast is known and another one every time it changes. Locations are given as "
+                    + "'latitude,longitude' pairs separated by ';', e.g. locations=40.71,-74.01;51.51,-0.13. "
+                    + "The event id identifies the location cell the forecast was computed for"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Event stream opened"
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid coordinates or too many locations"
+            ),
+            @ApiResponse(
+                    responseCode = "503",
+                    description = "Subscription limit reached on this node; retry after the Retry-After delay"
+            )
+    })
+    @GetMapping("/subscribe")
+    public SseEmitter subscribe(
+            @RequestParam
+            @NotBlank(message = "Locations are required")
+            String locations
+    ) {
+        log.info("GET /api/v1/weather/subscribe - locations: {}", locations);
+
+        return subscriptionHub.subscribe(parseLocations(locations));
+    }
+
+    private List<Location> parseLocations(String locations) {
+        String[] pairs = locations.split(";");
+        if (pairs.length > subscriptionHub.getMaxLocations()) {
+            throw new IllegalArgumentException(
+                    "At most " + subscriptionHub.getMaxLocations() + " locations can be subscribed at once");
+        }
+
+        List<Location> parsed = new ArrayList<>(pairs.length);
+        for (String pair : pairs) {
+            String[] coordinates = pair.split(",");
+            if (coordinates.length != 2) {
+                throw new InvalidCoordinatesException("Invalid location '" + pair.trim()
+                        + "': expected latitude,longitude");
+            }
+            double latitude;
+            double longitude;
+            try {
+                latitude = Double.parseDouble(coordinates[0].trim());
+                longitude = Double.parseDouble(coordinates[1].trim());
+            } catch (NumberFormatException e) {
+                throw new InvalidCoordinatesException("Invalid location '" + pair.trim()
+                        + "': coordinates must be numbers");
+            }
+            Location location = Location.builder().latitude(latitude).longitude(longitude).build();
+            if (!location.isValid()) {
+                throw new InvalidCoordinatesException(latitude, longitude);
+            }
+            parsed.add(location);
+        }
+        return parsed;
+    }
+}
@@ -1,16 +1,27 @@
 package com.weather.api.infrastructure.adapter.rest;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.api.domain.exception.AlertRuleNotFoundException;
 import com.weather.api.domain.exception.CityNotFoundException;
+import com.weather.api.domain.exception.DeadlineExceededException;
 import com.weather.api.domain.exception.ExternalApiException;
 import com.weather.api.domain.exception.InvalidCoordinatesException;
+import com.weather.api.domain.exception.SubscriptionLimitExceededException;
 import com.weather.api.domain.exception.WeatherApiException;
+import com.weather.api.infrastructure.logging.ErrorLogThrottle;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
 import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import io.github.resilience4j.ratelimiter.RequestNotPermitted;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -19,8 +30,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.time.LocalDateTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -33,6 +44,43 @@ import java.util.stream.Collectors;
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
+    private final ErrorLogThrottle errorLogThrottle;
+
+    // Fixed responses returned on every request while the upstream is down or the limit is hit
+    private final PrebuiltErrorResponse upstreamUnavailable;
+    private final PrebuiltErrorResponse circuitOpen;
+    private final PrebuiltErrorResponse rateLimited;
+    private final PrebuiltErrorResponse deadlineExceeded;
+    private final PrebuiltErrorResponse subscriptionsFull;
+    private final PrebuiltErrorResponse upstreamBusy;
+
+    public GlobalExceptionHandler(ObjectMapper objectMapper, ErrorLogThrottle errorLogThrottle,
+                                  @Value("${subscriptions.retry-after:30}") long subscriptionRetryAfterSeconds,
+                                  @Value("${openmeteo.bulkhead.retry-after:1}") long busyRetryAfterSeconds) {
+        this.errorLogThrottle = errorLogThrottle;
+        this.upstreamUnavailable = new PrebuiltErrorResponse(objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable", "Weather service is temporarily unavailable. Please try again later.");
+        this.circuitOpen = new PrebuiltErrorResponse(objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable",
+                "Weather service is currently unavailable due to repeated failures. Please try again later.");
+        this.rateLimited = new PrebuiltErrorResponse(objectMapper, HttpStatus.TOO_MANY_REQUESTS,
+                "Too Many Requests", "Rate limit exceeded. Please try again later.");
+        this.deadlineExceeded = new PrebuiltErrorResponse(objectMapper, HttpStatus.GATEWAY_TIMEOUT,
+                "Gateway Timeout", "The request could not be completed within its deadline.");
+
+        HttpHeaders retryAfter = new HttpHeaders();
+        retryAfter.set(HttpHeaders.RETRY_AFTER, String.valueOf(subscriptionRetryAfterSeconds));
+        this.subscriptionsFull = new PrebuiltErrorResponse(objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable", "No more subscriptions are accepted right now. Please try again later.",
+                retryAfter);
+
+        HttpHeaders busyRetryAfter = new HttpHeaders();
+        busyRetryAfter.set(HttpHeaders.RETRY_AFTER, String.valueOf(busyRetryAfterSeconds));
+        this.upstreamBusy = new PrebuiltErrorResponse(objectMapper, HttpStatus.SERVICE_UNAVAILABLE,
+                "Service Unavailable", "Too many requests are waiting for the weather service. Please try again shortly.",
+                busyRetryAfter);
+    }
+
     @ExceptionHandler(InvalidCoordinatesException.class)
     public ResponseEntity<ErrorResponse> handleInvalidCoordinates(InvalidCoordinatesException ex) {
         log.error("Invalid coordinates: {}", ex.getMessage());
@@ -61,46 +109,54 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
-    @ExceptionHandler(ExternalApiException.class)
-    public ResponseEntity<ErrorResponse> handleExternalApiException(ExternalApiException ex) {
-        log.error("External API error: {}", ex.getMessage(), ex);
+    @ExceptionHandler(AlertRuleNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAlertRuleNotFound(AlertRuleNotFoundException ex) {
+        log.debug("Alert rule not found: {}", ex.getMessage());
 
         ErrorResponse error = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
-                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
-                .error("Service Unavailable")
-                .message("Weather service is temporarily unavailable. Please try again later.")
+                .status(HttpStatus.NOT_FOUND.value())
+                .error("Not Found")
+                .message(ex.getMessage())
                 .build();
 
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
 
-    @ExceptionHandler(CallNotPermittedException.class)
-    public ResponseEntity<ErrorResponse> handleCircuitBreakerException(CallNotPermittedException ex) {
-        log.error("Circuit breaker open: {}", ex.getMessage());
+    @ExceptionHandler(ExternalApiException.class)
+    public ResponseEntity<byte[]> handleExternalApiException(ExternalApiException ex) {
+        errorLogThrottle.error(log, "External API error", ex);
+        return upstreamUnavailable.toResponseEntity();
+    }
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
-                .error("Service Unavailable")
-                .message("Weather service is currently unavailable due to repeated failures. Please try again later.")
-                .build();
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<byte[]> handleDeadlineExceeded(DeadlineExceededException ex) {
+        log.debug("Deadline exceeded: {}", ex.getMessage());
+        return deadlineExceeded.toResponseEntity();
+    }
 
-        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(error);
+    @ExceptionHandler(CallNotPermittedException.class)
+    public ResponseEntity<byte[]> handleCircuitBreakerException(CallNotPermittedException ex) {
+        errorLogThrottle.error(log, "Circuit breaker open", ex);
+        return circuitOpen.toResponseEntity();
     }
 
     @ExceptionHandler(RequestNotPermitted.class)
-    public ResponseEntity<ErrorResponse> handleRateLimitException(RequestNotPermitted ex) {
-        log.warn("Rate limit exceeded: {}", ex.getMessage());
+    public ResponseEntity<byte[]> handleRateLimitException(RequestNotPermitted ex) {
+        log.debug("Rate limit exceeded: {}", ex.getMessage());
+        return rateLimited.toResponseEntity();
+    }
 
-        ErrorResponse error = ErrorResponse.builder()
-                .timestamp(LocalDateTime.now())
-                .status(HttpStatus.TOO_MANY_REQUESTS.value())
-                .error("Too Many Requests")
-                .message("Rate limit exceeded. Please try again later.")
-                .build();
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<byte[]> handleBulkheadFull(BulkheadFullException ex) {
+        log.debug("Upstream bulkhead full: {}", ex.getMessage());
+        return upstreamBusy.toResponseEntity();
+    }
 
-        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(error);
+    @ExceptionHandler(SubscriptionLimitExceededException.class)
+    public ResponseEntity<byte[]> handleSubscriptionLimit(SubscriptionLimitExceededException ex) {
+        log.debug("Subscription rejected: {}", ex.getMessage());
+        return subscriptionsFull.toResponseEntity();
     }
 
     @ExceptionHandler(ConstraintViolationException.class)
@@ -139,6 +195,20 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<ErrorResponse> handleMessageNotReadable(HttpMessageNotReadableException ex) {
+        log.error("Unreadable request body: {}", ex.getMessage());
+
+        ErrorResponse error = ErrorResponse.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.BAD_REQUEST.value())
+                .error("Bad Request")
+                .message("Request body is missing or malformed")
+                .build();
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
     @ExceptionHandler(MissingServletRequestParameterException.class)
     public ResponseEntity<ErrorResponse> handleMissingParameter(MissingServletRequestParameterException ex) {
         log.error("Missing parameter: {}", ex.getMessage());
@@ -183,7 +253,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(WeatherApiException.class)
     public ResponseEntity<ErrorResponse> handleWeatherApiException(WeatherApiException ex) {
-        log.error("Weather API error: {}", ex.getMessage(), ex);
+        errorLogThrottle.error(log, "Weather API error", ex);
 
         ErrorResponse error = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -197,7 +267,7 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
-        log.error("Unexpected error: {}", ex.getMessage(), ex);
+        errorLogThrottle.error(log, "Unexpected error", ex);
 
         ErrorResponse error = ErrorResponse.builder()
                 .timestamp(LocalDateTime.now())
@@ -209,6 +279,64 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
     }
 
+    /**
+     * Error response with a fixed status, error and message, kept serialized.
+     * The body is re-serialized at most once per second to refresh its timestamp,
+     * which therefore has a resolution of one second.
+     */
+    private static final class PrebuiltErrorResponse {
+
+        private final ObjectMapper objectMapper;
+        private final HttpStatus status;
+        private final String error;
+        private final String message;
+        private final HttpHeaders headers;
+        private final AtomicReference<SerializedBody> body = new AtomicReference<>(new SerializedBody(null, null));
+
+        private PrebuiltErrorResponse(ObjectMapper objectMapper, HttpStatus status, String error, String message) {
+            this(objectMapper, status, error, message, HttpHeaders.EMPTY);
+        }
+
+        private PrebuiltErrorResponse(ObjectMapper objectMapper, HttpStatus status, String error, String message,
+                                      HttpHeaders headers) {
+            this.objectMapper = objectMapper;
+            this.status = status;
+            this.error = error;
+            this.message = message;
+            this.headers = headers;
+        }
+
+        private ResponseEntity<byte[]> toResponseEntity() {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+            SerializedBody current = body.get();
+            if (!now.equals(current.timestamp())) {
+                current = new SerializedBody(now, serialize(now));
+                body.set(current);
+            }
+
+            return ResponseEntity.status(status)
+                    .headers(headers)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(current.bytes());
+        }
+
+        private byte[] serialize(LocalDateTime timestamp) {
+            try {
+                return objectMapper.writeValueAsBytes(ErrorResponse.builder()
+                        .timestamp(timestamp)
+                        .status(status.value())
+                        .error(error)
+                        .message(message)
+                        .build());
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Error response could not be serialized", e);
+            }
+        }
+
+        private record SerializedBody(LocalDateTime timestamp, byte[] bytes) {
+        }
+    }
+
     /**
      * Standard error response structure.
      */
@@ -0,0 +1,72 @@
+package com.weather.api.infrastructure.adapter.rest;
+
+import com.weather.api.domain.model.Deadline;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Sets the deadline of each API request. The deadline comes from the
+ * {@code X-Request-Timeout} header (milliseconds the client is willing to wait),
+ * or from the default of the endpoint, and is capped at a maximum.
+ *
+ * @author Weather API Team
+ */
+@Component
+public class RequestDeadlineFilter extends OncePerRequestFilter {
+
+    static final String TIMEOUT_HEADER = "X-Request-Timeout";
+
+    private static final String API_PATH = "/api/";
+    private static final String FORECAST_PATH = "/api/v1/weather/forecast";
+
+    private final Duration forecastTimeout;
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+
+    public RequestDeadlineFilter(@Value("${deadline.forecast-timeout:3000}") long forecastTimeoutMillis,
+                                 @Value("${deadline.default-timeout:5000}") long defaultTimeoutMillis,
+                                 @Value("${deadline.max-timeout:10000}") long maxTimeoutMillis) {
+        this.forecastTimeout = Duration.ofMillis(forecastTimeoutMillis);
+        this.defaultTimeout = Duration.ofMillis(defaultTimeoutMillis);
+        this.maxTimeout = Duration.ofMillis(maxTimeoutMillis);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Deadline.attach(Deadline.after(timeoutOf(request)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            Deadline.detach();
+        }
+    }
+
+    private Duration timeoutOf(HttpServletRequest request) {
+        String header = request.getHeader(TIMEOUT_HEADER);
+        if (header != null) {
+            try {
+                long millis = Long.parseLong(header.trim());
+                if (millis > 0) {
+                    return millis < maxTimeout.toMillis() ? Duration.ofMillis(millis) : maxTimeout;
+                }
+            } catch (NumberFormatException e) {
+                // Malformed header, fall back to the endpoint default
+            }
+        }
+        return request.getRequestURI().startsWith(FORECAST_PATH) ? forecastTimeout : defaultTimeout;
+    }
+}
@@ -0,0 +1,67 @@
+package com.weather.api.infrastructure.adapter.rest;
+
+import com.weather.api.infrastructure.trace.RequestTraceRecorder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands a sample of API GET requests to the {@link RequestTraceRecorder}.
+ * Runs before the other API filters, so the recorded duration includes compression.
+ * Only GET requests are recorded, since their path and query are the whole request;
+ * requests answered asynchronously, such as forecast subscriptions, are skipped.
+ *
+ * @author Weather API Team
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestTraceFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/";
+
+    private final RequestTraceRecorder recorder;
+
+    public RequestTraceFilter(RequestTraceRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !recorder.isEnabled()
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !request.getRequestURI().startsWith(API_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!recorder.start()) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long epochMillis = System.currentTimeMillis();
+        long start = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                recorder.discard();
+            } else {
+                String query = request.getQueryString();
+                recorder.finish(epochMillis, request.getMethod(),
+                        query == null ? request.getRequestURI() : request.getRequestURI() + '?' + query,
+                        response.getStatus(), TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.weather.api.infrastructure.adapter.rest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compresses API responses with the best coding the client accepts (zstd or gzip).
+ * Bodies below a minimum size are sent as they are, since compressing a small
+ * forecast costs more CPU than it saves in bandwidth.
+ * The compressed variant of each GET response is kept next to its uncompressed body,
+ * so a response served from the forecast or search cache is compressed once per
+ * cache fill rather than once per request.
+ * Streaming endpoints are excluded, since buffering would hold their whole output.
+ * Other paths are still compressed by the server's {@code server.compression} settings.
+ *
+ * @author Weather API Team
+ */
+@Component
+public class ResponseCompressionFilter extends OncePerRequestFilter {
+
+    private static final String API_PATH = "/api/";
+
+    private final int minSize;
+    private final List<MediaType> mimeTypes;
+    private final Set<String> excludedPaths;
+    private final Cache<String, Variant> variants;
+    private final Map<ContentCoding, Counter> reused = new EnumMap<>(ContentCoding.class);
+    private final Map<ContentCoding, Counter> compressed = new EnumMap<>(ContentCoding.class);
+
+    public ResponseCompressionFilter(MeterRegistry meterRegistry,
+                                     @Value("${compression.min-size:1024}") int minSize,
+                                     @Value("${compression.mime-types:application/json}") List<MediaType> mimeTypes,
+                                     @Value("${compression.excluded-paths:/api/v1/weather/search/bulk,/api/v1/weather/subscribe}") Set<String> excludedPaths,
+                                     @Value("${compression.variants.max-entries:1000}") long maxVariants,
+                                     @Value("${compression.variants.ttl:300000}") long variantTtlMillis) {
+        this.minSize = minSize;
+        this.mimeTypes = mimeTypes;
+        this.excludedPaths = excludedPaths;
+        this.variants = Caffeine.newBuilder()
+                .maximumSize(maxVariants)
+                .expireAfterWrite(variantTtlMillis, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+
+        for (ContentCoding coding : ContentCoding.values()) {
+            reused.put(coding, counter(meterRegistry, coding, "reused"));
+            compressed.put(coding, counter(meterRegistry, coding, "compressed"));
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(API_PATH)
+                || excludedPaths.contains(request.getRequestURI())
+                || ContentCoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ContentCoding coding = ContentCoding.negotiate(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+        chain.doFilter(request, wrapper);
+
+        byte[] body = wrapper.getContentAsByteArray();
+        if (!shouldCompress(wrapper, body)) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] encoded = encode(request, wrapper, coding, body);
+        response.setHeader(HttpHeaders.CONTENT_ENCODING, coding.token());
+        response.setContentLength(encoded.length);
+        response.getOutputStream().write(encoded);
+    }
+
+    private boolean shouldCompress(HttpServletResponse response, byte[] body) {
+        if (body.length < minSize || response.getHeader(HttpHeaders.CONTENT_ENCODING) != null) {
+            return false;
+        }
+        String contentType = response.getContentType();
+        if (contentType == null) {
+            return false;
+        }
+        MediaType mediaType = MediaType.parseMediaType(contentType);
+        return mimeTypes.stream().anyMatch(type -> type.isCompatibleWith(mediaType));
+    }
+
+    /**
+     * Compresses the body, reusing the stored variant when the same GET response
+     * produced exactly the same body since it was compressed.
+     */
+    private byte[] encode(HttpServletRequest request, HttpServletResponse response,
+                          ContentCoding coding, byte[] body) {
+        if (!HttpMethod.GET.matches(request.getMethod()) || response.getStatus() != HttpServletResponse.SC_OK) {
+            compressed.get(coding).increment();
+            return coding.compress(body);
+        }
+
+        String key = variantKey(request, response, coding);
+        Variant variant = variants.getIfPresent(key);
+        if (variant != null && Arrays.equals(variant.body(), body)) {
+            reused.get(coding).increment();
+            return variant.encoded();
+        }
+
+        byte[] encoded = coding.compress(body);
+        variants.put(key, new Variant(body, encoded));
+        compressed.get(coding).increment();
+        return encoded;
+    }
+
+    private static String variantKey(HttpServletRequest request, HttpServletResponse response, ContentCoding coding) {
+        String query = request.getQueryString();
+        return coding.token() + ' ' + response.getContentType() + ' '
+                + (query == null ? request.getRequestURI() : request.getRequestURI() + '?' + query);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, ContentCoding coding, String variant) {
+        return Counter.builder("http.server.compression")
+                .description("API responses compressed by the compression filter")
+                .tag("encoding", coding.token())
+                .tag("variant", variant)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A response body and its compressed form.
+     */
+    private record Variant(byte[] body, byte[] encoded) {
+    }
+}
@@ -0,0 +1,120 @@
+package com.weather.api.infrastructure.adapter.rest;
+
+import com.weather.api.application.dto.request.AlertRuleRequest;
+import com.weather.api.application.dto.response.AlertEventDTO;
+import com.weather.api.application.dto.response.AlertRuleDTO;
+import com.weather.api.application.mapper.AlertMapper;
+import com.weather.api.domain.model.AlertRule;
+import com.weather.api.domain.port.input.WeatherAlertUseCase;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * REST Controller for weather alert rules and the alerts they trigger.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@RestController
+@RequestMapping("/api/v1/alerts")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Weather Alerts", description = "Endpoints for weather alert rules and triggered alerts")
+public class WeatherAlertController {
+
+    private final WeatherAlertUseCase weatherAlertUseCase;
+    private final AlertMapper alertMapper;
+
+    @Operation(
+            summary = "Create an alert rule",
+            description = "Alerts the subscriber when the forecast at a location crosses a threshold. "
+                    + "Rules are evaluated every time a forecast for their location is loaded"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Rule created"),
+            @ApiResponse(responseCode = "400", description = "Invalid rule or too many rules for the subscriber")
+    })
+    @PostMapping("/rules")
+    public ResponseEntity<AlertRuleDTO> createRule(@Valid @RequestBody AlertRuleRequest request) {
+        log.info("POST /api/v1/alerts/rules - subscriber: '{}', {} {} {}",
+                request.getSubscriber(), request.getMetric(), request.getCondition(), request.getThreshold());
+
+        AlertRule rule = weatherAlertUseCase.createRule(alertMapper.toDomain(request));
+
+        return ResponseEntity.status(HttpStatus.CREATED).body(alertMapper.toDTO(rule));
+    }
+
+    @Operation(summary = "List the alert rules of a subscriber")
+    @GetMapping("/rules")
+    public ResponseEntity<List<AlertRuleDTO>> getRules(
+            @RequestParam
+            @NotBlank(message = "Subscriber is required")
+            String subscriber
+    ) {
+        log.info("GET /api/v1/alerts/rules - subscriber: '{}'", subscriber);
+
+        List<AlertRuleDTO> rules = weatherAlertUseCase.getRules(subscriber).stream()
+                .map(alertMapper::toDTO)
+                .toList();
+
+        return ResponseEntity.ok(rules);
+    }
+
+    @Operation(summary = "Delete an alert rule")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Rule deleted"),
+            @ApiResponse(responseCode = "404", description = "Rule not found")
+    })
+    @DeleteMapping("/rules/{id}")
+    public ResponseEntity<Void> deleteRule(@PathVariable Long id) {
+        log.info("DELETE /api/v1/alerts/rules/{}", id);
+
+        weatherAlertUseCase.deleteRule(id);
+
+        return ResponseEntity.noContent().build();
+    }
+
+    @Operation(
+            summary = "List triggered alerts",
+            description = "Returns the alerts triggered for a subscriber, oldest first. "
+                    + "Pass the id of the last alert seen as 'after' to receive only new ones"
+    )
+    @GetMapping("/events")
+    public ResponseEntity<List<AlertEventDTO>> getEvents(
+            @RequestParam
+            @NotBlank(message = "Subscriber is required")
+            String subscriber,
+
+            @RequestParam(required = false, defaultValue = "0")
+            @Min(value = 0, message = "After must not be negative")
+            Long after
+    ) {
+        log.info("GET /api/v1/alerts/events - subscriber: '{}', after: {}", subscriber, after);
+
+        List<AlertEventDTO> events = weatherAlertUseCase.getEvents(subscriber, after).stream()
+                .map(alertMapper::toDTO)
+                .toList();
+
+        return ResponseEntity.ok(events);
+    }
+}
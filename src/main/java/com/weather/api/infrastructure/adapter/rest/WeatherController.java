@@ -2,19 +2,26 @@ package com.weather.api.infrastructure.adapter.rest;
 
 import com.weather.api.application.dto.request.CitySearchRequest;
 import com.weather.api.application.dto.request.WeatherForecastRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.api.application.dto.response.BulkCitySearchResultDTO;
 import com.weather.api.application.dto.response.CitySearchResponse;
 import com.weather.api.application.dto.response.WeatherForecastResponse;
 import com.weather.api.application.mapper.GeocodingMapper;
 import com.weather.api.application.mapper.WeatherMapper;
 import com.weather.api.domain.model.GeocodingResult;
 import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.model.WeatherVariable;
+import com.weather.api.domain.port.input.BulkCitySearchUseCase;
 import com.weather.api.domain.port.input.WeatherUseCase;
+import com.weather.api.infrastructure.config.BinaryFormatConfig;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.DecimalMin;
@@ -25,13 +32,21 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -49,18 +64,28 @@ import java.util.List;
 public class WeatherController {
 
     private final WeatherUseCase weatherUseCase;
+    private final BulkCitySearchUseCase bulkCitySearchUseCase;
+    private final ObjectMapper objectMapper;
     private final WeatherMapper weatherMapper;
     private final GeocodingMapper geocodingMapper;
 
     @Operation(
             summary = "Get weather forecast by coordinates",
-            description = "Returns current weather conditions for specified geographical coordinates"
+            description = "Returns current weather conditions for specified geographical coordinates. "
+                    + "Use 'fields' to select variables, e.g. fields=temperature,apparentTemperature,precipitation"
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200",
                     description = "Successful operation",
-                    content = @Content(schema = @Schema(implementation = WeatherForecastResponse.class))
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = WeatherForecastResponse.class)),
+                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                                    schema = @Schema(implementation = WeatherForecastResponse.class)),
+                            @Content(mediaType = BinaryFormatConfig.APPLICATION_SMILE_VALUE,
+                                    schema = @Schema(implementation = WeatherForecastResponse.class))
+                    }
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -75,7 +100,9 @@ public class WeatherController {
                     description = "External API unavailable"
             )
     })
-    @GetMapping("/forecast")
+    @GetMapping(value = "/forecast", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE
+    })
     public ResponseEntity<WeatherForecastResponse> getWeatherForecast(
             @RequestParam
             @NotNull(message = "Latitude is required")
@@ -90,12 +117,17 @@ public class WeatherController {
             Double longitude,
 
             @RequestParam(required = false, defaultValue = "auto")
-            String timezone
+            String timezone,
+
+            @RequestParam(required = false)
+            String fields
     ) {
-        log.info("GET /api/v1/weather/forecast - lat: {}, lon: {}, timezone: {}",
-                latitude, longitude, timezone);
+        log.info("GET /api/v1/weather/forecast - lat: {}, lon: {}, timezone: {}, fields: {}",
+                latitude, longitude, timezone, fields);
 
-        Weather weather = weatherUseCase.getWeatherForecast(latitude, longitude, timezone);
+        Weather weather = (fields == null || fields.isBlank())
+                ? weatherUseCase.getWeatherForecast(latitude, longitude, timezone)
+                : weatherUseCase.getWeatherForecast(latitude, longitude, timezone, WeatherVariable.parse(fields));
         WeatherForecastResponse response = weatherMapper.toResponse(weather);
 
         return ResponseEntity.ok(response);
@@ -109,7 +141,14 @@ public class WeatherController {
             @ApiResponse(
                     responseCode = "200",
                     description = "Successful operation",
-                    content = @Content(schema = @Schema(implementation = CitySearchResponse.class))
+                    content = {
+                            @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    schema = @Schema(implementation = CitySearchResponse.class)),
+                            @Content(mediaType = MediaType.APPLICATION_CBOR_VALUE,
+                                    schema = @Schema(implementation = CitySearchResponse.class)),
+                            @Content(mediaType = BinaryFormatConfig.APPLICATION_SMILE_VALUE,
+                                    schema = @Schema(implementation = CitySearchResponse.class))
+                    }
             ),
             @ApiResponse(
                     responseCode = "400",
@@ -128,7 +167,9 @@ public class WeatherController {
                     description = "External API unavailable"
             )
     })
-    @GetMapping("/search")
+    @GetMapping(value = "/search", produces = {
+            MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_CBOR_VALUE, BinaryFormatConfig.APPLICATION_SMILE_VALUE
+    })
     public ResponseEntity<CitySearchResponse> searchCity(
             @RequestParam
             @NotBlank(message = "City name is required")
@@ -151,4 +192,56 @@ public class WeatherController {
 
         return ResponseEntity.ok(response);
     }
+
+    @Operation(
+            summary = "Search for many cities at once",
+            description = "Takes one city name per line (text/plain) and streams one NDJSON line per name "
+                    + "as soon as it is resolved, not necessarily in request order. Each line carries the "
+                    + "request line number, the name and either its results or an error"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Results streamed, one JSON object per line",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = BulkCitySearchResultDTO.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid search parameters (count out of range)"
+            )
+    })
+    @PostMapping(value = "/search/bulk",
+            consumes = MediaType.TEXT_PLAIN_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void searchCities(
+            @RequestParam(required = false, defaultValue = "1")
+            @Min(value = 1, message = "Count must be at least 1")
+            @Max(value = 20, message = "Count must not exceed 20")
+            Integer count,
+
+            @RequestParam(required = false, defaultValue = "en")
+            String language,
+
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        log.info("POST /api/v1/weather/search/bulk - count: {}, language: {}", count, language);
+
+        BufferedReader names = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8));
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        bulkCitySearchUseCase.searchCities(names.lines().iterator(), count, language, outcome -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(geocodingMapper.toBulkResult(outcome)));
+                out.write('\n');
+                out.flush();
+            } catch (IOException e) {
+                // Client went away; stops the batch
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
 }
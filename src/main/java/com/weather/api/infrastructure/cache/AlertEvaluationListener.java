@@ -0,0 +1,84 @@
+package com.weather.api.infrastructure.cache;
+
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.port.input.WeatherAlertUseCase;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Feeds forecasts loaded into the weather forecast cache to the alert rules.
+ * The request path only checks whether a rule watches the location; evaluation runs
+ * on a background thread. Forecasts of a location that arrive faster than they are
+ * evaluated replace each other, so only the latest one is evaluated.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Component
+public class AlertEvaluationListener implements CacheEntryListener, DisposableBean {
+
+    static final String TRACKED_CACHE = HotKeyTracker.TRACKED_CACHE;
+
+    private final WeatherAlertUseCase weatherAlertUseCase;
+    private final Map<Location, Weather> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final ExecutorService evaluator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "alert-evaluator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AlertEvaluationListener(WeatherAlertUseCase weatherAlertUseCase) {
+        this.weatherAlertUseCase = weatherAlertUseCase;
+    }
+
+    @Override
+    public void onPut(String cacheName, Object key, Object value) {
+        if (!TRACKED_CACHE.equals(cacheName) || !(value instanceof Weather weather)) {
+            return;
+        }
+
+        Location location = ForecastCacheKeys.toLocation(key);
+        if (location == null || !weatherAlertUseCase.isWatched(location.getLatitude(), location.getLongitude())) {
+            return;
+        }
+
+        pending.put(location, weather);
+        if (draining.compareAndSet(false, true)) {
+            evaluator.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        do {
+            for (Location location : pending.keySet()) {
+                Weather weather = pending.remove(location);
+                if (weather != null) {
+                    evaluate(location, weather);
+                }
+            }
+            draining.set(false);
+        } while (!pending.isEmpty() && draining.compareAndSet(false, true));
+    }
+
+    private void evaluate(Location location, Weather weather) {
+        try {
+            weatherAlertUseCase.evaluate(location.getLatitude(), location.getLongitude(), weather);
+        } catch (RuntimeException e) {
+            log.warn("Alert evaluation for {} failed: {}", location, e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        evaluator.shutdownNow();
+    }
+}
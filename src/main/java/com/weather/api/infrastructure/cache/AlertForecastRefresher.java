@@ -0,0 +1,89 @@
+package com.weather.api.infrastructure.cache;
+
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.port.input.WeatherAlertUseCase;
+import com.weather.api.domain.port.output.WeatherRepositoryPort;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Loads the forecasts of watched locations that no request, hot key refresh or
+ * subscription has loaded lately, so that every alert rule is evaluated at least
+ * once per {@code alerts.max-age}. Forecasts go through the weather forecast cache,
+ * whose listener triggers the evaluation; locations kept fresh by user traffic cost
+ * no upstream call here.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Component
+public class AlertForecastRefresher {
+
+    private static final String CACHE_NAME = AlertEvaluationListener.TRACKED_CACHE;
+    private static final String REFRESH_TIMEZONE = "auto";
+
+    private final WeatherAlertUseCase weatherAlertUseCase;
+    private final CacheManager cacheManager;
+    private final WeatherRepositoryPort weatherRepositoryPort;
+
+    private final Duration maxAge;
+    private final int batchSize;
+    private final int maxBatches;
+
+    public AlertForecastRefresher(WeatherAlertUseCase weatherAlertUseCase,
+                                  CacheManager cacheManager,
+                                  WeatherRepositoryPort weatherRepositoryPort,
+                                  @Value("${alerts.max-age:300000}") long maxAgeMillis,
+                                  @Value("${alerts.batch-size:20}") int batchSize,
+                                  @Value("${alerts.max-batches:5}") int maxBatches) {
+        this.weatherAlertUseCase = weatherAlertUseCase;
+        this.cacheManager = cacheManager;
+        this.weatherRepositoryPort = weatherRepositoryPort;
+        this.maxAge = Duration.ofMillis(maxAgeMillis);
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+    }
+
+    /**
+     * Loads the forecasts of watched locations not evaluated within the maximum age,
+     * spending at most {@code alerts.max-batches} upstream calls per cycle.
+     */
+    @Scheduled(
+            initialDelayString = "${alerts.refresh-interval:60000}",
+            fixedDelayString = "${alerts.refresh-interval:60000}"
+    )
+    public void refreshStaleLocations() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        List<Location> stale = weatherAlertUseCase.getStaleLocations(maxAge);
+        if (cache == null || stale.isEmpty()) {
+            return;
+        }
+
+        log.debug("Loading forecasts of {} watched locations for alert evaluation", stale.size());
+
+        int batches = 0;
+        for (int from = 0; from < stale.size() && batches < maxBatches; from += batchSize, batches++) {
+            List<Location> batch = stale.subList(from, Math.min(from + batchSize, stale.size()));
+            try {
+                List<Weather> forecasts = weatherRepositoryPort.fetchWeatherForecasts(batch, REFRESH_TIMEZONE);
+                for (int i = 0; i < forecasts.size(); i++) {
+                    cache.put(ForecastCacheKeys.toKey(batch.get(i)), forecasts.get(i));
+                }
+            } catch (RequestNotPermitted e) {
+                log.debug("Upstream rate limiter exhausted, postponing remaining alert locations");
+                return;
+            } catch (Exception e) {
+                log.warn("Loading {} watched locations for alert evaluation failed: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.weather.api.infrastructure.cache;
+
+/**
+ * Listener notified about activity on an observed cache.
+ * Implementations must be cheap and non-blocking: they run on the request path.
+ *
+ * @author Weather API Team
+ */
+public interface CacheEntryListener {
+
+    /**
+     * Called on every lookup of a key, whether it hits or misses.
+     *
+     * @param cacheName the cache name
+     * @param key       the looked-up key
+     */
+    default void onAccess(String cacheName, Object key) {
+    }
+
+    /**
+     * Called when a value is loaded or refreshed into the cache.
+     *
+     * @param cacheName the cache name
+     * @param key       the key
+     * @param value     the stored value
+     */
+    default void onPut(String cacheName, Object key, Object value) {
+    }
+
+    /**
+     * Called when a value leaves the cache: removed, expired or evicted for size.
+     * Replacements are reported through {@link #onPut} only. A removal may be reported
+     * after another thread has already put a newer value for the key.
+     *
+     * @param cacheName the cache name
+     * @param key       the key
+     * @param value     the value that left the cache
+     */
+    default void onEvict(String cacheName, Object key, Object value) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.weather.api.infrastructure.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.model.Weather;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Encodes cached values for the shared cache store as Smile, Jackson's binary JSON,
+ * which is a fraction of the size of Java serialization and repeats no field names.
+ * Each cache holds one value type, registered by cache name; caches without one stay local.
+ * The domain models are read through their builders, declared here with mix-ins so the
+ * domain stays free of serialization annotations.
+ *
+ * @author Weather API Team
+ */
+public class CacheValueCodec {
+
+    private final ObjectMapper mapper;
+    private final Map<String, JavaType> types = new ConcurrentHashMap<>();
+
+    public CacheValueCodec() {
+        this.mapper = new ObjectMapper(SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build())
+                .registerModule(new JavaTimeModule())
+                // Values written by an older or newer version of the service stay readable
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .addMixIn(Weather.class, WeatherMixIn.class)
+                .addMixIn(Weather.WeatherBuilder.class, BuilderMixIn.class)
+                .addMixIn(GeocodingResult.class, GeocodingResultMixIn.class)
+                .addMixIn(GeocodingResult.GeocodingResultBuilder.class, BuilderMixIn.class);
+    }
+
+    /**
+     * Creates a codec for the values of the response caches: forecasts, forecast
+     * variables and city searches.
+     *
+     * @return the codec
+     */
+    public static CacheValueCodec forResponseCaches() {
+        return new CacheValueCodec()
+                .register("weatherForecast", new TypeReference<Weather>() { })
+                .register("weatherVariable", new TypeReference<Weather>() { })
+                .register("citySearch", new TypeReference<List<GeocodingResult>>() { });
+    }
+
+    /**
+     * Declares the value type of a cache, making it eligible for the shared store.
+     *
+     * @param cacheName the cache name
+     * @param type      the type of its values
+     * @return this codec
+     */
+    public CacheValueCodec register(String cacheName, TypeReference<?> type) {
+        types.put(cacheName, mapper.constructType(type));
+        return this;
+    }
+
+    /**
+     * Checks whether values of a cache can be encoded.
+     *
+     * @param cacheName the cache name
+     * @return true if a value type is registered for the cache
+     */
+    public boolean supports(String cacheName) {
+        return types.containsKey(cacheName);
+    }
+
+    /**
+     * Encodes a cached value.
+     *
+     * @param value the value
+     * @return the encoded value
+     * @throws IOException if the value cannot be encoded
+     */
+    public byte[] encode(Object value) throws IOException {
+        return mapper.writeValueAsBytes(value);
+    }
+
+    /**
+     * Decodes a value of the given cache.
+     *
+     * @param cacheName the cache name
+     * @param bytes     the encoded value
+     * @return the value
+     * @throws IOException if the bytes are not a value of the cache's type
+     */
+    public Object decode(String cacheName, byte[] bytes) throws IOException {
+        JavaType type = types.get(cacheName);
+        if (type == null) {
+            throw new IllegalArgumentException("No value type registered for cache " + cacheName);
+        }
+        return mapper.readValue(bytes, type);
+    }
+
+    @JsonDeserialize(builder = Weather.WeatherBuilder.class)
+    @JsonIgnoreProperties({"valid", "degraded"})
+    private abstract static class WeatherMixIn {
+    }
+
+    @JsonDeserialize(builder = GeocodingResult.GeocodingResultBuilder.class)
+    @JsonIgnoreProperties({"valid", "location"})
+    private abstract static class GeocodingResultMixIn {
+    }
+
+    @JsonPOJOBuilder(withPrefix = "")
+    private abstract static class BuilderMixIn {
+    }
+}
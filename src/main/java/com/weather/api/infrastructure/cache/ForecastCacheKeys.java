@@ -0,0 +1,41 @@
+package com.weather.api.infrastructure.cache;
+
+import com.weather.api.domain.model.CoordinateKey;
+import com.weather.api.domain.model.Location;
+
+/**
+ * Conversions between coordinates and weather forecast cache keys ({@link CoordinateKey}s).
+ *
+ * @author Weather API Team
+ */
+final class ForecastCacheKeys {
+
+    private ForecastCacheKeys() {
+    }
+
+    /**
+     * Builds the cache key of a location, as the forecast use case does.
+     *
+     * @param location the location
+     * @return the cache key
+     */
+    static Long toKey(Location location) {
+        return CoordinateKey.encode(location.getLatitude(), location.getLongitude());
+    }
+
+    /**
+     * Rebuilds the coordinates from a cache key.
+     *
+     * @param key the cache key
+     * @return the location, or null if the key is not a forecast key
+     */
+    static Location toLocation(Object key) {
+        if (!(key instanceof Long coordinates)) {
+            return null;
+        }
+        return Location.builder()
+                .latitude(CoordinateKey.latitude(coordinates))
+                .longitude(CoordinateKey.longitude(coordinates))
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+package com.weather.api.infrastructure.cache;
+
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.port.output.WeatherRepositoryPort;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Refreshes the hottest weather forecast cache entries in the background,
+ * so that popular locations are reloaded before they expire instead of making
+ * a user request pay for the refill.
+ * Refreshes are sent to Open-Meteo in multi-location batches and consume at most
+ * a configured share of the upstream rate limiter budget; the client takes the permits.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "cache.refresh", name = "enabled", havingValue = "true")
+public class HotForecastRefresher {
+
+    private static final String CACHE_NAME = HotKeyTracker.TRACKED_CACHE;
+    private static final String RATE_LIMITER_NAME = "openMeteoService";
+    private static final String REFRESH_TIMEZONE = "auto";
+
+    private final HotKeyTracker hotKeyTracker;
+    private final CacheManager cacheManager;
+    private final WeatherRepositoryPort weatherRepositoryPort;
+    private final RateLimiter rateLimiter;
+
+    private final int topK;
+    private final int batchSize;
+    private final double budgetShare;
+    private final Duration interval;
+    private final Duration refreshAfter;
+
+    private final Timer refreshLag;
+    private final Counter refreshedKeys;
+    private final Counter failedBatches;
+    private final AtomicInteger budgetUsed = new AtomicInteger();
+    private final AtomicInteger budgetLimit = new AtomicInteger();
+
+    public HotForecastRefresher(HotKeyTracker hotKeyTracker,
+                                CacheManager cacheManager,
+                                WeatherRepositoryPort weatherRepositoryPort,
+                                RateLimiterRegistry rateLimiterRegistry,
+                                MeterRegistry meterRegistry,
+                                @Value("${cache.refresh.top-k:100}") int topK,
+                                @Value("${cache.refresh.batch-size:20}") int batchSize,
+                                @Value("${cache.refresh.budget-share:0.2}") double budgetShare,
+                                @Value("${cache.refresh.interval:60000}") long intervalMillis,
+                                @Value("${cache.refresh.refresh-after:240000}") long refreshAfterMillis) {
+        this.hotKeyTracker = hotKeyTracker;
+        this.cacheManager = cacheManager;
+        this.weatherRepositoryPort = weatherRepositoryPort;
+        this.rateLimiter = rateLimiterRegistry.rateLimiter(RATE_LIMITER_NAME);
+        this.topK = topK;
+        this.batchSize = batchSize;
+        this.budgetShare = budgetShare;
+        this.interval = Duration.ofMillis(intervalMillis);
+        this.refreshAfter = Duration.ofMillis(refreshAfterMillis);
+
+        this.refreshLag = Timer.builder("weather.cache.refresh.lag")
+                .description("Age of hot forecast entries when they were refreshed")
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry);
+        this.refreshedKeys = Counter.builder("weather.cache.refresh.keys")
+                .description("Hot forecast entries refreshed in the background")
+                .register(meterRegistry);
+        this.failedBatches = Counter.builder("weather.cache.refresh.failures")
+                .description("Background refresh batches that failed")
+                .register(meterRegistry);
+        meterRegistry.gauge("weather.cache.refresh.budget.used", budgetUsed);
+        meterRegistry.gauge("weather.cache.refresh.budget.limit", budgetLimit);
+    }
+
+    /**
+     * Refreshes the top-K hot forecast keys that are missing or about to expire.
+     */
+    @Scheduled(
+            initialDelayString = "${cache.refresh.interval:60000}",
+            fixedDelayString = "${cache.refresh.interval:60000}"
+    )
+    public void refreshHotKeys() {
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+        if (cache == null) {
+            return;
+        }
+
+        int budget = cycleBudget();
+        budgetLimit.set(budget);
+        budgetUsed.set(0);
+
+        List<Object> dueKeys = new ArrayList<>();
+        for (Object key : hotKeyTracker.topK(topK)) {
+            Optional<Duration> age = ageOf(cache, key);
+            if (age.isEmpty() || age.get().compareTo(refreshAfter) >= 0) {
+                age.ifPresent(refreshLag::record);
+                dueKeys.add(key);
+            }
+        }
+
+        if (dueKeys.isEmpty()) {
+            return;
+        }
+
+        log.debug("Refreshing {} hot forecast keys with a budget of {} upstream calls", dueKeys.size(), budget);
+
+        for (int from = 0; from < dueKeys.size() && budgetUsed.get() < budget; from += batchSize) {
+            if (!refreshBatch(cache, dueKeys.subList(from, Math.min(from + batchSize, dueKeys.size())))) {
+                log.debug("Upstream rate limiter exhausted, postponing remaining hot key refreshes");
+                return;
+            }
+            budgetUsed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Number of upstream calls this refresh cycle may spend: the configured share
+     * of the rate limiter's permits, scaled to the refresh interval.
+     */
+    private int cycleBudget() {
+        RateLimiterConfig config = rateLimiter.getRateLimiterConfig();
+        double cyclesPerPeriod = (double) config.getLimitRefreshPeriod().toNanos() / interval.toNanos();
+        return (int) (config.getLimitForPeriod() * budgetShare / Math.max(1.0, cyclesPerPeriod));
+    }
+
+    /**
+     * Refreshes one batch of keys.
+     *
+     * @return false if the upstream rate limiter had no permit left for it
+     */
+    private boolean refreshBatch(Cache cache, List<Object> keys) {
+        List<Location> locations = keys.stream()
+                .map(ForecastCacheKeys::toLocation)
+                .toList();
+
+        try {
+            List<Weather> forecasts = weatherRepositoryPort.fetchWeatherForecasts(locations, REFRESH_TIMEZONE);
+            for (int i = 0; i < forecasts.size(); i++) {
+                cache.put(keys.get(i), forecasts.get(i));
+            }
+            refreshedKeys.increment(forecasts.size());
+        } catch (RequestNotPermitted e) {
+            return false;
+        } catch (Exception e) {
+            failedBatches.increment();
+            log.warn("Background refresh of {} hot forecast keys failed: {}", keys.size(), e.getMessage());
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Optional<Duration> ageOf(Cache cache, Object key) {
+        if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            return ((com.github.benmanes.caffeine.cache.Cache<Object, Object>) nativeCache).policy()
+                    .expireAfterWrite()
+                    .flatMap(policy -> policy.ageOf(key));
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,145 @@
+package com.weather.api.infrastructure.cache;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Tracks the most frequently requested keys of the weather forecast cache.
+ * Frequencies are estimated with a count-min sketch that is periodically halved,
+ * so recent popularity outweighs old traffic. A bounded candidate set keeps the
+ * keys eligible for {@link #topK(int)} without storing every key ever seen.
+ *
+ * @author Weather API Team
+ */
+@Component
+public class HotKeyTracker implements CacheEntryListener {
+
+    static final String TRACKED_CACHE = "weatherForecast";
+
+    private static final int DEPTH = 4;
+    private static final long[] SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L
+    };
+
+    private final AtomicLongArray counters;
+    private final int widthMask;
+    private final int sampleSize;
+    private final int candidateCapacity;
+    private final AtomicInteger additions = new AtomicInteger();
+    private final Map<Object, Boolean> candidates = new ConcurrentHashMap<>();
+
+    private volatile long admissionThreshold;
+
+    public HotKeyTracker(@Value("${cache.refresh.sketch-width:4096}") int width,
+                         @Value("${cache.refresh.candidates:512}") int candidateCapacity) {
+        int tableWidth = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.counters = new AtomicLongArray(DEPTH * tableWidth);
+        this.widthMask = tableWidth - 1;
+        this.sampleSize = 10 * tableWidth;
+        this.candidateCapacity = candidateCapacity;
+    }
+
+    @Override
+    public void onAccess(String cacheName, Object key) {
+        if (TRACKED_CACHE.equals(cacheName)) {
+            record(key);
+        }
+    }
+
+    /**
+     * Records one access to the given key.
+     *
+     * @param key the cache key
+     */
+    public void record(Object key) {
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.incrementAndGet(indexOf(hash, row)));
+        }
+
+        if (candidates.size() < candidateCapacity || estimate > admissionThreshold) {
+            candidates.put(key, Boolean.TRUE);
+        }
+
+        if (additions.incrementAndGet() >= sampleSize) {
+            age();
+        }
+    }
+
+    /**
+     * Estimates how often the given key was accessed recently.
+     *
+     * @param key the cache key
+     * @return the estimated access frequency
+     */
+    public long frequency(Object key) {
+        int hash = spread(key.hashCode());
+        long estimate = Long.MAX_VALUE;
+
+        for (int row = 0; row < DEPTH; row++) {
+            estimate = Math.min(estimate, counters.get(indexOf(hash, row)));
+        }
+
+        return estimate;
+    }
+
+    /**
+     * Returns the hottest keys, most frequent first, and trims the candidate set
+     * so that only keys competitive with the current top entries stay tracked.
+     *
+     * @param k maximum number of keys to return
+     * @return up to {@code k} keys ordered by descending frequency
+     */
+    public List<Object> topK(int k) {
+        List<Map.Entry<Object, Long>> ranked = candidates.keySet().stream()
+                .map(key -> Map.entry(key, frequency(key)))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<Object, Long>comparingByValue(Comparator.reverseOrder()))
+                .toList();
+
+        int keep = Math.max(k, candidateCapacity / 2);
+        for (int i = keep; i < ranked.size(); i++) {
+            candidates.remove(ranked.get(i).getKey());
+        }
+        admissionThreshold = ranked.size() > keep ? ranked.get(keep - 1).getValue() : 0;
+
+        return ranked.stream()
+                .limit(k)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Halves every counter so that the sketch favours recent traffic.
+     */
+    private void age() {
+        if (additions.getAndSet(0) < sampleSize) {
+            return;
+        }
+        for (int i = 0; i < counters.length(); i++) {
+            counters.getAndUpdate(i, value -> value >>> 1);
+        }
+        admissionThreshold >>>= 1;
+        candidates.keySet().removeIf(key -> frequency(key) == 0);
+    }
+
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return row * (widthMask + 1) + ((int) h & widthMask);
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,63 @@
+package com.weather.api.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a shared cache store, for local runs and tests.
+ * Several cache tiers using the same instance behave like instances of the service
+ * sharing one Redis: values written by one are read by the others, and published
+ * messages reach every subscriber.
+ *
+ * @author Weather API Team
+ */
+public class InMemorySharedCacheStore implements SharedCacheStore {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final List<Consumer<String>> subscribers = new CopyOnWriteArrayList<>();
+
+    @Override
+    public CompletableFuture<byte[]> get(String key) {
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt() - System.nanoTime() <= 0) {
+            entries.remove(key, entry);
+            entry = null;
+        }
+        return CompletableFuture.completedFuture(entry == null ? null : entry.value());
+    }
+
+    @Override
+    public CompletableFuture<Void> set(String key, byte[] value, Duration ttl) {
+        entries.put(key, new Entry(value.clone(), System.nanoTime() + ttl.toNanos()));
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        entries.remove(key);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void publish(String message) {
+        subscribers.forEach(subscriber -> subscriber.accept(message));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        subscribers.add(listener);
+    }
+
+    @Override
+    public void close() {
+        subscribers.clear();
+    }
+
+    private record Entry(byte[] value, long expiresAt) {
+    }
+}
@@ -0,0 +1,119 @@
+package com.weather.api.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * Spring {@link Cache} decorator that reports lookups and stored values to
+ * {@link CacheEntryListener}s around the calls to the underlying cache.
+ *
+ * @author Weather API Team
+ */
+public class ListeningCache implements Cache {
+
+    private final Cache delegate;
+    private final List<CacheEntryListener> listeners;
+
+    public ListeningCache(Cache delegate, List<CacheEntryListener> listeners) {
+        this.delegate = delegate;
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        notifyAccess(key);
+        return delegate.get(key);
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        notifyAccess(key);
+        return delegate.get(key, type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        notifyAccess(key);
+        return delegate.get(key, () -> {
+            T value = valueLoader.call();
+            notifyPut(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        notifyAccess(key);
+        return delegate.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        notifyAccess(key);
+        return delegate.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, value);
+        notifyPut(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, value);
+        if (existing == null) {
+            notifyPut(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    private void notifyAccess(Object key) {
+        for (CacheEntryListener listener : listeners) {
+            listener.onAccess(getName(), key);
+        }
+    }
+
+    private void notifyPut(Object key, Object value) {
+        if (value == null) {
+            return;
+        }
+        for (CacheEntryListener listener : listeners) {
+            listener.onPut(getName(), key, value);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.weather.api.infrastructure.cache;
+
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spatial index over the locations in the weather forecast cache, to answer for a location
+ * that is not cached with the forecast of the nearest one that is, while the weather
+ * service is unavailable.
+ *
+ * <p>Locations are bucketed in a latitude/longitude grid whose buckets are as tall as the
+ * search radius, so a search only reads the bucket rows next to its own and, in each, the
+ * buckets within the radius east and west. The index follows the cache through the
+ * listener callbacks: stored forecasts are added, removed, expired or evicted ones dropped.
+ * Forecasts that are themselves approximate, or stale, are never indexed.
+ *
+ * @author Weather API Team
+ */
+@Component
+public class NearestForecastIndex implements CacheEntryListener {
+
+    static final String TRACKED_CACHE = HotKeyTracker.TRACKED_CACHE;
+
+    private static final double KM_PER_DEGREE = 111.195;
+
+    private final boolean enabled;
+    private final double radiusKm;
+    private final double bucketSize;
+    private final int longitudeBuckets;
+    private final Map<Long, Map<Object, Entry>> buckets = new ConcurrentHashMap<>();
+    private final Counter found;
+    private final Counter notFound;
+
+    public NearestForecastIndex(MeterRegistry meterRegistry,
+                                @Value("${nearest-fallback.enabled:true}") boolean enabled,
+                                @Value("${nearest-fallback.radius:3}") double radiusKm) {
+        this.enabled = enabled && radiusKm > 0;
+        this.radiusKm = radiusKm;
+        this.bucketSize = Math.max(radiusKm / KM_PER_DEGREE, 0.001);
+        this.longitudeBuckets = (int) Math.ceil(360 / bucketSize);
+        this.found = Counter.builder("weather.cache.nearest.lookups")
+                .description("Searches for the nearest cached forecast by outcome")
+                .tag("outcome", "found")
+                .register(meterRegistry);
+        this.notFound = Counter.builder("weather.cache.nearest.lookups")
+                .description("Searches for the nearest cached forecast by outcome")
+                .tag("outcome", "none")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void onPut(String cacheName, Object key, Object value) {
+        if (!enabled || !TRACKED_CACHE.equals(cacheName) || !(value instanceof Weather weather)
+                || weather.isDegraded()) {
+            return;
+        }
+        Location location = ForecastCacheKeys.toLocation(key);
+        if (location == null || !location.isValid()) {
+            return;
+        }
+        Entry entry = new Entry(location, weather);
+        buckets.compute(bucketOf(location.getLatitude(), location.getLongitude()), (bucket, entries) -> {
+            Map<Object, Entry> updated = entries == null ? new ConcurrentHashMap<>() : entries;
+            updated.put(key, entry);
+            return updated;
+        });
+    }
+
+    @Override
+    public void onEvict(String cacheName, Object key, Object value) {
+        if (!enabled || !TRACKED_CACHE.equals(cacheName)) {
+            return;
+        }
+        Location location = ForecastCacheKeys.toLocation(key);
+        if (location == null || !location.isValid()) {
+            return;
+        }
+        // A removal may be reported after a newer value was put: keep that one
+        buckets.computeIfPresent(bucketOf(location.getLatitude(), location.getLongitude()), (bucket, entries) -> {
+            entries.computeIfPresent(key, (entryKey, entry) -> entry.weather() == value ? null : entry);
+            return entries.isEmpty() ? null : entries;
+        });
+    }
+
+    /**
+     * Finds the forecast of the cached location nearest to the given one, within the radius.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @return the nearest forecast, marked approximate, or empty if none is within the radius
+     */
+    public Optional<Weather> findNearest(double latitude, double longitude) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Location origin = Location.builder().latitude(latitude).longitude(longitude).build();
+        Entry nearest = null;
+        double nearestDistance = radiusKm;
+
+        double radiusDegrees = radiusKm / KM_PER_DEGREE;
+        int fromRow = latitudeIndex(Math.max(-90, latitude - radiusDegrees));
+        int toRow = latitudeIndex(Math.min(90, latitude + radiusDegrees));
+        // Longitude degrees shrink towards the poles: widen the span by the narrowest row searched
+        double cosine = Math.cos(Math.toRadians(Math.min(90, Math.abs(latitude) + radiusDegrees)));
+        double spanDegrees = cosine > 0 ? radiusDegrees / cosine : 180;
+        int columns = spanDegrees >= 180 ? longitudeBuckets
+                : Math.min(longitudeBuckets, (int) Math.ceil(spanDegrees / bucketSize) * 2 + 1);
+        int firstColumn = longitudeIndex(longitude - Math.min(spanDegrees, 180));
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = 0; column < columns; column++) {
+                Map<Object, Entry> entries = buckets.get(bucketKey(row, (firstColumn + column) % longitudeBuckets));
+                if (entries == null) {
+                    continue;
+                }
+                for (Entry entry : entries.values()) {
+                    double distance = origin.distanceTo(entry.location());
+                    if (distance <= nearestDistance) {
+                        nearest = entry;
+                        nearestDistance = distance;
+                    }
+                }
+            }
+        }
+
+        if (nearest == null) {
+            notFound.increment();
+            return Optional.empty();
+        }
+        found.increment();
+        return Optional.of(nearest.weather().toBuilder().approximate(true).build());
+    }
+
+    private long bucketOf(double latitude, double longitude) {
+        return bucketKey(latitudeIndex(latitude), longitudeIndex(longitude));
+    }
+
+    private long bucketKey(int row, int column) {
+        return (long) row * longitudeBuckets + column;
+    }
+
+    private int latitudeIndex(double latitude) {
+        return (int) Math.floor((latitude + 90) / bucketSize);
+    }
+
+    private int longitudeIndex(double longitude) {
+        return Math.floorMod((int) Math.floor((longitude + 180) / bucketSize), longitudeBuckets);
+    }
+
+    private record Entry(Location location, Weather weather) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.weather.api.infrastructure.cache;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Shared cache store on Redis, through one multiplexed Lettuce connection for commands
+ * and one for the message channel. Commands time out on their own and fail at once
+ * while the connection is down, instead of queueing until it is back; Lettuce
+ * reconnects and subscribes again in the background.
+ *
+ * @author Weather API Team
+ */
+public class RedisSharedCacheStore implements SharedCacheStore {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, byte[]> connection;
+    private final StatefulRedisPubSubConnection<String, String> subscriptions;
+    private final String channel;
+
+    /**
+     * Connects to Redis.
+     *
+     * @param uri     Redis URI, e.g. {@code redis://localhost:6379}
+     * @param timeout command timeout
+     * @param channel name of the message channel
+     * @throws io.lettuce.core.RedisConnectionException if Redis cannot be reached
+     */
+    public RedisSharedCacheStore(String uri, Duration timeout, String channel) {
+        this.channel = channel;
+        this.client = RedisClient.create(RedisURI.create(uri));
+        client.setOptions(ClientOptions.builder()
+                .socketOptions(SocketOptions.builder().connectTimeout(CONNECT_TIMEOUT).build())
+                .timeoutOptions(TimeoutOptions.enabled(timeout))
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build());
+        try {
+            this.connection = client.connect(RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE));
+            this.subscriptions = client.connectPubSub();
+        } catch (RuntimeException e) {
+            client.shutdown();
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<byte[]> get(String key) {
+        return connection.async().get(key).toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> set(String key, byte[] value, Duration ttl) {
+        return connection.async().set(key, value, SetArgs.Builder.px(ttl.toMillis()))
+                .thenAccept(reply -> { })
+                .toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(String key) {
+        return connection.async().del(key)
+                .thenAccept(removed -> { })
+                .toCompletableFuture();
+    }
+
+    @Override
+    public void publish(String message) {
+        connection.async().publish(channel, message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public void subscribe(Consumer<String> listener) {
+        subscriptions.addListener(new RedisPubSubAdapter<>() {
+            @Override
+            public void message(String messageChannel, String message) {
+                if (channel.equals(messageChannel)) {
+                    listener.accept(message);
+                }
+            }
+        });
+        subscriptions.async().subscribe(channel);
+    }
+
+    @Override
+    public void close() {
+        subscriptions.close();
+        connection.close();
+        client.shutdown();
+    }
+}
@@ -0,0 +1,58 @@
+package com.weather.api.infrastructure.cache;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Key-value store shared by all instances of the service, used as the second level
+ * behind the local caches. Operations are asynchronous so that callers can bound how
+ * long they wait; none of them may block the calling thread.
+ *
+ * @author Weather API Team
+ */
+public interface SharedCacheStore extends AutoCloseable {
+
+    /**
+     * Reads a value.
+     *
+     * @param key the key
+     * @return the value, or null if absent or expired
+     */
+    CompletableFuture<byte[]> get(String key);
+
+    /**
+     * Writes a value that expires after the given time.
+     *
+     * @param key   the key
+     * @param value the value
+     * @param ttl   time to live
+     * @return completes when the value is stored
+     */
+    CompletableFuture<Void> set(String key, byte[] value, Duration ttl);
+
+    /**
+     * Removes a value.
+     *
+     * @param key the key
+     * @return completes when the value is removed
+     */
+    CompletableFuture<Void> delete(String key);
+
+    /**
+     * Sends a message to every subscriber, including those of this instance.
+     *
+     * @param message the message
+     */
+    void publish(String message);
+
+    /**
+     * Receives the messages published by any instance.
+     *
+     * @param listener called with each message, on a store thread
+     */
+    void subscribe(Consumer<String> listener);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,250 @@
+package com.weather.api.infrastructure.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Second cache level shared by all instances of the service, so that a forecast
+ * fetched by one instance is served by the others instead of costing each of them
+ * an upstream call.
+ *
+ * <p>Reads wait at most the configured timeout, after which the lookup counts as a
+ * miss; after several failed reads in a row the shared store is skipped for a cooldown,
+ * so a slow or unreachable store costs at most one timeout per lookup and then nothing.
+ * Writes never wait. Once a value is stored, the other instances are told to drop
+ * their local copy of the key, which they then read again from the shared store.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+public class SharedCacheTier implements DisposableBean {
+
+    private final SharedCacheStore store;
+    private final CacheValueCodec codec;
+    private final MeterRegistry meterRegistry;
+    private final String keyPrefix;
+    private final long timeoutNanos;
+    private final int maxFailures;
+    private final long cooldownNanos;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, Cache> localCaches = new ConcurrentHashMap<>();
+    private final Map<String, Counter> reads = new ConcurrentHashMap<>();
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+
+    private volatile long skipUntil = System.nanoTime();
+
+    /**
+     * @param store         the shared store, closed with this tier
+     * @param codec         encodes values and tells which caches are shared
+     * @param meterRegistry registry for the read outcome counters
+     * @param keyPrefix     prefix of every key in the store
+     * @param timeout       longest wait for a read
+     * @param maxFailures   failed reads in a row after which the store is skipped
+     * @param cooldown      how long the store is skipped
+     */
+    public SharedCacheTier(SharedCacheStore store, CacheValueCodec codec, MeterRegistry meterRegistry,
+                           String keyPrefix, Duration timeout, int maxFailures, Duration cooldown) {
+        this.store = store;
+        this.codec = codec;
+        this.meterRegistry = meterRegistry;
+        this.keyPrefix = keyPrefix;
+        this.timeoutNanos = timeout.toNanos();
+        this.maxFailures = maxFailures;
+        this.cooldownNanos = cooldown.toNanos();
+        store.subscribe(this::onInvalidation);
+    }
+
+    /**
+     * Puts the shared level behind a local cache, if the cache's values can be shared.
+     *
+     * @param local the local cache
+     * @param ttl   time values live in the shared store
+     * @return the two-level cache, or the local cache itself
+     */
+    public Cache decorate(Cache local, Duration ttl) {
+        if (!codec.supports(local.getName())) {
+            return local;
+        }
+        localCaches.put(local.getName(), local);
+        return new TwoLevelCache(local, this, ttl);
+    }
+
+    /**
+     * Reads a value from the shared store.
+     *
+     * @param cacheName the cache name
+     * @param key       the key
+     * @return the value, or null if absent, too slow or the store is being skipped
+     */
+    Object read(String cacheName, Object key) {
+        if (System.nanoTime() - skipUntil < 0) {
+            count(cacheName, "skipped");
+            return null;
+        }
+
+        byte[] bytes;
+        try {
+            bytes = store.get(storeKey(cacheName, key)).get(timeoutNanos, TimeUnit.NANOSECONDS);
+            consecutiveFailures.set(0);
+        } catch (TimeoutException e) {
+            failed(cacheName, "timeout", e);
+            return null;
+        } catch (ExecutionException e) {
+            failed(cacheName, "error", e.getCause());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+
+        if (bytes == null) {
+            count(cacheName, "miss");
+            return null;
+        }
+        try {
+            Object value = codec.decode(cacheName, bytes);
+            count(cacheName, "hit");
+            return value;
+        } catch (IOException e) {
+            log.warn("Unreadable shared cache value for {} in {}: {}", key, cacheName, e.getMessage());
+            count(cacheName, "error");
+            return null;
+        }
+    }
+
+    /**
+     * Stores a value without waiting, then tells the other instances to drop their copy.
+     *
+     * @param cacheName the cache name
+     * @param key       the key
+     * @param value     the value
+     * @param ttl       time the value lives in the store
+     */
+    void write(String cacheName, Object key, Object value, Duration ttl) {
+        if (System.nanoTime() - skipUntil < 0) {
+            return;
+        }
+        byte[] bytes;
+        try {
+            bytes = codec.encode(value);
+        } catch (IOException e) {
+            log.warn("Cannot share cache value for {} in {}: {}", key, cacheName, e.getMessage());
+            return;
+        }
+        store.set(storeKey(cacheName, key), bytes, ttl).whenComplete((stored, error) -> {
+            if (error != null) {
+                log.debug("Shared cache write for {} in {} failed: {}", key, cacheName, error.getMessage());
+            } else {
+                invalidateOthers(cacheName, key);
+            }
+        });
+    }
+
+    /**
+     * Removes a value without waiting, then tells the other instances to drop their copy.
+     *
+     * @param cacheName the cache name
+     * @param key       the key
+     */
+    void evict(String cacheName, Object key) {
+        store.delete(storeKey(cacheName, key)).whenComplete((deleted, error) -> {
+            if (error != null) {
+                log.debug("Shared cache delete for {} in {} failed: {}", key, cacheName, error.getMessage());
+            } else {
+                invalidateOthers(cacheName, key);
+            }
+        });
+    }
+
+    /**
+     * Whether a key can be shared: the shared store keeps only the string and long keys
+     * the response caches use, whose text identifies them.
+     *
+     * @param key the key
+     * @return true if values under the key can be shared
+     */
+    static boolean isShareable(Object key) {
+        return key instanceof String || key instanceof Long;
+    }
+
+    private void invalidateOthers(String cacheName, Object key) {
+        try {
+            store.publish(nodeId + ' ' + cacheName + ' ' + keyText(key));
+        } catch (RuntimeException e) {
+            log.debug("Shared cache invalidation for {} in {} failed: {}", key, cacheName, e.getMessage());
+        }
+    }
+
+    /**
+     * Drops the local copy of a key another instance stored or removed.
+     * Messages are {@code "nodeId cacheName key"}; keys may contain spaces and long keys
+     * are prefixed with {@code #}.
+     */
+    private void onInvalidation(String message) {
+        String[] parts = message.split(" ", 3);
+        if (parts.length < 3 || parts[0].equals(nodeId)) {
+            return;
+        }
+        Cache local = localCaches.get(parts[1]);
+        if (local != null) {
+            local.evict(parseKey(parts[2]));
+        }
+    }
+
+    private void failed(String cacheName, String outcome, Throwable error) {
+        count(cacheName, outcome);
+        if (consecutiveFailures.incrementAndGet() >= maxFailures) {
+            consecutiveFailures.set(0);
+            skipUntil = System.nanoTime() + cooldownNanos;
+            log.warn("Shared cache skipped for {} ms after {} failed reads, last: {}",
+                    TimeUnit.NANOSECONDS.toMillis(cooldownNanos), maxFailures,
+                    error == null ? outcome : error.toString());
+        }
+    }
+
+    private String storeKey(String cacheName, Object key) {
+        return keyPrefix + ':' + cacheName + ':' + keyText(key);
+    }
+
+    private static String keyText(Object key) {
+        return key instanceof Long ? "#" + key : key.toString();
+    }
+
+    private static Object parseKey(String text) {
+        if (text.startsWith("#")) {
+            try {
+                return Long.parseLong(text.substring(1));
+            } catch (NumberFormatException e) {
+                // A string key that happens to start with #
+            }
+        }
+        return text;
+    }
+
+    private void count(String cacheName, String outcome) {
+        reads.computeIfAbsent(cacheName + ' ' + outcome, name -> Counter.builder("weather.cache.shared.reads")
+                        .description("Reads of the shared cache level by outcome")
+                        .tag("cache", cacheName)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    @Override
+    public void destroy() {
+        store.close();
+    }
+}
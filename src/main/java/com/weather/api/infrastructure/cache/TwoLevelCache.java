@@ -0,0 +1,145 @@
+package com.weather.api.infrastructure.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * A local cache in front of the {@link SharedCacheTier}. Lookups are served locally when
+ * possible and otherwise from the shared level, whose values are then kept locally too;
+ * writes go to both. Only string and long keys, as the response caches use, are shared.
+ *
+ * <p>A local copy lives for the local TTL from when it was read, so an instance that missed
+ * an invalidation may serve a value up to twice the TTL old.
+ *
+ * @author Weather API Team
+ */
+class TwoLevelCache implements Cache {
+
+    private final Cache local;
+    private final SharedCacheTier tier;
+    private final Duration ttl;
+
+    TwoLevelCache(Cache local, SharedCacheTier tier, Duration ttl) {
+        this.local = local;
+        this.tier = tier;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public String getName() {
+        return local.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper cached = local.get(key);
+        if (cached != null || !SharedCacheTier.isShareable(key)) {
+            return cached;
+        }
+        Object shared = tier.read(getName(), key);
+        if (shared == null) {
+            return null;
+        }
+        local.put(key, shared);
+        return new SimpleValueWrapper(shared);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper == null ? null : wrapper.get();
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        if (!SharedCacheTier.isShareable(key)) {
+            return local.get(key, valueLoader);
+        }
+        return local.get(key, () -> {
+            Object shared = tier.read(getName(), key);
+            if (shared != null) {
+                return (T) shared;
+            }
+            T value = valueLoader.call();
+            share(key, value);
+            return value;
+        });
+    }
+
+    @Override
+    public CompletableFuture<?> retrieve(Object key) {
+        return local.retrieve(key);
+    }
+
+    @Override
+    public <T> CompletableFuture<T> retrieve(Object key, Supplier<CompletableFuture<T>> valueLoader) {
+        return local.retrieve(key, valueLoader);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        local.put(key, value);
+        share(key, value);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = local.putIfAbsent(key, value);
+        if (existing == null) {
+            share(key, value);
+        }
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.evict(key);
+        if (SharedCacheTier.isShareable(key)) {
+            tier.evict(getName(), key);
+        }
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = local.evictIfPresent(key);
+        if (SharedCacheTier.isShareable(key)) {
+            tier.evict(getName(), key);
+        }
+        return evicted;
+    }
+
+    /**
+     * Clears the local level only; shared values expire on their own.
+     */
+    @Override
+    public void clear() {
+        local.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return local.invalidate();
+    }
+
+    private void share(Object key, Object value) {
+        if (SharedCacheTier.isShareable(key) && value != null) {
+            tier.write(getName(), key, value, ttl);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.weather.api.infrastructure.cluster;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * This instance's view of the live instances of the service, kept by renewing a lease
+ * in a {@link MembershipStore} on every heartbeat. Instances that scale in leave at
+ * shutdown; instances that crash drop out once their lease expires. Listeners are told
+ * of every change, so that whatever is divided between the instances follows the scaling.
+ *
+ * <p>While the store cannot be reached the last view is kept: the other instances drop
+ * this one when its lease expires, so until the store is back this instance's share is
+ * counted twice.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+public class ClusterMembership implements DisposableBean {
+
+    private final MembershipStore store;
+    private final String nodeId;
+    private final Duration lease;
+    private final List<Consumer<List<String>>> listeners = new CopyOnWriteArrayList<>();
+    private final Counter failedHeartbeats;
+
+    private volatile List<String> members;
+
+    /**
+     * @param store         the shared membership store, closed with this membership
+     * @param nodeId        identifier of this instance, unique in the cluster
+     * @param lease         how long this instance stays a member without a heartbeat
+     * @param meterRegistry registry for the membership metrics
+     */
+    public ClusterMembership(MembershipStore store, String nodeId, Duration lease, MeterRegistry meterRegistry) {
+        this.store = store;
+        this.nodeId = nodeId;
+        this.lease = lease;
+        this.members = List.of(nodeId);
+        this.failedHeartbeats = Counter.builder("weather.cluster.heartbeat.failures")
+                .description("Lease renewals that failed or timed out")
+                .register(meterRegistry);
+        meterRegistry.gauge("weather.cluster.members", this, membership -> membership.members.size());
+    }
+
+    /**
+     * Membership of an instance that runs on its own, as when the shared store cannot be
+     * reached at startup: its store is private, so it stays the only member, keeps the whole
+     * upstream allowance and owns every key.
+     *
+     * @param nodeId        identifier of this instance
+     * @param lease         how long this instance stays a member without a heartbeat
+     * @param meterRegistry registry for the membership metrics
+     * @return the single-member membership
+     */
+    public static ClusterMembership standalone(String nodeId, Duration lease, MeterRegistry meterRegistry) {
+        return new ClusterMembership(new InMemoryMembershipStore(), nodeId, lease, meterRegistry);
+    }
+
+    /**
+     * @return identifier of this instance
+     */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return the live instances, including this one, in ascending order
+     */
+    public List<String> members() {
+        return members;
+    }
+
+    /**
+     * Registers a listener, calling it at once with the current members.
+     *
+     * @param listener called with the live members whenever they change
+     */
+    public void addListener(Consumer<List<String>> listener) {
+        listeners.add(listener);
+        listener.accept(members);
+    }
+
+    /**
+     * Renews this instance's lease and refreshes the view of the live instances.
+     */
+    @Scheduled(
+            initialDelayString = "${cluster.heartbeat-interval:5000}",
+            fixedDelayString = "${cluster.heartbeat-interval:5000}"
+    )
+    public void heartbeat() {
+        List<String> live;
+        try {
+            live = store.renew(nodeId, lease).get(lease.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            failedHeartbeats.increment();
+            log.warn("Cluster lease renewal failed, keeping {} members: {}", members.size(),
+                    e instanceof ExecutionException ? e.getCause().getMessage() : "timed out");
+            return;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (!live.contains(nodeId)) {
+            live = Stream.concat(live.stream(), Stream.of(nodeId)).sorted().toList();
+        }
+        if (!live.equals(members)) {
+            log.info("Cluster membership changed from {} to {} instances: {}", members.size(), live.size(), live);
+            members = live;
+            List<String> current = live;
+            listeners.forEach(listener -> listener.accept(current));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        try {
+            store.leave(nodeId).get(lease.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            log.debug("Leaving the cluster failed, the lease will expire instead: {}", e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            store.close();
+        }
+    }
+}
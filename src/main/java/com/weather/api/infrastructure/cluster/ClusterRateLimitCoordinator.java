@@ -0,0 +1,65 @@
+package com.weather.api.infrastructure.cluster;
+
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Splits the upstream rate limit between the live instances of the service.
+ * The limiter's configured {@code limitForPeriod} is taken as the allowance of the whole
+ * cluster, and this instance's limiter is set to its share whenever the members change:
+ * an equal part, with the remainder going to the first instances in member order.
+ * Every instance computes the same split from the same member list, so the shares add
+ * up to the allowance without further coordination.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+public class ClusterRateLimitCoordinator implements Consumer<List<String>> {
+
+    private final RateLimiter rateLimiter;
+    private final String nodeId;
+    private final int clusterLimit;
+    private final AtomicInteger share = new AtomicInteger();
+
+    /**
+     * @param rateLimiter   the limiter to resize, configured with the cluster-wide limit
+     * @param nodeId        identifier of this instance
+     * @param meterRegistry registry for the share gauge
+     */
+    public ClusterRateLimitCoordinator(RateLimiter rateLimiter, String nodeId, MeterRegistry meterRegistry) {
+        this.rateLimiter = rateLimiter;
+        this.nodeId = nodeId;
+        this.clusterLimit = rateLimiter.getRateLimiterConfig().getLimitForPeriod();
+        this.share.set(clusterLimit);
+        meterRegistry.gauge("weather.cluster.rate-limit.share", share);
+    }
+
+    @Override
+    public void accept(List<String> members) {
+        int newShare = shareOf(clusterLimit, members.size(), Math.max(0, members.indexOf(nodeId)));
+        if (share.getAndSet(newShare) != newShare) {
+            rateLimiter.changeLimitForPeriod(newShare);
+            log.info("Rate limiter {} set to {} of {} permits shared by {} instances",
+                    rateLimiter.getName(), newShare, clusterLimit, members.size());
+        }
+    }
+
+    /**
+     * Permits of one instance. Never below one, as Resilience4j requires; with more
+     * instances than permits the cluster may exceed its allowance by that excess.
+     *
+     * @param limit   permits of the whole cluster
+     * @param members number of instances
+     * @param rank    position of the instance in member order
+     * @return the instance's permits
+     */
+    static int shareOf(int limit, int members, int rank) {
+        int share = limit / members + (rank < limit % members ? 1 : 0);
+        return Math.max(1, share);
+    }
+}
@@ -0,0 +1,67 @@
+package com.weather.api.infrastructure.cluster;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Assigns keys to members by consistent hashing: each member is placed on a ring at
+ * several points, and a key belongs to the first member point at or after the key's hash.
+ * When a member joins or leaves, only the keys next to its points change owner.
+ * Immutable; a new ring is built whenever the members change.
+ *
+ * @author Weather API Team
+ */
+public final class ConsistentHashRing {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final NavigableMap<Long, String> points = new TreeMap<>();
+
+    /**
+     * @param members      the members sharing the keys
+     * @param virtualNodes points per member; more points spread keys more evenly
+     */
+    public ConsistentHashRing(Collection<String> members, int virtualNodes) {
+        for (String member : members) {
+            for (int i = 0; i < virtualNodes; i++) {
+                points.put(hash(member + '#' + i), member);
+            }
+        }
+    }
+
+    /**
+     * Finds the member a key belongs to.
+     *
+     * @param key the key
+     * @return the owning member, or null if the ring has no members
+     */
+    public String ownerOf(String key) {
+        if (points.isEmpty()) {
+            return null;
+        }
+        Map.Entry<Long, String> point = points.ceilingEntry(hash(key));
+        return (point != null ? point : points.firstEntry()).getValue();
+    }
+
+    /**
+     * 64-bit FNV-1a of the UTF-8 bytes, finished with the MurmurHash3 mix so that
+     * similar keys, such as nearby coordinates, land far apart on the ring.
+     */
+    static long hash(String value) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
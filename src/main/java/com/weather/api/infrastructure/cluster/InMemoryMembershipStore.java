@@ -0,0 +1,37 @@
+package com.weather.api.infrastructure.cluster;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-process stand-in for a membership store, for local runs and tests.
+ * Several {@link ClusterMembership}s using the same instance behave like
+ * instances of the service sharing one Redis.
+ *
+ * @author Weather API Team
+ */
+public class InMemoryMembershipStore implements MembershipStore {
+
+    private final Map<String, Long> leases = new ConcurrentHashMap<>();
+
+    @Override
+    public CompletableFuture<List<String>> renew(String member, Duration lease) {
+        long now = System.nanoTime();
+        leases.put(member, now + lease.toNanos());
+        leases.values().removeIf(expiresAt -> expiresAt - now <= 0);
+        return CompletableFuture.completedFuture(leases.keySet().stream().sorted().toList());
+    }
+
+    @Override
+    public CompletableFuture<Void> leave(String member) {
+        leases.remove(member);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Override
+    public void close() {
+    }
+}
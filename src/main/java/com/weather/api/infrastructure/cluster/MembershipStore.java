@@ -0,0 +1,34 @@
+package com.weather.api.infrastructure.cluster;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Store of the leases through which the instances of the service find each other.
+ * An instance is a member while it keeps renewing its lease.
+ *
+ * @author Weather API Team
+ */
+public interface MembershipStore extends AutoCloseable {
+
+    /**
+     * Renews the lease of a member, creating it if needed, and lists the live members.
+     *
+     * @param member the member renewing its lease
+     * @param lease  how long the member stays live without another renewal
+     * @return the live members, including this one, in ascending order
+     */
+    CompletableFuture<List<String>> renew(String member, Duration lease);
+
+    /**
+     * Ends the lease of a member before it expires.
+     *
+     * @param member the member leaving
+     * @return completes when the lease is removed
+     */
+    CompletableFuture<Void> leave(String member);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,85 @@
+package com.weather.api.infrastructure.cluster;
+
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.ScriptOutputType;
+import io.lettuce.core.SocketOptions;
+import io.lettuce.core.TimeoutOptions;
+import io.lettuce.core.api.StatefulRedisConnection;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Membership store on Redis: one sorted set of members scored by the time of their last
+ * renewal. Renewals run as one script timed by the Redis clock, so that clock skew
+ * between instances does not shorten or stretch anyone's lease.
+ *
+ * @author Weather API Team
+ */
+public class RedisMembershipStore implements MembershipStore {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(2);
+
+    // KEYS[1] = member set, ARGV[1] = member, ARGV[2] = lease in ms
+    private static final String RENEW_SCRIPT = """
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZADD', KEYS[1], now, ARGV[1])
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now - tonumber(ARGV[2]))
+            redis.call('PEXPIRE', KEYS[1], tonumber(ARGV[2]) * 2)
+            return redis.call('ZRANGE', KEYS[1], 0, -1)
+            """;
+
+    private final RedisClient client;
+    private final StatefulRedisConnection<String, String> connection;
+    private final String key;
+
+    /**
+     * Connects to Redis.
+     *
+     * @param uri     Redis URI, e.g. {@code redis://localhost:6379}
+     * @param timeout command timeout
+     * @param key     key of the member set
+     * @throws io.lettuce.core.RedisConnectionException if Redis cannot be reached
+     */
+    public RedisMembershipStore(String uri, Duration timeout, String key) {
+        this.key = key;
+        this.client = RedisClient.create(RedisURI.create(uri));
+        client.setOptions(ClientOptions.builder()
+                .socketOptions(SocketOptions.builder().connectTimeout(CONNECT_TIMEOUT).build())
+                .timeoutOptions(TimeoutOptions.enabled(timeout))
+                .disconnectedBehavior(ClientOptions.DisconnectedBehavior.REJECT_COMMANDS)
+                .build());
+        try {
+            this.connection = client.connect();
+        } catch (RuntimeException e) {
+            client.shutdown();
+            throw e;
+        }
+    }
+
+    @Override
+    public CompletableFuture<List<String>> renew(String member, Duration lease) {
+        return connection.async()
+                .<List<String>>eval(RENEW_SCRIPT, ScriptOutputType.MULTI, new String[]{key},
+                        member, String.valueOf(lease.toMillis()))
+                .thenApply(members -> members.stream().sorted().toList())
+                .toCompletableFuture();
+    }
+
+    @Override
+    public CompletableFuture<Void> leave(String member) {
+        return connection.async().zrem(key, member)
+                .thenAccept(removed -> { })
+                .toCompletableFuture();
+    }
+
+    @Override
+    public void close() {
+        connection.close();
+        client.shutdown();
+    }
+}
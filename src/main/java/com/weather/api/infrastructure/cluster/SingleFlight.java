@@ -0,0 +1,57 @@
+package com.weather.api.infrastructure.cluster;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs at most one load per key at a time: callers asking for a key that is already
+ * being loaded wait for that load and share its result or failure.
+ * Nothing is kept once the load completes; caching is left to the caller.
+ *
+ * @param <V> type of the loaded values
+ * @author Weather API Team
+ */
+public class SingleFlight<V> {
+
+    private final Map<String, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * Loads a value, or joins the load of the same key already in progress.
+     *
+     * @param key  the key
+     * @param load loads the value, run on the calling thread if no load is in progress
+     * @return the loaded value
+     */
+    public V run(String key, Supplier<V> load) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> inProgress = flights.putIfAbsent(key, flight);
+        if (inProgress != null) {
+            return join(inProgress);
+        }
+
+        try {
+            V value = load.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            flights.remove(key, flight);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.weather.api.infrastructure.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.weather.api.domain.model.WeatherVariable;
+import com.weather.api.infrastructure.cache.CacheEntryListener;
+import com.weather.api.infrastructure.cache.ListeningCache;
+import com.weather.api.infrastructure.cache.SharedCacheTier;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
+import java.util.List;
 
 /**
  * Configuration for Caffeine cache.
@@ -21,34 +31,86 @@ import java.util.concurrent.TimeUnit;
 @EnableCaching
 public class CacheConfig {
 
+    private final long maximumSize;
+    private final Duration ttl;
+
+    public CacheConfig(@Value("${cache.maximum-size:1000}") long maximumSize,
+                       @Value("${cache.ttl:300000}") long ttlMillis) {
+        this.maximumSize = maximumSize;
+        this.ttl = Duration.ofMillis(ttlMillis);
+    }
+
     /**
      * Configures Caffeine cache manager with custom settings.
+     * Every cache reports its lookups, stored values and removals to the registered
+     * {@link CacheEntryListener}s and, when the shared cache is enabled, is backed by it.
      *
+     * @param listeners       listeners interested in cache activity
+     * @param sharedCacheTier the shared cache level, if enabled and reachable
      * @return configured cache manager
      */
     @Bean
-    public CacheManager cacheManager() {
-        log.info("Configuring Caffeine cache manager");
+    public CacheManager cacheManager(List<CacheEntryListener> listeners,
+                                     ObjectProvider<SharedCacheTier> sharedCacheTier) {
+        log.info("Configuring Caffeine cache manager: maximumSize={}, ttl={}", maximumSize, ttl);
+        SharedCacheTier shared = sharedCacheTier.getIfAvailable();
+
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            @Override
+            protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+                return withRemovals(caffeineCacheBuilder(maximumSize, ttl), name, listeners).build();
+            }
+
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                Cache local = super.adaptCaffeineCache(name, cache);
+                return new ListeningCache(shared == null ? local : shared.decorate(local, ttl), listeners);
+            }
+        };
 
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager(
+        cacheManager.setCacheNames(List.of(
                 "weatherForecast",
                 "citySearch"
-        );
-
-        cacheManager.setCaffeine(caffeineCacheBuilder());
+        ));
+        // One entry per location and variable, so it holds as many locations as the forecast cache
+        cacheManager.registerCustomCache("weatherVariable",
+                withRemovals(caffeineCacheBuilder(maximumSize * WeatherVariable.values().length, ttl),
+                        "weatherVariable", listeners).build());
 
         return cacheManager;
     }
 
+    /**
+     * Reports values leaving a cache to the listeners; replaced values are reported as puts.
+     * Removals are reported on the thread that caused them rather than on the common pool,
+     * so that a cleared cache is seen as empty by the listeners once the clear returns.
+     */
+    private static Caffeine<Object, Object> withRemovals(Caffeine<Object, Object> builder, String cacheName,
+                                                        List<CacheEntryListener> listeners) {
+        RemovalListener<Object, Object> removals = (key, value, cause) -> {
+            if (cause == RemovalCause.REPLACED || key == null || value == null) {
+                return;
+            }
+            for (CacheEntryListener listener : listeners) {
+                listener.onEvict(cacheName, key, value);
+            }
+        };
+        return builder.executor(Runnable::run).removalListener(removals);
+    }
+
     /**
      * Builds Caffeine cache with specified configuration.
+     * Also used by the offline cache simulator, so that it replays traces against the
+     * same eviction and expiry policy.
      *
+     * @param maximumSize maximum number of entries
+     * @param ttl         time an entry lives after being written
      * @return Caffeine builder
      */
-    private Caffeine<Object, Object> caffeineCacheBuilder() {
+    public static Caffeine<Object, Object> caffeineCacheBuilder(long maximumSize, Duration ttl) {
         return Caffeine.newBuilder()
-                .maximumSize(1000)
-                .expireAfterWrite(5, TimeUnit.MINUTES)
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
                 .recordStats()
                 .evictionListener((key, value, cause) ->
                         log.debug("Cache eviction: key={}, cause={}", key, cause)
@@ -0,0 +1,82 @@
+package com.weather.api.infrastructure.config;
+
+import com.weather.api.infrastructure.cluster.ClusterMembership;
+import com.weather.api.infrastructure.cluster.ClusterRateLimitCoordinator;
+import com.weather.api.infrastructure.cluster.InMemoryMembershipStore;
+import com.weather.api.infrastructure.cluster.MembershipStore;
+import com.weather.api.infrastructure.cluster.RedisMembershipStore;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+/**
+ * Configuration for the coordination between instances of the service.
+ * A membership store that cannot be reached at startup does not stop the service:
+ * it starts with a {@linkplain ClusterMembership#standalone standalone} membership, with
+ * the whole upstream rate limit, and logs the error.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "cluster.enabled", havingValue = "true")
+public class ClusterConfig {
+
+    private static final String RATE_LIMITER_NAME = "openMeteoService";
+
+    /**
+     * Joins the cluster and divides the upstream rate limit between its members.
+     *
+     * @return the cluster membership, standalone if its store cannot be reached
+     */
+    @Bean
+    public ClusterMembership clusterMembership(
+            RateLimiterRegistry rateLimiterRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${cluster.store:redis}") String storeType,
+            @Value("${cluster.redis-uri:redis://localhost:6379}") String redisUri,
+            @Value("${cluster.key-prefix:weather-api}") String keyPrefix,
+            @Value("${cluster.node-id:}") String nodeId,
+            @Value("${server.port:8080}") int serverPort,
+            @Value("${cluster.heartbeat-interval:5000}") long heartbeatIntervalMillis,
+            @Value("${cluster.lease:15000}") long leaseMillis) {
+        String id = nodeId.isBlank() ? defaultNodeId(serverPort) : nodeId;
+        Duration lease = Duration.ofMillis(leaseMillis);
+        ClusterMembership membership;
+        try {
+            MembershipStore store = "memory".equals(storeType) ? new InMemoryMembershipStore()
+                    : new RedisMembershipStore(redisUri, Duration.ofMillis(heartbeatIntervalMillis), keyPrefix + ":members");
+            log.info("Joining cluster as {}: store={}, lease={}ms", id, storeType, leaseMillis);
+            membership = new ClusterMembership(store, id, lease, meterRegistry);
+        } catch (RuntimeException e) {
+            log.error("Cluster store {} unreachable, running as a single instance: {}", redisUri, e.getMessage());
+            membership = ClusterMembership.standalone(id, lease, meterRegistry);
+        }
+        // Take a share before the first request rather than one heartbeat later
+        membership.heartbeat();
+        membership.addListener(new ClusterRateLimitCoordinator(
+                rateLimiterRegistry.rateLimiter(RATE_LIMITER_NAME), id, meterRegistry));
+        return membership;
+    }
+
+    /**
+     * Base URL of this instance, through which the others forward lookups in ownership mode.
+     */
+    private static String defaultNodeId(int serverPort) {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException e) {
+            host = "localhost";
+        }
+        return "http://" + host + ":" + serverPort;
+    }
+}
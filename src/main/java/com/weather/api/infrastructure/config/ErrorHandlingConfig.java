@@ -0,0 +1,22 @@
+package com.weather.api.infrastructure.config;
+
+import com.weather.api.domain.exception.WeatherApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Applies the error handling settings to the domain exceptions,
+ * which are created outside of the Spring context.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class ErrorHandlingConfig {
+
+    public ErrorHandlingConfig(@Value("${errors.stack-traces:true}") boolean stackTraces) {
+        WeatherApiException.setStackTraceEnabled(stackTraces);
+        log.info("Domain exception stack traces {}", stackTraces ? "enabled" : "disabled");
+    }
+}
@@ -0,0 +1,120 @@
+package com.weather.api.infrastructure.config;
+
+import com.weather.api.application.dto.response.BulkCitySearchResultDTO;
+import com.weather.api.domain.exception.CityNotFoundException;
+import com.weather.api.domain.exception.InvalidCoordinatesException;
+import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.infrastructure.adapter.client.OpenMeteoClientImpl;
+import com.weather.api.infrastructure.adapter.client.OpenMeteoFeignClient;
+import com.weather.api.infrastructure.adapter.client.OpenMeteoGeocodingFeignClient;
+import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoGeocodingResponse;
+import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoWeatherResponse;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reachability metadata for GraalVM native images and Spring AOT.
+ * Covers what static analysis cannot infer: Feign client proxies and upstream DTOs,
+ * DTOs written outside of controller return values, reflective Resilience4j fallback
+ * and exception lookups, and Caffeine's generated classes.
+ *
+ * @author Weather API Team
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints(NativeHintsConfig.WeatherApiRuntimeHints.class)
+@RegisterReflectionForBinding({
+        BulkCitySearchResultDTO.class,
+        OpenMeteoWeatherResponse.class,
+        OpenMeteoWeatherResponse.CurrentData.class,
+        OpenMeteoGeocodingResponse.class,
+        OpenMeteoGeocodingResponse.GeocodingResult.class,
+        // Encoded as shared cache values (see CacheValueCodec)
+        Weather.class,
+        Weather.WeatherBuilder.class,
+        GeocodingResult.class,
+        GeocodingResult.GeocodingResultBuilder.class
+})
+public class NativeHintsConfig {
+
+    /**
+     * Exception types referenced by name in the Resilience4j configuration.
+     */
+    private static final List<String> RESILIENCE_EXCEPTIONS = List.of(
+            "io.github.resilience4j.bulkhead.BulkheadFullException",
+            "io.github.resilience4j.ratelimiter.RequestNotPermitted"
+    );
+
+    /**
+     * Caffeine cache and node implementations selected by the builders: {@code SSLSMSW} for the
+     * {@link CacheConfig} caches, whose removal listener adds the {@code L}, {@code SSSMSW} for
+     * the compressed variants of {@code ResponseCompressionFilter}, and {@code PSWMS} nodes for both.
+     */
+    private static final List<String> CAFFEINE_CLASSES = List.of(
+            "com.github.benmanes.caffeine.cache.SSLSMSW",
+            "com.github.benmanes.caffeine.cache.SSSMSW",
+            "com.github.benmanes.caffeine.cache.PSWMS"
+    );
+
+    /**
+     * Resilience4j aspects whose advice methods are invoked reflectively.
+     */
+    private static final List<String> RESILIENCE_ASPECTS = List.of(
+            "io.github.resilience4j.spring6.circuitbreaker.configure.CircuitBreakerAspect",
+            "io.github.resilience4j.spring6.retry.configure.RetryAspect",
+            "io.github.resilience4j.spring6.ratelimiter.configure.RateLimiterAspect",
+            "io.github.resilience4j.spring6.bulkhead.configure.BulkheadAspect"
+    );
+
+    /**
+     * Logback components instantiated by name from {@code logback-spring.xml}.
+     */
+    private static final List<String> LOGBACK_COMPONENTS = List.of(
+            "com.weather.api.infrastructure.logging.CountingAsyncAppender",
+            "com.weather.api.infrastructure.logging.InfoSamplingFilter",
+            "com.weather.api.infrastructure.logging.TeeAppender",
+            "ch.qos.logback.classic.encoder.JsonEncoder"
+    );
+
+    static class WeatherApiRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.proxies().registerJdkProxy(OpenMeteoFeignClient.class);
+            hints.proxies().registerJdkProxy(OpenMeteoGeocodingFeignClient.class);
+
+            // Fallback methods are resolved by name at runtime
+            hints.reflection().registerType(OpenMeteoClientImpl.class, MemberCategory.INVOKE_DECLARED_METHODS);
+
+            hints.reflection().registerType(CityNotFoundException.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            hints.reflection().registerType(InvalidCoordinatesException.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+            RESILIENCE_EXCEPTIONS.forEach(name ->
+                    hints.reflection().registerType(TypeReference.of(name), MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS));
+
+            RESILIENCE_ASPECTS.forEach(name ->
+                    hints.reflection().registerTypeIfPresent(classLoader, name, MemberCategory.INVOKE_DECLARED_METHODS));
+
+            CAFFEINE_CLASSES.forEach(name ->
+                    hints.reflection().registerType(TypeReference.of(name),
+                            MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.DECLARED_FIELDS));
+
+            LOGBACK_COMPONENTS.forEach(name ->
+                    hints.reflection().registerType(TypeReference.of(name),
+                            MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS, MemberCategory.INVOKE_PUBLIC_METHODS));
+            hints.resources().registerPattern("logback-spring.xml");
+
+            // Serialized error body of GlobalExceptionHandler
+            hints.reflection().registerType(
+                    TypeReference.of("com.weather.api.infrastructure.adapter.rest.GlobalExceptionHandler$ErrorResponse"),
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS, MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.DECLARED_FIELDS);
+        }
+    }
+}
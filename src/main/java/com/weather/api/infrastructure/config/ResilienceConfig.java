@@ -0,0 +1,89 @@
+package com.weather.api.infrastructure.config;
+
+import com.weather.api.domain.exception.ExternalApiException;
+import com.weather.api.domain.model.Deadline;
+import com.weather.api.infrastructure.adapter.client.RetryBudget;
+import feign.FeignException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.common.circuitbreaker.configuration.CircuitBreakerConfigCustomizer;
+import io.github.resilience4j.common.retry.configuration.RetryConfigCustomizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Predicate;
+
+/**
+ * Resilience4j settings that cannot be expressed in application.yml.
+ *
+ * @author Weather API Team
+ */
+@Configuration(proxyBeanMethods = false)
+public class ResilienceConfig {
+
+    private static final String INSTANCE_NAME = "openMeteoService";
+
+    /**
+     * Retries only transient upstream failures, only if the request deadline leaves time
+     * for another attempt, and only while the retry budget allows it.
+     * By the time the retry aspect sees an exception, the client has translated it
+     * into a domain exception, so the original failure is looked up in the cause chain.
+     */
+    @Bean
+    public RetryConfigCustomizer openMeteoRetryCustomizer(
+            RetryBudget retryBudget,
+            @Value("${deadline.min-attempt-time:500}") long minAttemptMillis) {
+        Duration minAttemptTime = Duration.ofMillis(minAttemptMillis);
+        Predicate<Throwable> retryOnException = e -> isTransient(e)
+                && hasTimeForAttempt(minAttemptTime)
+                && retryBudget.tryAcquire();
+        return RetryConfigCustomizer.of(INSTANCE_NAME, builder -> builder.retryOnException(retryOnException));
+    }
+
+    /**
+     * Counts the same failures as the retry towards opening the circuit breaker.
+     * The client translates every Feign exception into a domain exception before the
+     * breaker sees it, so a list of exception types cannot tell upstream failures from
+     * answers such as "city not found"; the original failure is looked up in the cause chain.
+     * Other exceptions, including bulkhead rejections and expired deadlines, count as successes.
+     */
+    @Bean
+    public CircuitBreakerConfigCustomizer openMeteoCircuitBreakerCustomizer() {
+        return CircuitBreakerConfigCustomizer.of(INSTANCE_NAME,
+                builder -> builder.recordException(ResilienceConfig::isTransient));
+    }
+
+    private static boolean hasTimeForAttempt(Duration minAttemptTime) {
+        return Deadline.current()
+                .map(deadline -> deadline.remaining().compareTo(minAttemptTime) >= 0)
+                .orElse(true);
+    }
+
+    /**
+     * Whether the failure is worth retrying: an upstream 5xx, a connection error or a timeout.
+     * Domain exceptions wrapping a cause are judged by that cause.
+     *
+     * @param error the failure
+     * @return true if the failure is transient
+     */
+    public static boolean isTransient(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof CallNotPermittedException) {
+                return false;
+            }
+            if (e instanceof ExternalApiException external && external.getCause() == null) {
+                return external.getStatusCode() >= 500;
+            }
+            if (e instanceof FeignException feign) {
+                return feign.status() >= 500 || feign.status() < 0;
+            }
+            if (e instanceof IOException || e instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
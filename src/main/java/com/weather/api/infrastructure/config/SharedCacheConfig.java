@@ -0,0 +1,60 @@
+package com.weather.api.infrastructure.config;
+
+import com.weather.api.infrastructure.cache.CacheValueCodec;
+import com.weather.api.infrastructure.cache.InMemorySharedCacheStore;
+import com.weather.api.infrastructure.cache.RedisSharedCacheStore;
+import com.weather.api.infrastructure.cache.SharedCacheStore;
+import com.weather.api.infrastructure.cache.SharedCacheTier;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the optional shared (L2) cache level behind the Caffeine caches.
+ * A store that cannot be reached at startup does not stop the service: it starts with
+ * local caches only and logs the error.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "cache.shared.enabled", havingValue = "true")
+public class SharedCacheConfig {
+
+    /**
+     * Creates the shared cache level.
+     *
+     * @return the shared cache level, or null if its store cannot be reached
+     */
+    @Bean
+    public SharedCacheTier sharedCacheTier(
+            MeterRegistry meterRegistry,
+            @Value("${cache.shared.store:redis}") String storeType,
+            @Value("${cache.shared.redis-uri:redis://localhost:6379}") String redisUri,
+            @Value("${cache.shared.key-prefix:weather-api}") String keyPrefix,
+            @Value("${cache.shared.timeout:50}") long timeoutMillis,
+            @Value("${cache.shared.max-failures:3}") int maxFailures,
+            @Value("${cache.shared.failure-cooldown:10000}") long failureCooldownMillis) {
+        Duration timeout = Duration.ofMillis(timeoutMillis);
+        SharedCacheStore store;
+        if ("memory".equals(storeType)) {
+            store = new InMemorySharedCacheStore();
+        } else {
+            try {
+                store = new RedisSharedCacheStore(redisUri, timeout, keyPrefix + ":invalidations");
+            } catch (RuntimeException e) {
+                log.error("Shared cache store {} unreachable, using local caches only: {}", redisUri, e.getMessage());
+                return null;
+            }
+        }
+        log.info("Configuring shared cache: store={}, timeout={}", storeType, timeout);
+
+        return new SharedCacheTier(store, CacheValueCodec.forResponseCaches(), meterRegistry, keyPrefix, timeout,
+                maxFailures, Duration.ofMillis(failureCooldownMillis));
+    }
+}
@@ -0,0 +1,40 @@
+package com.weather.api.infrastructure.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Asynchronous appender that counts the events it drops.
+ * Configured with {@code neverBlock}, a full queue drops events instead of blocking
+ * the request thread, and below the discarding threshold INFO and lower events are
+ * discarded to leave room for warnings and errors. Logback does both silently;
+ * this appender makes the drops observable.
+ *
+ * @author Weather API Team
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private final LongAdder droppedEvents = new LongAdder();
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        int remainingCapacity = getRemainingCapacity();
+        if (remainingCapacity == 0
+                || (remainingCapacity < getDiscardingThreshold() && isDiscardable(event))) {
+            droppedEvents.increment();
+            return;
+        }
+        super.append(event);
+    }
+
+    /**
+     * Gets the number of events dropped because the queue was full or above the discarding threshold.
+     *
+     * @return dropped events since the appender was created
+     */
+    public long getDroppedEvents() {
+        return droppedEvents.sum();
+    }
+}
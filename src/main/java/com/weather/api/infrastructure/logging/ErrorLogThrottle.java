@@ -0,0 +1,79 @@
+package com.weather.api.infrastructure.logging;
+
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Logs repeated errors once per window instead of once per occurrence.
+ * Errors are considered the same when they come from the same logger with the same
+ * message and exception type. The first occurrence in a window is logged in full,
+ * with its stack trace and the number of occurrences suppressed in the previous window.
+ *
+ * @author Weather API Team
+ */
+@Component
+public class ErrorLogThrottle {
+
+    private static final int MAX_TRACKED_ERRORS = 1024;
+
+    private final long windowNanos;
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    public ErrorLogThrottle(@Value("${errors.log-dedup-window:10000}") long windowMillis) {
+        this.windowNanos = Duration.ofMillis(windowMillis).toNanos();
+    }
+
+    /**
+     * Logs an error unless the same error was already logged within the current window.
+     *
+     * @param logger  the logger to write to
+     * @param message constant description of the error
+     * @param error   the error, logged with its message and stack trace
+     */
+    public void error(Logger logger, String message, Throwable error) {
+        if (windows.size() >= MAX_TRACKED_ERRORS) {
+            windows.clear();
+        }
+
+        String key = logger.getName() + '|' + message + '|' + error.getClass().getName();
+        long now = System.nanoTime();
+        long suppressed = windows.computeIfAbsent(key, k -> new Window(now - windowNanos)).open(now, windowNanos);
+
+        if (suppressed == 0) {
+            logger.error("{}: {}", message, error.getMessage(), error);
+        } else if (suppressed > 0) {
+            logger.error("{}: {} ({} similar errors suppressed)", message, error.getMessage(), suppressed, error);
+        }
+    }
+
+    private static final class Window {
+
+        private final AtomicLong start;
+        private final LongAdder suppressed = new LongAdder();
+
+        private Window(long start) {
+            this.start = new AtomicLong(start);
+        }
+
+        /**
+         * Starts a new window if the current one is over.
+         *
+         * @return occurrences suppressed in the previous window, or -1 if this one is suppressed
+         */
+        private long open(long now, long windowNanos) {
+            long current = start.get();
+            if (now - current < windowNanos || !start.compareAndSet(current, now)) {
+                suppressed.increment();
+                return -1;
+            }
+            return suppressed.sumThenReset();
+        }
+    }
+}
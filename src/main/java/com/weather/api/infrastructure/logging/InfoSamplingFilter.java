@@ -0,0 +1,63 @@
+package com.weather.api.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate-limits INFO and lower events of the application loggers to a number of events
+ * per second, so per-request logging cannot dominate CPU and I/O under high load.
+ * WARN and ERROR events, and events of other loggers, always pass.
+ *
+ * @author Weather API Team
+ */
+public class InfoSamplingFilter extends Filter<ILoggingEvent> {
+
+    private int permitsPerSecond = 100;
+    private String loggerPrefix = "com.weather.api";
+
+    private final AtomicLong currentSecond = new AtomicLong();
+    private final AtomicInteger permitsUsed = new AtomicInteger();
+    private final LongAdder sampledOut = new LongAdder();
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        if (event.getLevel().isGreaterOrEqual(Level.WARN) || !event.getLoggerName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long second = event.getTimeStamp() / 1000;
+        long window = currentSecond.get();
+        if (second > window && currentSecond.compareAndSet(window, second)) {
+            permitsUsed.set(0);
+        }
+
+        if (permitsUsed.incrementAndGet() <= permitsPerSecond) {
+            return FilterReply.NEUTRAL;
+        }
+        sampledOut.increment();
+        return FilterReply.DENY;
+    }
+
+    /**
+     * Gets the number of events rejected because the per-second budget was used up.
+     *
+     * @return sampled-out events since the filter was created
+     */
+    public long getSampledOut() {
+        return sampledOut.sum();
+    }
+
+    public void setPermitsPerSecond(int permitsPerSecond) {
+        this.permitsPerSecond = permitsPerSecond;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+}
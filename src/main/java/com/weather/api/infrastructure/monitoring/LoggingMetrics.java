@@ -0,0 +1,61 @@
+package com.weather.api.infrastructure.monitoring;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.filter.Filter;
+import com.weather.api.infrastructure.logging.CountingAsyncAppender;
+import com.weather.api.infrastructure.logging.InfoSamplingFilter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Exports the log events dropped by the asynchronous appenders configured in
+ * {@code logback-spring.xml}, either because the queue was full or because they
+ * were sampled out.
+ *
+ * @author Weather API Team
+ */
+@Component
+public class LoggingMetrics implements MeterBinder {
+
+    private static final String DROPPED_EVENTS = "logging.events.dropped";
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (!(LoggerFactory.getILoggerFactory() instanceof LoggerContext loggerContext)) {
+            return;
+        }
+
+        Logger root = loggerContext.getLogger(Logger.ROOT_LOGGER_NAME);
+        for (Iterator<Appender<ILoggingEvent>> it = root.iteratorForAppenders(); it.hasNext(); ) {
+            if (it.next() instanceof CountingAsyncAppender appender) {
+                bind(registry, appender);
+            }
+        }
+    }
+
+    private static void bind(MeterRegistry registry, CountingAsyncAppender appender) {
+        FunctionCounter.builder(DROPPED_EVENTS, appender, CountingAsyncAppender::getDroppedEvents)
+                .description("Log events dropped instead of blocking the caller")
+                .tag("appender", appender.getName())
+                .tag("reason", "queue_full")
+                .register(registry);
+
+        for (Filter<?> filter : appender.getCopyOfAttachedFiltersList()) {
+            if (filter instanceof InfoSamplingFilter samplingFilter) {
+                FunctionCounter.builder(DROPPED_EVENTS, samplingFilter, InfoSamplingFilter::getSampledOut)
+                        .description("Log events dropped by per-second sampling")
+                        .tag("appender", appender.getName())
+                        .tag("reason", "sampled")
+                        .register(registry);
+            }
+        }
+    }
+}
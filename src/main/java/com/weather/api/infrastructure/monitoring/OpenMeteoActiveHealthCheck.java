@@ -0,0 +1,78 @@
+package com.weather.api.infrastructure.monitoring;
+
+import com.weather.api.infrastructure.adapter.client.OpenMeteoFeignClient;
+import feign.Request;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional low-frequency active probe of the Open-Meteo API.
+ * Runs only when real traffic has not produced an outcome recently, and records
+ * its result in the {@link UpstreamCallMonitor} like any other upstream call.
+ * A probe takes a permit of the Open-Meteo rate limiter like any other upstream call, so
+ * the instance's share of the upstream quota stays an upper bound; without a free permit
+ * the probe is skipped, the traffic that used the permits being itself a health signal.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "openmeteo.health.active-check", name = "enabled", havingValue = "true")
+public class OpenMeteoActiveHealthCheck {
+
+    private static final String RATE_LIMITER_NAME = "openMeteoService";
+
+    private final OpenMeteoFeignClient weatherClient;
+    private final UpstreamCallMonitor upstreamCallMonitor;
+    private final RateLimiterRegistry rateLimiterRegistry;
+
+    @Value("${openmeteo.health.active-check.interval:300000}")
+    private long intervalMillis;
+
+    @Value("${openmeteo.api.timeout.connect:3000}")
+    private long connectTimeoutMillis;
+
+    @Value("${openmeteo.api.timeout.read:5000}")
+    private long readTimeoutMillis;
+
+    @Scheduled(
+            initialDelayString = "${openmeteo.health.active-check.interval:300000}",
+            fixedDelayString = "${openmeteo.health.active-check.interval:300000}"
+    )
+    public void check() {
+        if (upstreamCallMonitor.snapshot(Duration.ofMillis(intervalMillis)).calls() > 0) {
+            log.debug("Skipping Open-Meteo active health check, recent traffic outcomes are available");
+            return;
+        }
+        if (!rateLimiterRegistry.rateLimiter(RATE_LIMITER_NAME).acquirePermission()) {
+            log.debug("Skipping Open-Meteo active health check, no rate limiter permit is free");
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        try {
+            // Test with a known good location (New York)
+            weatherClient.getWeatherForecast(
+                    40.7128,
+                    -74.0060,
+                    "temperature_2m",
+                    "auto",
+                    new Request.Options(connectTimeoutMillis, TimeUnit.MILLISECONDS,
+                            readTimeoutMillis, TimeUnit.MILLISECONDS, true)
+            );
+            upstreamCallMonitor.recordSuccess(Duration.ofNanos(System.nanoTime() - startTime));
+        } catch (Exception e) {
+            log.warn("Open-Meteo active health check failed: {}", e.getMessage());
+            upstreamCallMonitor.recordFailure(Duration.ofNanos(System.nanoTime() - startTime), e);
+        }
+    }
+}
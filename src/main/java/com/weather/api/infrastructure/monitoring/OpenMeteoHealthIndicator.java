@@ -1,54 +1,65 @@
 package com.weather.api.infrastructure.monitoring;
 
-import com.weather.api.infrastructure.adapter.client.OpenMeteoFeignClient;
-import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.actuate.health.HealthIndicator;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+
 /**
  * Custom health indicator for Open-Meteo API.
- * Checks if the external API is reachable and responsive.
+ * Reports passively from the circuit breaker state and from the outcomes and
+ * latencies of recent real upstream calls, so that probes never call the API.
  *
  * @author Weather API Team
  */
-@Slf4j
 @Component("openMeteo")
-@RequiredArgsConstructor
 public class OpenMeteoHealthIndicator implements HealthIndicator {
 
-    private final OpenMeteoFeignClient weatherClient;
+    private static final String CIRCUIT_BREAKER_NAME = "openMeteoService";
 
-    @Override
-    public Health health() {
-        try {
-            long startTime = System.currentTimeMillis();
+    private final CircuitBreaker circuitBreaker;
+    private final UpstreamCallMonitor upstreamCallMonitor;
+    private final Duration window;
 
-            // Test with a known good location (New York)
-            weatherClient.getWeatherForecast(
-                    40.7128,
-                    -74.0060,
-                    "temperature_2m",
-                    "auto"
-            );
-
-            long latency = System.currentTimeMillis() - startTime;
+    public OpenMeteoHealthIndicator(CircuitBreakerRegistry circuitBreakerRegistry,
+                                    UpstreamCallMonitor upstreamCallMonitor,
+                                    @Value("${openmeteo.health.window:5m}") Duration window) {
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(CIRCUIT_BREAKER_NAME);
+        this.upstreamCallMonitor = upstreamCallMonitor;
+        this.window = window;
+    }
 
-            log.debug("Open-Meteo API health check successful, latency: {}ms", latency);
+    @Override
+    public Health health() {
+        CircuitBreaker.State state = circuitBreaker.getState();
+        UpstreamCallMonitor.Snapshot snapshot = upstreamCallMonitor.snapshot(window);
 
-            return Health.up()
-                    .withDetail("latency", latency + "ms")
-                    .withDetail("service", "Open-Meteo API")
-                    .build();
+        boolean down = state == CircuitBreaker.State.OPEN
+                || state == CircuitBreaker.State.FORCED_OPEN
+                || (snapshot.calls() > 0 && snapshot.successes() == 0 && snapshot.lastCallFailed());
 
-        } catch (Exception e) {
-            log.error("Open-Meteo API health check failed: {}", e.getMessage());
+        Health.Builder builder = down ? Health.down() : Health.up();
+        builder.withDetail("service", "Open-Meteo API")
+                .withDetail("circuitBreaker", state.name())
+                .withDetail("recentCalls", snapshot.calls())
+                .withDetail("recentFailures", snapshot.failures());
 
-            return Health.down()
-                    .withDetail("error", e.getMessage())
-                    .withDetail("service", "Open-Meteo API")
-                    .build();
+        if (snapshot.p50() != null) {
+            builder.withDetail("latencyP50", snapshot.p50().toMillis() + "ms")
+                    .withDetail("latencyP95", snapshot.p95().toMillis() + "ms");
+        }
+        if (snapshot.lastSuccess() != null) {
+            builder.withDetail("lastSuccess", snapshot.lastSuccess().toString());
         }
+        if (snapshot.lastFailure() != null) {
+            builder.withDetail("lastFailure", snapshot.lastFailure().toString())
+                    .withDetail("error", String.valueOf(snapshot.lastError()));
+        }
+
+        return builder.build();
     }
 }
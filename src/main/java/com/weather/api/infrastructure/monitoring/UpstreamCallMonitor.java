@@ -0,0 +1,138 @@
+package com.weather.api.infrastructure.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Keeps a rolling window of recent Open-Meteo call outcomes and latencies,
+ * recorded from real traffic. Health reporting reads from here instead of
+ * issuing its own upstream calls.
+ *
+ * @author Weather API Team
+ */
+@Component
+public class UpstreamCallMonitor {
+
+    private final long[] latencies;
+    private final boolean[] outcomes;
+    private final long[] timestamps;
+
+    private int next;
+    private int size;
+
+    private volatile Instant lastSuccess;
+    private volatile Instant lastFailure;
+    private volatile String lastError;
+
+    public UpstreamCallMonitor(@Value("${openmeteo.health.window-size:256}") int windowSize) {
+        this.latencies = new long[windowSize];
+        this.outcomes = new boolean[windowSize];
+        this.timestamps = new long[windowSize];
+    }
+
+    /**
+     * Records a successful upstream call.
+     *
+     * @param latency time the call took
+     */
+    public void recordSuccess(Duration latency) {
+        record(latency, true);
+        lastSuccess = Instant.now();
+    }
+
+    /**
+     * Records a failed upstream call.
+     *
+     * @param latency time the call took before failing
+     * @param error   the failure
+     */
+    public void recordFailure(Duration latency, Throwable error) {
+        record(latency, false);
+        lastFailure = Instant.now();
+        lastError = error.getMessage();
+    }
+
+    /**
+     * Takes a snapshot of the calls recorded within the given age.
+     *
+     * @param maxAge only calls younger than this are considered
+     * @return summary of recent upstream calls
+     */
+    public synchronized Snapshot snapshot(Duration maxAge) {
+        long cutoff = System.nanoTime() - maxAge.toNanos();
+        long[] successLatencies = new long[size];
+        int successes = 0;
+        int failures = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (timestamps[i] - cutoff < 0) {
+                continue;
+            }
+            if (outcomes[i]) {
+                successLatencies[successes++] = latencies[i];
+            } else {
+                failures++;
+            }
+        }
+
+        Arrays.sort(successLatencies, 0, successes);
+
+        return new Snapshot(
+                successes,
+                failures,
+                percentile(successLatencies, successes, 0.50),
+                percentile(successLatencies, successes, 0.95),
+                lastSuccess,
+                lastFailure,
+                lastError
+        );
+    }
+
+    private synchronized void record(Duration latency, boolean success) {
+        latencies[next] = latency.toNanos();
+        outcomes[next] = success;
+        timestamps[next] = System.nanoTime();
+        next = (next + 1) % latencies.length;
+        size = Math.min(size + 1, latencies.length);
+    }
+
+    private static Duration percentile(long[] sorted, int count, double quantile) {
+        if (count == 0) {
+            return null;
+        }
+        int index = (int) Math.ceil(quantile * count) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, index)]);
+    }
+
+    /**
+     * Summary of recent upstream calls.
+     *
+     * @param successes   successful calls in the window
+     * @param failures    failed calls in the window
+     * @param p50         median latency of successful calls, or null without data
+     * @param p95         95th percentile latency of successful calls, or null without data
+     * @param lastSuccess time of the last successful call, or null
+     * @param lastFailure time of the last failed call, or null
+     * @param lastError   message of the last failure, or null
+     */
+    public record Snapshot(int successes,
+                           int failures,
+                           Duration p50,
+                           Duration p95,
+                           Instant lastSuccess,
+                           Instant lastFailure,
+                           String lastError) {
+
+        public int calls() {
+            return successes + failures;
+        }
+
+        public boolean lastCallFailed() {
+            return lastFailure != null && (lastSuccess == null || lastFailure.isAfter(lastSuccess));
+        }
+    }
+}
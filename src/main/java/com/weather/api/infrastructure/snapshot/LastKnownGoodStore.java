@@ -0,0 +1,474 @@
+package com.weather.api.infrastructure.snapshot;
+
+import com.weather.api.domain.model.GeoCell;
+import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.infrastructure.cache.CacheValueCodec;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * The last forecast fetched for each location cell and the last results of each city
+ * search, kept so that requests can still be answered while Open-Meteo is down.
+ *
+ * <p>Values are held in memory and appended to a local log file, which is read back on
+ * startup so that a restart during an outage does not lose them. Request threads only
+ * update memory and enqueue the record; a background thread appends it. The log keeps
+ * every version of a key, so it is compacted periodically into one record per live key,
+ * dropping values older than their maximum age. Each record carries a checksum; a torn
+ * record at the end of the log, left by a crash, ends the read and is cut off, so that
+ * the records appended after the restart are read back on the next one.
+ * <pre>
+ * file   := MAGIC record*
+ * record := length:int payload crc32(payload):int
+ * payload:= cacheName:utf key:utf storedAtMillis:long value:smile
+ * </pre>
+ * Disabled by default.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Component
+public class LastKnownGoodStore implements DisposableBean {
+
+    static final String FORECASTS = "weatherForecast";
+    static final String SEARCHES = "citySearch";
+
+    private static final int MAGIC = 0x4c4b4731; // "LKG1"
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+
+    private final CacheValueCodec codec = CacheValueCodec.forResponseCaches();
+    private final Map<String, Entry> forecasts = new ConcurrentHashMap<>();
+    private final Map<String, Entry> searches = new ConcurrentHashMap<>();
+    private final Map<String, Counter> lookups = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double cellSize;
+    private final long forecastMaxAgeMillis;
+    private final long searchMaxAgeMillis;
+    private final int maxEntries;
+    private final Path file;
+    private final BlockingQueue<Record> queue;
+    private final Object fileLock = new Object();
+    private final Thread writer;
+
+    // Guarded by fileLock
+    private DataOutputStream out;
+    private long recordsInFile;
+
+    public LastKnownGoodStore(MeterRegistry meterRegistry,
+                              @Value("${snapshot.enabled:false}") boolean enabled,
+                              @Value("${snapshot.file:data/last-known-good.log}") Path file,
+                              @Value("${snapshot.cell-size:0.01}") double cellSize,
+                              @Value("${snapshot.forecast-max-age:21600000}") long forecastMaxAgeMillis,
+                              @Value("${snapshot.search-max-age:2592000000}") long searchMaxAgeMillis,
+                              @Value("${snapshot.max-entries:100000}") int maxEntries,
+                              @Value("${snapshot.queue-capacity:10000}") int queueCapacity) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.file = file;
+        this.cellSize = cellSize;
+        this.forecastMaxAgeMillis = forecastMaxAgeMillis;
+        this.searchMaxAgeMillis = searchMaxAgeMillis;
+        this.maxEntries = maxEntries;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.writer = new Thread(this::write, "last-known-good-writer");
+        writer.setDaemon(true);
+
+        meterRegistry.gaugeMapSize("weather.snapshot.entries", Tags.of("cache", FORECASTS), forecasts);
+        meterRegistry.gaugeMapSize("weather.snapshot.entries", Tags.of("cache", SEARCHES), searches);
+
+        if (enabled) {
+            boolean appendable = load();
+            synchronized (fileLock) {
+                out = appendable ? open() : null;
+            }
+            if (out != null) {
+                log.info("Keeping last known forecasts and searches in {}: {} forecasts, {} searches",
+                        file, forecasts.size(), searches.size());
+                writer.start();
+            } else {
+                log.warn("Last known forecasts and searches kept in memory only");
+            }
+        }
+    }
+
+    /**
+     * Keeps a forecast as the last known one for the cell of the requested coordinates.
+     *
+     * @param latitude  requested latitude
+     * @param longitude requested longitude
+     * @param weather   the forecast fetched for them
+     */
+    public void recordForecast(double latitude, double longitude, Weather weather) {
+        if (enabled && weather != null) {
+            store(FORECASTS, forecasts, cellKey(latitude, longitude), weather);
+        }
+    }
+
+    /**
+     * Keeps the results of a city search as the last known ones for the name and language.
+     *
+     * @param cityName the searched name
+     * @param language the result language
+     * @param results  the results found
+     */
+    public void recordSearch(String cityName, String language, List<GeocodingResult> results) {
+        if (enabled && results != null && !results.isEmpty()) {
+            store(SEARCHES, searches, searchKey(cityName, language), List.copyOf(results));
+        }
+    }
+
+    /**
+     * Finds the last known forecast for the cell of the given coordinates.
+     * Its time tells clients how old it is; the timezone is the one it was fetched with.
+     *
+     * @param latitude  the latitude
+     * @param longitude the longitude
+     * @return the forecast, marked stale, if one was kept and is not older than the maximum age
+     */
+    public Optional<Weather> findForecast(double latitude, double longitude) {
+        return find(FORECASTS, forecasts, cellKey(latitude, longitude), forecastMaxAgeMillis)
+                .map(value -> ((Weather) value).toBuilder().stale(true).build());
+    }
+
+    /**
+     * Finds the last known results of a city search.
+     *
+     * @param cityName the searched name
+     * @param language the result language
+     * @param count    maximum number of results
+     * @return the first results, if some were kept and are not older than the maximum age
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<List<GeocodingResult>> findSearch(String cityName, String language, int count) {
+        return find(SEARCHES, searches, searchKey(cityName, language), searchMaxAgeMillis)
+                .map(value -> (List<GeocodingResult>) value)
+                .map(results -> results.subList(0, Math.min(count, results.size())));
+    }
+
+    /**
+     * Drops values past their maximum age and rewrites the log with one record per kept
+     * value, when it holds older versions or dropped values. The new log is written aside
+     * and then moved over the old one, so a crash leaves one of them whole.
+     */
+    @Scheduled(
+            initialDelayString = "${snapshot.compaction-interval:600000}",
+            fixedDelayString = "${snapshot.compaction-interval:600000}"
+    )
+    public void compact() {
+        if (!enabled) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        forecasts.values().removeIf(entry -> now - entry.storedAt() > forecastMaxAgeMillis);
+        searches.values().removeIf(entry -> now - entry.storedAt() > searchMaxAgeMillis);
+
+        synchronized (fileLock) {
+            long live = forecasts.size() + searches.size();
+            if (out == null || recordsInFile <= live) {
+                return;
+            }
+            Path compacted = file.resolveSibling(file.getFileName() + ".compacting");
+            long written;
+            try (DataOutputStream compactedOut = new DataOutputStream(new BufferedOutputStream(
+                    Files.newOutputStream(compacted)))) {
+                compactedOut.writeInt(MAGIC);
+                written = writeAll(compactedOut, FORECASTS, forecasts) + writeAll(compactedOut, SEARCHES, searches);
+            } catch (IOException e) {
+                log.warn("Compacting {} failed: {}", file, e.getMessage());
+                return;
+            }
+            close();
+            try {
+                Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                log.debug("Compacted {} from {} to {} records", file, recordsInFile, written);
+                recordsInFile = written;
+            } catch (IOException e) {
+                log.warn("Compacting {} failed: {}", file, e.getMessage());
+            }
+            out = open();
+        }
+    }
+
+    private void store(String cacheName, Map<String, Entry> entries, String key, Object value) {
+        if (entries.size() >= maxEntries && !entries.containsKey(key)) {
+            return;
+        }
+        Entry entry = new Entry(value, System.currentTimeMillis());
+        entries.put(key, entry);
+        // A record that does not fit is still written by the next compaction
+        queue.offer(new Record(cacheName, key, entry));
+    }
+
+    private Optional<Object> find(String cacheName, Map<String, Entry> entries, String key, long maxAgeMillis) {
+        Entry entry = enabled ? entries.get(key) : null;
+        if (entry == null) {
+            count(cacheName, "missing");
+            return Optional.empty();
+        }
+        if (System.currentTimeMillis() - entry.storedAt() > maxAgeMillis) {
+            count(cacheName, "expired");
+            return Optional.empty();
+        }
+        count(cacheName, "served");
+        return Optional.of(entry.value());
+    }
+
+    private String cellKey(double latitude, double longitude) {
+        return GeoCell.of(latitude, longitude, cellSize).toKey();
+    }
+
+    private static String searchKey(String cityName, String language) {
+        return cityName.trim().toLowerCase(Locale.ROOT) + '_' + language;
+    }
+
+    private void count(String cacheName, String outcome) {
+        lookups.computeIfAbsent(cacheName + ' ' + outcome, name -> Counter.builder("weather.snapshot.lookups")
+                        .description("Lookups of last known values while Open-Meteo is unavailable, by outcome")
+                        .tag("cache", cacheName)
+                        .tag("outcome", outcome)
+                        .register(meterRegistry))
+                .increment();
+    }
+
+    /**
+     * Reads the log back into memory, keeping the newest value of each key that is not
+     * past its maximum age, then cuts off whatever follows the last whole record.
+     *
+     * @return false if the log could not be cut, and must not be appended to
+     */
+    private boolean load() {
+        long now = System.currentTimeMillis();
+        long records = 0;
+        long validLength = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                log.warn("Replacing {}, it is not a last known values log", file);
+            } else {
+                validLength = Integer.BYTES;
+                byte[] payload;
+                while ((payload = readPayload(in)) != null) {
+                    records++;
+                    validLength += Integer.BYTES + payload.length + Integer.BYTES;
+                    restore(payload, now);
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // First start
+            return true;
+        } catch (IOException e) {
+            log.warn("Reading {} stopped after {} records: {}", file, records, e.toString());
+        }
+        recordsInFile = records;
+        return truncate(validLength);
+    }
+
+    /**
+     * Restores the value of one record unless it is past its maximum age or older than the
+     * value already restored for its key. A record that cannot be decoded is skipped.
+     */
+    private void restore(byte[] payload, long now) {
+        try {
+            DataInputStream record = new DataInputStream(new ByteArrayInputStream(payload));
+            String cacheName = record.readUTF();
+            String key = record.readUTF();
+            long storedAt = record.readLong();
+            Map<String, Entry> entries = FORECASTS.equals(cacheName) ? forecasts : searches;
+            long maxAge = FORECASTS.equals(cacheName) ? forecastMaxAgeMillis : searchMaxAgeMillis;
+            Entry existing = entries.get(key);
+            if (now - storedAt > maxAge || (existing != null && existing.storedAt() > storedAt)) {
+                return;
+            }
+            entries.put(key, new Entry(codec.decode(cacheName, record.readAllBytes()), storedAt));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Skipping an unreadable record of {}: {}", file, e.toString());
+        }
+    }
+
+    /**
+     * Cuts the log after its last whole record, so that new records are not appended
+     * behind a torn one, where the next start could not read them.
+     *
+     * @return false if the log could not be cut
+     */
+    private boolean truncate(long validLength) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            if (channel.size() > validLength) {
+                log.warn("Discarding {} unreadable bytes at the end of {}", channel.size() - validLength, file);
+                channel.truncate(validLength);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("Cannot cut the unreadable end of {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reads the payload of the next record, or returns null at the end of the log or at a
+     * record that was not written whole.
+     */
+    private static byte[] readPayload(DataInputStream in) throws IOException {
+        try {
+            int length = in.readInt();
+            if (length <= 0 || length > MAX_RECORD_SIZE) {
+                return null;
+            }
+            byte[] payload = new byte[length];
+            in.readFully(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            return in.readInt() == (int) crc.getValue() ? payload : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    private DataOutputStream open() {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            boolean empty = !Files.exists(file) || Files.size(file) == 0;
+            DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+            if (empty) {
+                stream.writeInt(MAGIC);
+                stream.flush();
+                recordsInFile = 0;
+            }
+            return stream;
+        } catch (IOException e) {
+            log.warn("Cannot open {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write() {
+        List<Record> batch = new ArrayList<>();
+        try {
+            while (true) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                if (!writeRecords(batch)) {
+                    log.warn("Last known values are no longer written to {}", file);
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            // Shutting down: keep what was already recorded
+            queue.drainTo(batch);
+            try {
+                writeRecords(batch);
+            } catch (IOException ignored) {
+                // The log is being closed anyway
+            }
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Writing {} failed, last known values are kept in memory only: {}", file, e.getMessage());
+        } finally {
+            synchronized (fileLock) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Appends records to the log.
+     *
+     * @return false if the log is closed
+     */
+    private boolean writeRecords(List<Record> batch) throws IOException {
+        synchronized (fileLock) {
+            if (out == null) {
+                return false;
+            }
+            for (Record record : batch) {
+                writeRecord(out, record.cacheName(), record.key(), record.entry());
+                recordsInFile++;
+            }
+            out.flush();
+        }
+        batch.clear();
+        return true;
+    }
+
+    private long writeAll(DataOutputStream stream, String cacheName, Map<String, Entry> entries) throws IOException {
+        long written = 0;
+        for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+            writeRecord(stream, cacheName, entry.getKey(), entry.getValue());
+            written++;
+        }
+        return written;
+    }
+
+    private void writeRecord(DataOutputStream stream, String cacheName, String key, Entry entry) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+        DataOutputStream payload = new DataOutputStream(buffer);
+        payload.writeUTF(cacheName);
+        payload.writeUTF(key);
+        payload.writeLong(entry.storedAt());
+        payload.write(codec.encode(entry.value()));
+        byte[] bytes = buffer.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+
+        stream.writeInt(bytes.length);
+        stream.write(bytes);
+        stream.writeInt((int) crc.getValue());
+    }
+
+    private void close() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.debug("Closing {} failed: {}", file, e.getMessage());
+        }
+        out = null;
+    }
+
+    @Override
+    public void destroy() {
+        writer.interrupt();
+    }
+
+    private record Entry(Object value, long storedAt) {
+    }
+
+    private record Record(String cacheName, String key, Entry entry) {
+    }
+}
@@ -0,0 +1,102 @@
+package com.weather.api.infrastructure.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.weather.api.application.dto.response.CitySearchResponse;
+import com.weather.api.application.dto.response.WeatherForecastResponse;
+import com.weather.api.application.mapper.GeocodingMapper;
+import com.weather.api.application.mapper.WeatherMapper;
+import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoGeocodingResponse;
+import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoWeatherResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.crac.Core;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Takes a CRaC checkpoint once the application is ready and warmed up.
+ * Warm-up exercises the JSON (de)serialization and mapping paths of the forecast
+ * and search endpoints without calling Open-Meteo, so restored instances serve
+ * their first requests with loaded classes and initialized Jackson serializers.
+ * Requires a CRaC-enabled JDK started with {@code -XX:CRaCCheckpointTo=<dir>}.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "startup.checkpoint", name = "enabled", havingValue = "true")
+public class StartupCheckpoint {
+
+    private static final String SAMPLE_FORECAST = """
+            {"latitude":40.7128,"longitude":-74.006,"timezone":"America/New_York",
+             "current":{"time":"2025-11-15T10:30","temperature_2m":15.5,"weather_code":2,
+                        "wind_speed_10m":12.3,"relative_humidity_2m":65}}
+            """;
+
+    private static final String SAMPLE_SEARCH = """
+            {"results":[{"name":"New York","latitude":40.7128,"longitude":-74.006,
+                         "country":"United States","admin1":"New York"}]}
+            """;
+
+    private final ObjectMapper objectMapper;
+    private final WeatherMapper weatherMapper;
+    private final GeocodingMapper geocodingMapper;
+
+    @Value("${startup.checkpoint.warm-up-iterations:2000}")
+    private int warmUpIterations;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkpoint() {
+        try {
+            warmUp();
+        } catch (Exception e) {
+            log.warn("Warm-up before checkpoint failed: {}", e.getMessage());
+        }
+
+        try {
+            log.info("Taking CRaC checkpoint");
+            Core.checkpointRestore();
+            log.info("Restored from CRaC checkpoint");
+        } catch (Exception e) {
+            log.warn("CRaC checkpoint not taken: {}", e.getMessage());
+        }
+    }
+
+    private void warmUp() throws Exception {
+        log.info("Warming up serialization paths ({} iterations)", warmUpIterations);
+
+        for (int i = 0; i < warmUpIterations; i++) {
+            OpenMeteoWeatherResponse forecast = objectMapper.readValue(SAMPLE_FORECAST, OpenMeteoWeatherResponse.class);
+            OpenMeteoGeocodingResponse search = objectMapper.readValue(SAMPLE_SEARCH, OpenMeteoGeocodingResponse.class);
+
+            Weather weather = Weather.builder()
+                    .time(LocalDateTime.parse(forecast.getCurrent().getTime()))
+                    .temperature(forecast.getCurrent().getTemperature())
+                    .weatherCode(forecast.getCurrent().getWeatherCode())
+                    .windSpeed(forecast.getCurrent().getWindSpeed())
+                    .humidity(forecast.getCurrent().getHumidity())
+                    .latitude(forecast.getLatitude())
+                    .longitude(forecast.getLongitude())
+                    .timezone(forecast.getTimezone())
+                    .build();
+            List<GeocodingResult> results = search.getResults().stream()
+                    .map(result -> GeocodingResult.of(result.getName(), result.getLatitude(),
+                            result.getLongitude(), result.getCountry(), result.getAdmin1()))
+                    .toList();
+
+            WeatherForecastResponse forecastResponse = weatherMapper.toResponse(weather);
+            CitySearchResponse searchResponse = geocodingMapper.toResponse(results);
+            objectMapper.writeValueAsBytes(forecastResponse);
+            objectMapper.writeValueAsBytes(searchResponse);
+        }
+    }
+}
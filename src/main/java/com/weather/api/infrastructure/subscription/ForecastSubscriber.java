@@ -0,0 +1,137 @@
+package com.weather.api.infrastructure.subscription;
+
+import com.weather.api.domain.model.GeoCell;
+import com.weather.api.domain.model.Weather;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE connection and the cells it follows.
+ * Updates are queued per cell and sent by at most one sender thread at a time. An update
+ * for a cell that has not been sent yet replaces the queued one, so a slow client receives
+ * the latest forecast of each cell instead of a growing backlog.
+ *
+ * @author Weather API Team
+ */
+final class ForecastSubscriber {
+
+    private final SseEmitter emitter;
+    private final Set<GeoCell> cells;
+    private final Executor sender;
+    private final EventWriter writer;
+    private final Runnable onConflated;
+
+    private final Map<GeoCell, Weather> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean heartbeat = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile long sendingSince;
+
+    ForecastSubscriber(SseEmitter emitter, Set<GeoCell> cells, Executor sender,
+                       EventWriter writer, Runnable onConflated) {
+        this.emitter = emitter;
+        this.cells = cells;
+        this.sender = sender;
+        this.writer = writer;
+        this.onConflated = onConflated;
+    }
+
+    Set<GeoCell> cells() {
+        return cells;
+    }
+
+    /**
+     * Queues the latest forecast of a cell for sending.
+     */
+    void offer(GeoCell cell, Weather weather) {
+        if (pending.put(cell, weather) != null) {
+            onConflated.run();
+        }
+        schedule();
+    }
+
+    /**
+     * Queues a keep-alive comment, which also reveals connections the client has dropped.
+     */
+    void heartbeat() {
+        heartbeat.set(true);
+        schedule();
+    }
+
+    /**
+     * Checks if a send to this client has been blocked for longer than the given time.
+     */
+    boolean isStalled(long maxStallNanos) {
+        long since = sendingSince;
+        return since != 0 && System.nanoTime() - since > maxStallNanos;
+    }
+
+    /**
+     * Ends the connection; further updates are ignored.
+     *
+     * @return true if this call closed it
+     */
+    boolean close() {
+        if (closed.compareAndSet(false, true)) {
+            pending.clear();
+            emitter.complete();
+            return true;
+        }
+        return false;
+    }
+
+    private void schedule() {
+        if (!closed.get() && draining.compareAndSet(false, true)) {
+            sender.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            do {
+                for (GeoCell cell : pending.keySet()) {
+                    Weather weather = pending.remove(cell);
+                    if (weather != null && !closed.get()) {
+                        send(() -> writer.write(emitter, cell, weather));
+                    }
+                }
+                if (heartbeat.getAndSet(false) && !closed.get()) {
+                    send(() -> emitter.send(SseEmitter.event().comment("keep-alive")));
+                }
+                draining.set(false);
+            } while ((!pending.isEmpty() || heartbeat.get()) && draining.compareAndSet(false, true));
+        } catch (IOException | IllegalStateException e) {
+            // Client went away or the connection was completed meanwhile
+            draining.set(false);
+            close();
+        }
+    }
+
+    private void send(IOAction action) throws IOException {
+        sendingSince = System.nanoTime();
+        try {
+            action.run();
+        } finally {
+            sendingSince = 0;
+        }
+    }
+
+    /**
+     * Writes one forecast event to a connection.
+     */
+    @FunctionalInterface
+    interface EventWriter {
+        void write(SseEmitter emitter, GeoCell cell, Weather weather) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface IOAction {
+        void run() throws IOException;
+    }
+}
@@ -0,0 +1,294 @@
+package com.weather.api.infrastructure.subscription;
+
+import com.weather.api.application.mapper.WeatherMapper;
+import com.weather.api.domain.exception.SubscriptionLimitExceededException;
+import com.weather.api.domain.model.GeoCell;
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.port.input.WeatherUseCase;
+import com.weather.api.domain.port.output.WeatherRepositoryPort;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pushes live forecast updates to SSE subscribers.
+ * Subscribed coordinates are snapped to {@link GeoCell}s and every cell has one shared
+ * topic: each update cycle refreshes the cell once, in multi-location batches under the
+ * upstream rate limiter, and fans the forecast out to all of its subscribers, however
+ * many there are. Subscribers only receive forecasts that changed.
+ * The number of connections per node is capped, and connections whose sends have been
+ * blocked for too long are closed so that slow clients cannot tie up the sender threads.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Component
+public class ForecastSubscriptionHub implements DisposableBean {
+
+    private static final String CACHE_NAME = "weatherForecast";
+    private static final String REFRESH_TIMEZONE = "auto";
+
+    private final WeatherRepositoryPort weatherRepositoryPort;
+    private final WeatherUseCase weatherUseCase;
+    private final WeatherMapper weatherMapper;
+    private final CacheManager cacheManager;
+
+    private final double cellSize;
+    private final int maxConnections;
+    private final int maxLocations;
+    private final long timeoutMillis;
+    private final int batchSize;
+    private final Duration maxStall;
+
+    private final Map<GeoCell, Topic> topics = new ConcurrentHashMap<>();
+    private final Set<ForecastSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService sender;
+    private final ExecutorService loader;
+
+    private final Counter events;
+    private final Counter conflated;
+    private final Counter rejected;
+    private final Counter evicted;
+
+    public ForecastSubscriptionHub(WeatherRepositoryPort weatherRepositoryPort,
+                                   WeatherUseCase weatherUseCase,
+                                   WeatherMapper weatherMapper,
+                                   CacheManager cacheManager,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${subscriptions.cell-size:0.01}") double cellSize,
+                                   @Value("${subscriptions.max-connections:1000}") int maxConnections,
+                                   @Value("${subscriptions.max-locations:20}") int maxLocations,
+                                   @Value("${subscriptions.timeout:1800000}") long timeoutMillis,
+                                   @Value("${subscriptions.batch-size:20}") int batchSize,
+                                   @Value("${subscriptions.max-stall:30000}") long maxStallMillis,
+                                   @Value("${subscriptions.sender-threads:4}") int senderThreads) {
+        this.weatherRepositoryPort = weatherRepositoryPort;
+        this.weatherUseCase = weatherUseCase;
+        this.weatherMapper = weatherMapper;
+        this.cacheManager = cacheManager;
+        this.cellSize = cellSize;
+        this.maxConnections = maxConnections;
+        this.maxLocations = maxLocations;
+        this.timeoutMillis = timeoutMillis;
+        this.batchSize = batchSize;
+        this.maxStall = Duration.ofMillis(maxStallMillis);
+        this.sender = Executors.newFixedThreadPool(senderThreads, daemonThreads("sse-sender-"));
+        this.loader = Executors.newFixedThreadPool(2, daemonThreads("sse-loader-"));
+
+        this.events = Counter.builder("weather.subscriptions.events")
+                .description("Forecast events sent to subscribers")
+                .register(meterRegistry);
+        this.conflated = Counter.builder("weather.subscriptions.conflated")
+                .description("Forecast events replaced by a newer one before a slow subscriber received them")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("weather.subscriptions.rejected")
+                .description("Subscriptions refused because the node was at its connection cap")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("weather.subscriptions.evicted")
+                .description("Subscribers disconnected because sends to them stalled")
+                .register(meterRegistry);
+        meterRegistry.gauge("weather.subscriptions.connections", connections);
+        meterRegistry.gaugeMapSize("weather.subscriptions.cells", List.of(), topics);
+    }
+
+    /**
+     * Maximum number of locations one subscription may follow.
+     *
+     * @return the location limit
+     */
+    public int getMaxLocations() {
+        return maxLocations;
+    }
+
+    /**
+     * Opens a subscription to the forecasts of the given locations. The current forecast
+     * of each location is sent as soon as it is known, then every change.
+     *
+     * @param locations the locations to follow
+     * @return the event stream
+     * @throws SubscriptionLimitExceededException if this node is at its connection cap
+     */
+    public SseEmitter subscribe(List<Location> locations) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejected.increment();
+            throw new SubscriptionLimitExceededException(maxConnections);
+        }
+
+        Set<GeoCell> cells = ConcurrentHashMap.newKeySet();
+        locations.forEach(location -> cells.add(GeoCell.of(location.getLatitude(), location.getLongitude(), cellSize)));
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        ForecastSubscriber subscriber = new ForecastSubscriber(emitter, cells, sender, this::writeEvent, conflated::increment);
+        AtomicBoolean registered = new AtomicBoolean(true);
+        Runnable unsubscribe = () -> {
+            if (registered.compareAndSet(true, false)) {
+                unsubscribe(subscriber);
+            }
+        };
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(error -> unsubscribe.run());
+
+        subscribers.add(subscriber);
+        // Commits the response headers right away, before the first forecast is known
+        subscriber.heartbeat();
+        for (GeoCell cell : cells) {
+            Topic topic = topics.compute(cell, (key, existing) -> {
+                Topic current = existing == null ? new Topic() : existing;
+                current.subscribers.add(subscriber);
+                return current;
+            });
+            Weather latest = topic.latest;
+            if (latest != null) {
+                subscriber.offer(cell, latest);
+            } else {
+                loadFirst(cell, topic);
+            }
+        }
+
+        log.debug("New forecast subscription for {} cells, {} connections open", cells.size(), connections.get());
+        return emitter;
+    }
+
+    /**
+     * Refreshes every subscribed cell once and pushes the forecasts that changed.
+     * Also sends a keep-alive to every subscriber and closes stalled ones.
+     */
+    @Scheduled(
+            initialDelayString = "${subscriptions.update-interval:60000}",
+            fixedDelayString = "${subscriptions.update-interval:60000}"
+    )
+    public void refresh() {
+        long maxStallNanos = maxStall.toNanos();
+        for (ForecastSubscriber subscriber : subscribers) {
+            if (subscriber.isStalled(maxStallNanos)) {
+                if (subscriber.close()) {
+                    evicted.increment();
+                }
+            } else {
+                subscriber.heartbeat();
+            }
+        }
+
+        List<GeoCell> cells = new ArrayList<>(topics.keySet());
+        Cache cache = cacheManager.getCache(CACHE_NAME);
+
+        for (int from = 0; from < cells.size(); from += batchSize) {
+            List<GeoCell> batch = cells.subList(from, Math.min(from + batchSize, cells.size()));
+            try {
+                List<Weather> forecasts = weatherRepositoryPort.fetchWeatherForecasts(
+                        batch.stream().map(GeoCell::toLocation).toList(), REFRESH_TIMEZONE);
+                for (int i = 0; i < forecasts.size(); i++) {
+                    if (cache != null) {
+                        cache.put(batch.get(i).toCacheKey(), forecasts.get(i));
+                    }
+                    publish(batch.get(i), forecasts.get(i));
+                }
+            } catch (RequestNotPermitted e) {
+                log.debug("Upstream rate limiter exhausted, {} subscribed cells wait for the next cycle",
+                        cells.size() - from);
+                return;
+            } catch (Exception e) {
+                log.warn("Refresh of {} subscribed cells failed: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Loads the first forecast of a new cell, through the forecast cache.
+     */
+    private void loadFirst(GeoCell cell, Topic topic) {
+        if (!topic.loading.compareAndSet(false, true)) {
+            return;
+        }
+        loader.execute(() -> {
+            try {
+                publish(cell, weatherUseCase.getWeatherForecast(cell.getLatitude(), cell.getLongitude(), REFRESH_TIMEZONE));
+            } catch (Exception e) {
+                log.debug("First forecast of cell {} failed, retried on the next cycle: {}", cell, e.getMessage());
+            } finally {
+                topic.loading.set(false);
+            }
+        });
+    }
+
+    private void publish(GeoCell cell, Weather weather) {
+        Topic topic = topics.get(cell);
+        if (topic == null || Objects.equals(topic.latest, weather)) {
+            return;
+        }
+        topic.latest = weather;
+        topic.subscribers.forEach(subscriber -> subscriber.offer(cell, weather));
+    }
+
+    private void writeEvent(SseEmitter emitter, GeoCell cell, Weather weather) throws IOException {
+        emitter.send(SseEmitter.event()
+                .name("forecast")
+                .id(cell.toKey())
+                .data(weatherMapper.toResponse(weather), MediaType.APPLICATION_JSON));
+        events.increment();
+    }
+
+    private void unsubscribe(ForecastSubscriber subscriber) {
+        subscriber.close();
+        subscribers.remove(subscriber);
+        for (GeoCell cell : subscriber.cells()) {
+            topics.computeIfPresent(cell, (key, topic) -> {
+                topic.subscribers.remove(subscriber);
+                return topic.subscribers.isEmpty() ? null : topic;
+            });
+        }
+        connections.decrementAndGet();
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(ForecastSubscriber::close);
+        sender.shutdownNow();
+        loader.shutdownNow();
+    }
+
+    /**
+     * Subscribers of one cell and the last forecast pushed to them.
+     */
+    private static final class Topic {
+        private final Set<ForecastSubscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean loading = new AtomicBoolean();
+        private volatile Weather latest;
+    }
+}
@@ -0,0 +1,239 @@
+package com.weather.api.infrastructure.trace;
+
+import com.weather.api.infrastructure.cache.CacheEntryListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Records a sample of API requests to an append-only trace file, to replay real traffic
+ * shapes against other builds. Each line holds the request time, method, path with its
+ * query, response status, duration and whether the response caches were hit:
+ * <pre>
+ * epochMillis	method	path?query	status	durationMicros	hit|miss|-
+ * </pre>
+ * Request threads only enqueue a line; a background thread writes them. When the queue
+ * is full lines are dropped rather than blocking requests, and recording stops once the
+ * file reaches its maximum size. Disabled by default.
+ *
+ * @author Weather API Team
+ */
+@Slf4j
+@Component
+public class RequestTraceRecorder implements CacheEntryListener, DisposableBean {
+
+    static final String HEADER = "# weather-api request trace v1: epochMillis\tmethod\tpath?query\tstatus\tdurationMicros\tcache";
+
+    private final double sampleRate;
+    private final long maxFileSize;
+    private final BlockingQueue<String> queue;
+    private final ThreadLocal<Capture> current = new ThreadLocal<>();
+    private final Counter recorded;
+    private final Counter dropped;
+    private final BufferedWriter out;
+    private final Thread writer;
+    private final boolean enabled;
+
+    private long fileSize;
+    private volatile boolean stopped;
+
+    public RequestTraceRecorder(MeterRegistry meterRegistry,
+                                @Value("${trace.enabled:false}") boolean enabled,
+                                @Value("${trace.sample-rate:0.01}") double sampleRate,
+                                @Value("${trace.file:logs/request-trace.tsv}") Path file,
+                                @Value("${trace.max-file-size:104857600}") long maxFileSize,
+                                @Value("${trace.queue-capacity:10000}") int queueCapacity) {
+        this.sampleRate = sampleRate;
+        this.maxFileSize = maxFileSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.recorded = Counter.builder("weather.trace.requests")
+                .description("Sampled requests written to the request trace")
+                .tag("outcome", "recorded")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("weather.trace.requests")
+                .description("Sampled requests written to the request trace")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+
+        this.out = enabled ? open(file) : null;
+        this.enabled = out != null;
+        this.writer = new Thread(this::write, "request-trace-writer");
+        writer.setDaemon(true);
+        if (this.enabled) {
+            log.info("Recording {}% of API requests to {}", sampleRate * 100, file);
+            writer.start();
+        }
+    }
+
+    /**
+     * Whether requests are being recorded.
+     *
+     * @return true if recording is enabled and the trace file is open
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Decides whether the current request is recorded and, if so, starts capturing
+     * its cache lookups. Every call returning true must be followed by
+     * {@link #finish} on the same thread.
+     *
+     * @return true if the request is sampled
+     */
+    public boolean start() {
+        if (!enabled || stopped || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return false;
+        }
+        current.set(new Capture());
+        return true;
+    }
+
+    /**
+     * Stops capturing the current request and enqueues its trace line.
+     *
+     * @param epochMillis    time the request arrived
+     * @param method         HTTP method
+     * @param pathAndQuery   request path, with its raw query if any
+     * @param status         response status
+     * @param durationMicros time taken to answer
+     */
+    public void finish(long epochMillis, String method, String pathAndQuery, int status, long durationMicros) {
+        Capture capture = current.get();
+        current.remove();
+        if (capture == null) {
+            return;
+        }
+
+        String line = epochMillis + "\t" + method + "\t" + pathAndQuery + "\t" + status + "\t" + durationMicros
+                + "\t" + capture.result() + "\n";
+        if (queue.offer(line)) {
+            recorded.increment();
+        } else {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Discards the capture of the current request without recording it.
+     */
+    public void discard() {
+        current.remove();
+    }
+
+    @Override
+    public void onAccess(String cacheName, Object key) {
+        Capture capture = enabled ? current.get() : null;
+        if (capture != null) {
+            capture.accessed = true;
+        }
+    }
+
+    @Override
+    public void onPut(String cacheName, Object key, Object value) {
+        Capture capture = enabled ? current.get() : null;
+        if (capture != null) {
+            capture.loaded = true;
+        }
+    }
+
+    private BufferedWriter open(Path file) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            fileSize = Files.size(file);
+            if (fileSize == 0) {
+                writer.write(HEADER + "\n");
+                fileSize += HEADER.length() + 1;
+            }
+            return writer;
+        } catch (IOException e) {
+            log.warn("Request trace disabled, cannot open {}: {}", file, e.getMessage());
+            return null;
+        }
+    }
+
+    private void write() {
+        List<String> batch = new ArrayList<>();
+        try {
+            while (fileSize < maxFileSize) {
+                batch.add(queue.take());
+                queue.drainTo(batch);
+                writeLines(batch);
+                if (queue.isEmpty()) {
+                    out.flush();
+                }
+            }
+            log.warn("Request trace reached its maximum size of {} bytes, recording stopped", maxFileSize);
+        } catch (InterruptedException e) {
+            // Shutting down: keep what was already sampled
+            queue.drainTo(batch);
+            try {
+                writeLines(batch);
+            } catch (IOException ignored) {
+                // The trace is being closed anyway
+            }
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Request trace write failed, recording stopped: {}", e.getMessage());
+        } finally {
+            stopped = true;
+            close();
+        }
+    }
+
+    private void writeLines(List<String> lines) throws IOException {
+        for (String line : lines) {
+            out.write(line);
+            fileSize += line.length();
+        }
+        lines.clear();
+    }
+
+    private void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.debug("Closing the request trace failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        writer.interrupt();
+    }
+
+    /**
+     * Cache activity of one request. A lookup that is followed by a load was a miss.
+     */
+    private static final class Capture {
+
+        private boolean accessed;
+        private boolean loaded;
+
+        String result() {
+            if (!accessed) {
+                return "-";
+            }
+            return loaded ? "miss" : "hit";
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.weather.api.application.mapper;
+
+import com.weather.api.application.dto.response.CitySearchResponse;
+import com.weather.api.application.dto.response.GeocodingResultDTO;
+import com.weather.api.domain.model.GeocodingResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for GeocodingMapper.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("GeocodingMapper Tests")
+class GeocodingMapperTest {
+
+    private GeocodingMapper geocodingMapper;
+
+    @BeforeEach
+    void setUp() {
+        geocodingMapper = new GeocodingMapper();
+    }
+
+    @Test
+    @DisplayName("Should map ingested geocoding results with their display name")
+    void shouldMapGeocodingResultsToResponse() {
+        // Given
+        GeocodingResult result = GeocodingResult.of("New York", 40.7128, -74.0060, "United States", "New York");
+
+        // When
+        CitySearchResponse response = geocodingMapper.toResponse(List.of(result));
+
+        // Then
+        assertThat(response.getResults()).hasSize(1);
+        GeocodingResultDTO dto = response.getResults().get(0);
+        assertThat(dto.getId()).isEqualTo(result.getId()).hasSize(16);
+        assertThat(dto.getName()).isEqualTo("New York");
+        assertThat(dto.getDisplayName()).isEqualTo("New York, New York, United States");
+    }
+
+    @Test
+    @DisplayName("Should give the same location the same ID on every search")
+    void shouldGenerateStableIds() {
+        // When
+        GeocodingResult first = GeocodingResult.of("Springfield", 39.7817, -89.6501, "United States", "Illinois");
+        GeocodingResult second = GeocodingResult.of("Springfield", 39.7817, -89.6501, "United States", "Illinois");
+        GeocodingResult otherState = GeocodingResult.of("Springfield", 37.2153, -93.2982, "United States", "Missouri");
+
+        // Then
+        assertThat(first.getId()).isEqualTo(second.getId());
+        assertThat(first.getId()).isNotEqualTo(otherState.getId());
+    }
+
+    @Test
+    @DisplayName("Should compute display name when not set at creation")
+    void shouldComputeDisplayNameWhenMissing() {
+        // Given
+        GeocodingResult result = GeocodingResult.builder()
+                .id("1")
+                .name("London")
+                .latitude(51.5074)
+                .longitude(-0.1278)
+                .country("United Kingdom")
+                .build();
+
+        // When
+        CitySearchResponse response = geocodingMapper.toResponse(List.of(result));
+
+        // Then
+        assertThat(response.getResults().get(0).getDisplayName()).isEqualTo("London, United Kingdom");
+    }
+}
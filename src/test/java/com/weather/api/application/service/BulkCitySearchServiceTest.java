@@ -0,0 +1,244 @@
+package com.weather.api.application.service;
+
+import com.weather.api.domain.exception.CityNotFoundException;
+import com.weather.api.domain.model.CitySearchOutcome;
+import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.port.output.WeatherRepositoryPort;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BulkCitySearchService.
+ *
+ * @author Weather API Team
+ */
+@DisabledInNativeImage // Mockito generates mocks at runtime
+@DisplayName("BulkCitySearchService Tests")
+class BulkCitySearchServiceTest {
+
+    private WeatherRepositoryPort weatherRepositoryPort;
+    private CacheManager cacheManager;
+    private BulkCitySearchService bulkCitySearchService;
+
+    @BeforeEach
+    void setUp() {
+        weatherRepositoryPort = mock(WeatherRepositoryPort.class);
+        cacheManager = new ConcurrentMapCacheManager();
+        bulkCitySearchService = new BulkCitySearchService(
+                weatherRepositoryPort, cacheManager, RateLimiterRegistry.ofDefaults(), 2, 100, 100, 30_000, 300_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bulkCitySearchService.destroy();
+    }
+
+    @Test
+    @DisplayName("Should answer every line, searching repeated names upstream only once")
+    void shouldSearchRepeatedNamesOnce() {
+        // Given
+        when(weatherRepositoryPort.searchCity(eq("Springfield"), anyInt(), anyString()))
+                .thenReturn(List.of(GeocodingResult.of("Springfield", 39.78, -89.65, "United States", "Illinois")));
+        when(weatherRepositoryPort.searchCity(eq("Atlantis"), anyInt(), anyString()))
+                .thenThrow(new CityNotFoundException("Atlantis"));
+
+        // When
+        List<CitySearchOutcome> outcomes = search("Springfield", "", "Atlantis", "Springfield", " Springfield ");
+
+        // Then
+        assertThat(outcomes).extracting(CitySearchOutcome::getLine).containsExactly(1L, 3L, 4L, 5L);
+        assertThat(outcomes).filteredOn(CitySearchOutcome::isFound)
+                .extracting(CitySearchOutcome::getName)
+                .containsOnly("Springfield")
+                .hasSize(3);
+        assertThat(outcomes.get(1).getError()).isEqualTo("No results found for city: Atlantis");
+        verify(weatherRepositoryPort, times(1)).searchCity("Springfield", 1, "en");
+    }
+
+    @Test
+    @DisplayName("Should serve cached names without calling upstream")
+    void shouldServeCachedNamesWithoutUpstreamCall() {
+        // Given
+        List<GeocodingResult> cached = List.of(GeocodingResult.of("Paris", 48.85, 2.35, "France", "Ile-de-France"));
+        cacheManager.getCache("citySearch").put("Paris_1_en", cached);
+
+        // When
+        List<CitySearchOutcome> outcomes = search("Paris");
+
+        // Then
+        assertThat(outcomes).singleElement()
+                .satisfies(outcome -> assertThat(outcome.getResults()).isEqualTo(cached));
+        verify(weatherRepositoryPort, never()).searchCity(anyString(), anyInt(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should stop reading names while repeats of a slow search fill their slots")
+    void shouldBoundRepeatsOfSlowSearch() throws Exception {
+        // Given
+        CountDownLatch answer = new CountDownLatch(1);
+        when(weatherRepositoryPort.searchCity(eq("Slowtown"), anyInt(), anyString())).thenAnswer(invocation -> {
+            answer.await();
+            return List.of(GeocodingResult.of("Slowtown", 10.0, 20.0, "Nowhere", null));
+        });
+        AtomicInteger read = new AtomicInteger();
+        Iterator<String> names = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return read.get() < 1000;
+            }
+
+            @Override
+            public String next() {
+                read.incrementAndGet();
+                return "Slowtown";
+            }
+        };
+        List<CitySearchOutcome> outcomes = Collections.synchronizedList(new ArrayList<>());
+        BulkCitySearchService service = new BulkCitySearchService(
+                weatherRepositoryPort, cacheManager, RateLimiterRegistry.ofDefaults(), 2, 100, 10, 30_000, 300_000);
+
+        try {
+            // When
+            CompletableFuture<Void> batch = CompletableFuture.runAsync(
+                    () -> service.searchCities(names, null, null, outcomes::add));
+            Thread.sleep(300);
+
+            // Then: the search, ten waiting repeats and the one blocked on a slot
+            assertThat(read.get()).isEqualTo(12);
+            assertThat(outcomes).isEmpty();
+
+            answer.countDown();
+            batch.get(5, TimeUnit.SECONDS);
+            assertThat(outcomes).hasSize(1000).allMatch(CitySearchOutcome::isFound);
+            verify(weatherRepositoryPort, times(1)).searchCity("Slowtown", 1, "en");
+        } finally {
+            answer.countDown();
+            service.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer with an error when no upstream permit comes within the wait limit")
+    void shouldFailSearchAfterMaxWait() {
+        // Given
+        BulkCitySearchService service = new BulkCitySearchService(
+                weatherRepositoryPort, cacheManager, exhaustedRateLimiter(), 2, 100, 100, 200, 300_000);
+
+        try {
+            // When
+            List<CitySearchOutcome> outcomes = new ArrayList<>();
+            service.searchCities(Stream.of("Paris").iterator(), null, null, outcomes::add);
+
+            // Then
+            assertThat(outcomes).singleElement()
+                    .satisfies(outcome -> assertThat(outcome.getError())
+                            .isEqualTo("Rate limit exceeded. Please try again later."));
+            verify(weatherRepositoryPort, never()).searchCity(anyString(), anyInt(), anyString());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer the remaining names with an error once the batch time limit is reached")
+    void shouldStopSearchingAfterBatchTimeout() {
+        // Given
+        BulkCitySearchService service = new BulkCitySearchService(
+                weatherRepositoryPort, cacheManager, exhaustedRateLimiter(), 2, 100, 100, 30_000, 300);
+
+        try {
+            // When
+            long start = System.nanoTime();
+            List<CitySearchOutcome> outcomes = new ArrayList<>();
+            service.searchCities(Stream.of("Paris", "Rome", "Oslo").iterator(), null, null, outcomes::add);
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // Then
+            outcomes.sort(Comparator.comparingLong(CitySearchOutcome::getLine));
+            assertThat(outcomes).extracting(CitySearchOutcome::getError).containsExactly(
+                    "Rate limit exceeded. Please try again later.",
+                    "Rate limit exceeded. Please try again later.",
+                    "Bulk search time limit exceeded");
+            assertThat(elapsed).isLessThan(Duration.ofSeconds(3));
+        } finally {
+            service.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should stop searching once the sink fails")
+    void shouldStopSearchingWhenSinkFails() {
+        // Given
+        cacheManager.getCache("citySearch").put("Rome_1_en",
+                List.of(GeocodingResult.of("Rome", 41.89, 12.48, "Italy", "Lazio")));
+        BulkCitySearchService service = new BulkCitySearchService(
+                weatherRepositoryPort, cacheManager, exhaustedRateLimiter(), 2, 100, 100, 60_000, 300_000);
+
+        try {
+            // When
+            long start = System.nanoTime();
+            assertThatThrownBy(() -> service.searchCities(Stream.of("Paris", "Rome", "Oslo").iterator(), null, null,
+                    outcome -> {
+                        throw new IllegalStateException("Client disconnected");
+                    }))
+                    .hasMessage("Client disconnected");
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+            // Then: the search of Paris gave up waiting, Oslo was never read
+            assertThat(elapsed).isLessThan(Duration.ofSeconds(3));
+            verify(weatherRepositoryPort, never()).searchCity(anyString(), anyInt(), anyString());
+        } finally {
+            service.destroy();
+        }
+    }
+
+    /**
+     * A rate limiter whose only permit is taken and not refreshed during the test.
+     */
+    private static RateLimiterRegistry exhaustedRateLimiter() {
+        RateLimiterRegistry registry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(1)
+                .limitRefreshPeriod(Duration.ofMinutes(10))
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        registry.rateLimiter("openMeteoService").acquirePermission();
+        return registry;
+    }
+
+    private List<CitySearchOutcome> search(String... names) {
+        List<CitySearchOutcome> outcomes = new ArrayList<>();
+        bulkCitySearchService.searchCities(Stream.of(names).iterator(), null, null, outcomes::add);
+        outcomes.sort(Comparator.comparingLong(CitySearchOutcome::getLine));
+        return outcomes;
+    }
+}
@@ -0,0 +1,131 @@
+package com.weather.api.application.service;
+
+import com.weather.api.domain.exception.AlertRuleNotFoundException;
+import com.weather.api.domain.model.AlertCondition;
+import com.weather.api.domain.model.AlertEvent;
+import com.weather.api.domain.model.AlertMetric;
+import com.weather.api.domain.model.AlertRule;
+import com.weather.api.domain.model.Weather;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for WeatherAlertService.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("WeatherAlertService Tests")
+class WeatherAlertServiceTest {
+
+    private WeatherAlertService weatherAlertService;
+
+    @BeforeEach
+    void setUp() {
+        weatherAlertService = new WeatherAlertService(new SimpleMeterRegistry(), 0.01, 2, 3, 100);
+    }
+
+    @Test
+    @DisplayName("Should trigger once when a forecast in the rule's cell crosses the threshold")
+    void shouldTriggerOnCrossing() {
+        // Given
+        AlertRule rule = weatherAlertService.createRule(windRule("user-42", 50.0));
+
+        // When
+        weatherAlertService.evaluate(40.4168, -3.7031, windOf(30.0));
+        weatherAlertService.evaluate(40.4168, -3.7031, windOf(55.0));
+        weatherAlertService.evaluate(40.4170, -3.7029, windOf(60.0));
+        weatherAlertService.evaluate(40.4165, -3.70256, windOf(20.0));
+        weatherAlertService.evaluate(40.4165, -3.70256, windOf(52.0));
+
+        // Then
+        List<AlertEvent> events = weatherAlertService.getEvents("user-42", 0);
+        assertThat(events).hasSize(2);
+        assertThat(events).extracting(AlertEvent::getValue).containsExactly(55.0, 52.0);
+        assertThat(events.get(0).getRule().getId()).isEqualTo(rule.getId());
+        assertThat(weatherAlertService.getEvents("user-42", events.get(0).getId())).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("Should only evaluate and refresh the cells that have rules")
+    void shouldOnlyWatchCellsWithRules() {
+        // Given
+        AlertRule rule = weatherAlertService.createRule(windRule("user-42", 50.0));
+
+        // When
+        weatherAlertService.evaluate(48.85341, 2.3488, windOf(80.0));
+
+        // Then
+        assertThat(weatherAlertService.isWatched(40.4168, -3.7031)).isTrue();
+        assertThat(weatherAlertService.isWatched(48.85341, 2.3488)).isFalse();
+        assertThat(weatherAlertService.getEvents("user-42", 0)).isEmpty();
+        assertThat(weatherAlertService.getStaleLocations(Duration.ofMinutes(5))).hasSize(1);
+
+        weatherAlertService.evaluate(40.4165, -3.70256, windOf(10.0));
+        assertThat(weatherAlertService.getStaleLocations(Duration.ofMinutes(5))).isEmpty();
+
+        weatherAlertService.deleteRule(rule.getId());
+        assertThat(weatherAlertService.isWatched(40.4165, -3.70256)).isFalse();
+        assertThatThrownBy(() -> weatherAlertService.deleteRule(rule.getId()))
+                .isInstanceOf(AlertRuleNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should reject rules above the per-subscriber limit")
+    void shouldLimitRulesPerSubscriber() {
+        // Given
+        weatherAlertService.createRule(windRule("user-42", 50.0));
+        weatherAlertService.createRule(windRule("user-42", 70.0));
+
+        // When / Then
+        assertThatThrownBy(() -> weatherAlertService.createRule(windRule("user-42", 90.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(weatherAlertService.getRules("user-42")).hasSize(2);
+        assertThat(weatherAlertService.createRule(windRule("user-7", 90.0)).getId()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should reject rules above the global limit, whatever the subscriber")
+    void shouldLimitRulesOverall() {
+        // Given
+        weatherAlertService.createRule(windRule("user-1", 50.0));
+        weatherAlertService.createRule(windRule("user-2", 50.0));
+        AlertRule last = weatherAlertService.createRule(windRule("user-3", 50.0));
+
+        // When / Then
+        assertThatThrownBy(() -> weatherAlertService.createRule(windRule("user-4", 50.0)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(weatherAlertService.getRules("user-4")).isEmpty();
+
+        weatherAlertService.deleteRule(last.getId());
+        assertThat(weatherAlertService.createRule(windRule("user-4", 50.0)).getId()).isNotNull();
+    }
+
+    private static AlertRule windRule(String subscriber, double threshold) {
+        return AlertRule.builder()
+                .subscriber(subscriber)
+                .latitude(40.4165)
+                .longitude(-3.70256)
+                .metric(AlertMetric.WIND_SPEED)
+                .condition(AlertCondition.ABOVE)
+                .threshold(threshold)
+                .build();
+    }
+
+    private static Weather windOf(double windSpeed) {
+        return Weather.builder()
+                .temperature(20.0)
+                .weatherCode(0)
+                .windSpeed(windSpeed)
+                .latitude(40.42)
+                .longitude(-3.7)
+                .build();
+    }
+}
@@ -1,19 +1,26 @@
 package com.weather.api.application.service;
 
 import com.weather.api.domain.exception.InvalidCoordinatesException;
+import com.weather.api.domain.model.CoordinateKey;
 import com.weather.api.domain.model.GeocodingResult;
 import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.model.WeatherVariable;
 import com.weather.api.domain.port.output.WeatherRepositoryPort;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -24,6 +31,7 @@ import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 /**
@@ -32,12 +40,16 @@ import static org.mockito.Mockito.when;
  * @author Weather API Team
  */
 @ExtendWith(MockitoExtension.class)
+@DisabledInNativeImage // Mockito generates mocks at runtime
 @DisplayName("WeatherService Tests")
 class WeatherServiceTest {
 
     @Mock
     private WeatherRepositoryPort weatherRepositoryPort;
 
+    @Spy
+    private CacheManager cacheManager = new ConcurrentMapCacheManager();
+
     @InjectMocks
     private WeatherService weatherService;
 
@@ -228,4 +240,70 @@ class WeatherServiceTest {
         // Then
         verify(weatherRepositoryPort).searchCity("New York", 10, "en");
     }
+
+    @Test
+    @DisplayName("Should fetch only the weather variables that are not cached yet")
+    void shouldFetchOnlyMissingWeatherVariables() {
+        // Given
+        Double latitude = 40.7128;
+        Double longitude = -74.0060;
+        Weather precipitation = Weather.builder()
+                .time(mockWeather.getTime())
+                .precipitation(0.4)
+                .latitude(latitude)
+                .longitude(longitude)
+                .build();
+
+        when(weatherRepositoryPort.fetchWeatherForecast(latitude, longitude, "auto",
+                EnumSet.of(WeatherVariable.TEMPERATURE)))
+                .thenReturn(mockWeather);
+        when(weatherRepositoryPort.fetchWeatherForecast(latitude, longitude, "auto",
+                EnumSet.of(WeatherVariable.PRECIPITATION)))
+                .thenReturn(precipitation);
+        weatherService.getWeatherForecast(latitude, longitude, "auto", EnumSet.of(WeatherVariable.TEMPERATURE));
+
+        // When
+        Weather result = weatherService.getWeatherForecast(latitude, longitude, "auto",
+                EnumSet.of(WeatherVariable.TEMPERATURE, WeatherVariable.PRECIPITATION));
+
+        // Then
+        assertThat(result.getTemperature()).isEqualTo(15.5);
+        assertThat(result.getPrecipitation()).isEqualTo(0.4);
+        assertThat(result.getHumidity()).isNull();
+        assertThat(result.getWeatherCode()).isNull();
+        verify(weatherRepositoryPort).fetchWeatherForecast(latitude, longitude, "auto",
+                EnumSet.of(WeatherVariable.PRECIPITATION));
+    }
+
+    @Test
+    @DisplayName("Should not cache the last known forecast served during an outage")
+    void shouldNotCacheStaleForecast() {
+        // Given
+        Weather stale = mockWeather.toBuilder().stale(true).build();
+        when(weatherRepositoryPort.fetchWeatherForecast(40.7128, -74.0060, "auto")).thenReturn(stale);
+
+        // When
+        Weather result = weatherService.getWeatherForecast(40.7128, -74.0060, "auto");
+
+        // Then
+        assertThat(result.getStale()).isTrue();
+        assertThat(cacheManager.getCache("weatherForecast").get(CoordinateKey.encode(40.7128, -74.0060))).isNull();
+    }
+
+    @Test
+    @DisplayName("Should serve default weather variables from the cached full forecast")
+    void shouldServeDefaultVariablesFromCachedForecast() {
+        // Given
+        cacheManager.getCache("weatherForecast").put(CoordinateKey.encode(40.7128, -74.0060), mockWeather);
+
+        // When
+        Weather result = weatherService.getWeatherForecast(40.7128, -74.0060, "auto",
+                EnumSet.of(WeatherVariable.WIND_SPEED, WeatherVariable.HUMIDITY));
+
+        // Then
+        assertThat(result.getWindSpeed()).isEqualTo(12.3);
+        assertThat(result.getHumidity()).isEqualTo(65);
+        assertThat(result.getTemperature()).isNull();
+        verifyNoInteractions(weatherRepositoryPort);
+    }
 }
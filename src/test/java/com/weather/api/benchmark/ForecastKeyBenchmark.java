@@ -0,0 +1,91 @@
+package com.weather.api.benchmark;
+
+import com.weather.api.domain.model.CoordinateKey;
+import com.weather.api.domain.model.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of validating the coordinates of a forecast request and building its cache key:
+ * a {@link Location} and the {@code #latitude + '_' + #longitude} SpEL key over boxed
+ * arguments, as {@code @Cacheable} did, against primitive validation and a
+ * {@link CoordinateKey}.
+ * Run with {@code scripts/run-benchmarks.sh ForecastKeyBenchmark -prof gc} to see the allocation rates.
+ *
+ * @author Weather API Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForecastKeyBenchmark {
+
+    private static final int COORDINATES = 1024;
+
+    private final double[] latitudes = new double[COORDINATES];
+    private final double[] longitudes = new double[COORDINATES];
+    private Expression spelKey;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < COORDINATES; i++) {
+            latitudes[i] = Math.round((random.nextDouble() * 180 - 90) * 10_000) / 10_000d;
+            longitudes[i] = Math.round((random.nextDouble() * 360 - 180) * 10_000) / 10_000d;
+        }
+        spelKey = new SpelExpressionParser().parseExpression("#latitude + '_' + #longitude");
+    }
+
+    @Benchmark
+    public Object spelStringKey() {
+        int i = next();
+        Double latitude = latitudes[i];
+        Double longitude = longitudes[i];
+        Location location = Location.builder().latitude(latitude).longitude(longitude).build();
+        if (!location.isValid()) {
+            throw new IllegalArgumentException();
+        }
+        StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("latitude", latitude);
+        context.setVariable("longitude", longitude);
+        return spelKey.getValue(context);
+    }
+
+    @Benchmark
+    public Object concatenatedStringKey() {
+        int i = next();
+        Location location = Location.builder().latitude(latitudes[i]).longitude(longitudes[i]).build();
+        if (!location.isValid()) {
+            throw new IllegalArgumentException();
+        }
+        return latitudes[i] + "_" + longitudes[i];
+    }
+
+    @Benchmark
+    public long coordinateKey() {
+        int i = next();
+        return CoordinateKey.encode(latitudes[i], longitudes[i]);
+    }
+
+    private int next() {
+        next = (next + 1) & (COORDINATES - 1);
+        return next;
+    }
+}
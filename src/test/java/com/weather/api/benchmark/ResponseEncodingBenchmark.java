@@ -0,0 +1,136 @@
+package com.weather.api.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.weather.api.application.dto.response.CitySearchResponse;
+import com.weather.api.application.dto.response.CurrentWeatherDTO;
+import com.weather.api.application.dto.response.GeocodingResultDTO;
+import com.weather.api.application.dto.response.WeatherForecastResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encode time of the API responses as JSON, gzip-compressed JSON (what
+ * {@code server.compression} sends), CBOR and Smile.
+ * Payload sizes of each encoding are printed once per fork.
+ * Run with {@code scripts/run-benchmarks.sh ResponseEncodingBenchmark}.
+ *
+ * @author Weather API Team
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @Param({"forecast", "search"})
+    private String response;
+
+    private Object payload;
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    @Setup
+    public void setUp() throws IOException {
+        payload = "forecast".equals(response) ? forecast() : search();
+        json = mapper(new JsonFactory());
+        cbor = mapper(new CBORFactory());
+        smile = mapper(SmileFactory.builder().enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES).build());
+
+        System.out.printf("%n%s payload bytes: json=%d, json+gzip=%d, cbor=%d, smile=%d%n",
+                response, json().length, jsonGzip().length, cbor().length, smile().length);
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return json.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] jsonGzip() throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            json.writeValue(gzip, payload);
+        }
+        return buffer.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cbor.writeValueAsBytes(payload);
+    }
+
+    @Benchmark
+    public byte[] smile() throws IOException {
+        return smile.writeValueAsBytes(payload);
+    }
+
+    /**
+     * Same settings as the application's Jackson configuration.
+     */
+    private static ObjectMapper mapper(JsonFactory factory) {
+        return Jackson2ObjectMapperBuilder.json()
+                .factory(factory)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+    }
+
+    private static WeatherForecastResponse forecast() {
+        return WeatherForecastResponse.builder()
+                .latitude(40.7128)
+                .longitude(-74.006)
+                .timezone("America/New_York")
+                .current(CurrentWeatherDTO.builder()
+                        .time(LocalDateTime.of(2025, 11, 15, 10, 30))
+                        .temperature(15.5)
+                        .weatherCode(2)
+                        .windSpeed(12.3)
+                        .humidity(65)
+                        .build())
+                .build();
+    }
+
+    private static CitySearchResponse search() {
+        List<GeocodingResultDTO> results = IntStream.range(0, 10)
+                .mapToObj(i -> GeocodingResultDTO.builder()
+                        .id("58561ce0776efb9" + i)
+                        .name("Springfield")
+                        .latitude(39.7817 + i)
+                        .longitude(-89.6501 - i)
+                        .country("United States")
+                        .admin1("Illinois")
+                        .displayName("Springfield, Illinois, United States")
+                        .build())
+                .toList();
+        return CitySearchResponse.builder()
+                .results(results)
+                .build();
+    }
+}
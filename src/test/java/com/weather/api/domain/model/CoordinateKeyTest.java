@@ -0,0 +1,41 @@
+package com.weather.api.domain.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for CoordinateKey.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("CoordinateKey Tests")
+class CoordinateKeyTest {
+
+    @Test
+    @DisplayName("Should decode the coordinates it encoded, to the millionth of a degree")
+    void shouldRoundTripCoordinates() {
+        // Given
+        double[][] coordinates = {{40.7128, -74.006}, {-33.868820, 151.209296}, {90, 180}, {-90, -180}, {0, 0}};
+
+        for (double[] coordinate : coordinates) {
+            // When
+            long key = CoordinateKey.encode(coordinate[0], coordinate[1]);
+
+            // Then
+            assertThat(CoordinateKey.latitude(key)).isEqualTo(coordinate[0]);
+            assertThat(CoordinateKey.longitude(key)).isEqualTo(coordinate[1]);
+        }
+        assertThat(CoordinateKey.encode(40.7128, -74.006)).isNotEqualTo(CoordinateKey.encode(-74.006, 40.7128));
+    }
+
+    @Test
+    @DisplayName("Should reject coordinates out of range")
+    void shouldRejectInvalidCoordinates() {
+        assertThatThrownBy(() -> CoordinateKey.encode(90.5, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CoordinateKey.encode(0, -180.1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CoordinateKey.encode(Double.NaN, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
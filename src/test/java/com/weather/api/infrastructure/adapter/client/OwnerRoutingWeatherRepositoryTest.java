@@ -0,0 +1,307 @@
+package com.weather.api.infrastructure.adapter.client;
+
+import com.weather.api.domain.exception.CityNotFoundException;
+import com.weather.api.domain.exception.ExternalApiException;
+import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.model.WeatherVariable;
+import com.weather.api.domain.port.output.WeatherRepositoryPort;
+import com.weather.api.infrastructure.cache.CacheValueCodec;
+import com.weather.api.infrastructure.cluster.ClusterMembership;
+import com.weather.api.infrastructure.cluster.InMemoryMembershipStore;
+import feign.FeignException;
+import feign.Request;
+import feign.Response;
+import feign.RetryableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for OwnerRoutingWeatherRepository, with several instances of the service
+ * in one process: they share an in-memory membership store and forward to each other
+ * through an in-process stand-in for the peer client.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("OwnerRoutingWeatherRepository Tests")
+class OwnerRoutingWeatherRepositoryTest {
+
+    private static final double LATITUDE = 40.4168;
+    private static final double LONGITUDE = -3.7038;
+
+    private final InMemoryMembershipStore store = new InMemoryMembershipStore();
+    private final Map<String, OwnerRoutingWeatherRepository> nodes = new HashMap<>();
+    private final CacheValueCodec codec = CacheValueCodec.forResponseCaches();
+    private final CountingUpstream upstream = new CountingUpstream();
+
+    @Test
+    @DisplayName("Should fetch a location once for concurrent misses on every instance")
+    void shouldCoalesceMissesAcrossInstances() throws Exception {
+        // Given
+        List<OwnerRoutingWeatherRepository> cluster = startCluster(3, new InProcessPeerClient());
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<Weather>> results = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            OwnerRoutingWeatherRepository node = cluster.get(i % cluster.size());
+            results.add(executor.submit(() -> {
+                start.await();
+                return node.fetchWeatherForecast(LATITUDE, LONGITUDE, "auto");
+            }));
+        }
+        start.countDown();
+        for (Future<Weather> result : results) {
+            assertThat(result.get().getTemperature()).isEqualTo(18.5);
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(upstream.calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should route coordinates that share a cache key as one location")
+    void shouldRouteByCacheKey() throws Exception {
+        // Given: the same location, written differently beyond the cache key precision
+        List<OwnerRoutingWeatherRepository> cluster = startCluster(3, new InProcessPeerClient());
+        double[] latitudes = {LATITUDE, 40.41680000004, 40.4167999999};
+        ExecutorService executor = Executors.newFixedThreadPool(latitudes.length);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<Weather>> results = new ArrayList<>();
+        for (int i = 0; i < latitudes.length; i++) {
+            OwnerRoutingWeatherRepository node = cluster.get(i);
+            double latitude = latitudes[i];
+            results.add(executor.submit(() -> {
+                start.await();
+                return node.fetchWeatherForecast(latitude, LONGITUDE, "auto");
+            }));
+        }
+        start.countDown();
+        for (Future<Weather> result : results) {
+            result.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(upstream.calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should fetch locally when the owner cannot be reached")
+    void shouldFallBackWhenOwnerUnreachable() {
+        // Given
+        List<OwnerRoutingWeatherRepository> cluster = startCluster(2, new UnreachablePeerClient());
+
+        // When
+        cluster.forEach(node -> node.searchCity("Madrid", 10, "es"));
+
+        // Then
+        assertThat(upstream.calls).hasValue(2);
+    }
+
+    @Test
+    @DisplayName("Should pass on the owner's not found answer without searching locally")
+    void shouldPassOwnerNotFoundThrough() {
+        // Given
+        List<OwnerRoutingWeatherRepository> cluster = startCluster(2, new AnsweringPeerClient(404));
+
+        // When
+        List<RuntimeException> failures = new ArrayList<>();
+        for (OwnerRoutingWeatherRepository node : cluster) {
+            try {
+                node.searchCity("Atlantis", 10, "es");
+            } catch (RuntimeException e) {
+                failures.add(e);
+            }
+        }
+
+        // Then: only the owner searched upstream
+        assertThat(failures).singleElement()
+                .isInstanceOfSatisfying(CityNotFoundException.class,
+                        e -> assertThat(e).hasMessage("No results found for city: Atlantis"));
+        assertThat(upstream.calls).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should pass on the owner's unavailable answer without fetching locally")
+    void shouldPassOwnerUnavailableThrough() {
+        // Given
+        List<OwnerRoutingWeatherRepository> cluster = startCluster(2, new AnsweringPeerClient(503));
+
+        // When
+        List<RuntimeException> failures = new ArrayList<>();
+        for (OwnerRoutingWeatherRepository node : cluster) {
+            try {
+                node.fetchWeatherForecast(LATITUDE, LONGITUDE, "auto");
+            } catch (RuntimeException e) {
+                failures.add(e);
+            }
+        }
+
+        // Then
+        assertThat(failures).singleElement()
+                .isInstanceOfSatisfying(ExternalApiException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(503));
+        assertThat(upstream.calls).hasValue(1);
+    }
+
+    private List<OwnerRoutingWeatherRepository> startCluster(int size, ClusterPeerFeignClient peerClient) {
+        List<ClusterMembership> memberships = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            memberships.add(new ClusterMembership(store, "http://node-" + i, Duration.ofMinutes(1),
+                    new SimpleMeterRegistry()));
+        }
+        memberships.forEach(ClusterMembership::heartbeat);
+        memberships.forEach(ClusterMembership::heartbeat);
+
+        List<OwnerRoutingWeatherRepository> cluster = new ArrayList<>();
+        for (ClusterMembership membership : memberships) {
+            OwnerRoutingWeatherRepository node = new OwnerRoutingWeatherRepository(upstream, peerClient,
+                    membership, new SimpleMeterRegistry(), 2000, 100);
+            nodes.put(membership.nodeId(), node);
+            cluster.add(node);
+        }
+        return cluster;
+    }
+
+    private byte[] encode(Object value) {
+        try {
+            return codec.encode(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Delivers forwarded lookups to the owning instance in this process.
+     */
+    private class InProcessPeerClient implements ClusterPeerFeignClient {
+
+        @Override
+        public byte[] getWeatherForecast(URI peer, Double latitude, Double longitude, String timezone,
+                                         Request.Options options) {
+            OwnerRoutingWeatherRepository owner = nodes.get(peer.toString());
+            return encode(owner.serveForwarded(() -> owner.fetchWeatherForecast(latitude, longitude, timezone)));
+        }
+
+        @Override
+        public byte[] searchCity(URI peer, String name, Integer count, String language, Request.Options options) {
+            OwnerRoutingWeatherRepository owner = nodes.get(peer.toString());
+            return encode(owner.serveForwarded(() -> owner.searchCity(name, count, language)));
+        }
+    }
+
+    private static Request request(URI peer, String path) {
+        return Request.create(Request.HttpMethod.GET, peer + path, Map.of(), null, StandardCharsets.UTF_8, null);
+    }
+
+    /**
+     * Fails the way Feign does when the connection is refused.
+     */
+    private static class UnreachablePeerClient implements ClusterPeerFeignClient {
+
+        @Override
+        public byte[] getWeatherForecast(URI peer, Double latitude, Double longitude, String timezone,
+                                         Request.Options options) {
+            throw refused(request(peer, "/internal/v1/forecast"));
+        }
+
+        @Override
+        public byte[] searchCity(URI peer, String name, Integer count, String language, Request.Options options) {
+            throw refused(request(peer, "/internal/v1/search"));
+        }
+
+        private static RetryableException refused(Request request) {
+            ConnectException cause = new ConnectException("Connection refused");
+            return new RetryableException(-1, cause.getMessage(), request.httpMethod(), cause, (Long) null, request);
+        }
+    }
+
+    /**
+     * Owner that answers every forwarded lookup with an error status.
+     */
+    private record AnsweringPeerClient(int status) implements ClusterPeerFeignClient {
+
+        @Override
+        public byte[] getWeatherForecast(URI peer, Double latitude, Double longitude, String timezone,
+                                         Request.Options options) {
+            throw answer(request(peer, "/internal/v1/forecast"));
+        }
+
+        @Override
+        public byte[] searchCity(URI peer, String name, Integer count, String language, Request.Options options) {
+            throw answer(request(peer, "/internal/v1/search"));
+        }
+
+        private FeignException answer(Request request) {
+            Response response = Response.builder()
+                    .status(status)
+                    .reason("Error")
+                    .request(request)
+                    .headers(Map.of())
+                    .build();
+            return FeignException.errorStatus("ClusterPeerFeignClient", response);
+        }
+    }
+
+    /**
+     * Open-Meteo stand-in that takes long enough for concurrent requests to overlap.
+     */
+    private static class CountingUpstream implements WeatherRepositoryPort {
+
+        private final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public Weather fetchWeatherForecast(Double latitude, Double longitude, String timezone) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(300);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return Weather.builder().latitude(latitude).longitude(longitude).temperature(18.5).build();
+        }
+
+        @Override
+        public Weather fetchWeatherForecast(Double latitude, Double longitude, String timezone,
+                                            Set<WeatherVariable> variables) {
+            return fetchWeatherForecast(latitude, longitude, timezone);
+        }
+
+        @Override
+        public List<Weather> fetchWeatherForecasts(List<Location> locations, String timezone) {
+            return List.of();
+        }
+
+        @Override
+        public List<GeocodingResult> searchCity(String cityName, Integer count, String language) {
+            calls.incrementAndGet();
+            return List.of(GeocodingResult.of(cityName, LATITUDE, LONGITUDE, "Spain", "Madrid"));
+        }
+    }
+}
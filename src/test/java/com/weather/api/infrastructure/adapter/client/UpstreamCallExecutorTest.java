@@ -0,0 +1,122 @@
+package com.weather.api.infrastructure.adapter.client;
+
+import com.weather.api.domain.exception.ExternalApiException;
+import com.weather.api.infrastructure.monitoring.UpstreamCallMonitor;
+import io.github.resilience4j.timelimiter.TimeLimiterConfig;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for UpstreamCallExecutor and its RetryBudget.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("UpstreamCallExecutor Tests")
+class UpstreamCallExecutorTest {
+
+    private UpstreamCallExecutor executor;
+
+    @AfterEach
+    void tearDown() {
+        if (executor != null) {
+            executor.destroy();
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the hedged attempt when the first one is slow")
+    void shouldReturnHedgedAttemptWhenFirstIsSlow() {
+        // Given
+        executor = executor(true, retryBudget(10));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = executor.execute(() -> attempts.incrementAndGet() == 1 ? slow("first") : "second", true);
+
+        // Then
+        assertThat(result).isEqualTo("second");
+        assertThat(attempts.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should not hedge when the retry budget is used up")
+    void shouldNotHedgeWithoutRetryBudget() {
+        // Given
+        executor = executor(true, retryBudget(0));
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        String result = executor.execute(() -> attempts.incrementAndGet() == 1 ? slow("first") : "second", true);
+
+        // Then
+        assertThat(result).isEqualTo("first");
+        assertThat(attempts.get()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should fail with ExternalApiException when the time limit is exceeded")
+    void shouldFailWhenTimeLimitExceeded() {
+        // Given
+        executor = executor(false, retryBudget(10));
+
+        // When & Then
+        assertThatThrownBy(() -> executor.execute(() -> sleep(2_000, "late"), true))
+                .isInstanceOf(ExternalApiException.class)
+                .hasMessageContaining("did not respond");
+    }
+
+    @Test
+    @DisplayName("Should cap retries at a share of recent attempts")
+    void shouldCapRetriesAtShareOfAttempts() {
+        // Given
+        RetryBudget retryBudget = new RetryBudget(new SimpleMeterRegistry(), 0.1, 0, 10_000);
+        for (int i = 0; i < 100; i++) {
+            retryBudget.recordAttempt();
+        }
+
+        // When
+        int granted = 0;
+        for (int i = 0; i < 50; i++) {
+            if (retryBudget.tryAcquire()) {
+                granted++;
+            }
+        }
+
+        // Then
+        assertThat(granted).isEqualTo(10);
+    }
+
+    private UpstreamCallExecutor executor(boolean hedging, RetryBudget retryBudget) {
+        TimeLimiterRegistry timeLimiterRegistry = TimeLimiterRegistry.of(TimeLimiterConfig.custom()
+                .timeoutDuration(Duration.ofMillis(1_000))
+                .build());
+        return new UpstreamCallExecutor(new UpstreamCallMonitor(16), retryBudget, timeLimiterRegistry,
+                new SimpleMeterRegistry(), 4, 16, hedging, 50, 50, Duration.ofMinutes(5));
+    }
+
+    private static RetryBudget retryBudget(int minRetries) {
+        return new RetryBudget(new SimpleMeterRegistry(), 0.0, minRetries, 10_000);
+    }
+
+    private static String slow(String value) {
+        return sleep(300, value);
+    }
+
+    private static String sleep(long millis, String value) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,104 @@
+package com.weather.api.infrastructure.adapter.rest;
+
+import io.airlift.compress.zstd.ZstdDecompressor;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ResponseCompressionFilter.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("ResponseCompressionFilter Tests")
+class ResponseCompressionFilterTest {
+
+    private static final String LARGE_BODY = "{\"results\":[" + "{\"name\":\"Springfield\"},".repeat(100) + "{}]}";
+
+    private MeterRegistry meterRegistry;
+    private ResponseCompressionFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ResponseCompressionFilter(meterRegistry, 1024, List.of(MediaType.APPLICATION_JSON),
+                Set.of("/api/v1/weather/search/bulk"), 100, 60_000);
+    }
+
+    @Test
+    @DisplayName("Should compress with zstd when preferred and reuse the variant for an unchanged body")
+    void shouldCompressWithZstdAndReuseVariant() throws Exception {
+        // When
+        MockHttpServletResponse first = perform("zstd, gzip;q=0.8", LARGE_BODY);
+        MockHttpServletResponse second = perform("zstd, gzip;q=0.8", LARGE_BODY);
+
+        // Then
+        assertThat(first.getHeader("Content-Encoding")).isEqualTo("zstd");
+        assertThat(first.getHeader("Vary")).isEqualTo("Accept-Encoding");
+        byte[] encoded = first.getContentAsByteArray();
+        byte[] decoded = new byte[(int) ZstdDecompressor.getDecompressedSize(encoded, 0, encoded.length)];
+        new ZstdDecompressor().decompress(encoded, 0, encoded.length, decoded, 0, decoded.length);
+        assertThat(new String(decoded, StandardCharsets.UTF_8)).isEqualTo(LARGE_BODY);
+
+        assertThat(second.getContentAsByteArray()).isEqualTo(encoded);
+        assertThat(meterRegistry.counter("http.server.compression", "encoding", "zstd", "variant", "compressed").count())
+                .isEqualTo(1.0);
+        assertThat(meterRegistry.counter("http.server.compression", "encoding", "zstd", "variant", "reused").count())
+                .isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("Should compress with gzip when zstd is not accepted")
+    void shouldCompressWithGzipWhenZstdNotAccepted() throws Exception {
+        // When
+        MockHttpServletResponse response = perform("gzip, deflate, zstd;q=0", LARGE_BODY);
+
+        // Then
+        assertThat(response.getHeader("Content-Encoding")).isEqualTo("gzip");
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(response.getContentAsByteArray()))) {
+            assertThat(new String(gzip.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(LARGE_BODY);
+        }
+    }
+
+    @Test
+    @DisplayName("Should send bodies below the minimum size uncompressed")
+    void shouldNotCompressSmallBodies() throws Exception {
+        // Given
+        String smallBody = "{\"latitude\":40.7128,\"current\":{\"temperature\":15.5}}";
+
+        // When
+        MockHttpServletResponse response = perform("zstd, gzip", smallBody);
+
+        // Then
+        assertThat(response.getHeader("Content-Encoding")).isNull();
+        assertThat(response.getContentAsString()).isEqualTo(smallBody);
+    }
+
+    private MockHttpServletResponse perform(String acceptEncoding, String body) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/weather/search");
+        request.setQueryString("name=Springfield");
+        request.addHeader("Accept-Encoding", acceptEncoding);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        FilterChain chain = (req, res) -> {
+            res.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            res.getOutputStream().write(body.getBytes(StandardCharsets.UTF_8));
+        };
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
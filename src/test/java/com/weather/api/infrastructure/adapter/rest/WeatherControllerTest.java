@@ -1,5 +1,9 @@
 package com.weather.api.infrastructure.adapter.rest;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.weather.api.application.dto.response.CurrentWeatherDTO;
+import com.weather.api.application.dto.response.WeatherForecastResponse;
 import com.weather.api.application.mapper.GeocodingMapper;
 import com.weather.api.application.mapper.WeatherMapper;
 import com.weather.api.domain.exception.CityNotFoundException;
@@ -7,12 +11,22 @@ import com.weather.api.domain.exception.ExternalApiException;
 import com.weather.api.domain.exception.InvalidCoordinatesException;
 import com.weather.api.domain.model.GeocodingResult;
 import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.port.input.BulkCitySearchUseCase;
 import com.weather.api.domain.port.input.WeatherUseCase;
+import com.weather.api.infrastructure.config.BinaryFormatConfig;
+import com.weather.api.infrastructure.logging.ErrorLogThrottle;
+import com.weather.api.infrastructure.trace.RequestTraceRecorder;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.aot.DisabledInAotMode;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDateTime;
@@ -20,11 +34,14 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -34,6 +51,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * @author Weather API Team
  */
 @WebMvcTest(WeatherController.class)
+@Import({ErrorLogThrottle.class, BinaryFormatConfig.class, SimpleMeterRegistry.class, RequestTraceRecorder.class})
+@DisabledInAotMode // @MockBean is not supported in AOT mode
 @DisplayName("WeatherController Tests")
 class WeatherControllerTest {
 
@@ -43,6 +62,9 @@ class WeatherControllerTest {
     @MockBean
     private WeatherUseCase weatherUseCase;
 
+    @MockBean
+    private BulkCitySearchUseCase bulkCitySearchUseCase;
+
     @MockBean
     private WeatherMapper weatherMapper;
 
@@ -146,6 +168,26 @@ class WeatherControllerTest {
                 .andExpect(status().isServiceUnavailable());
     }
 
+    @Test
+    @DisplayName("GET /api/v1/weather/forecast should return the fixed 429 error body when rate limited")
+    void shouldReturn429WhenRateLimited() throws Exception {
+        // Given
+        when(weatherUseCase.getWeatherForecast(eq(40.7128), eq(-74.0060), anyString()))
+                .thenThrow(RequestNotPermitted.createRequestNotPermitted(RateLimiter.ofDefaults("openMeteoService")));
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/api/v1/weather/forecast")
+                            .param("latitude", "40.7128")
+                            .param("longitude", "-74.0060"))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(jsonPath("$.status").value(429))
+                    .andExpect(jsonPath("$.error").value("Too Many Requests"))
+                    .andExpect(jsonPath("$.message").value("Rate limit exceeded. Please try again later."))
+                    .andExpect(jsonPath("$.timestamp").exists());
+        }
+    }
+
     @Test
     @DisplayName("GET /api/v1/weather/search should return 200 with valid city name")
     void shouldReturnCitySearchResultsWithValidName() throws Exception {
@@ -210,4 +252,36 @@ class WeatherControllerTest {
                         .param("count", "21"))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("GET /api/v1/weather/forecast should return CBOR when the client accepts it")
+    void shouldReturnCborWhenAccepted() throws Exception {
+        // Given
+        when(weatherUseCase.getWeatherForecast(eq(40.7128), eq(-74.0060), anyString()))
+                .thenReturn(Weather.builder().latitude(40.7128).longitude(-74.0060).build());
+        when(weatherMapper.toResponse(any(Weather.class)))
+                .thenReturn(WeatherForecastResponse.builder()
+                        .latitude(40.7128)
+                        .longitude(-74.0060)
+                        .timezone("America/New_York")
+                        .current(CurrentWeatherDTO.builder().temperature(15.5).weatherCode(2).build())
+                        .build());
+
+        // When
+        byte[] body = mockMvc.perform(get("/api/v1/weather/forecast")
+                        .param("latitude", "40.7128")
+                        .param("longitude", "-74.0060")
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray();
+
+        // Then
+        JsonNode response = new CBORMapper().readTree(body);
+        assertThat(response.path("timezone").asText()).isEqualTo("America/New_York");
+        assertThat(response.path("current").path("temperature").asDouble()).isEqualTo(15.5);
+        assertThat(response.path("current").has("humidity")).isFalse();
+    }
 }
@@ -0,0 +1,72 @@
+package com.weather.api.infrastructure.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for HotKeyTracker.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("HotKeyTracker Tests")
+class HotKeyTrackerTest {
+
+    private HotKeyTracker hotKeyTracker;
+
+    @BeforeEach
+    void setUp() {
+        hotKeyTracker = new HotKeyTracker(1024, 64);
+    }
+
+    @Test
+    @DisplayName("Should return the most frequent keys first")
+    void shouldReturnMostFrequentKeysFirst() {
+        // Given
+        record("40.7128_-74.006", 50);
+        record("51.5074_-0.1278", 30);
+        record("35.6762_139.6503", 10);
+
+        // When
+        List<Object> hottest = hotKeyTracker.topK(2);
+
+        // Then
+        assertThat(hottest).containsExactly("40.7128_-74.006", "51.5074_-0.1278");
+    }
+
+    @Test
+    @DisplayName("Should only track lookups of the weather forecast cache")
+    void shouldOnlyTrackWeatherForecastCache() {
+        // When
+        hotKeyTracker.onAccess("citySearch", "New York_10_en");
+        hotKeyTracker.onAccess("weatherForecast", "40.7128_-74.006");
+
+        // Then
+        assertThat(hotKeyTracker.topK(10)).containsExactly("40.7128_-74.006");
+    }
+
+    @Test
+    @DisplayName("Should keep hot keys tracked when many cold keys are seen")
+    void shouldKeepHotKeysUnderColdKeyChurn() {
+        // Given
+        record("40.7128_-74.006", 100);
+
+        // When
+        for (int i = 0; i < 5_000; i++) {
+            hotKeyTracker.record("cold_" + i);
+        }
+
+        // Then
+        assertThat(hotKeyTracker.topK(1)).containsExactly("40.7128_-74.006");
+    }
+
+    private void record(String key, int times) {
+        for (int i = 0; i < times; i++) {
+            hotKeyTracker.record(key);
+        }
+    }
+}
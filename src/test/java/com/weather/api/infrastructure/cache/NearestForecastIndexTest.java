@@ -0,0 +1,81 @@
+package com.weather.api.infrastructure.cache;
+
+import com.weather.api.domain.model.CoordinateKey;
+import com.weather.api.domain.model.Weather;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for NearestForecastIndex.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("NearestForecastIndex Tests")
+class NearestForecastIndexTest {
+
+    private static final String CACHE = NearestForecastIndex.TRACKED_CACHE;
+
+    private NearestForecastIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new NearestForecastIndex(new SimpleMeterRegistry(), true, 3);
+    }
+
+    @Test
+    @DisplayName("Should return the nearest cached forecast within the radius, marked approximate")
+    void shouldFindNearestWithinRadius() {
+        // Given
+        index.onPut(CACHE, key(40.4168, -3.7038), weather(21.0));
+        index.onPut(CACHE, key(40.43, -3.69), weather(22.0));
+        index.onPut(CACHE, key(40.4, -3.6), weather(23.0));
+        index.onPut(CACHE, key(0.0, 179.99), weather(30.0));
+
+        // When / Then
+        assertThat(index.findNearest(40.425, -3.695)).hasValueSatisfying(weather -> {
+            assertThat(weather.getTemperature()).isEqualTo(22.0);
+            assertThat(weather.getApproximate()).isTrue();
+        });
+        assertThat(index.findNearest(40.5, -3.7)).isEmpty();
+        assertThat(index.findNearest(0.0, -179.99))
+                .hasValueSatisfying(weather -> assertThat(weather.getTemperature()).isEqualTo(30.0));
+    }
+
+    @Test
+    @DisplayName("Should drop evicted forecasts unless a newer one replaced them")
+    void shouldFollowEvictions() {
+        // Given
+        Weather expired = weather(21.0);
+        Weather replaced = weather(22.0);
+        Weather current = weather(23.0);
+        index.onPut(CACHE, key(40.4168, -3.7038), expired);
+        index.onPut(CACHE, key(40.43, -3.69), replaced);
+        index.onPut(CACHE, key(40.43, -3.69), current);
+
+        // When
+        index.onEvict(CACHE, key(40.4168, -3.7038), expired);
+        index.onEvict(CACHE, key(40.43, -3.69), replaced);
+
+        // Then
+        assertThat(index.findNearest(40.4168, -3.7038))
+                .hasValueSatisfying(weather -> assertThat(weather.getTemperature()).isEqualTo(23.0));
+        index.onEvict(CACHE, key(40.43, -3.69), current);
+        assertThat(index.findNearest(40.4168, -3.7038)).isEmpty();
+    }
+
+    private static Long key(double latitude, double longitude) {
+        return CoordinateKey.encode(latitude, longitude);
+    }
+
+    private static Weather weather(double temperature) {
+        return Weather.builder()
+                .temperature(temperature)
+                .weatherCode(1)
+                .windSpeed(10.0)
+                .build();
+    }
+}
@@ -0,0 +1,123 @@
+package com.weather.api.infrastructure.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.weather.api.domain.model.CoordinateKey;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.infrastructure.config.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TwoLevelCache and SharedCacheTier, with two tiers on one
+ * in-memory store standing in for two instances of the service sharing Redis.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("TwoLevelCache Tests")
+class TwoLevelCacheTest {
+
+    private static final String CACHE = "weatherForecast";
+    private static final Long KEY = CoordinateKey.encode(40.7128, -74.006);
+    private static final Duration TTL = Duration.ofMinutes(5);
+
+    private final InMemorySharedCacheStore store = new InMemorySharedCacheStore();
+
+    @Test
+    @DisplayName("Should serve a value loaded by another instance without loading it again")
+    void shouldServeValueLoadedByAnotherInstance() {
+        // Given
+        Cache podA = twoLevelCache(store, Duration.ofMillis(50));
+        Cache podB = twoLevelCache(store, Duration.ofMillis(50));
+        AtomicInteger loads = new AtomicInteger();
+        podA.get(KEY, () -> weather(21.5, loads));
+
+        // When
+        Weather weather = podB.get(KEY, () -> weather(99.0, loads));
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(weather.getTemperature()).isEqualTo(21.5);
+        assertThat(weather.getTime()).isEqualTo(LocalDateTime.of(2026, 1, 15, 12, 0));
+    }
+
+    @Test
+    @DisplayName("Should drop the local copy of other instances when a value is replaced")
+    void shouldInvalidateOtherInstancesOnPut() {
+        // Given
+        Cache podA = twoLevelCache(store, Duration.ofMillis(50));
+        Cache podB = twoLevelCache(store, Duration.ofMillis(50));
+        podA.put(KEY, weather(10.0, new AtomicInteger()));
+        assertThat(podB.get(KEY, Weather.class).getTemperature()).isEqualTo(10.0);
+
+        // When
+        podA.put(KEY, weather(12.0, new AtomicInteger()));
+
+        // Then
+        assertThat(podB.get(KEY, Weather.class).getTemperature()).isEqualTo(12.0);
+    }
+
+    @Test
+    @DisplayName("Should treat a slow shared store as a miss and then stop asking it")
+    void shouldBypassSlowSharedStore() {
+        // Given
+        CountingStallingStore stalling = new CountingStallingStore();
+        Cache cache = twoLevelCache(stalling, Duration.ofMillis(20));
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            cache.get(KEY + i, () -> weather(20.0, loads));
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then
+        assertThat(loads).hasValue(10);
+        assertThat(stalling.reads).hasValue(3);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(1));
+    }
+
+    private static Cache twoLevelCache(SharedCacheStore store, Duration timeout) {
+        SharedCacheTier tier = new SharedCacheTier(store,
+                new CacheValueCodec().register(CACHE, new TypeReference<Weather>() { }),
+                new SimpleMeterRegistry(), "test", timeout, 3, Duration.ofMinutes(1));
+        Cache local = new CaffeineCache(CACHE, CacheConfig.caffeineCacheBuilder(100, TTL).build());
+        return tier.decorate(local, TTL);
+    }
+
+    private static Weather weather(double temperature, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return Weather.builder()
+                .time(LocalDateTime.of(2026, 1, 15, 12, 0))
+                .temperature(temperature)
+                .weatherCode(1)
+                .windSpeed(3.5)
+                .latitude(40.7128)
+                .longitude(-74.006)
+                .build();
+    }
+
+    /**
+     * A store whose reads never complete, as when Redis stops answering.
+     */
+    private static class CountingStallingStore extends InMemorySharedCacheStore {
+
+        private final AtomicInteger reads = new AtomicInteger();
+
+        @Override
+        public CompletableFuture<byte[]> get(String key) {
+            reads.incrementAndGet();
+            return new CompletableFuture<>();
+        }
+    }
+}
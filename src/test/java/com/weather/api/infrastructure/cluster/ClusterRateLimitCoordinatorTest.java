@@ -0,0 +1,215 @@
+package com.weather.api.infrastructure.cluster;
+
+import com.weather.api.infrastructure.adapter.client.OpenMeteoClientImpl;
+import com.weather.api.infrastructure.adapter.client.OpenMeteoFeignClient;
+import com.weather.api.infrastructure.adapter.client.RetryBudget;
+import com.weather.api.infrastructure.adapter.client.UpstreamCallExecutor;
+import com.weather.api.infrastructure.adapter.client.dto.OpenMeteoWeatherResponse;
+import com.weather.api.infrastructure.cache.NearestForecastIndex;
+import com.weather.api.infrastructure.logging.ErrorLogThrottle;
+import com.weather.api.infrastructure.monitoring.UpstreamCallMonitor;
+import com.weather.api.infrastructure.snapshot.LastKnownGoodStore;
+import feign.Request;
+import io.github.resilience4j.ratelimiter.RateLimiter;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import io.github.resilience4j.ratelimiter.RequestNotPermitted;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ClusterRateLimitCoordinator and ClusterMembership, with several
+ * instances of the service in one process sharing an in-memory membership store.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("ClusterRateLimitCoordinator Tests")
+class ClusterRateLimitCoordinatorTest {
+
+    private static final int CLUSTER_LIMIT = 60;
+    private static final Duration PERIOD = Duration.ofMillis(100);
+
+    private final InMemoryMembershipStore store = new InMemoryMembershipStore();
+    private final List<UpstreamCallExecutor> executors = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        executors.forEach(UpstreamCallExecutor::destroy);
+    }
+
+    @Test
+    @DisplayName("Should divide the rate limit between the instances that joined")
+    void shouldDivideLimitBetweenInstances() {
+        // Given
+        List<Node> nodes = IntStream.range(0, 3).mapToObj(i -> new Node("node-" + i, Duration.ofMinutes(1))).toList();
+
+        // When
+        nodes.forEach(Node::heartbeat);
+        nodes.forEach(Node::heartbeat);
+
+        // Then
+        assertThat(nodes).allSatisfy(node -> assertThat(node.limit()).isEqualTo(20));
+    }
+
+    @Test
+    @DisplayName("Should give the permits of an instance that left to the others")
+    void shouldRebalanceWhenInstanceLeaves() {
+        // Given
+        List<Node> nodes = new ArrayList<>(IntStream.range(0, 4)
+                .mapToObj(i -> new Node("node-" + i, Duration.ofMinutes(1))).toList());
+        nodes.forEach(Node::heartbeat);
+
+        // When
+        nodes.remove(0).membership.destroy();
+        nodes.forEach(Node::heartbeat);
+
+        // Then
+        assertThat(nodes).extracting(Node::limit).containsExactly(20, 20, 20);
+    }
+
+    @Test
+    @DisplayName("Should give the permits of an instance whose lease expired to the others")
+    void shouldRebalanceWhenLeaseExpires() throws InterruptedException {
+        // Given
+        Node silent = new Node("node-a", Duration.ofMillis(100));
+        Node live = new Node("node-b", Duration.ofMillis(100));
+        silent.heartbeat();
+        live.heartbeat();
+        assertThat(live.limit()).isEqualTo(30);
+
+        // When
+        Thread.sleep(150);
+        live.heartbeat();
+
+        // Then
+        assertThat(live.limit()).isEqualTo(CLUSTER_LIMIT);
+    }
+
+    @Test
+    @DisplayName("Should keep the upstream calls of all instances within the cluster allowance")
+    void shouldKeepCombinedUpstreamRateWithinAllowance() throws InterruptedException {
+        // Given
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        List<Node> nodes = IntStream.range(0, 3).mapToObj(i -> new Node("node-" + i, Duration.ofMinutes(1))).toList();
+        nodes.forEach(Node::heartbeat);
+        nodes.forEach(Node::heartbeat);
+        List<OpenMeteoClientImpl> clients = nodes.stream().map(node -> client(node, upstreamCalls)).toList();
+        // A new share applies from the next limiter period
+        Thread.sleep(PERIOD.toMillis() * 2);
+        upstreamCalls.set(0);
+
+        // When: every instance serves forecasts as fast as it can for ten periods
+        int periods = 10;
+        long end = System.nanoTime() + PERIOD.toNanos() * periods;
+        ExecutorService callers = Executors.newFixedThreadPool(clients.size());
+        for (OpenMeteoClientImpl client : clients) {
+            callers.execute(() -> {
+                while (System.nanoTime() < end) {
+                    try {
+                        client.fetchWeatherForecast(40.4168, -3.7038, "auto");
+                    } catch (RequestNotPermitted e) {
+                        Thread.onSpinWait();
+                    }
+                }
+            });
+        }
+        callers.shutdown();
+        assertThat(callers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+
+        // Then: the allowance per period, give or take the periods cut by the window edges
+        assertThat(upstreamCalls.get()).isBetween(CLUSTER_LIMIT * (periods - 1), CLUSTER_LIMIT * (periods + 1));
+    }
+
+    @Test
+    @DisplayName("Should hand out the remainder so that shares add up to the limit")
+    void sharesShouldAddUpToLimit() {
+        // When
+        int total = IntStream.range(0, 7).map(rank -> ClusterRateLimitCoordinator.shareOf(CLUSTER_LIMIT, 7, rank)).sum();
+
+        // Then
+        assertThat(total).isEqualTo(CLUSTER_LIMIT);
+    }
+
+    /**
+     * A client of the instance whose upstream answers at once and counts its calls.
+     */
+    private OpenMeteoClientImpl client(Node node, AtomicInteger upstreamCalls) {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UpstreamCallMonitor monitor = new UpstreamCallMonitor(256);
+        RetryBudget retryBudget = new RetryBudget(meterRegistry, 0.1, 10, 10_000);
+        UpstreamCallExecutor executor = new UpstreamCallExecutor(monitor, retryBudget, TimeLimiterRegistry.ofDefaults(),
+                meterRegistry, 2, 16, false, 50, 2_000, Duration.ofMinutes(5));
+        executors.add(executor);
+        OpenMeteoFeignClient upstream = new OpenMeteoFeignClient() {
+            @Override
+            public OpenMeteoWeatherResponse getWeatherForecast(Double latitude, Double longitude, String current,
+                                                               String timezone, Request.Options options) {
+                upstreamCalls.incrementAndGet();
+                return response();
+            }
+
+            @Override
+            public List<OpenMeteoWeatherResponse> getWeatherForecasts(String latitudes, String longitudes,
+                                                                      String current, String timezone,
+                                                                      Request.Options options) {
+                upstreamCalls.incrementAndGet();
+                return List.of(response(), response());
+            }
+        };
+        return new OpenMeteoClientImpl(upstream, null, monitor, new ErrorLogThrottle(10_000), executor, retryBudget,
+                new LastKnownGoodStore(meterRegistry, false, Path.of("unused"), 0.01, 0, 0, 0, 1),
+                new NearestForecastIndex(meterRegistry, false, 0), node.rateLimiterRegistry);
+    }
+
+    private static OpenMeteoWeatherResponse response() {
+        return OpenMeteoWeatherResponse.builder()
+                .latitude(40.4168)
+                .longitude(-3.7038)
+                .timezone("Europe/Madrid")
+                .current(OpenMeteoWeatherResponse.CurrentData.builder()
+                        .time("2025-11-15T10:30:00")
+                        .temperature(15.5)
+                        .build())
+                .build();
+    }
+
+    private class Node {
+
+        private final RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+                .limitForPeriod(CLUSTER_LIMIT)
+                .limitRefreshPeriod(PERIOD)
+                .timeoutDuration(Duration.ZERO)
+                .build());
+        private final RateLimiter rateLimiter = rateLimiterRegistry.rateLimiter("openMeteoService");
+        private final ClusterMembership membership;
+
+        Node(String nodeId, Duration lease) {
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            membership = new ClusterMembership(store, nodeId, lease, meterRegistry);
+            membership.addListener(new ClusterRateLimitCoordinator(rateLimiter, nodeId, meterRegistry));
+        }
+
+        void heartbeat() {
+            membership.heartbeat();
+        }
+
+        int limit() {
+            return rateLimiter.getRateLimiterConfig().getLimitForPeriod();
+        }
+    }
+}
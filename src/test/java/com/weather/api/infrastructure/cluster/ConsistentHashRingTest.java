@@ -0,0 +1,52 @@
+package com.weather.api.infrastructure.cluster;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ConsistentHashRing.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("ConsistentHashRing Tests")
+class ConsistentHashRingTest {
+
+    private static final List<String> KEYS = IntStream.range(0, 10_000)
+            .mapToObj(i -> (40.0 + i * 0.001) + "_" + (-3.0 - i * 0.001))
+            .toList();
+
+    @Test
+    @DisplayName("Should spread keys evenly between members")
+    void shouldSpreadKeysEvenly() {
+        // Given
+        ConsistentHashRing ring = new ConsistentHashRing(List.of("a", "b", "c", "d"), 100);
+
+        // When
+        long ownedByA = KEYS.stream().filter(key -> ring.ownerOf(key).equals("a")).count();
+
+        // Then
+        assertThat(ownedByA).isBetween(1_800L, 3_200L);
+    }
+
+    @Test
+    @DisplayName("Should only move the keys of a member that leaves")
+    void shouldOnlyMoveKeysOfLeavingMember() {
+        // Given
+        ConsistentHashRing before = new ConsistentHashRing(List.of("a", "b", "c", "d"), 100);
+
+        // When
+        ConsistentHashRing after = new ConsistentHashRing(List.of("a", "b", "c"), 100);
+
+        // Then
+        assertThat(KEYS).allSatisfy(key -> {
+            if (!before.ownerOf(key).equals("d")) {
+                assertThat(after.ownerOf(key)).isEqualTo(before.ownerOf(key));
+            }
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package com.weather.api.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.weather.api.infrastructure.adapter.rest.ResponseCompressionFilter;
+import com.weather.api.infrastructure.cache.SharedCacheTier;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for NativeHintsConfig.
+ *
+ * @author Weather API Team
+ */
+@DisabledInNativeImage // Reads Caffeine internals reflectively
+@DisplayName("NativeHintsConfig Tests")
+class NativeHintsConfigTest {
+
+    @Test
+    @DisplayName("Should register the Caffeine classes the cache builders generate")
+    void shouldRegisterGeneratedCaffeineClasses() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.WeatherApiRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        CacheManager cacheManager = new CacheConfig(10, 60_000).cacheManager(List.of(),
+                new StaticListableBeanFactory().getBeanProvider(SharedCacheTier.class));
+        ResponseCompressionFilter compressionFilter = new ResponseCompressionFilter(new SimpleMeterRegistry(),
+                1024, List.of(MediaType.APPLICATION_JSON), Set.of(), 10, 60_000);
+
+        List<Object> caches = List.of(
+                cacheManager.getCache("weatherForecast").getNativeCache(),
+                cacheManager.getCache("weatherVariable").getNativeCache(),
+                ReflectionTestUtils.getField(compressionFilter, "variants"));
+
+        for (Object nativeCache : caches) {
+            // When
+            Cache<Object, Object> cache = cast(nativeCache);
+            cache.put("key", "value");
+            Map<?, ?> nodes = (Map<?, ?>) ReflectionTestUtils.getField(cache.asMap(), "data");
+
+            // Then
+            assertThat(RuntimeHintsPredicates.reflection().onType(cache.asMap().getClass())).accepts(hints);
+            assertThat(RuntimeHintsPredicates.reflection().onType(nodes.values().iterator().next().getClass()))
+                    .accepts(hints);
+        }
+    }
+
+    @Test
+    @DisplayName("Should register every exception the Resilience4j configuration names")
+    void shouldRegisterConfiguredResilienceExceptions() {
+        // Given
+        RuntimeHints hints = new RuntimeHints();
+        new NativeHintsConfig.WeatherApiRuntimeHints().registerHints(hints, getClass().getClassLoader());
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yml"));
+        Properties properties = yaml.getObject();
+
+        // When
+        List<String> exceptions = properties.stringPropertyNames().stream()
+                .filter(name -> name.startsWith("resilience4j.") && name.matches(".*Exceptions\\[\\d+]"))
+                .map(properties::getProperty)
+                .distinct()
+                .toList();
+
+        // Then
+        assertThat(exceptions).contains("io.github.resilience4j.ratelimiter.RequestNotPermitted");
+        for (String exception : exceptions) {
+            assertThat(RuntimeHintsPredicates.reflection().onType(TypeReference.of(exception)))
+                    .as(exception)
+                    .accepts(hints);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Cache<Object, Object> cast(Object cache) {
+        return (Cache<Object, Object>) cache;
+    }
+}
@@ -1,18 +1,36 @@
 package com.weather.api.infrastructure.integration;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
 import com.weather.api.application.dto.response.WeatherForecastResponse;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.CacheManager;
 import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.TestPropertySource;
 
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.equalTo;
 import static com.github.tomakehurst.wiremock.client.WireMock.get;
 import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
 import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
@@ -28,7 +46,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 @AutoConfigureWireMock(port = 0)
 @TestPropertySource(properties = {
         "openmeteo.api.base-url=http://localhost:${wiremock.server.port}",
-        "openmeteo.api.geocoding-url=http://localhost:${wiremock.server.port}"
+        "openmeteo.api.geocoding-url=http://localhost:${wiremock.server.port}",
+        // Upstream attempts of the whole class must not run into the rate limiter
+        "resilience4j.ratelimiter.instances.openMeteoService.limit-for-period=1000"
 })
 @DisplayName("Weather API Integration Tests")
 class WeatherApiIntegrationTest {
@@ -36,6 +56,23 @@ class WeatherApiIntegrationTest {
     @Autowired
     private TestRestTemplate restTemplate;
 
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @LocalServerPort
+    private int port;
+
+    @BeforeEach
+    void setUp() {
+        // Stubs, recorded requests, cached responses and breaker state must not leak between tests
+        WireMock.reset();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        circuitBreakerRegistry.circuitBreaker("openMeteoService").reset();
+    }
+
     @Test
     @DisplayName("Should fetch weather forecast successfully from external API")
     void shouldFetchWeatherForecastSuccessfully() {
@@ -93,6 +130,33 @@ class WeatherApiIntegrationTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    @Test
+    @DisplayName("Should return 504 without retrying when the request deadline passes")
+    void shouldReturn504WhenRequestDeadlineExceeded() {
+        // Given
+        stubFor(get(urlPathEqualTo("/v1/forecast"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withFixedDelay(2000)));
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Request-Timeout", "300");
+
+        // When
+        long start = System.nanoTime();
+        ResponseEntity<String> response = restTemplate.exchange(
+                "/api/v1/weather/forecast?latitude=40.7128&longitude=-74.0060",
+                HttpMethod.GET,
+                new HttpEntity<>(headers),
+                String.class
+        );
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(elapsedMillis).isLessThan(1500);
+        WireMock.verify(1, WireMock.getRequestedFor(urlPathEqualTo("/v1/forecast")));
+    }
+
     @Test
     @DisplayName("Should return 400 for invalid coordinates")
     void shouldReturn400ForInvalidCoordinates() {
@@ -185,4 +249,166 @@ class WeatherApiIntegrationTest {
         // Verify only one call was made to external API (second was cached)
         WireMock.verify(1, WireMock.getRequestedFor(urlPathEqualTo("/v1/forecast")));
     }
+
+    @Test
+    @DisplayName("Should open the circuit breaker after repeated upstream server errors")
+    void shouldOpenCircuitBreakerOnUpstreamErrors() {
+        // Given
+        stubFor(get(urlPathEqualTo("/v1/forecast"))
+                .willReturn(aResponse()
+                        .withStatus(500)));
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            restTemplate.getForEntity("/api/v1/weather/forecast?latitude=40.7128&longitude=-74.0060", String.class);
+        }
+
+        // Then
+        assertThat(circuitBreakerRegistry.circuitBreaker("openMeteoService").getState())
+                .isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    @DisplayName("Should answer with the nearest cached forecast, marked approximate, while the breaker is open")
+    void shouldServeNearestCachedForecastWhileCircuitBreakerIsOpen() {
+        // Given
+        stubFor(get(urlPathEqualTo("/v1/forecast"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                {
+                                  "latitude": 40.7128,
+                                  "longitude": -74.006,
+                                  "timezone": "America/New_York",
+                                  "current": {
+                                    "time": "2025-11-15T10:30:00",
+                                    "temperature_2m": 15.5,
+                                    "weather_code": 2,
+                                    "wind_speed_10m": 12.3,
+                                    "relative_humidity_2m": 65
+                                  }
+                                }
+                                """)));
+        restTemplate.getForEntity("/api/v1/weather/forecast?latitude=40.7128&longitude=-74.0060",
+                WeatherForecastResponse.class);
+        stubFor(get(urlPathEqualTo("/v1/forecast"))
+                .willReturn(aResponse()
+                        .withStatus(503)));
+        circuitBreakerRegistry.circuitBreaker("openMeteoService").transitionToForcedOpenState();
+
+        // When
+        ResponseEntity<WeatherForecastResponse> nearby = restTemplate.getForEntity(
+                "/api/v1/weather/forecast?latitude=40.7228&longitude=-74.0060", WeatherForecastResponse.class);
+        ResponseEntity<String> distant = restTemplate.getForEntity(
+                "/api/v1/weather/forecast?latitude=40.8128&longitude=-74.0060", String.class);
+
+        // Then
+        assertThat(nearby.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(nearby.getBody().getApproximate()).isTrue();
+        assertThat(nearby.getBody().getCurrent().getTemperature()).isEqualTo(15.5);
+        assertThat(distant.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    @DisplayName("Should retry a transient upstream error instead of serving a nearby forecast")
+    void shouldRetryTransientErrorBeforeServingNearestForecast() {
+        // Given: a cached forecast within the nearest-forecast radius
+        stubFor(get(urlPathEqualTo("/v1/forecast"))
+                .withQueryParam("latitude", equalTo("40.7128"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(forecastBody(40.7128, 15.5))));
+        restTemplate.getForEntity("/api/v1/weather/forecast?latitude=40.7128&longitude=-74.0060",
+                WeatherForecastResponse.class);
+        stubFor(get(urlPathEqualTo("/v1/forecast"))
+                .withQueryParam("latitude", equalTo("40.7228"))
+                .inScenario("transient")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(aResponse()
+                        .withStatus(503))
+                .willSetStateTo("recovered"));
+        stubFor(get(urlPathEqualTo("/v1/forecast"))
+                .withQueryParam("latitude", equalTo("40.7228"))
+                .inScenario("transient")
+                .whenScenarioStateIs("recovered")
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody(forecastBody(40.7228, 18.0))));
+
+        // When
+        ResponseEntity<WeatherForecastResponse> response = restTemplate.getForEntity(
+                "/api/v1/weather/forecast?latitude=40.7228&longitude=-74.0060", WeatherForecastResponse.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody().getApproximate()).isNull();
+        assertThat(response.getBody().getLatitude()).isEqualTo(40.7228);
+        assertThat(response.getBody().getCurrent().getTemperature()).isEqualTo(18.0);
+        WireMock.verify(2, WireMock.getRequestedFor(urlPathEqualTo("/v1/forecast"))
+                .withQueryParam("latitude", equalTo("40.7228")));
+    }
+
+    @Test
+    @DisplayName("Should reject searches beyond the geocoding bulkhead without blocking forecasts")
+    void shouldIsolateSlowGeocodingFromForecasts() throws Exception {
+        // Given
+        stubFor(get(urlPathEqualTo("/v1/search"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("{\"results\": [{\"name\": \"Madrid\", \"latitude\": 40.4, \"longitude\": -3.7}]}")
+                        .withFixedDelay(1500)));
+        stubFor(get(urlPathEqualTo("/v1/forecast"))
+                .willReturn(aResponse()
+                        .withStatus(200)
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                {"latitude": 40.4, "longitude": -3.7, "current": {"time": "2025-11-15T10:30:00",
+                                 "temperature_2m": 15.5, "weather_code": 2, "wind_speed_10m": 12.3}}
+                                """)));
+        // Not the rest template: its connection pool would cap the concurrent requests
+        HttpClient client = HttpClient.newHttpClient();
+
+        // When
+        List<CompletableFuture<HttpResponse<Void>>> searches = new ArrayList<>();
+        for (int i = 0; i < 16; i++) {
+            HttpRequest search = HttpRequest.newBuilder(
+                    URI.create("http://localhost:" + port + "/api/v1/weather/search?name=Madrid" + i)).build();
+            searches.add(client.sendAsync(search, HttpResponse.BodyHandlers.discarding()));
+        }
+        Thread.sleep(500);
+        ResponseEntity<String> forecast = restTemplate.getForEntity(
+                "/api/v1/weather/forecast?latitude=40.4&longitude=-3.7", String.class);
+        List<HttpResponse<Void>> searchResponses = searches.stream().map(CompletableFuture::join).toList();
+
+        // Then
+        assertThat(forecast.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(searchResponses)
+                .filteredOn(response -> response.statusCode() == HttpStatus.SERVICE_UNAVAILABLE.value())
+                .isNotEmpty()
+                .allSatisfy(response -> assertThat(response.headers().firstValue(HttpHeaders.RETRY_AFTER)).hasValue("1"));
+        assertThat(searchResponses)
+                .filteredOn(response -> response.statusCode() == HttpStatus.OK.value())
+                .hasSizeLessThanOrEqualTo(10);
+    }
+
+    private static String forecastBody(double latitude, double temperature) {
+        return """
+                {
+                  "latitude": %s,
+                  "longitude": -74.006,
+                  "timezone": "America/New_York",
+                  "current": {
+                    "time": "2025-11-15T10:30:00",
+                    "temperature_2m": %s,
+                    "weather_code": 2,
+                    "wind_speed_10m": 12.3,
+                    "relative_humidity_2m": 65
+                  }
+                }
+                """.formatted(latitude, temperature);
+    }
 }
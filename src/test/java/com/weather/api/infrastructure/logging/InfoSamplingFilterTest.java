@@ -0,0 +1,70 @@
+package com.weather.api.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for InfoSamplingFilter.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("InfoSamplingFilter Tests")
+class InfoSamplingFilterTest {
+
+    private static final String SERVICE_LOGGER = "com.weather.api.application.service.WeatherService";
+
+    private InfoSamplingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new InfoSamplingFilter();
+        filter.setPermitsPerSecond(2);
+        filter.start();
+    }
+
+    @Test
+    @DisplayName("Should drop INFO events over the per-second budget")
+    void shouldSampleInfoEventsOverBudget() {
+        // When
+        FilterReply first = filter.decide(event(SERVICE_LOGGER, Level.INFO, 1_000));
+        FilterReply second = filter.decide(event(SERVICE_LOGGER, Level.INFO, 1_100));
+        FilterReply third = filter.decide(event(SERVICE_LOGGER, Level.INFO, 1_200));
+        FilterReply nextSecond = filter.decide(event(SERVICE_LOGGER, Level.INFO, 2_000));
+
+        // Then
+        assertThat(first).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(second).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(third).isEqualTo(FilterReply.DENY);
+        assertThat(nextSecond).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSampledOut()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should always keep errors and events of other loggers")
+    void shouldKeepErrorsAndOtherLoggers() {
+        // Given
+        filter.decide(event(SERVICE_LOGGER, Level.INFO, 1_000));
+        filter.decide(event(SERVICE_LOGGER, Level.INFO, 1_000));
+
+        // When / Then
+        assertThat(filter.decide(event(SERVICE_LOGGER, Level.ERROR, 1_000))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(event(SERVICE_LOGGER, Level.WARN, 1_000))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.decide(event("org.springframework.web", Level.INFO, 1_000))).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(filter.getSampledOut()).isZero();
+    }
+
+    private static ILoggingEvent event(String loggerName, Level level, long timestamp) {
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName(loggerName);
+        event.setLevel(level);
+        event.setTimeStamp(timestamp);
+        return event;
+    }
+}
@@ -0,0 +1,55 @@
+package com.weather.api.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for TeeAppender.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("TeeAppender Tests")
+class TeeAppenderTest {
+
+    @Test
+    @DisplayName("Should write every event to each attached appender")
+    void shouldWriteEventsToEveryAppender() {
+        // Given
+        LoggerContext context = new LoggerContext();
+        ListAppender<ILoggingEvent> console = started(context);
+        ListAppender<ILoggingEvent> file = started(context);
+        TeeAppender tee = new TeeAppender();
+        tee.setContext(context);
+        tee.addAppender(console);
+        tee.addAppender(file);
+        tee.start();
+
+        LoggingEvent event = new LoggingEvent();
+        event.setLoggerName("com.weather.api.application.service.WeatherService");
+        event.setLevel(Level.INFO);
+        event.setMessage("Fetching forecast");
+
+        // When
+        tee.doAppend(event);
+        tee.stop();
+
+        // Then
+        assertThat(console.list).containsExactly(event);
+        assertThat(file.list).containsExactly(event);
+        assertThat(console.isStarted()).isFalse();
+    }
+
+    private static ListAppender<ILoggingEvent> started(LoggerContext context) {
+        ListAppender<ILoggingEvent> appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        return appender;
+    }
+}
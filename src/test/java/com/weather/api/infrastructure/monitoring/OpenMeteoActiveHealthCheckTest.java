@@ -0,0 +1,68 @@
+package com.weather.api.infrastructure.monitoring;
+
+import com.weather.api.infrastructure.adapter.client.OpenMeteoFeignClient;
+import feign.Request;
+import io.github.resilience4j.ratelimiter.RateLimiterConfig;
+import io.github.resilience4j.ratelimiter.RateLimiterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for OpenMeteoActiveHealthCheck.
+ *
+ * @author Weather API Team
+ */
+@DisplayName("OpenMeteoActiveHealthCheck Tests")
+@DisabledInNativeImage // Mockito generates mocks at runtime
+class OpenMeteoActiveHealthCheckTest {
+
+    private final OpenMeteoFeignClient weatherClient = mock(OpenMeteoFeignClient.class);
+    private final UpstreamCallMonitor upstreamCallMonitor = new UpstreamCallMonitor(16);
+    private final RateLimiterRegistry rateLimiterRegistry = RateLimiterRegistry.of(RateLimiterConfig.custom()
+            .limitForPeriod(1)
+            .limitRefreshPeriod(Duration.ofMinutes(10))
+            .timeoutDuration(Duration.ZERO)
+            .build());
+    private final OpenMeteoActiveHealthCheck healthCheck =
+            new OpenMeteoActiveHealthCheck(weatherClient, upstreamCallMonitor, rateLimiterRegistry);
+
+    @Test
+    @DisplayName("Should take a rate limiter permit for the probe")
+    void shouldTakePermit() {
+        // When
+        healthCheck.check();
+
+        // Then
+        verify(weatherClient).getWeatherForecast(anyDouble(), anyDouble(), anyString(), anyString(),
+                any(Request.Options.class));
+        assertThat(rateLimiterRegistry.rateLimiter("openMeteoService").getMetrics().getAvailablePermissions())
+                .isZero();
+        assertThat(upstreamCallMonitor.snapshot(Duration.ofMinutes(1)).successes()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should skip the probe when no rate limiter permit is free")
+    void shouldSkipWithoutPermit() {
+        // Given
+        rateLimiterRegistry.rateLimiter("openMeteoService").acquirePermission();
+
+        // When
+        healthCheck.check();
+
+        // Then
+        verify(weatherClient, never()).getWeatherForecast(anyDouble(), anyDouble(), anyString(), anyString(),
+                any(Request.Options.class));
+        assertThat(upstreamCallMonitor.snapshot(Duration.ofMinutes(1)).calls()).isZero();
+    }
+}
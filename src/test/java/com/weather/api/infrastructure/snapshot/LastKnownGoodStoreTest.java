@@ -0,0 +1,155 @@
+package com.weather.api.infrastructure.snapshot;
+
+import com.weather.api.domain.model.GeocodingResult;
+import com.weather.api.domain.model.Weather;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for LastKnownGoodStore.
+ *
+ * @author Weather API Team
+ */
+class LastKnownGoodStoreTest {
+
+    private static final long HOUR = 3_600_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should serve recorded values after a restart, despite a torn last record")
+    void shouldReloadValuesAfterRestart() throws Exception {
+        // Given
+        Path file = directory.resolve("last-known-good.log");
+        LastKnownGoodStore store = store(file, HOUR);
+        store.recordForecast(40.4168, -3.7038, weather(21.5));
+        store.recordSearch("Madrid", "es", List.of(
+                GeocodingResult.of("Madrid", 40.4168, -3.7038, "España", "Madrid"),
+                GeocodingResult.of("Madrid", 41.0, -94.0, "Estados Unidos", "Iowa")));
+        store.destroy();
+        reloadUntil(file, HOUR, candidate -> candidate.findSearch("Madrid", "es", 10).isPresent()).destroy();
+        Files.write(file, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        // When
+        LastKnownGoodStore reloaded = store(file, HOUR);
+
+        // Then
+        assertThat(reloaded.findForecast(40.4191, -3.7012))
+                .hasValueSatisfying(weather -> {
+                    assertThat(weather.getTemperature()).isEqualTo(21.5);
+                    assertThat(weather.getStale()).isTrue();
+                });
+        assertThat(reloaded.findForecast(41.3874, 2.1686)).isEmpty();
+        assertThat(reloaded.findSearch(" madrid ", "es", 1))
+                .hasValueSatisfying(results -> assertThat(results).extracting(GeocodingResult::getCountry)
+                        .containsExactly("España"));
+        assertThat(reloaded.findSearch("Madrid", "en", 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should read back records appended after a restart that found a torn last record")
+    void shouldReloadRecordsAppendedAfterTornRecord() throws Exception {
+        // Given
+        Path file = directory.resolve("last-known-good.log");
+        LastKnownGoodStore store = store(file, HOUR);
+        store.recordForecast(40.4168, -3.7038, weather(21.5));
+        store.destroy();
+        reloadUntil(file, HOUR, candidate -> candidate.findForecast(40.4168, -3.7038).isPresent()).destroy();
+        Files.write(file, new byte[]{0, 0, 0, 42, 1, 2}, StandardOpenOption.APPEND);
+
+        // When
+        LastKnownGoodStore restarted = store(file, HOUR);
+        restarted.recordForecast(41.3874, 2.1686, weather(18.0));
+        restarted.destroy();
+
+        // Then
+        LastKnownGoodStore reloaded = reloadUntil(file, HOUR,
+                candidate -> candidate.findForecast(41.3874, 2.1686).isPresent());
+        assertThat(reloaded.findForecast(41.3874, 2.1686))
+                .hasValueSatisfying(weather -> assertThat(weather.getTemperature()).isEqualTo(18.0));
+        assertThat(reloaded.findForecast(40.4168, -3.7038))
+                .hasValueSatisfying(weather -> assertThat(weather.getTemperature()).isEqualTo(21.5));
+    }
+
+    @Test
+    @DisplayName("Should compact the log to the newest value of each key")
+    void shouldCompactToNewestValues() throws Exception {
+        // Given
+        Path file = directory.resolve("last-known-good.log");
+        LastKnownGoodStore store = store(file, HOUR);
+        for (int i = 0; i < 20; i++) {
+            store.recordForecast(40.4168, -3.7038, weather(i));
+        }
+        store.destroy();
+        LastKnownGoodStore reloaded = reloadUntil(file, HOUR, candidate -> candidate.findForecast(40.4168, -3.7038)
+                .filter(weather -> weather.getTemperature() == 19).isPresent());
+        long sizeBefore = Files.size(file);
+
+        // When
+        reloaded.compact();
+        reloaded.destroy();
+
+        // Then
+        assertThat(Files.size(file)).isLessThan(sizeBefore / 10);
+        assertThat(store(file, HOUR).findForecast(40.4168, -3.7038))
+                .hasValueSatisfying(weather -> assertThat(weather.getTemperature()).isEqualTo(19));
+    }
+
+    @Test
+    @DisplayName("Should not serve forecasts older than the maximum age")
+    void shouldNotServeExpiredForecasts() throws Exception {
+        // Given
+        LastKnownGoodStore store = store(directory.resolve("last-known-good.log"), 1);
+        store.recordForecast(40.4168, -3.7038, weather(21.5));
+
+        // When
+        Thread.sleep(5);
+
+        // Then
+        assertThat(store.findForecast(40.4168, -3.7038)).isEmpty();
+    }
+
+    private static LastKnownGoodStore store(Path file, long forecastMaxAgeMillis) {
+        return new LastKnownGoodStore(new SimpleMeterRegistry(), true, file, 0.01, forecastMaxAgeMillis, HOUR, 100, 100);
+    }
+
+    /**
+     * Reopens the log until the background writer has appended what the condition needs.
+     */
+    private static LastKnownGoodStore reloadUntil(Path file, long forecastMaxAgeMillis,
+                                                  Predicate<LastKnownGoodStore> condition) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        LastKnownGoodStore store = store(file, forecastMaxAgeMillis);
+        while (!condition.test(store) && System.currentTimeMillis() < deadline) {
+            store.destroy();
+            Thread.sleep(20);
+            store = store(file, forecastMaxAgeMillis);
+        }
+        return store;
+    }
+
+    private static Weather weather(double temperature) {
+        return Weather.builder()
+                .time(LocalDateTime.of(2024, 1, 15, 12, 0))
+                .temperature(temperature)
+                .weatherCode(1)
+                .windSpeed(10.0)
+                .humidity(60)
+                .latitude(40.42)
+                .longitude(-3.70)
+                .timezone("Europe/Madrid")
+                .build();
+    }
+}
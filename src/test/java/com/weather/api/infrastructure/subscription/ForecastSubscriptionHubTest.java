@@ -0,0 +1,97 @@
+package com.weather.api.infrastructure.subscription;
+
+import com.weather.api.application.mapper.WeatherMapper;
+import com.weather.api.domain.exception.SubscriptionLimitExceededException;
+import com.weather.api.domain.model.CoordinateKey;
+import com.weather.api.domain.model.Location;
+import com.weather.api.domain.model.Weather;
+import com.weather.api.domain.port.input.WeatherUseCase;
+import com.weather.api.domain.port.output.WeatherRepositoryPort;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledInNativeImage;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ForecastSubscriptionHub.
+ *
+ * @author Weather API Team
+ */
+@DisabledInNativeImage // Mockito generates mocks at runtime
+@DisplayName("ForecastSubscriptionHub Tests")
+class ForecastSubscriptionHubTest {
+
+    private WeatherRepositoryPort weatherRepositoryPort;
+    private CacheManager cacheManager;
+    private MeterRegistry meterRegistry;
+    private ForecastSubscriptionHub hub;
+
+    @BeforeEach
+    void setUp() {
+        weatherRepositoryPort = mock(WeatherRepositoryPort.class);
+        cacheManager = new ConcurrentMapCacheManager();
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new ForecastSubscriptionHub(weatherRepositoryPort, mock(WeatherUseCase.class), new WeatherMapper(),
+                cacheManager, meterRegistry,
+                0.01, 2, 20, 60_000, 20, 30_000, 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.destroy();
+    }
+
+    @Test
+    @DisplayName("Should refresh a cell once per cycle however many subscribers follow it")
+    void shouldRefreshSharedCellOnce() {
+        // Given
+        hub.subscribe(List.of(location(40.4165, -3.70256)));
+        hub.subscribe(List.of(location(40.4168, -3.7031)));
+
+        Weather weather = Weather.builder().latitude(40.42).longitude(-3.7).temperature(21.3).build();
+        when(weatherRepositoryPort.fetchWeatherForecasts(anyList(), anyString())).thenReturn(List.of(weather));
+
+        // When
+        hub.refresh();
+
+        // Then
+        verify(weatherRepositoryPort, times(1)).fetchWeatherForecasts(
+                List.of(Location.builder().latitude(40.42).longitude(-3.7).build()), "auto");
+        assertThat(meterRegistry.get("weather.subscriptions.cells").gauge().value()).isEqualTo(1.0);
+        assertThat(cacheManager.getCache("weatherForecast").get(CoordinateKey.encode(40.42, -3.7), Weather.class)).isEqualTo(weather);
+    }
+
+    @Test
+    @DisplayName("Should reject subscriptions above the connection cap")
+    void shouldRejectSubscriptionsAboveCap() {
+        // Given
+        hub.subscribe(List.of(location(40.4165, -3.70256)));
+        hub.subscribe(List.of(location(48.85341, 2.3488)));
+
+        // When / Then
+        assertThatThrownBy(() -> hub.subscribe(List.of(location(51.50853, -0.12574))))
+                .isInstanceOf(SubscriptionLimitExceededException.class);
+        assertThat(meterRegistry.get("weather.subscriptions.connections").gauge().value()).isEqualTo(2.0);
+        assertThat(meterRegistry.get("weather.subscriptions.rejected").counter().count()).isEqualTo(1.0);
+    }
+
+    private static Location location(double latitude, double longitude) {
+        return Location.builder().latitude(latitude).longitude(longitude).build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.weather.api.infrastructure.trace;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for RequestTraceRecorder.
+ *
+ * @author Weather API Team
+ */
+class RequestTraceRecorderTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    @DisplayName("Should append sampled requests with their cache outcome")
+    void shouldRecordCacheOutcome() throws Exception {
+        // Given
+        Path file = directory.resolve("trace.tsv");
+        RequestTraceRecorder recorder = new RequestTraceRecorder(new SimpleMeterRegistry(), true, 1.0, file, 1_000_000, 100);
+
+        // When
+        assertThat(recorder.start()).isTrue();
+        recorder.onAccess("weatherForecast", "40.4_-3.7");
+        recorder.finish(1000, "GET", "/api/v1/weather/forecast?latitude=40.4&longitude=-3.7", 200, 1500);
+        assertThat(recorder.start()).isTrue();
+        recorder.onAccess("weatherForecast", "41.4_2.2");
+        recorder.onPut("weatherForecast", "41.4_2.2", new Object());
+        recorder.finish(2000, "GET", "/api/v1/weather/forecast?latitude=41.4&longitude=2.2", 200, 90000);
+        assertThat(recorder.start()).isTrue();
+        recorder.finish(3000, "GET", "/api/v1/alerts/rules?subscriber=a", 200, 300);
+        recorder.destroy();
+
+        // Then
+        List<String> lines = waitForLines(file, 4);
+        assertThat(lines).containsExactly(
+                RequestTraceRecorder.HEADER,
+                "1000\tGET\t/api/v1/weather/forecast?latitude=40.4&longitude=-3.7\t200\t1500\thit",
+                "2000\tGET\t/api/v1/weather/forecast?latitude=41.4&longitude=2.2\t200\t90000\tmiss",
+                "3000\tGET\t/api/v1/alerts/rules?subscriber=a\t200\t300\t-");
+    }
+
+    @Test
+    @DisplayName("Should not sample nor create the file when disabled")
+    void shouldDoNothingWhenDisabled() {
+        // Given
+        Path file = directory.resolve("trace.tsv");
+        RequestTraceRecorder recorder = new RequestTraceRecorder(new SimpleMeterRegistry(), false, 1.0, file, 1_000_000, 100);
+
+        // When
+        boolean sampled = recorder.start();
+
+        // Then
+        assertThat(sampled).isFalse();
+        assertThat(recorder.isEnabled()).isFalse();
+        assertThat(file).doesNotExist();
+    }
+
+    private static List<String> waitForLines(Path file, int count) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        List<String> lines = Files.readAllLines(file);
+        while (lines.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            lines = Files.readAllLines(file);
+        }
+        return lines;
+    }
+}
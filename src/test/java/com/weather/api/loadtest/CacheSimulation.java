@@ -0,0 +1,175 @@
+package com.weather.api.loadtest;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.weather.api.domain.model.GeoCell;
+import com.weather.api.infrastructure.config.CacheConfig;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays a trace against the forecast and city search caches built with one cache setting,
+ * counting what would reach Open-Meteo. The caches come from
+ * {@link CacheConfig#caffeineCacheBuilder}, so eviction and expiry are the production ones;
+ * only time is simulated, by a ticker that follows the trace timestamps.
+ *
+ * <p>The first minutes of the trace only fill the caches, so that the cold start does not
+ * dominate the busiest minute. Every miss counts as one upstream call, as with
+ * {@code @Cacheable}: concurrent misses for the same key are not merged, and the background
+ * refresh of hot keys is not modelled.
+ *
+ * @author Weather API Team
+ */
+class CacheSimulation {
+
+    private static final Object CACHED = new Object();
+    private static final long MINUTE_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private final long warmupMillis;
+    private final long forecastEntryBytes;
+    private final long searchEntryBytes;
+    private final int upstreamLimit;
+
+    /**
+     * @param warmup             start of the trace that fills the caches without being measured
+     * @param forecastEntryBytes estimated heap retained by one cached forecast, with its key and cache node
+     * @param searchEntryBytes   estimated heap retained by one cached search result
+     * @param upstreamLimit      upstream calls allowed per minute
+     */
+    CacheSimulation(Duration warmup, long forecastEntryBytes, long searchEntryBytes, int upstreamLimit) {
+        this.warmupMillis = warmup.toMillis();
+        this.forecastEntryBytes = forecastEntryBytes;
+        this.searchEntryBytes = searchEntryBytes;
+        this.upstreamLimit = upstreamLimit;
+    }
+
+    /**
+     * Replays a trace with one setting.
+     *
+     * @param trace   the requests, in time order
+     * @param setting cache size, TTL and grid
+     * @return the simulated cache behaviour
+     */
+    Result run(List<TraceEvent> trace, Setting setting) {
+        long start = trace.isEmpty() ? 0 : trace.get(0).timestampMillis();
+        long measuredFrom = start + warmupMillis;
+        if (trace.isEmpty() || trace.get(trace.size() - 1).timestampMillis() < measuredFrom) {
+            throw new IllegalArgumentException("The trace ends before the warm-up does");
+        }
+        long[] now = {0};
+        Cache<Object, Object> forecasts = newCache(setting, now);
+        Cache<Object, Object> searches = newCache(setting, now);
+
+        long[] callsPerMinute = new long[(int) ((trace.get(trace.size() - 1).timestampMillis() - measuredFrom) / MINUTE_MILLIS) + 1];
+        long requests = 0;
+        long forecastRequests = 0;
+        long forecastHits = 0;
+        long searchHits = 0;
+        long peakForecasts = 0;
+        long peakSearches = 0;
+
+        for (TraceEvent event : trace) {
+            now[0] = TimeUnit.MILLISECONDS.toNanos(event.timestampMillis() - start);
+            boolean forecast = event.type() == TraceEvent.Type.FORECAST;
+            Cache<Object, Object> cache = forecast ? forecasts : searches;
+            Object key = forecast ? forecastKey(event, setting.cellSize()) : event.searchKey();
+            boolean measured = event.timestampMillis() >= measuredFrom;
+
+            if (measured) {
+                requests++;
+                if (forecast) {
+                    forecastRequests++;
+                }
+            }
+            if (cache.getIfPresent(key) != null) {
+                if (measured && forecast) {
+                    forecastHits++;
+                } else if (measured) {
+                    searchHits++;
+                }
+                continue;
+            }
+
+            if (measured) {
+                callsPerMinute[(int) ((event.timestampMillis() - measuredFrom) / MINUTE_MILLIS)]++;
+            }
+            cache.put(key, CACHED);
+            // Eviction runs right after the write, so the size is only over the maximum for an instant
+            long entries = Math.min(cache.estimatedSize(), setting.maximumSize());
+            if (forecast) {
+                peakForecasts = Math.max(peakForecasts, entries);
+            } else {
+                peakSearches = Math.max(peakSearches, entries);
+            }
+        }
+
+        long searchRequests = requests - forecastRequests;
+        long[] sorted = callsPerMinute.clone();
+        Arrays.sort(sorted);
+        return new Result(
+                setting,
+                ratio(forecastHits + searchHits, requests),
+                ratio(forecastHits, forecastRequests),
+                ratio(searchHits, searchRequests),
+                (double) Arrays.stream(callsPerMinute).sum() / callsPerMinute.length,
+                sorted[(int) Math.ceil(0.99 * sorted.length) - 1],
+                sorted[sorted.length - 1],
+                ratio(Arrays.stream(callsPerMinute).filter(calls -> calls > upstreamLimit).count(), callsPerMinute.length),
+                peakForecasts + peakSearches,
+                peakForecasts * forecastEntryBytes + peakSearches * searchEntryBytes
+        );
+    }
+
+    /**
+     * Key of a forecast in the weather forecast cache: the coordinates as sent, or the
+     * centre of their grid cell when snapping.
+     */
+    static String forecastKey(TraceEvent event, double cellSize) {
+        return cellSize > 0
+                ? GeoCell.of(event.latitude(), event.longitude(), cellSize).toKey()
+                : event.latitude() + "_" + event.longitude();
+    }
+
+    private static Cache<Object, Object> newCache(Setting setting, long[] now) {
+        return CacheConfig.caffeineCacheBuilder(setting.maximumSize(), setting.ttl())
+                .ticker(() -> now[0])
+                // Maintenance on the calling thread, so evictions are deterministic
+                .executor(Runnable::run)
+                .build();
+    }
+
+    private static double ratio(long count, long total) {
+        return total == 0 ? 0 : (double) count / total;
+    }
+
+    /**
+     * One combination of cache settings.
+     *
+     * @param maximumSize entries per cache ({@code cache.maximum-size})
+     * @param ttl         time an entry lives after being written ({@code cache.ttl})
+     * @param cellSize    grid cell size in degrees that coordinates are snapped to, 0 for none
+     */
+    record Setting(long maximumSize, Duration ttl, double cellSize) {
+    }
+
+    /**
+     * Simulated cache behaviour of one setting.
+     *
+     * @param setting                the setting
+     * @param hitRatio               share of all requests served from the cache
+     * @param forecastHitRatio       share of forecast requests served from the cache
+     * @param searchHitRatio         share of searches served from the cache
+     * @param meanCallsPerMinute     upstream calls per minute, on average
+     * @param p99CallsPerMinute      upstream calls in the 99th percentile minute
+     * @param maxCallsPerMinute      upstream calls in the busiest minute
+     * @param minutesOverLimit       share of minutes with more upstream calls than the limit
+     * @param peakEntries            most entries held by both caches
+     * @param estimatedMemoryBytes   estimated heap held at the peak
+     */
+    record Result(Setting setting, double hitRatio, double forecastHitRatio, double searchHitRatio,
+                  double meanCallsPerMinute, long p99CallsPerMinute, long maxCallsPerMinute,
+                  double minutesOverLimit, long peakEntries, long estimatedMemoryBytes) {
+    }
+}
@@ -0,0 +1,61 @@
+package com.weather.api.loadtest;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for CacheSimulation.
+ *
+ * @author Weather API Team
+ */
+class CacheSimulationTest {
+
+    private final CacheSimulation simulation = new CacheSimulation(Duration.ZERO, 1000, 2000, 2);
+
+    @Test
+    @DisplayName("Should count a miss again once the entry has expired")
+    void shouldExpireEntriesOnTraceTime() {
+        // Given
+        List<TraceEvent> trace = List.of(
+                TraceEvent.forecast(0, 40.4168, -3.7038),
+                TraceEvent.forecast(30_000, 40.4168, -3.7038),
+                TraceEvent.forecast(90_000, 40.4168, -3.7038),
+                TraceEvent.search(100_000, "Ma", 5, "en"));
+
+        // When
+        CacheSimulation.Result result = simulation.run(trace, new CacheSimulation.Setting(100, Duration.ofMinutes(1), 0));
+
+        // Then
+        assertThat(result.forecastHitRatio()).isEqualTo(1.0 / 3);
+        assertThat(result.searchHitRatio()).isZero();
+        assertThat(result.maxCallsPerMinute()).isEqualTo(2);
+        assertThat(result.minutesOverLimit()).isZero();
+        assertThat(result.peakEntries()).isEqualTo(2);
+        assertThat(result.estimatedMemoryBytes()).isEqualTo(3000);
+    }
+
+    @Test
+    @DisplayName("Should share one entry between coordinates in the same grid cell")
+    void shouldSnapCoordinatesToGrid() {
+        // Given
+        List<TraceEvent> trace = List.of(
+                TraceEvent.forecast(0, 40.4168, -3.7038),
+                TraceEvent.forecast(1_000, 40.4171, -3.7041),
+                TraceEvent.forecast(2_000, 40.4169, -3.7035));
+
+        // When
+        CacheSimulation.Result exact = simulation.run(trace, new CacheSimulation.Setting(100, Duration.ofMinutes(5), 0));
+        CacheSimulation.Result snapped = simulation.run(trace, new CacheSimulation.Setting(100, Duration.ofMinutes(5), 0.01));
+
+        // Then
+        assertThat(exact.hitRatio()).isZero();
+        assertThat(exact.minutesOverLimit()).isEqualTo(1.0);
+        assertThat(snapped.hitRatio()).isEqualTo(2.0 / 3);
+        assertThat(snapped.peakEntries()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,176 @@
+package com.weather.api.loadtest;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Replays a recorded or synthetic trace against every combination of cache size, TTL and
+ * grid cell size, to choose {@code cache.maximum-size} and {@code cache.ttl} from traffic
+ * rather than by guessing. For each combination it reports the hit ratio, the upstream
+ * calls per minute against the Open-Meteo rate limit and the estimated heap footprint.
+ * Results are printed and written as CSV to {@code target/cache-sim}.
+ *
+ * <p>Usage: {@code CacheSimulator [--option=value ...]}, see
+ * {@code scripts/run-cache-simulator.sh} for the options.
+ *
+ * @author Weather API Team
+ */
+public final class CacheSimulator {
+
+    private static final Path REPORT_DIRECTORY = Path.of("target", "cache-sim");
+
+    private CacheSimulator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 0) {
+                throw new IllegalArgumentException("Options take the form --name=value: " + arg);
+            }
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        List<TraceEvent> trace = options.containsKey("trace")
+                ? read(Path.of(options.get("trace")))
+                : new SyntheticTrace(
+                        Double.parseDouble(options.getOrDefault("rate", "5")),
+                        Duration.ofMinutes(Long.parseLong(options.getOrDefault("minutes", "60"))).toMillis(),
+                        Integer.parseInt(options.getOrDefault("hot-spots", "1000")),
+                        Double.parseDouble(options.getOrDefault("zipf", "1.1")),
+                        Double.parseDouble(options.getOrDefault("jitter", "0.002")),
+                        Double.parseDouble(options.getOrDefault("search-share", "0.2")))
+                        .generate(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        int upstreamLimit = Integer.parseInt(options.getOrDefault("upstream-limit", "60"));
+        Duration warmup = Duration.ofMinutes(Long.parseLong(options.getOrDefault("warmup", "5")));
+        CacheSimulation simulation = new CacheSimulation(
+                warmup,
+                Long.parseLong(options.getOrDefault("forecast-entry-bytes", "1500")),
+                Long.parseLong(options.getOrDefault("search-entry-bytes", "3000")),
+                upstreamLimit);
+
+        List<CacheSimulation.Result> results = new ArrayList<>();
+        for (String cellSize : split(options.getOrDefault("cell-sizes", "none,0.001,0.01,0.1"))) {
+            for (String ttl : split(options.getOrDefault("ttls", "1m,5m,10m,15m"))) {
+                for (String size : split(options.getOrDefault("sizes", "500,1000,2000,5000,10000"))) {
+                    results.add(simulation.run(trace, new CacheSimulation.Setting(
+                            Long.parseLong(size),
+                            parseDuration(ttl),
+                            cellSize.equals("none") ? 0 : Double.parseDouble(cellSize))));
+                }
+            }
+        }
+
+        System.out.printf("%nReplayed %d requests over %d minutes, the first %d as warm-up; upstream limit %d calls/min%n",
+                trace.size(), (trace.get(trace.size() - 1).timestampMillis() - trace.get(0).timestampMillis()) / 60_000 + 1,
+                warmup.toMinutes(), upstreamLimit);
+        print(results, upstreamLimit, System.out);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = REPORT_DIRECTORY.resolve("cache-sim-" + timestamp + ".csv");
+        write(results, file);
+        System.out.printf("Report written to %s%n", file);
+    }
+
+    private static void print(List<CacheSimulation.Result> results, int upstreamLimit, PrintStream out) {
+        out.printf("%-6s %6s %7s %7s %9s %9s %8s %8s %8s %9s %8s %9s%n", "cell", "ttl", "size", "hit %",
+                "forecast", "search", "calls/m", "p99/m", "max/m", "over lim", "entries", "memory");
+        for (CacheSimulation.Result result : results) {
+            out.printf(Locale.ROOT, "%-6s %6s %7d %7.2f %9.2f %9.2f %8.1f %8d %8d %8.1f%% %8d %9s%n",
+                    cellLabel(result.setting().cellSize()), ttlLabel(result.setting().ttl()), result.setting().maximumSize(),
+                    result.hitRatio() * 100, result.forecastHitRatio() * 100, result.searchHitRatio() * 100,
+                    result.meanCallsPerMinute(), result.p99CallsPerMinute(), result.maxCallsPerMinute(),
+                    result.minutesOverLimit() * 100, result.peakEntries(), megabytes(result.estimatedMemoryBytes()));
+        }
+
+        // The cheapest setting of each grid that never exceeds the limit; coarser grids and
+        // longer TTLs trade accuracy and freshness for calls, which is a product decision
+        out.printf("%nSmallest footprint within %d calls/min, by cell size:%n", upstreamLimit);
+        results.stream()
+                .map(result -> result.setting().cellSize())
+                .distinct()
+                .forEach(cellSize -> {
+                    Optional<CacheSimulation.Result> best = results.stream()
+                            .filter(result -> result.setting().cellSize() == cellSize)
+                            .filter(result -> result.maxCallsPerMinute() <= upstreamLimit)
+                            .min(Comparator.comparingLong(CacheSimulation.Result::estimatedMemoryBytes)
+                                    .thenComparing(Comparator.comparingDouble(CacheSimulation.Result::hitRatio).reversed()));
+                    out.printf("  %-6s %s%n", cellLabel(cellSize), best
+                            .map(result -> String.format(Locale.ROOT, "cache.maximum-size=%d cache.ttl=%d (%s, hit %.1f%%, %s)",
+                                    result.setting().maximumSize(), result.setting().ttl().toMillis(),
+                                    ttlLabel(result.setting().ttl()), result.hitRatio() * 100,
+                                    megabytes(result.estimatedMemoryBytes())))
+                            .orElse("no setting stays within the limit"));
+                });
+    }
+
+    private static void write(List<CacheSimulation.Result> results, Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("cellSize,ttlMillis,maximumSize,hitRatio,forecastHitRatio,searchHitRatio,meanCallsPerMinute,"
+                + "p99CallsPerMinute,maxCallsPerMinute,minutesOverLimit,peakEntries,estimatedMemoryBytes");
+        for (CacheSimulation.Result result : results) {
+            lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.4f,%.4f,%.4f,%.2f,%d,%d,%.4f,%d,%d",
+                    cellLabel(result.setting().cellSize()), result.setting().ttl().toMillis(), result.setting().maximumSize(),
+                    result.hitRatio(), result.forecastHitRatio(), result.searchHitRatio(), result.meanCallsPerMinute(),
+                    result.p99CallsPerMinute(), result.maxCallsPerMinute(), result.minutesOverLimit(),
+                    result.peakEntries(), result.estimatedMemoryBytes()));
+        }
+        Files.createDirectories(file.getParent());
+        Files.write(file, lines);
+    }
+
+    private static List<TraceEvent> read(Path file) throws IOException {
+        try (Stream<String> lines = Files.lines(file)) {
+            List<TraceEvent> trace = lines.map(TraceEvent::parse).filter(Objects::nonNull).toList();
+            if (trace.isEmpty()) {
+                throw new IllegalArgumentException("No requests in " + file);
+            }
+            return trace;
+        }
+    }
+
+    private static List<String> split(String values) {
+        return Arrays.stream(values.split(",")).map(String::trim).filter(value -> !value.isEmpty()).toList();
+    }
+
+    /**
+     * Parses a duration such as {@code 30s}, {@code 5m} or {@code 1h}; plain numbers are milliseconds.
+     */
+    private static Duration parseDuration(String value) {
+        String amount = value.substring(0, value.length() - 1);
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(Long.parseLong(amount));
+            case 'm' -> Duration.ofMinutes(Long.parseLong(amount));
+            case 'h' -> Duration.ofHours(Long.parseLong(amount));
+            default -> Duration.ofMillis(Long.parseLong(value));
+        };
+    }
+
+    private static String cellLabel(double cellSize) {
+        return cellSize > 0 ? String.valueOf(cellSize) : "none";
+    }
+
+    private static String ttlLabel(Duration ttl) {
+        return ttl.toSecondsPart() == 0 && ttl.toMillisPart() == 0 ? ttl.toMinutes() + "m" : ttl.toMillis() + "ms";
+    }
+
+    private static String megabytes(long bytes) {
+        return String.format(Locale.ROOT, "%.1f MB", bytes / (1024.0 * 1024));
+    }
+}
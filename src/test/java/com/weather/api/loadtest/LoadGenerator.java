@@ -0,0 +1,148 @@
+package com.weather.api.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Open-model load generator: requests are sent at a constant arrival rate whatever the
+ * response times, like k6's {@code constant-arrival-rate} executor, so a slow server
+ * builds a queue instead of slowing the load down. Requests that would exceed the
+ * in-flight limit are counted as dropped rather than sent late.
+ *
+ * @author Weather API Team
+ */
+class LoadGenerator {
+
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final double rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final int maxInFlight;
+    private final long seed;
+
+    LoadGenerator(double rate, Duration warmup, Duration duration, int maxInFlight, long seed) {
+        this.rate = rate;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.maxInFlight = maxInFlight;
+        this.seed = seed;
+    }
+
+    /**
+     * Runs a scenario: a warm-up whose requests are not recorded, then the measured
+     * duration split into the scenario's phases.
+     *
+     * @param baseUrl       the application's base URL
+     * @param scenario      the traffic to send
+     * @param report        receives the measurements
+     * @param onPhaseChange called when a phase starts, before its first request
+     */
+    void run(String baseUrl, LoadScenario scenario, LoadTestReport report, Consumer<LoadScenario.Phase> onPhaseChange)
+            throws InterruptedException {
+        ExecutorService responses = Executors.newFixedThreadPool(4);
+        HttpClient client = newClient(responses);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        Random random = new Random(seed);
+        List<LoadScenario.Phase> phases = scenario.phases();
+
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long warmupNanos = warmup.toNanos();
+        long measuredNanos = duration.toNanos();
+        long start = System.nanoTime();
+        LoadScenario.Phase current = null;
+
+        try {
+            for (long i = 0; ; i++) {
+                long intended = start + i * intervalNanos;
+                long elapsed = intended - start;
+                if (elapsed >= warmupNanos + measuredNanos) {
+                    break;
+                }
+                LockSupport.parkNanos(intended - System.nanoTime());
+
+                LoadScenario.Phase phase = elapsed < warmupNanos
+                        ? null
+                        : phaseAt(phases, (double) (elapsed - warmupNanos) / measuredNanos);
+                if (phase != null && phase != current) {
+                    onPhaseChange.accept(phase);
+                    current = phase;
+                }
+                LoadTestReport.PhaseResult result = phase == null ? null : report.phase(phase.name());
+                send(client, inFlight, baseUrl + scenario.nextPath(random), intended, result);
+            }
+
+            // Let the last requests complete
+            inFlight.tryAcquire(maxInFlight, REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        } finally {
+            responses.shutdownNow();
+        }
+
+        for (int i = 0; i < phases.size(); i++) {
+            double end = i + 1 < phases.size() ? phases.get(i + 1).start() : 1.0;
+            report.phase(phases.get(i).name()).setDurationNanos((long) ((end - phases.get(i).start()) * measuredNanos));
+        }
+    }
+
+    static HttpClient newClient(ExecutorService responses) {
+        return HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(responses)
+                .build();
+    }
+
+    /**
+     * Sends a GET request without waiting for the response, or counts it as dropped when
+     * too many requests are in flight.
+     *
+     * @param client   the HTTP client
+     * @param inFlight permits for requests in flight
+     * @param url      the request URL
+     * @param intended time the request was scheduled for, from {@link System#nanoTime()}
+     * @param result   receives the outcome; null for requests that are not recorded
+     */
+    static void send(HttpClient client, Semaphore inFlight, String url, long intended,
+                     LoadTestReport.PhaseResult result) {
+        if (!inFlight.tryAcquire()) {
+            if (result != null) {
+                result.drop();
+            }
+            return;
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept-Encoding", "identity")
+                .GET()
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    inFlight.release();
+                    if (result != null) {
+                        result.record(response == null ? 0 : response.statusCode(),
+                                (System.nanoTime() - intended) / 1000);
+                    }
+                });
+    }
+
+    private static LoadScenario.Phase phaseAt(List<LoadScenario.Phase> phases, double fraction) {
+        LoadScenario.Phase phase = phases.get(0);
+        for (LoadScenario.Phase candidate : phases) {
+            if (candidate.start() <= fraction) {
+                phase = candidate;
+            }
+        }
+        return phase;
+    }
+}
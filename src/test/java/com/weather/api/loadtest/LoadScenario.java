@@ -0,0 +1,139 @@
+package com.weather.api.loadtest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * Traffic shapes a load test can replay against the API.
+ * Each scenario generates request paths and may change the upstream behaviour in phases,
+ * which are reported separately.
+ *
+ * @author Weather API Team
+ */
+public enum LoadScenario {
+
+    /**
+     * Forecasts for a fixed set of locations with Zipf-skewed popularity: a few hot
+     * locations get most of the traffic, as with big cities. Measures the cache hit path.
+     */
+    HOT_KEY {
+        @Override
+        String nextPath(Random random) {
+            return forecastPath(random);
+        }
+    },
+
+    /**
+     * City searches as typed in a search box: growing prefixes of popular city names,
+     * one request per keystroke from the second character on.
+     */
+    TYPE_AHEAD {
+        @Override
+        String nextPath(Random random) {
+            String city = UpstreamSimulator.CITIES.get(CITY_POPULARITY.next(random));
+            int typed = 2 + random.nextInt(city.length() - 1);
+            return "/api/v1/weather/search?count=5&name="
+                    + city.substring(0, typed).replace(" ", "%20");
+        }
+    },
+
+    /**
+     * Hot-key forecast traffic while the upstream fails every request for the middle
+     * third of the run. Shows the circuit breaker, fallbacks and recovery.
+     */
+    OUTAGE {
+        @Override
+        String nextPath(Random random) {
+            return forecastPath(random);
+        }
+
+        @Override
+        List<Phase> phases() {
+            return List.of(
+                    new Phase("before", 0.0, false),
+                    new Phase("outage", 1.0 / 3, true),
+                    new Phase("recovery", 2.0 / 3, false)
+            );
+        }
+    };
+
+    /**
+     * Number of distinct locations of the forecast scenarios.
+     */
+    static final int LOCATIONS = 1000;
+
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final ZipfSampler LOCATION_POPULARITY = new ZipfSampler(LOCATIONS, ZIPF_EXPONENT);
+    private static final ZipfSampler CITY_POPULARITY = new ZipfSampler(UpstreamSimulator.CITIES.size(), ZIPF_EXPONENT);
+
+    /**
+     * Builds the path of the next request.
+     *
+     * @param random the load generator's random source
+     * @return the request path with its query
+     */
+    abstract String nextPath(Random random);
+
+    /**
+     * Phases of the run, by the fraction of the measured duration at which they start.
+     *
+     * @return the phases, in order
+     */
+    List<Phase> phases() {
+        return List.of(new Phase("steady", 0.0, false));
+    }
+
+    private static String forecastPath(Random random) {
+        int location = LOCATION_POPULARITY.next(random);
+        // Locations spread over a grid, far enough apart not to share a cache cell
+        double latitude = -60 + (location / 40) * 4.5;
+        double longitude = -170 + (location % 40) * 8.5;
+        return String.format(Locale.ROOT, "/api/v1/weather/forecast?latitude=%.4f&longitude=%.4f", latitude, longitude);
+    }
+
+    /**
+     * A stretch of the run with its own upstream behaviour.
+     *
+     * @param name   phase name in the report
+     * @param start  fraction of the measured duration at which the phase starts
+     * @param outage whether the upstream fails every request during the phase
+     */
+    record Phase(String name, double start, boolean outage) {
+    }
+
+    /**
+     * Draws ranks from 0 to n - 1 with probability proportional to {@code 1 / (rank + 1)^s}.
+     */
+    static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        ZipfSampler(int n, double exponent) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int rank = 0; rank < n; rank++) {
+                total += 1 / Math.pow(rank + 1, exponent);
+                cumulative[rank] = total;
+            }
+            for (int rank = 0; rank < n; rank++) {
+                cumulative[rank] /= total;
+            }
+        }
+
+        int next(Random random) {
+            double target = random.nextDouble();
+            int low = 0;
+            int high = cumulative.length - 1;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (cumulative[middle] < target) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.weather.api.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Results of a load test run, per group of requests (the phases of a scenario, or the
+ * endpoints of a replayed trace): throughput, response status counts and latency
+ * percentiles. Latencies are measured from the time each request was scheduled to be
+ * sent, not from when it was actually sent, so a stalled server is not hidden by the
+ * generator sending less (coordinated omission).
+ *
+ * @author Weather API Team
+ */
+public class LoadTestReport {
+
+    private static final long MAX_LATENCY_MICROS = 120_000_000L;
+
+    private final String name;
+    private final String groupLabel;
+    private final Map<String, Object> settings;
+    private final Map<String, PhaseResult> phases = new LinkedHashMap<>();
+    private final Map<String, Object> sections = new LinkedHashMap<>();
+    private Map<String, Long> upstreamRequests = Map.of();
+
+    LoadTestReport(LoadScenario scenario, Map<String, Object> settings) {
+        this(scenario.name(), "phase", scenario.phases().stream().map(LoadScenario.Phase::name).toList(), settings);
+    }
+
+    /**
+     * @param name       what was run, e.g. the scenario
+     * @param groupLabel what the groups are, e.g. {@code "phase"} or {@code "endpoint"}
+     * @param groups     names of the groups, in report order
+     * @param settings   settings of the run, reported as they are
+     */
+    LoadTestReport(String name, String groupLabel, List<String> groups, Map<String, Object> settings) {
+        this.name = name;
+        this.groupLabel = groupLabel;
+        this.settings = settings;
+        groups.forEach(group -> phases.put(group, new PhaseResult()));
+    }
+
+    PhaseResult phase(String name) {
+        return phases.get(name);
+    }
+
+    void setUpstreamRequests(Map<String, Long> upstreamRequests) {
+        this.upstreamRequests = new TreeMap<>(upstreamRequests);
+    }
+
+    /**
+     * Adds a section to the JSON report, after the standard ones.
+     *
+     * @param key   section name
+     * @param value section content, serialized by Jackson
+     */
+    void addSection(String key, Object value) {
+        sections.put(key, value);
+    }
+
+    /**
+     * Prints the results as a table.
+     *
+     * @param out the output stream
+     */
+    void print(PrintStream out) {
+        int width = Math.max(10, phases.keySet().stream().mapToInt(String::length).max().orElse(0));
+        out.printf("%nRun %s %s%n", name, settings);
+        out.printf("%-" + width + "s %9s %9s %8s %8s %8s %8s %8s %8s  %s%n",
+                groupLabel, "requests", "req/s", "dropped", "p50 ms", "p99 ms", "p999 ms", "max ms", "mean ms", "statuses");
+        phases.forEach((name, result) -> {
+            Histogram latencies = result.latencies;
+            out.printf("%-" + width + "s %9d %9.1f %8d %8.2f %8.2f %8.2f %8.2f %8.2f  %s%n",
+                    name, latencies.getTotalCount(), result.throughput(), result.dropped.sum(),
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(99)),
+                    millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()),
+                    latencies.getMean() / 1000, result.statusCounts());
+        });
+        out.printf("Upstream requests: %s%n", upstreamRequests);
+    }
+
+    /**
+     * Writes the results as JSON.
+     *
+     * @param file the report file
+     * @throws IOException if the file cannot be written
+     */
+    void write(Path file) throws IOException {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("scenario", name);
+        report.put("settings", settings);
+
+        Map<String, Object> phaseReports = new LinkedHashMap<>();
+        phases.forEach((name, result) -> {
+            Histogram latencies = result.latencies;
+            Map<String, Object> phase = new LinkedHashMap<>();
+            phase.put("requests", latencies.getTotalCount());
+            phase.put("durationSeconds", result.durationNanos / 1e9);
+            phase.put("throughput", result.throughput());
+            phase.put("dropped", result.dropped.sum());
+            phase.put("statuses", result.statusCounts());
+            Map<String, Double> percentiles = new LinkedHashMap<>();
+            percentiles.put("p50", millis(latencies.getValueAtPercentile(50)));
+            percentiles.put("p90", millis(latencies.getValueAtPercentile(90)));
+            percentiles.put("p99", millis(latencies.getValueAtPercentile(99)));
+            percentiles.put("p999", millis(latencies.getValueAtPercentile(99.9)));
+            percentiles.put("max", millis(latencies.getMaxValue()));
+            percentiles.put("mean", latencies.getMean() / 1000);
+            phase.put("latencyMillis", percentiles);
+            phaseReports.put(name, phase);
+        });
+        report.put(groupLabel + "s", phaseReports);
+        report.put("upstreamRequests", upstreamRequests);
+        report.putAll(sections);
+
+        Files.createDirectories(file.getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    /**
+     * Measurements of one phase. Safe for concurrent recording.
+     */
+    static final class PhaseResult {
+
+        private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+        private volatile long durationNanos;
+
+        /**
+         * Records a completed request.
+         *
+         * @param status        response status, or 0 if the request failed without one
+         * @param latencyMicros time from the scheduled send to the response
+         */
+        void record(int status, long latencyMicros) {
+            latencies.recordValue(Math.min(latencyMicros, MAX_LATENCY_MICROS));
+            statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+        }
+
+        /**
+         * Records a request that was not sent because too many were still in flight.
+         */
+        void drop() {
+            dropped.increment();
+        }
+
+        void setDurationNanos(long durationNanos) {
+            this.durationNanos = durationNanos;
+        }
+
+        double throughput() {
+            return durationNanos == 0 ? 0 : latencies.getTotalCount() / (durationNanos / 1e9);
+        }
+
+        Map<Integer, Long> statusCounts() {
+            Map<Integer, Long> counts = new TreeMap<>();
+            statuses.forEach((status, count) -> counts.put(status, count.sum()));
+            return counts;
+        }
+    }
+}
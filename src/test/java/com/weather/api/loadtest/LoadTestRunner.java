@@ -0,0 +1,150 @@
+package com.weather.api.loadtest;
+
+import com.weather.api.WeatherApiApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Runs load test scenarios against the application wired to a local {@link UpstreamSimulator}.
+ * Each scenario gets a fresh simulator and application, so runs start from a cold cache
+ * and are comparable between commits. Results are printed and written as JSON to
+ * {@code target/load-test}.
+ *
+ * <p>Usage: {@code LoadTestRunner [SCENARIO,...] [--option=value ...]}, see
+ * {@code scripts/run-load-test.sh} for the options. Options starting with {@code --app.}
+ * are passed to the application without the prefix, e.g.
+ * {@code --app.resilience4j.ratelimiter.instances.openMeteoService.limitForPeriod=600}.
+ *
+ * @author Weather API Team
+ */
+public final class LoadTestRunner {
+
+    static final Path REPORT_DIRECTORY = Path.of("target", "load-test");
+    private static final String APP_PREFIX = "--app.";
+
+    private LoadTestRunner() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<LoadScenario> scenarios = new ArrayList<>(Arrays.asList(LoadScenario.values()));
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArguments = new ArrayList<>();
+
+        for (String arg : parseArguments(args, options, appArguments)) {
+            scenarios = Arrays.stream(arg.split(","))
+                    .map(name -> LoadScenario.valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_')))
+                    .toList();
+        }
+
+        double rate = Double.parseDouble(options.getOrDefault("rate", "200"));
+        Duration warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "1000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        UpstreamSimulator.Profile upstream = upstreamProfile(options);
+
+        LoadGenerator generator = new LoadGenerator(rate, warmup, duration, maxInFlight, seed);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        for (LoadScenario scenario : scenarios) {
+            Map<String, Object> settings = new LinkedHashMap<>();
+            settings.put("rate", rate);
+            settings.put("warmupSeconds", warmup.toSeconds());
+            settings.put("durationSeconds", duration.toSeconds());
+            settings.put("maxInFlight", maxInFlight);
+            settings.put("seed", seed);
+            settings.put("upstream", upstream);
+            settings.put("appArguments", appArguments);
+
+            LoadTestReport report = new LoadTestReport(scenario, settings);
+            run(scenario, upstream, appArguments, generator, report);
+            report.print(System.out);
+            Path file = REPORT_DIRECTORY.resolve(scenario.name().toLowerCase(Locale.ROOT) + "-" + timestamp + ".json");
+            report.write(file);
+            System.out.printf("Report written to %s%n", file);
+        }
+        System.exit(0);
+    }
+
+    private static void run(LoadScenario scenario, UpstreamSimulator.Profile upstream, List<String> appArguments,
+                            LoadGenerator generator, LoadTestReport report) throws Exception {
+        try (UpstreamSimulator simulator = new UpstreamSimulator(upstream);
+             ConfigurableApplicationContext context = startApplication(simulator, appArguments)) {
+            generator.run(baseUrl(context), scenario, report, phase ->
+                    simulator.setProfile(phase.outage() ? upstream.outage() : upstream));
+            report.setUpstreamRequests(simulator.requestCounts());
+        }
+    }
+
+    /**
+     * Starts the application on a free port, wired to the given upstream simulator.
+     *
+     * @param simulator    the Open-Meteo stand-in
+     * @param appArguments extra application arguments
+     * @return the running application
+     */
+    static ConfigurableApplicationContext startApplication(UpstreamSimulator simulator, List<String> appArguments) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--openmeteo.api.base-url=" + simulator.baseUrl(),
+                "--openmeteo.api.geocoding-url=" + simulator.baseUrl(),
+                // Per-request logging would measure the log appenders rather than the API
+                "--logging.level.root=WARN",
+                "--logging.level.com.weather.api=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.io.github.resilience4j=WARN",
+                "--logging.level.feign=WARN"
+        ));
+        arguments.addAll(appArguments);
+        return SpringApplication.run(WeatherApiApplication.class, arguments.toArray(String[]::new));
+    }
+
+    static String baseUrl(ConfigurableApplicationContext context) {
+        return "http://127.0.0.1:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    /**
+     * Splits command line arguments into options ({@code --name=value}), application
+     * arguments ({@code --app.*}, returned without the prefix) and positional arguments.
+     */
+    static List<String> parseArguments(String[] args, Map<String, String> options, List<String> appArguments) {
+        List<String> positional = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith(APP_PREFIX)) {
+                appArguments.add("--" + arg.substring(APP_PREFIX.length()));
+            } else if (arg.startsWith("--")) {
+                int separator = arg.indexOf('=');
+                if (separator < 0) {
+                    throw new IllegalArgumentException("Options take a value: " + arg);
+                }
+                options.put(arg.substring(2, separator), arg.substring(separator + 1));
+            } else {
+                positional.add(arg);
+            }
+        }
+        return positional;
+    }
+
+    /**
+     * Reads the upstream simulator options shared by the load test tools.
+     */
+    static UpstreamSimulator.Profile upstreamProfile(Map<String, String> options) {
+        return new UpstreamSimulator.Profile(
+                new UpstreamSimulator.LatencyDistribution(
+                        Double.parseDouble(options.getOrDefault("upstream-median", "30")),
+                        Double.parseDouble(options.getOrDefault("upstream-p99", "250"))),
+                Double.parseDouble(options.getOrDefault("upstream-error-rate", "0.01")),
+                Double.parseDouble(options.getOrDefault("upstream-throttle-rate", "0.005")));
+    }
+}
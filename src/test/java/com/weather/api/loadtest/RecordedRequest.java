@@ -0,0 +1,100 @@
+package com.weather.api.loadtest;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * One line of a request trace written by the application's {@code RequestTraceRecorder}:
+ * <pre>
+ * epochMillis	method	path?query	status	durationMicros	hit|miss|-
+ * </pre>
+ *
+ * @param epochMillis    time the request arrived
+ * @param method         HTTP method
+ * @param pathAndQuery   request path with its raw query
+ * @param status         response status recorded in production
+ * @param durationMicros time production took to answer
+ * @param cache          {@code hit}, {@code miss} or {@code -} when no response cache was used
+ * @author Weather API Team
+ */
+record RecordedRequest(long epochMillis, String method, String pathAndQuery, int status, long durationMicros,
+                       String cache) {
+
+    /**
+     * Parses a trace line.
+     *
+     * @param line the line
+     * @return the request, or null for blank and comment lines
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    static RecordedRequest parse(String line) {
+        if (line.isBlank() || line.startsWith("#")) {
+            return null;
+        }
+        String[] fields = line.split("\t");
+        if (fields.length != 6) {
+            throw new IllegalArgumentException("Malformed trace line: " + line);
+        }
+        try {
+            return new RecordedRequest(Long.parseLong(fields[0]), fields[1], fields[2], Integer.parseInt(fields[3]),
+                    Long.parseLong(fields[4]), fields[5].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Malformed trace line: " + line, e);
+        }
+    }
+
+    /**
+     * Request path without the query.
+     *
+     * @return the path
+     */
+    String path() {
+        int query = pathAndQuery.indexOf('?');
+        return query < 0 ? pathAndQuery : pathAndQuery.substring(0, query);
+    }
+
+    /**
+     * Decoded query parameters; of a repeated parameter only the first value is kept.
+     *
+     * @return parameters by name
+     */
+    Map<String, String> parameters() {
+        Map<String, String> parameters = new HashMap<>();
+        int query = pathAndQuery.indexOf('?');
+        if (query < 0) {
+            return parameters;
+        }
+        for (String parameter : pathAndQuery.substring(query + 1).split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                parameters.putIfAbsent(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return parameters;
+    }
+
+    /**
+     * The request as seen by the response caches, for the cache simulator.
+     *
+     * @return the forecast or search event, or null for requests that use neither cache
+     */
+    TraceEvent toTraceEvent() {
+        Map<String, String> parameters = parameters();
+        try {
+            return switch (path()) {
+                case "/api/v1/weather/forecast" -> TraceEvent.forecast(epochMillis,
+                        Double.parseDouble(parameters.get("latitude")), Double.parseDouble(parameters.get("longitude")));
+                case "/api/v1/weather/search" -> TraceEvent.search(epochMillis, Objects.requireNonNull(parameters.get("name")),
+                        Integer.parseInt(parameters.getOrDefault("count", "10")), parameters.getOrDefault("language", "en"));
+                default -> null;
+            };
+        } catch (RuntimeException e) {
+            // Invalid requests were rejected before reaching the caches
+            return null;
+        }
+    }
+}
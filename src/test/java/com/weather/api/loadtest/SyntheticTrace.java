@@ -0,0 +1,89 @@
+package com.weather.api.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a cache trace with Zipf-skewed popularity, for when no recorded trace is at hand.
+ * Forecast requests go to hot spots (cities, venues) whose popularity follows a Zipf law,
+ * and every request is scattered around its spot by a normal jitter, as clients near the
+ * same place send slightly different coordinates. Searches are prefixes of popular city
+ * names, as typed in a search box. Arrivals are a Poisson process at the given rate.
+ *
+ * @author Weather API Team
+ */
+class SyntheticTrace {
+
+    private static final int COORDINATE_DECIMALS = 10_000;
+
+    private final double requestsPerSecond;
+    private final long durationMillis;
+    private final int hotSpots;
+    private final double zipfExponent;
+    private final double jitterDegrees;
+    private final double searchShare;
+
+    /**
+     * @param requestsPerSecond mean arrival rate
+     * @param durationMillis    length of the trace
+     * @param hotSpots          number of distinct places requested
+     * @param zipfExponent      popularity skew; higher concentrates traffic on fewer spots
+     * @param jitterDegrees     standard deviation of the coordinates around their spot
+     * @param searchShare       share of requests that are city searches, from 0 to 1
+     */
+    SyntheticTrace(double requestsPerSecond, long durationMillis, int hotSpots, double zipfExponent,
+                   double jitterDegrees, double searchShare) {
+        this.requestsPerSecond = requestsPerSecond;
+        this.durationMillis = durationMillis;
+        this.hotSpots = hotSpots;
+        this.zipfExponent = zipfExponent;
+        this.jitterDegrees = jitterDegrees;
+        this.searchShare = searchShare;
+    }
+
+    /**
+     * Generates the trace. The same seed gives the same trace.
+     *
+     * @param seed random seed
+     * @return the events in time order
+     */
+    List<TraceEvent> generate(long seed) {
+        Random random = new Random(seed);
+        double[][] spots = new double[hotSpots][];
+        for (int i = 0; i < hotSpots; i++) {
+            spots[i] = new double[]{-55 + random.nextDouble() * 125, -180 + random.nextDouble() * 360};
+        }
+        LoadScenario.ZipfSampler spotPopularity = new LoadScenario.ZipfSampler(hotSpots, zipfExponent);
+        LoadScenario.ZipfSampler cityPopularity = new LoadScenario.ZipfSampler(UpstreamSimulator.CITIES.size(), zipfExponent);
+
+        List<TraceEvent> events = new ArrayList<>();
+        double meanGapMillis = 1000 / requestsPerSecond;
+        double time = 0;
+        while (true) {
+            time += -Math.log(1 - random.nextDouble()) * meanGapMillis;
+            if (time >= durationMillis) {
+                return events;
+            }
+            long timestamp = (long) time;
+            if (random.nextDouble() < searchShare) {
+                String city = UpstreamSimulator.CITIES.get(cityPopularity.next(random));
+                events.add(TraceEvent.search(timestamp, city.substring(0, 2 + random.nextInt(city.length() - 1)), 5, "en"));
+            } else {
+                double[] spot = spots[spotPopularity.next(random)];
+                // Clients send a handful of decimals, a few metres
+                events.add(TraceEvent.forecast(timestamp,
+                        round(clamp(spot[0] + random.nextGaussian() * jitterDegrees, 90)),
+                        round(clamp(spot[1] + random.nextGaussian() * jitterDegrees, 180))));
+            }
+        }
+    }
+
+    private static double clamp(double value, double limit) {
+        return Math.max(-limit, Math.min(limit, value));
+    }
+
+    private static double round(double value) {
+        return (double) Math.round(value * COORDINATE_DECIMALS) / COORDINATE_DECIMALS;
+    }
+}
@@ -0,0 +1,68 @@
+package com.weather.api.loadtest;
+
+import java.util.Locale;
+
+/**
+ * One request of a cache trace: a forecast for coordinates or a city search.
+ * Traces are CSV files with one request per line, in time order:
+ * <pre>
+ * timestampMillis,forecast,latitude,longitude
+ * timestampMillis,search,name,count,language
+ * </pre>
+ * Blank lines and lines starting with {@code #} are ignored. Request traces recorded by the
+ * application (tab-separated, see {@link RecordedRequest}) are read as well; their requests
+ * that use neither cache are skipped.
+ *
+ * @param timestampMillis request time in epoch milliseconds
+ * @param type            forecast or search
+ * @param latitude        forecast latitude
+ * @param longitude       forecast longitude
+ * @param searchKey       search name, result count and language, as in the city search cache key
+ * @author Weather API Team
+ */
+record TraceEvent(long timestampMillis, Type type, double latitude, double longitude, String searchKey) {
+
+    enum Type {
+        FORECAST, SEARCH
+    }
+
+    static TraceEvent forecast(long timestampMillis, double latitude, double longitude) {
+        return new TraceEvent(timestampMillis, Type.FORECAST, latitude, longitude, null);
+    }
+
+    static TraceEvent search(long timestampMillis, String name, int count, String language) {
+        return new TraceEvent(timestampMillis, Type.SEARCH, 0, 0, name + '_' + count + '_' + language);
+    }
+
+    /**
+     * Parses a trace line.
+     *
+     * @param line the CSV line
+     * @return the event, or null for blank and comment lines and for recorded requests that use no cache
+     * @throws IllegalArgumentException if the line is malformed
+     */
+    static TraceEvent parse(String line) {
+        if (line.indexOf('\t') >= 0) {
+            RecordedRequest request = RecordedRequest.parse(line);
+            return request == null ? null : request.toTraceEvent();
+        }
+        String trimmed = line.trim();
+        if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+            return null;
+        }
+        String[] fields = trimmed.split(",");
+        try {
+            long timestamp = Long.parseLong(fields[0].trim());
+            String type = fields[1].trim().toLowerCase(Locale.ROOT);
+            if (type.equals("forecast") && fields.length == 4) {
+                return forecast(timestamp, Double.parseDouble(fields[2].trim()), Double.parseDouble(fields[3].trim()));
+            }
+            if (type.equals("search") && fields.length == 5) {
+                return search(timestamp, fields[2].trim(), Integer.parseInt(fields[3].trim()), fields[4].trim());
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed trace line: " + line, e);
+        }
+        throw new IllegalArgumentException("Malformed trace line: " + line);
+    }
+}
@@ -0,0 +1,224 @@
+package com.weather.api.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.http.HttpClient;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Replays a request trace recorded in production by {@code RequestTraceRecorder} against
+ * this build, wired to a local {@link UpstreamSimulator}. Requests are sent at their
+ * recorded offsets, optionally accelerated, whatever the response times (open model),
+ * so two builds replaying the same trace see the same traffic shape.
+ *
+ * <p>Reports latency per endpoint and the upstream calls made, next to the latencies and
+ * cache hit ratio recorded in production, as JSON to {@code target/load-test}. Given the
+ * report of a previous replay with {@code --compare}, prints the differences.
+ *
+ * <p>Usage: {@code TraceReplayer TRACE_FILE [--option=value ...]}, see
+ * {@code scripts/run-trace-replay.sh} for the options.
+ *
+ * @author Weather API Team
+ */
+public final class TraceReplayer {
+
+    private static final long MAX_LATENCY_MICROS = 120_000_000L;
+
+    private TraceReplayer() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        List<String> appArguments = new ArrayList<>();
+        List<String> files = LoadTestRunner.parseArguments(args, options, appArguments);
+        if (files.size() != 1) {
+            throw new IllegalArgumentException("Usage: TraceReplayer TRACE_FILE [--option=value ...]");
+        }
+
+        Path traceFile = Path.of(files.get(0));
+        List<RecordedRequest> trace = read(traceFile);
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        int maxInFlight = Integer.parseInt(options.getOrDefault("max-in-flight", "1000"));
+        UpstreamSimulator.Profile upstream = LoadTestRunner.upstreamProfile(options);
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("trace", traceFile.toString());
+        settings.put("requests", trace.size());
+        settings.put("speed", speed);
+        settings.put("maxInFlight", maxInFlight);
+        settings.put("upstream", upstream);
+        settings.put("appArguments", appArguments);
+
+        List<String> endpoints = trace.stream().map(RecordedRequest::path).distinct().sorted().toList();
+        LoadTestReport report = new LoadTestReport("replay", "endpoint", endpoints, settings);
+        Map<String, Map<String, Object>> recorded = recordedSummary(trace);
+        report.addSection("recorded", recorded);
+
+        try (UpstreamSimulator simulator = new UpstreamSimulator(upstream);
+             ConfigurableApplicationContext context = LoadTestRunner.startApplication(simulator, appArguments)) {
+            long durationNanos = replay(LoadTestRunner.baseUrl(context), trace, speed, maxInFlight, report);
+            endpoints.forEach(endpoint -> report.phase(endpoint).setDurationNanos(durationNanos));
+            report.setUpstreamRequests(simulator.requestCounts());
+        }
+
+        report.print(System.out);
+        printRecorded(recorded, System.out);
+        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = LoadTestRunner.REPORT_DIRECTORY.resolve("replay-" + timestamp + ".json");
+        report.write(file);
+        System.out.printf("Report written to %s%n", file);
+
+        if (options.containsKey("compare")) {
+            compare(Path.of(options.get("compare")), file, System.out);
+        }
+        System.exit(0);
+    }
+
+    private static List<RecordedRequest> read(Path file) throws IOException {
+        try (Stream<String> lines = Files.lines(file)) {
+            List<RecordedRequest> trace = lines.map(RecordedRequest::parse)
+                    .filter(Objects::nonNull)
+                    .filter(request -> request.method().equals("GET"))
+                    // Traces of several nodes may be concatenated
+                    .sorted(Comparator.comparingLong(RecordedRequest::epochMillis))
+                    .toList();
+            if (trace.isEmpty()) {
+                throw new IllegalArgumentException("No GET requests in " + file);
+            }
+            return trace;
+        }
+    }
+
+    /**
+     * Sends the trace at its recorded pace divided by the speed.
+     *
+     * @return how long the replay took
+     */
+    private static long replay(String baseUrl, List<RecordedRequest> trace, double speed, int maxInFlight,
+                               LoadTestReport report) throws InterruptedException {
+        ExecutorService responses = Executors.newFixedThreadPool(4);
+        HttpClient client = LoadGenerator.newClient(responses);
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        long firstMillis = trace.get(0).epochMillis();
+        long start = System.nanoTime();
+
+        try {
+            for (RecordedRequest request : trace) {
+                long intended = start + (long) (TimeUnit.MILLISECONDS.toNanos(request.epochMillis() - firstMillis) / speed);
+                LockSupport.parkNanos(intended - System.nanoTime());
+                LoadGenerator.send(client, inFlight, baseUrl + request.pathAndQuery(), intended,
+                        report.phase(request.path()));
+            }
+
+            // Let the last requests complete
+            inFlight.tryAcquire(maxInFlight, LoadGenerator.REQUEST_TIMEOUT.toSeconds(), TimeUnit.SECONDS);
+        } finally {
+            responses.shutdownNow();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Latencies and cache hit ratio recorded in production, per endpoint.
+     */
+    private static Map<String, Map<String, Object>> recordedSummary(List<RecordedRequest> trace) {
+        Map<String, Histogram> latencies = new TreeMap<>();
+        Map<String, long[]> cacheResults = new TreeMap<>();
+        for (RecordedRequest request : trace) {
+            latencies.computeIfAbsent(request.path(), path -> new Histogram(MAX_LATENCY_MICROS, 3))
+                    .recordValue(Math.min(request.durationMicros(), MAX_LATENCY_MICROS));
+            long[] hitsAndMisses = cacheResults.computeIfAbsent(request.path(), path -> new long[2]);
+            if (request.cache().equals("hit")) {
+                hitsAndMisses[0]++;
+            } else if (request.cache().equals("miss")) {
+                hitsAndMisses[1]++;
+            }
+        }
+
+        Map<String, Map<String, Object>> summary = new LinkedHashMap<>();
+        latencies.forEach((path, histogram) -> {
+            long[] hitsAndMisses = cacheResults.get(path);
+            long lookups = hitsAndMisses[0] + hitsAndMisses[1];
+            Map<String, Object> endpoint = new LinkedHashMap<>();
+            endpoint.put("requests", histogram.getTotalCount());
+            endpoint.put("p50Millis", histogram.getValueAtPercentile(50) / 1000.0);
+            endpoint.put("p99Millis", histogram.getValueAtPercentile(99) / 1000.0);
+            endpoint.put("cacheHitRatio", lookups == 0 ? null : (double) hitsAndMisses[0] / lookups);
+            summary.put(path, endpoint);
+        });
+        return summary;
+    }
+
+    private static void printRecorded(Map<String, Map<String, Object>> recorded, PrintStream out) {
+        out.printf("%nRecorded in production%n%-32s %9s %8s %8s %8s%n", "endpoint", "requests", "p50 ms", "p99 ms", "hit %");
+        recorded.forEach((path, endpoint) -> {
+            Double hitRatio = (Double) endpoint.get("cacheHitRatio");
+            out.printf("%-32s %9d %8.2f %8.2f %8s%n", path, endpoint.get("requests"), endpoint.get("p50Millis"),
+                    endpoint.get("p99Millis"), hitRatio == null ? "-" : String.format("%.1f", hitRatio * 100));
+        });
+    }
+
+    /**
+     * Prints the p50 and p99 of each endpoint and the upstream calls of a previous replay
+     * next to this one.
+     */
+    private static void compare(Path previousFile, Path currentFile, PrintStream out) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        JsonNode previous = mapper.readTree(previousFile.toFile());
+        JsonNode current = mapper.readTree(currentFile.toFile());
+
+        out.printf("%nCompared with %s%n", previousFile);
+        out.printf("%-32s %10s %10s %8s %10s %10s %8s%n",
+                "endpoint", "p50 before", "p50 now", "change", "p99 before", "p99 now", "change");
+        current.path("endpoints").fields().forEachRemaining(entry -> {
+            JsonNode before = previous.path("endpoints").path(entry.getKey()).path("latencyMillis");
+            JsonNode now = entry.getValue().path("latencyMillis");
+            if (before.isMissingNode()) {
+                out.printf("%-32s not in the previous replay%n", entry.getKey());
+                return;
+            }
+            out.printf("%-32s %10.2f %10.2f %7.1f%% %10.2f %10.2f %7.1f%%%n", entry.getKey(),
+                    before.path("p50").asDouble(), now.path("p50").asDouble(),
+                    change(before.path("p50").asDouble(), now.path("p50").asDouble()),
+                    before.path("p99").asDouble(), now.path("p99").asDouble(),
+                    change(before.path("p99").asDouble(), now.path("p99").asDouble()));
+        });
+        long upstreamBefore = sum(previous.path("upstreamRequests"));
+        long upstreamNow = sum(current.path("upstreamRequests"));
+        out.printf("%-32s %10d %10d %7.1f%%%n", "upstream calls", upstreamBefore, upstreamNow,
+                change(upstreamBefore, upstreamNow));
+    }
+
+    private static double change(double before, double now) {
+        return before == 0 ? 0 : (now - before) / before * 100;
+    }
+
+    private static long sum(JsonNode counts) {
+        long total = 0;
+        for (JsonNode count : counts) {
+            total += count.asLong();
+        }
+        return total;
+    }
+}
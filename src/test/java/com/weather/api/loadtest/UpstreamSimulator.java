@@ -0,0 +1,250 @@
+package com.weather.api.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Local stand-in for the Open-Meteo forecast and geocoding APIs, for load tests.
+ * Answers {@code /v1/forecast} for one or many locations (comma-separated coordinates
+ * give a JSON array, as upstream does) and {@code /v1/search} by name prefix over a
+ * fixed city list. Every response is delayed by a sample of the configured latency
+ * distribution, and a configurable share of requests fails with 500 or 429.
+ * The failure profile can be swapped while running, e.g. to simulate an outage.
+ *
+ * @author Weather API Team
+ */
+public class UpstreamSimulator implements AutoCloseable {
+
+    static final List<String> CITIES = List.of(
+            "Madrid", "Malaga", "Manchester", "Marseille", "Milan", "Munich", "Montreal", "Mexico City",
+            "Barcelona", "Berlin", "Bogota", "Boston", "Brussels", "Buenos Aires", "Bangkok", "Budapest",
+            "Paris", "Porto", "Prague", "Perth", "Phoenix", "Lisbon", "London", "Lima", "Lyon", "Los Angeles",
+            "Santiago", "Seville", "Seattle", "Sydney", "Stockholm", "Sao Paulo", "New York", "Nairobi",
+            "Naples", "Toronto", "Tokyo", "Turin", "Valencia", "Vienna", "Vancouver", "Caracas", "Cairo",
+            "Chicago", "Copenhagen", "Dublin", "Denver", "Dallas", "Amsterdam", "Athens", "Austin"
+    );
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private volatile Profile profile;
+
+    /**
+     * Starts the simulator on a free local port.
+     *
+     * @param profile initial latency and failure profile
+     * @throws IOException if the server cannot be started
+     */
+    public UpstreamSimulator(Profile profile) throws IOException {
+        this.profile = profile;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        // Handlers sleep for the simulated latency, so each in-flight request holds a thread
+        this.workers = Executors.newFixedThreadPool(512);
+        server.setExecutor(workers);
+        server.createContext("/v1/forecast", exchange -> handle(exchange, "forecast", this::forecast));
+        server.createContext("/v1/search", exchange -> handle(exchange, "search", this::search));
+        server.start();
+    }
+
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public void setProfile(Profile profile) {
+        this.profile = profile;
+    }
+
+    public Profile getProfile() {
+        return profile;
+    }
+
+    /**
+     * Requests received since start, by endpoint and answer ({@code "forecast 200"}, {@code "search 429"}, ...).
+     *
+     * @return request counts
+     */
+    public Map<String, Long> requestCounts() {
+        Map<String, Long> counts = new HashMap<>();
+        requests.forEach((key, count) -> counts.put(key, count.sum()));
+        return counts;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange, String endpoint, BodyWriter writer) throws IOException {
+        Profile current = profile;
+        try {
+            sleep(current.latency().sample());
+
+            double roll = ThreadLocalRandom.current().nextDouble();
+            int status;
+            String body;
+            if (roll < current.errorRate()) {
+                status = 500;
+                body = "{\"error\":true,\"reason\":\"Simulated upstream error\"}";
+            } else if (roll < current.errorRate() + current.throttleRate()) {
+                status = 429;
+                body = "{\"error\":true,\"reason\":\"Simulated rate limit\"}";
+            } else {
+                status = 200;
+                body = writer.write(queryOf(exchange));
+            }
+            requests.computeIfAbsent(endpoint + " " + status, key -> new LongAdder()).increment();
+
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String forecast(Map<String, String> query) {
+        String[] latitudes = query.getOrDefault("latitude", "0").split(",");
+        String[] longitudes = query.getOrDefault("longitude", "0").split(",");
+        if (latitudes.length == 1) {
+            return forecastOf(Double.parseDouble(latitudes[0]), Double.parseDouble(longitudes[0]));
+        }
+
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < latitudes.length; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(forecastOf(Double.parseDouble(latitudes[i]), Double.parseDouble(longitudes[i])));
+        }
+        return body.append(']').toString();
+    }
+
+    /**
+     * Builds a plausible forecast that depends on the coordinates and changes every minute.
+     */
+    private static String forecastOf(double latitude, double longitude) {
+        LocalDateTime time = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        int seed = Math.floorMod(Double.hashCode(latitude) * 31 + Double.hashCode(longitude) + time.getMinute(), 1000);
+        double temperature = 30 - Math.abs(latitude) / 3 + seed % 100 / 10.0;
+        return String.format(Locale.ROOT,
+                "{\"latitude\":%.4f,\"longitude\":%.4f,\"timezone\":\"GMT\",\"current\":{"
+                        + "\"time\":\"%s\",\"temperature_2m\":%.1f,\"relative_humidity_2m\":%d,\"weather_code\":%d,"
+                        + "\"wind_speed_10m\":%.1f,\"apparent_temperature\":%.1f,\"precipitation\":%.1f,"
+                        + "\"cloud_cover\":%d,\"wind_direction_10m\":%d}}",
+                latitude, longitude, time, temperature, 40 + seed % 60, seed % 4, seed % 50 / 1.5,
+                temperature - 1.5, seed % 7 / 10.0, seed % 100, seed % 360);
+    }
+
+    private String search(Map<String, String> query) {
+        String prefix = query.getOrDefault("name", "").toLowerCase(Locale.ROOT);
+        int count = Integer.parseInt(query.getOrDefault("count", "10"));
+
+        StringBuilder results = new StringBuilder();
+        int found = 0;
+        for (int i = 0; i < CITIES.size() && found < count; i++) {
+            String city = CITIES.get(i);
+            if (city.toLowerCase(Locale.ROOT).startsWith(prefix)) {
+                results.append(found++ == 0 ? "" : ",").append(String.format(Locale.ROOT,
+                        "{\"id\":%d,\"name\":\"%s\",\"latitude\":%.4f,\"longitude\":%.4f,\"country\":\"Simulated\"}",
+                        1000 + i, city, -60 + i * 2.5, -170 + i * 6.5));
+            }
+        }
+        // Upstream omits "results" when nothing matches
+        return found == 0 ? "{\"generationtime_ms\":0.1}" : "{\"results\":[" + results + "]}";
+    }
+
+    private static Map<String, String> queryOf(HttpExchange exchange) {
+        Map<String, String> query = new HashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw == null) {
+            return query;
+        }
+        for (String parameter : raw.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0) {
+                query.put(URLDecoder.decode(parameter.substring(0, separator), StandardCharsets.UTF_8),
+                        URLDecoder.decode(parameter.substring(separator + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static void sleep(long micros) {
+        if (micros <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(micros / 1000, (int) (micros % 1000) * 1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @FunctionalInterface
+    private interface BodyWriter {
+        String write(Map<String, String> query);
+    }
+
+    /**
+     * Upstream behaviour: latency and the share of requests answered with 500 and with 429.
+     *
+     * @param latency      response latency
+     * @param errorRate    share of requests failing with 500, from 0 to 1
+     * @param throttleRate share of requests rejected with 429, from 0 to 1
+     */
+    public record Profile(LatencyDistribution latency, double errorRate, double throttleRate) {
+
+        /**
+         * The same latency with every request failing, as during an outage.
+         *
+         * @return the outage profile
+         */
+        public Profile outage() {
+            return new Profile(latency, 1.0, 0.0);
+        }
+    }
+
+    /**
+     * Log-normal latency distribution given by its median and 99th percentile, which fits
+     * the long right tail of real network calls better than a uniform or normal one.
+     *
+     * @param medianMillis median latency in ms
+     * @param p99Millis    99th percentile latency in ms; equal to the median for a fixed latency
+     */
+    public record LatencyDistribution(double medianMillis, double p99Millis) {
+
+        private static final double Z_99 = 2.326;
+
+        /**
+         * Draws one latency.
+         *
+         * @return latency in microseconds
+         */
+        public long sample() {
+            double sigma = p99Millis > medianMillis ? Math.log(p99Millis / medianMillis) / Z_99 : 0;
+            double millis = medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian());
+            return (long) (millis * 1000);
+        }
+    }
+}